@@ -16,10 +16,11 @@
  */
 package org.apache.commons.geometry.core.partitioning.bsp;
 
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.Transform;
@@ -80,6 +81,14 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     /** The default number of levels to print when creating a string representation of the tree. */
     private static final int DEFAULT_TREE_STRING_MAX_DEPTH = 8;
 
+    /** Traversal state indicating that a node is being entered and its children have not yet been processed. */
+    static final int ENTER = 0;
+
+    /** Traversal state indicating that the children of a node have been processed or that the node should be
+     * handled directly without processing its children.
+     */
+    static final int EXIT = 1;
+
     /** Integer value set on various node fields when a value is unknown. */
     private static final int UNKNOWN_VALUE = -1;
 
@@ -92,6 +101,12 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      */
     private int version;
 
+    /** Listener notified of tree operations; may be null. */
+    private BSPTreeListener listener;
+
+    /** True while the tree is being modified in bulk. */
+    private boolean bulkModification;
+
     /** {@inheritDoc} */
     @Override
     public N getRoot() {
@@ -113,6 +128,25 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         invalidate();
     }
 
+    /** Get the listener notified of operations performed on this tree, or null if no listener
+     * is configured.
+     * @return the listener for this tree; may be null
+     * @see #setListener(BSPTreeListener)
+     */
+    public BSPTreeListener getListener() {
+        return listener;
+    }
+
+    /** Set the listener notified of operations performed on this tree, such as node cuts, subset insertions,
+     * and node splits. Pass null to remove the current listener. No timing information is collected when no
+     * listener is configured. The listener is not copied to other trees.
+     * @param listener the listener for this tree; may be null
+     * @see BSPTreeMetrics
+     */
+    public void setListener(final BSPTreeListener listener) {
+        this.listener = listener;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int count() {
@@ -140,13 +174,15 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     /** {@inheritDoc} */
     @Override
     public Iterable<N> nodes() {
-        return () -> new NodeIterator<>(getRoot());
+        return new NodeIterable<>(this::getRoot);
     }
 
     /** {@inheritDoc} */
     @Override
     public void copy(final BSPTree<P, N> src) {
         copySubtree(src.getRoot(), getRoot());
+
+        invalidate();
     }
 
     /** {@inheritDoc} */
@@ -166,7 +202,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     @Override
     public void transform(final Transform<P> transform) {
         final boolean swapChildren = swapsInsideOutside(transform);
-        transformRecursive(getRoot(), transform, swapChildren);
+        transformSubtree(getRoot(), transform, swapChildren);
 
         invalidate();
     }
@@ -232,10 +268,11 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         return copy;
     }
 
-    /** Recursively copy a subtree. The returned node is not attached to the current tree.
+    /** Copy a subtree. The returned node is not attached to the current tree.
      * Structural <em>and</em> non-structural properties are copied from the source subtree
      * to the destination subtree. This method does nothing if {@code src} and {@code dst}
-     * reference the same node.
+     * reference the same node. Nodes are copied in the same order as a depth-first recursive
+     * copy, using a {@link TraversalStack} in place of the call stack.
      * @param src the node representing the source subtree; does not need to belong to the
      *      current tree
      * @param dst the node representing the destination subtree
@@ -244,23 +281,37 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     protected N copySubtree(final N src, final N dst) {
         // only copy if we're actually switching nodes
         if (src != dst) {
-            // copy non-structural properties
-            copyNodeProperties(src, dst);
+            final AbstractBSPTree<P, N> dstTree = dst.getTree();
 
-            // copy the subtree structure
-            HyperplaneConvexSubset<P> cut = null;
-            N minus = null;
-            N plus = null;
+            final TraversalStack<CopyEntry<N>> stack = new TraversalStack<>();
+            stack.push(new CopyEntry<>(src, dst), ENTER);
 
-            if (!src.isLeaf()) {
-                final AbstractBSPTree<P, N> dstTree = dst.getTree();
+            CopyEntry<N> entry;
+            while (!stack.isEmpty()) {
+                entry = stack.peek();
 
-                cut = src.getCut();
-                minus = copySubtree(src.getMinus(), dstTree.createNode());
-                plus = copySubtree(src.getPlus(), dstTree.createNode());
-            }
+                if (stack.peekState() == ENTER) {
+                    // copy non-structural properties
+                    copyNodeProperties(entry.src, entry.dst);
+
+                    if (entry.src.isLeaf()) {
+                        entry.dst.setSubtree(null, null, null);
+                        stack.pop();
+                    } else {
+                        // copy the children before setting the subtree structure
+                        stack.setState(EXIT);
 
-            dst.setSubtree(cut, minus, plus);
+                        entry.minus = dstTree.createNode();
+                        entry.plus = dstTree.createNode();
+
+                        stack.push(new CopyEntry<>(entry.src.getPlus(), entry.plus), ENTER);
+                        stack.push(new CopyEntry<>(entry.src.getMinus(), entry.minus), ENTER);
+                    }
+                } else {
+                    entry.dst.setSubtree(entry.src.getCut(), entry.minus, entry.plus);
+                    stack.pop();
+                }
+            }
         }
 
         return dst;
@@ -335,8 +386,10 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      * @return the smallest node in the tree containing the point
      */
     protected N findNode(final N start, final P pt, final FindNodeCutRule cutRule) {
-        final Hyperplane<P> cutHyper = start.getCutHyperplane();
-        if (cutHyper != null) {
+        N node = start;
+
+        Hyperplane<P> cutHyper;
+        while ((cutHyper = node.getCutHyperplane()) != null) {
             final HyperplaneLocation cutLoc = cutHyper.classify(pt);
 
             final boolean onPlusSide = cutLoc == HyperplaneLocation.PLUS;
@@ -344,66 +397,91 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             final boolean onCut = !onPlusSide && !onMinusSide;
 
             if (onMinusSide || (onCut && cutRule == FindNodeCutRule.MINUS)) {
-                return findNode(start.getMinus(), pt, cutRule);
+                node = node.getMinus();
             } else if (onPlusSide || cutRule == FindNodeCutRule.PLUS) {
-                return findNode(start.getPlus(), pt, cutRule);
+                node = node.getPlus();
+            } else {
+                break;
             }
         }
-        return start;
+        return node;
     }
 
-    /** Visit the nodes in a subtree.
+    /** Visit the nodes in a subtree. Nodes are visited in the order determined by the visitor, exactly
+     * as in a depth-first recursive traversal, but using a {@link TraversalStack} in place of the call
+     * stack so that trees of any depth may be visited.
      * @param node the node to begin the visit process
      * @param visitor the visitor to pass nodes to
      */
     protected void accept(final N node, final BSPTreeVisitor<P, N> visitor) {
-        acceptRecursive(node, visitor);
-    }
-
-    /** Recursively visit the nodes in the subtree rooted at the given node.
-     * @param node the node located at the root of the subtree to visit
-     * @param visitor the visitor to pass nodes to
-     * @return true if the visit operation should continue
-     */
-    private boolean acceptRecursive(final N node, final BSPTreeVisitor<P, N> visitor) {
-        if (node.isLeaf()) {
-            return shouldContinueVisit(visitor.visit(node));
-        } else {
-            final BSPTreeVisitor.Order order = visitor.visitOrder(node);
-
-            if (order != null) {
-
-                switch (order) {
-                case PLUS_MINUS_NODE:
-                    return acceptRecursive(node.getPlus(), visitor) &&
-                            acceptRecursive(node.getMinus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node));
-                case PLUS_NODE_MINUS:
-                    return acceptRecursive(node.getPlus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getMinus(), visitor);
-                case MINUS_PLUS_NODE:
-                    return acceptRecursive(node.getMinus(), visitor) &&
-                            acceptRecursive(node.getPlus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node));
-                case MINUS_NODE_PLUS:
-                    return acceptRecursive(node.getMinus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getPlus(), visitor);
-                case NODE_PLUS_MINUS:
-                    return shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getPlus(), visitor) &&
-                            acceptRecursive(node.getMinus(), visitor);
-                case  NODE_MINUS_PLUS:
-                    return shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getMinus(), visitor) &&
-                            acceptRecursive(node.getPlus(), visitor);
-                default: // NONE
-                    break;
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(node, ENTER);
+
+        int state;
+        N current;
+        while (!stack.isEmpty()) {
+            state = stack.peekState();
+            current = stack.pop();
+
+            if (state == EXIT || current.isLeaf()) {
+                if (!shouldContinueVisit(visitor.visit(current))) {
+                    return;
+                }
+            } else {
+                final BSPTreeVisitor.Order order = visitor.visitOrder(current);
+                if (order != null) {
+                    pushVisitOrder(stack, current, order);
                 }
             }
+        }
+    }
 
-            return true;
+    /** Push the work required to visit the subtree rooted at the given internal node in the given order
+     * onto the stack. Entries are pushed in reverse order so that they are popped in visit order. Child
+     * nodes are pushed with a state of {@link #ENTER}, meaning that their own visit order will be determined
+     * when they are popped. The node itself is pushed with a state of {@link #EXIT}, meaning that it is passed
+     * directly to the visitor.
+     * @param stack traversal stack
+     * @param node internal node
+     * @param order the visit order for the subtree
+     */
+    private void pushVisitOrder(final TraversalStack<N> stack, final N node, final BSPTreeVisitor.Order order) {
+        final N minus = node.getMinus();
+        final N plus = node.getPlus();
+
+        switch (order) {
+        case PLUS_MINUS_NODE:
+            stack.push(node, EXIT);
+            stack.push(minus, ENTER);
+            stack.push(plus, ENTER);
+            break;
+        case PLUS_NODE_MINUS:
+            stack.push(minus, ENTER);
+            stack.push(node, EXIT);
+            stack.push(plus, ENTER);
+            break;
+        case MINUS_PLUS_NODE:
+            stack.push(node, EXIT);
+            stack.push(plus, ENTER);
+            stack.push(minus, ENTER);
+            break;
+        case MINUS_NODE_PLUS:
+            stack.push(plus, ENTER);
+            stack.push(node, EXIT);
+            stack.push(minus, ENTER);
+            break;
+        case NODE_PLUS_MINUS:
+            stack.push(minus, ENTER);
+            stack.push(plus, ENTER);
+            stack.push(node, EXIT);
+            break;
+        case NODE_MINUS_PLUS:
+            stack.push(plus, ENTER);
+            stack.push(minus, ENTER);
+            stack.push(node, EXIT);
+            break;
+        default: // NONE
+            break;
         }
     }
 
@@ -458,18 +536,24 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      */
     protected boolean cutNode(final N node, final Hyperplane<P> cutter,
             final SubtreeInitializer<N> subtreeInitializer) {
+        final long start = startOperation();
 
         // cut the hyperplane using all hyperplanes from this node up
         // to the root
         final HyperplaneConvexSubset<P> cut = trimToNode(node, cutter.span());
+
+        final boolean result;
         if (cut == null || cut.isEmpty()) {
             // insertion failed; the node was not cut
             removeNodeCut(node);
-            return false;
+            result = false;
+        } else {
+            setNodeCut(node, cut, subtreeInitializer);
+            result = true;
         }
 
-        setNodeCut(node, cut, subtreeInitializer);
-        return true;
+        endOperation(BSPTreeListener.Operation.CUT, 1, start);
+        return result;
     }
 
     /** Trim the given hyperplane convex subset to the region defined by the given node. This method
@@ -582,35 +666,48 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      * @param subtreeInit object used to initialize newly created subtrees
      */
     protected void insert(final HyperplaneConvexSubset<P> convexSub, final SubtreeInitializer<N> subtreeInit) {
-        insertRecursive(getRoot(), convexSub,
-                convexSub.getHyperplane().span(), subtreeInit);
+        final long start = startOperation();
+
+        final TraversalStack<InsertEntry<P, N>> stack = new TraversalStack<>();
+        stack.push(new InsertEntry<>(getRoot(), convexSub, convexSub.getHyperplane().span()));
+
+        while (!stack.isEmpty()) {
+            insertAtNode(stack.pop(), stack, subtreeInit);
+        }
+
+        endOperation(BSPTreeListener.Operation.INSERT, 1, start);
     }
 
-    /** Recursively insert a hyperplane convex subset into the tree at the given node.
-     * @param node the node to begin insertion with
-     * @param insert the hyperplane subset to insert
-     * @param trimmed hyperplane subset containing the result of splitting the entire
-     *      space with each hyperplane from this node to the root
+    /** Insert a hyperplane convex subset into the tree at a single node. If the node is a leaf, the
+     * trimmed subset becomes the node cut. If the subset lies in the same hyperplane instance as the node
+     * cut, it is discarded. Otherwise, the subset is split by the node cut and the insertions into the child
+     * subtrees are pushed onto the stack, with the minus side on top so that it is processed first.
+     * @param entry entry containing the node and the subsets to insert
+     * @param stack traversal stack
      * @param subtreeInit object used to initialize newly created subtrees
      */
-    private void insertRecursive(final N node, final HyperplaneConvexSubset<P> insert,
-            final HyperplaneConvexSubset<P> trimmed, final SubtreeInitializer<N> subtreeInit) {
+    private void insertAtNode(final InsertEntry<P, N> entry, final TraversalStack<InsertEntry<P, N>> stack,
+            final SubtreeInitializer<N> subtreeInit) {
+        final N node = entry.node;
         if (node.isLeaf()) {
-            setNodeCut(node, trimmed, subtreeInit);
-        } else {
-            final Split<? extends HyperplaneConvexSubset<P>> insertSplit = insert.split(node.getCutHyperplane());
+            setNodeCut(node, entry.trimmed, subtreeInit);
+        } else if (entry.insert.getHyperplane() != node.getCutHyperplane()) {
+            // subsets lying in the same hyperplane instance as the cut add no information to the
+            // tree and are discarded without being split; this is the case for interned hyperplanes
+            final Split<? extends HyperplaneConvexSubset<P>> insertSplit = entry.insert.split(node.getCutHyperplane());
 
             final HyperplaneConvexSubset<P> minus = insertSplit.getMinus();
             final HyperplaneConvexSubset<P> plus = insertSplit.getPlus();
 
             if (minus != null || plus != null) {
-                final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit = trimmed.split(node.getCutHyperplane());
+                final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit =
+                        entry.trimmed.split(node.getCutHyperplane());
 
-                if (minus != null) {
-                    insertRecursive(node.getMinus(), minus, trimmedSplit.getMinus(), subtreeInit);
-                }
                 if (plus != null) {
-                    insertRecursive(node.getPlus(), plus, trimmedSplit.getPlus(), subtreeInit);
+                    stack.push(new InsertEntry<>(node.getPlus(), plus, trimmedSplit.getPlus()));
+                }
+                if (minus != null) {
+                    stack.push(new InsertEntry<>(node.getMinus(), minus, trimmedSplit.getMinus()));
                 }
             }
         }
@@ -631,26 +728,44 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         return !transform.preservesOrientation();
     }
 
-    /** Transform the subtree rooted as {@code node} recursively.
+    /** Transform the subtree rooted as {@code node}. The cut of each internal node is transformed
+     * before its children, and the new node state is set after both child subtrees have been
+     * transformed, as in a depth-first recursive traversal.
      * @param node the root node of the subtree to transform
      * @param t the transform to apply
      * @param swapChildren if true, the plus and minus child nodes of each internal node
      *      will be swapped; this should be the case when the transform is a reflection
      */
-    private void transformRecursive(final N node, final Transform<P> t, final boolean swapChildren) {
-        if (node.isInternal()) {
-            // transform our cut
-            final HyperplaneConvexSubset<P> transformedCut = node.getCut().transform(t);
+    private void transformSubtree(final N node, final Transform<P> t, final boolean swapChildren) {
+        final TraversalStack<N> nodeStack = new TraversalStack<>();
+        final TraversalStack<HyperplaneConvexSubset<P>> cutStack = new TraversalStack<>();
+
+        nodeStack.push(node, ENTER);
 
-            // transform our children
-            transformRecursive(node.getMinus(), t, swapChildren);
-            transformRecursive(node.getPlus(), t, swapChildren);
+        N current;
+        while (!nodeStack.isEmpty()) {
+            current = nodeStack.peek();
 
-            final N transformedMinus = swapChildren ? node.getPlus() : node.getMinus();
-            final N transformedPlus = swapChildren ? node.getMinus() : node.getPlus();
+            if (nodeStack.peekState() == ENTER) {
+                if (current.isInternal()) {
+                    // transform our cut
+                    cutStack.push(current.getCut().transform(t));
 
-            // set our new state
-            node.setSubtree(transformedCut, transformedMinus, transformedPlus);
+                    // transform our children, minus side first
+                    nodeStack.setState(EXIT);
+                    nodeStack.push(current.getPlus(), ENTER);
+                    nodeStack.push(current.getMinus(), ENTER);
+                } else {
+                    nodeStack.pop();
+                }
+            } else {
+                final N transformedMinus = swapChildren ? current.getPlus() : current.getMinus();
+                final N transformedPlus = swapChildren ? current.getMinus() : current.getPlus();
+
+                // set our new state
+                current.setSubtree(cutStack.pop(), transformedMinus, transformedPlus);
+                nodeStack.pop();
+            }
         }
     }
 
@@ -688,10 +803,19 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      * @return node containing the split subtree
      */
     protected N splitSubtree(final N node, final HyperplaneConvexSubset<P> partitioner) {
+        final long start = startOperation();
+
         if (node.isLeaf()) {
-            return splitLeafNode(node, partitioner);
+            final N result = splitLeafNode(node, partitioner);
+            endOperation(BSPTreeListener.Operation.SPLIT_LEAF_NODE, 1, start);
+
+            return result;
         }
-        return splitInternalNode(node, partitioner);
+
+        final N result = splitInternalNode(node, partitioner);
+        endOperation(BSPTreeListener.Operation.SPLIT_INTERNAL_NODE, 1, start);
+
+        return result;
     }
 
     /** Split the given leaf node by a partitioning convex subset defined on the
@@ -799,6 +923,58 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         version = Math.max(0, version + 1); // positive values only
     }
 
+    /** Begin a bulk modification of the tree, during which disjoint subtrees may be modified concurrently
+     * by multiple threads. Implementations of {@link AbstractNode#subtreeModified()} must not update nodes
+     * outside of the modified subtree while a bulk modification is in progress, since such nodes may be
+     * shared between threads. The bulk modification must be completed by calling
+     * {@link #endBulkModification()} once all modifications are complete.
+     * @see #isBulkModification()
+     */
+    protected void beginBulkModification() {
+        bulkModification = true;
+    }
+
+    /** End a bulk modification started with {@link #beginBulkModification()} and invalidate the tree.
+     * Subclasses that cache values computed from subtrees must override this method to clear any values
+     * that were not cleared during the bulk modification.
+     */
+    protected void endBulkModification() {
+        bulkModification = false;
+
+        invalidate();
+    }
+
+    /** Return true if a bulk modification of the tree is in progress.
+     * @return true if a bulk modification of the tree is in progress
+     * @see #beginBulkModification()
+     */
+    protected boolean isBulkModification() {
+        return bulkModification;
+    }
+
+    /** Get the start time of an operation to be reported to the tree {@link #getListener() listener}
+     * with {@link #endOperation(BSPTreeListener.Operation, int, long)}. Zero is returned if no listener
+     * is configured.
+     * @return the start time of the operation in nanoseconds or zero if no listener is configured
+     */
+    protected long startOperation() {
+        return listener != null ?
+                System.nanoTime() :
+                0L;
+    }
+
+    /** Report a completed operation to the tree {@link #getListener() listener}, if any.
+     * @param operation the completed operation
+     * @param count number of items affected by the operation
+     * @param start start time of the operation, as returned by {@link #startOperation()}
+     */
+    protected void endOperation(final BSPTreeListener.Operation operation, final int count, final long start) {
+        final BSPTreeListener current = listener;
+        if (current != null) {
+            current.operationCompleted(operation, count, System.nanoTime() - start);
+        }
+    }
+
     /** Get the current structural version of the tree. This is incremented each time the
      * tree structure is changes and can be used by nodes to allow caching of computed values.
      * @return the current version of the tree structure
@@ -873,12 +1049,23 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         /** {@inheritDoc} */
         @Override
         public int depth() {
-            // Calculate our depth based on our parent's depth, if possible.
+            // Calculate our depth based on the depth of the nearest ancestor with a known depth, if possible.
             if (depth == UNKNOWN_VALUE &&
                 parent != null) {
-                final int parentDepth = parent.depth();
-                if (parentDepth != UNKNOWN_VALUE) {
-                    depth = parentDepth + 1;
+                AbstractNode<P, N> ancestor = parent;
+                int distance = 1;
+                while (ancestor.depth == UNKNOWN_VALUE && ancestor.parent != null) {
+                    ancestor = ancestor.parent;
+                    ++distance;
+                }
+
+                if (ancestor.depth != UNKNOWN_VALUE) {
+                    // set the depth of each node along the path
+                    int nodeDepth = ancestor.depth + distance;
+                    for (AbstractNode<P, N> node = this; node != ancestor; node = node.parent) {
+                        node.depth = nodeDepth;
+                        --nodeDepth;
+                    }
                 }
             }
             return depth;
@@ -890,11 +1077,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             checkValid();
 
             if (height == UNKNOWN_VALUE) {
-                if (isLeaf()) {
-                    height = 0;
-                } else {
-                    height = Math.max(getMinus().height(), getPlus().height()) + 1;
-                }
+                computeSubtreeSizes();
             }
 
             return height;
@@ -906,20 +1089,61 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             checkValid();
 
             if (count == UNKNOWN_VALUE) {
-                count = 1;
+                computeSubtreeSizes();
+            }
 
-                if (!isLeaf()) {
-                    count += minus.count() + plus.count();
+            return count;
+        }
+
+        /** Compute the {@link #count() count} and {@link #height() height} values for this node
+         * and all nodes in its subtree for which they are not yet known. Nodes are processed in
+         * post-order using a {@link TraversalStack} so that subtrees of any height are supported.
+         */
+        private void computeSubtreeSizes() {
+            final TraversalStack<AbstractNode<P, N>> stack = new TraversalStack<>();
+            stack.push(this, ENTER);
+
+            AbstractNode<P, N> node;
+            while (!stack.isEmpty()) {
+                node = stack.peek();
+
+                if (stack.peekState() == ENTER) {
+                    node.checkValid();
+
+                    if (node.count != UNKNOWN_VALUE && node.height != UNKNOWN_VALUE) {
+                        stack.pop();
+                    } else if (node.isLeaf()) {
+                        node.count = 1;
+                        node.height = 0;
+                        stack.pop();
+                    } else {
+                        stack.setState(EXIT);
+                        stack.push(node.plus, ENTER);
+                        stack.push(node.minus, ENTER);
+                    }
+                } else {
+                    final AbstractNode<P, N> minusNode = node.minus;
+                    final AbstractNode<P, N> plusNode = node.plus;
+
+                    node.count = 1 + minusNode.count + plusNode.count;
+                    node.height = Math.max(minusNode.height, plusNode.height) + 1;
+                    stack.pop();
                 }
             }
+        }
 
-            return count;
+        /** Return true if the cached values of this node are up to date with the current
+         * structure of the owning tree, meaning that {@link #checkValid()} would not invalidate them.
+         * @return true if the node is up to date with the owning tree
+         */
+        boolean isCurrent() {
+            return nodeVersion == tree.getVersion();
         }
 
         /** {@inheritDoc} */
         @Override
         public Iterable<N> nodes() {
-            return () -> new NodeIterator<>(getSelf());
+            return new NodeIterable<>(this::getSelf);
         }
 
         /** {@inheritDoc} */
@@ -1012,6 +1236,22 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
          * @param newPlus the new plus child for the node
          */
         protected void setSubtree(final HyperplaneConvexSubset<P> newCut, final N newMinus, final N newPlus) {
+            setSubtreeValues(newCut, newMinus, newPlus);
+
+            subtreeModified();
+        }
+
+        /** Directly set the parameters for the subtree rooted at this node without calling
+         * {@link #subtreeModified()}. This method does not read or write any ancestor of this node and so
+         * may be used to construct disjoint subtrees concurrently. Callers are responsible for invalidating
+         * the tree once all modifications are complete. The same restrictions on the arguments apply as for
+         * {@link #setSubtree(HyperplaneConvexSubset, AbstractNode, AbstractNode)}.
+         * @param newCut the new cut hyperplane subset for the node
+         * @param newMinus the new minus child for the node
+         * @param newPlus the new plus child for the node
+         */
+        protected void setSubtreeValues(final HyperplaneConvexSubset<P> newCut, final N newMinus,
+                final N newPlus) {
             this.cut = newCut;
 
             final N self = getSelf();
@@ -1037,6 +1277,16 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             this.plus = newPlus;
         }
 
+        /** Method called when the cut or children of this node are changed through
+         * {@link #setSubtree(HyperplaneConvexSubset, AbstractNode, AbstractNode)}. Subclasses may override this
+         * method to clear values cached on this node or its ancestors that are computed from the content of
+         * their subtrees. Unlike {@link #nodeInvalidated()}, this method is only called for the modified node
+         * and not for every node in the tree. The default implementation does nothing.
+         */
+        protected void subtreeModified() {
+            // no-op
+        }
+
         /**
          * Make this node a root node, detaching it from its parent and settings its depth to zero.
          * Any previous parent node will be left in an invalid state since one of its children now
@@ -1081,14 +1331,102 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         protected abstract N getSelf();
     }
 
-    /** Class for iterating through the nodes in a BSP subtree.
+    /** Traversal stack entry for subtree copy operations.
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class CopyEntry<N> {
+
+        /** Source node. */
+        private final N src;
+
+        /** Destination node. */
+        private final N dst;
+
+        /** Destination node for the copy of the minus subtree of the source node. */
+        private N minus;
+
+        /** Destination node for the copy of the plus subtree of the source node. */
+        private N plus;
+
+        /** Construct a new entry for copying {@code src} into {@code dst}.
+         * @param src source node
+         * @param dst destination node
+         */
+        CopyEntry(final N src, final N dst) {
+            this.src = src;
+            this.dst = dst;
+        }
+    }
+
+    /** Traversal stack entry for hyperplane convex subset insertion operations.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class InsertEntry<P extends Point<P>, N> {
+
+        /** Node to insert into. */
+        private final N node;
+
+        /** The hyperplane subset to insert. */
+        private final HyperplaneConvexSubset<P> insert;
+
+        /** Hyperplane subset containing the result of splitting the entire space with each hyperplane
+         * from the node to the root.
+         */
+        private final HyperplaneConvexSubset<P> trimmed;
+
+        /** Construct a new entry.
+         * @param node node to insert into
+         * @param insert the hyperplane subset to insert
+         * @param trimmed hyperplane subset containing the result of splitting the entire space with each
+         *      hyperplane from the node to the root
+         */
+        InsertEntry(final N node, final HyperplaneConvexSubset<P> insert, final HyperplaneConvexSubset<P> trimmed) {
+            this.node = node;
+            this.insert = insert;
+            this.trimmed = trimmed;
+        }
+    }
+
+    /** Iterable providing access to the nodes in a BSP subtree. The subtree root is obtained from
+     * a supplier each time an iterator or spliterator is created.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     */
+    private static final class NodeIterable<P extends Point<P>, N extends AbstractNode<P, N>> implements Iterable<N> {
+
+        /** Supplier for the root node of the subtree. */
+        private final Supplier<N> subtreeRoot;
+
+        /** Create a new instance for the subtree with the root node supplied by the argument.
+         * @param subtreeRoot supplier for the root node of the subtree
+         */
+        NodeIterable(final Supplier<N> subtreeRoot) {
+            this.subtreeRoot = subtreeRoot;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Iterator<N> iterator() {
+            return new NodeIterator<>(subtreeRoot.get());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Spliterator<N> spliterator() {
+            return new NodeSpliterator<>(subtreeRoot.get());
+        }
+    }
+
+    /** Class for iterating through the nodes in a BSP subtree. Nodes are returned in pre-order,
+     * with the minus subtree of each internal node preceding the plus subtree.
      * @param <P> Point implementation type
      * @param <N> Node implementation type
      */
     private static final class NodeIterator<P extends Point<P>, N extends AbstractNode<P, N>> implements Iterator<N> {
 
         /** The current node stack. */
-        private final Deque<N> stack = new LinkedList<>();
+        private final TraversalStack<N> stack = new TraversalStack<>();
 
         /** Create a new instance for iterating over the nodes in the given subtree.
          * @param subtreeRoot the root node of the subtree to iterate
@@ -1112,7 +1450,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
 
             final N result = stack.pop();
 
-            if (result != null && !result.isLeaf()) {
+            if (result.isInternal()) {
                 stack.push(result.getPlus());
                 stack.push(result.getMinus());
             }
@@ -1120,4 +1458,142 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             return result;
         }
     }
+
+    /** Spliterator for the nodes in a BSP subtree. Nodes are encountered in the same order as with
+     * {@link NodeIterator}. Splits are made at internal nodes by handing off the node itself and its
+     * minus subtree, along with any pending entries that precede them, to the new spliterator and
+     * keeping the plus subtree. Split sizes are exact since they are determined from the cached
+     * {@link AbstractNode#count() node counts}.
+     *
+     * <p>Entries in the work stack with a state of {@link AbstractBSPTree#ENTER ENTER} represent
+     * an entire subtree. Entries with a state of {@link AbstractBSPTree#EXIT EXIT} represent a single
+     * node only; these are created when the children of a node have been handed off or retained
+     * separately by a split.</p>
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     */
+    private static final class NodeSpliterator<P extends Point<P>, N extends AbstractNode<P, N>>
+        implements Spliterator<N> {
+
+        /** Spliterator characteristics. */
+        private static final int CHARACTERISTICS = ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+
+        /** Work stack containing the pending entries. */
+        private final TraversalStack<N> stack;
+
+        /** Number of nodes remaining. */
+        private long remaining;
+
+        /** Create a new instance for the nodes in the given subtree. The node counts of the subtree are
+         * computed here, in the calling thread, so that subsequent splits only read cached values.
+         * @param subtreeRoot the root node of the subtree
+         */
+        NodeSpliterator(final N subtreeRoot) {
+            this(new TraversalStack<>(), subtreeRoot.count());
+            stack.push(subtreeRoot, ENTER);
+        }
+
+        /** Create a new instance with the given work stack and size.
+         * @param stack work stack containing the pending entries
+         * @param remaining number of nodes remaining
+         */
+        private NodeSpliterator(final TraversalStack<N> stack, final long remaining) {
+            this.stack = stack;
+            this.remaining = remaining;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAdvance(final Consumer<? super N> action) {
+            if (stack.isEmpty()) {
+                return false;
+            }
+
+            action.accept(next());
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void forEachRemaining(final Consumer<? super N> action) {
+            while (!stack.isEmpty()) {
+                action.accept(next());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Spliterator<N> trySplit() {
+            if (stack.isEmpty()) {
+                return null;
+            }
+
+            final int size = stack.size();
+            final N bottom = stack.get(0);
+            final int bottomState = stack.getState(0);
+            final boolean bottomIsSubtree = bottomState == ENTER && bottom.isInternal();
+            if (!bottomIsSubtree && size < 2) {
+                return null;
+            }
+
+            // the prefix consists of all entries above the bottom entry and, if the bottom entry
+            // is an internal subtree, its node and minus subtree
+            final TraversalStack<N> prefix = new TraversalStack<>();
+            if (bottomIsSubtree) {
+                prefix.push(bottom.getMinus(), ENTER);
+                prefix.push(bottom, EXIT);
+            }
+
+            for (int i = 1; i < size; ++i) {
+                prefix.push(stack.get(i), stack.getState(i));
+            }
+
+            // this instance keeps the plus subtree of the bottom entry or the bottom entry itself
+            stack.clear();
+
+            final long keep;
+            if (bottomIsSubtree) {
+                stack.push(bottom.getPlus(), ENTER);
+                keep = bottom.getPlus().count();
+            } else {
+                // the bottom entry is a single node
+                stack.push(bottom, bottomState);
+                keep = 1;
+            }
+
+            final NodeSpliterator<P, N> result = new NodeSpliterator<>(prefix, remaining - keep);
+            remaining = keep;
+
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+        /** Remove and return the next node in the encounter order.
+         * @return the next node
+         */
+        private N next() {
+            final int state = stack.peekState();
+            final N result = stack.pop();
+
+            if (state == ENTER && result.isInternal()) {
+                stack.push(result.getPlus(), ENTER);
+                stack.push(result.getMinus(), ENTER);
+            }
+
+            --remaining;
+
+            return result;
+        }
+    }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.geometry.core.partitioning.bsp;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.AbstractNode;
 
@@ -30,6 +33,16 @@ import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.Abstrac
  * will want to restrict the tree types used with the algorithm, which is difficult to implement
  * cleanly at this level.</p>
  *
+ * <p>Merges may optionally be performed in parallel by calling
+ * {@link #setParallelism(ForkJoinPool, int)}. In this mode, the minus and plus subtrees produced at each
+ * internal node of the first input tree are merged as independent fork/join tasks as long as the first
+ * input subtree contains at least the configured threshold number of nodes. The structure of the output
+ * tree is identical to that produced by a sequential merge.</p>
+ *
+ * <p>Completed merges are reported to the {@link BSPTreeListener} configured with
+ * {@link #setListener(BSPTreeListener)} or, if none is configured, to the listener of the output tree.
+ * Node splits performed during the merge are reported to the listener of the output tree.</p>
+ *
  * <p>This class maintains state during the merging process and is therefore
  * <em>not</em> thread-safe.</p>
  * @param <P> Point implementation type
@@ -42,6 +55,17 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
      */
     private AbstractBSPTree<P, N> outputTree;
 
+    /** Pool used to execute parallel merge tasks; null if merges are performed sequentially. */
+    private ForkJoinPool pool;
+
+    /** Minimum number of nodes that a subtree from the first input tree must contain in order
+     * for its child merges to be forked as separate tasks.
+     */
+    private int parallelThreshold;
+
+    /** Listener notified of completed merges; may be null. */
+    private BSPTreeListener listener;
+
     /** Set the tree used as output for this instance.
      * @param outputTree the tree used as output for this instance
      */
@@ -56,6 +80,40 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
         return outputTree;
     }
 
+    /** Configure this instance to perform merges in parallel using the given fork/join pool. Subtree
+     * merges are forked as separate tasks when the subtree from the first input tree contains at
+     * least {@code threshold} nodes; smaller subtrees are merged sequentially in the current task.
+     * Passing a null pool disables parallel merging.
+     * @param forkJoinPool pool used to execute merge tasks; may be null
+     * @param threshold minimum number of nodes in a subtree from the first input tree required
+     *      for the child merges of that subtree to be forked
+     * @throws IllegalArgumentException if {@code threshold} is less than 1
+     */
+    protected void setParallelism(final ForkJoinPool forkJoinPool, final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel merge threshold must be greater than zero; was " +
+                    threshold);
+        }
+        this.pool = forkJoinPool;
+        this.parallelThreshold = threshold;
+    }
+
+    /** Get the listener notified of completed merges performed by this instance or null if merges are
+     * reported to the listener of the output tree.
+     * @return the listener for this instance; may be null
+     */
+    protected BSPTreeListener getListener() {
+        return listener;
+    }
+
+    /** Set the listener notified of completed merges performed by this instance. If null, merges are
+     * reported to the {@link AbstractBSPTree#getListener() listener} of the output tree, if any.
+     * @param listener the listener for this instance; may be null
+     */
+    protected void setListener(final BSPTreeListener listener) {
+        this.listener = listener;
+    }
+
     /** Perform a merge operation with the two input trees and store the result in the output tree. The
      * output tree may be one of the input trees, in which case, the tree is modified in place.
      * @param input1 first input tree
@@ -67,12 +125,34 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
 
         setOutputTree(output);
 
+        final BSPTreeListener mergeListener = listener != null ?
+                listener :
+                output.getListener();
+        final long start = mergeListener != null ?
+                System.nanoTime() :
+                0L;
+
         final N root1 = input1.getRoot();
         final N root2 = input2.getRoot();
 
-        final N outputRoot = performMergeRecursive(root1, root2);
+        // compute the subtree node counts for the first input tree on this thread so that merge
+        // tasks only read cached values
+        if (pool != null && root1.count() >= parallelThreshold) {
+            // merge tasks may modify output nodes whose ancestors are shared with other tasks, so
+            // values cached on ancestors are cleared once the merged root is in place
+            output.beginBulkModification();
+            try {
+                output.setRoot(pool.invoke(new MergeTask(root1, root2)));
+            } finally {
+                output.endBulkModification();
+            }
+        } else {
+            output.setRoot(performMergeRecursive(root1, root2));
+        }
 
-        getOutputTree().setRoot(outputRoot);
+        if (mergeListener != null) {
+            mergeListener.operationCompleted(BSPTreeListener.Operation.MERGE, 1, System.nanoTime() - start);
+        }
     }
 
     /** Recursively merge two nodes.
@@ -97,13 +177,24 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
 
             final N plus = performMergeRecursive(node1.getPlus(), partitioned.getPlus());
 
-            final N outputNode = outputTree.copyNode(node1);
-            outputNode.setSubtree(node1.getCut(), minus, plus);
-
-            return outputNode;
+            return createOutputNode(node1, minus, plus);
         }
     }
 
+    /** Create an internal output node with the same cut and properties as {@code node1} and the
+     * given merged children.
+     * @param node1 internal node from the first input tree
+     * @param minus merged minus child
+     * @param plus merged plus child
+     * @return new internal output node
+     */
+    private N createOutputNode(final N node1, final N minus, final N plus) {
+        final N outputNode = outputTree.copyNode(node1);
+        outputNode.setSubtree(node1.getCut(), minus, plus);
+
+        return outputNode;
+    }
+
     /** Create a new node in the output tree. The node is associated with the output tree but
      * is not attached to a parent node.
      * @return a new node associated with the output tree but not yet attached to a parent
@@ -133,4 +224,50 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
      * @return node representing the merger of the two input nodes
      */
     protected abstract N mergeLeaf(N node1, N node2);
+
+    /** Fork/join task used to merge two subtrees in parallel. The task splits the second subtree
+     * with the cut of the first and merges the resulting minus and plus sides independently, forking
+     * the minus side when the first subtree is large enough. Tasks are run during a
+     * {@link AbstractBSPTree#beginBulkModification() bulk modification} of the output tree, so both sides
+     * write only to disjoint sets of output nodes and no synchronization is required beyond that provided
+     * by the fork/join framework.
+     */
+    private final class MergeTask extends RecursiveTask<N> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261015L;
+
+        /** Node from the first input tree. */
+        private final transient N node1;
+
+        /** Node from the second input tree. */
+        private final transient N node2;
+
+        /** Construct a new task for merging the given nodes.
+         * @param node1 node from the first input tree
+         * @param node2 node from the second input tree
+         */
+        MergeTask(final N node1, final N node2) {
+            this.node1 = node1;
+            this.node2 = node2;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected N compute() {
+            if (node1.isLeaf() || node2.isLeaf() || node1.count() < parallelThreshold) {
+                return performMergeRecursive(node1, node2);
+            }
+
+            final N partitioned = outputTree.splitSubtree(node2, node1.getCut());
+
+            final MergeTask minusTask = new MergeTask(node1.getMinus(), partitioned.getMinus());
+            minusTask.fork();
+
+            final N plus = new MergeTask(node1.getPlus(), partitioned.getPlus()).compute();
+            final N minus = minusTask.join();
+
+            return createOutputNode(node1, minus, plus);
+        }
+    }
 }
@@ -0,0 +1,498 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+import org.apache.commons.geometry.core.partitioning.Split;
+import org.apache.commons.geometry.core.partitioning.SplitLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.SubtreeInitializer;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Class encapsulating logic for building balanced region BSP trees from a complete set of region
+ * boundaries. Instead of inserting boundaries in the order given, all boundaries are collected and the
+ * tree is constructed in bulk when the region is built. Tree construction proceeds in two phases:
+ * <ol>
+ *      <li><strong>Partitioning</strong> - Starting at the root, the boundaries in each node region
+ *      are recursively divided with structural partitions (see {@link AbstractPartitionedRegionBuilder})
+ *      until each region, or <em>cell</em>, contains at most a configured number of boundaries or no
+ *      further progress can be made. Partitions are chosen from the candidates returned by
+ *      {@link #getPartitionCandidates(List)}.</li>
+ *      <li><strong>Boundary insertion</strong> - The boundaries in each cell are inserted into the cell
+ *      subtree. At each step, the next boundary to insert is selected from a sample of the remaining boundaries
+ *      by minimizing the cost function {@code splitWeight * splits + |minus - plus|}, where {@code splits} is
+ *      the number of remaining boundaries split by the candidate hyperplane and {@code minus} and {@code plus}
+ *      are the number of boundaries lying entirely on each side. Cell subtrees are independent of each other and
+ *      may optionally be constructed in parallel.</li>
+ * </ol>
+ *
+ * <p>Partitioning is important for regions with many boundaries that are all on the same side of each other,
+ * such as convex regions. Since any boundary hyperplane chosen as a cut in such a region has all of the other
+ * boundaries on its minus side, trees built from the boundaries alone necessarily degenerate into lists of
+ * nodes.</p>
+ *
+ * <p>As with {@link AbstractPartitionedRegionBuilder}, this technique only produces accurate results when the
+ * inserted boundaries define the entire surface of the region. The structure of the constructed tree is
+ * deterministic and does not depend on whether or not cell subtrees are constructed in parallel.</p>
+ *
+ * <p>This class does not expose any public methods so that subclasses can present their own
+ * public API, tailored to the specific types being worked with.</p>
+ * @param <P> Point implementation type
+ * @param <N> BSP tree node implementation type
+ */
+public abstract class AbstractBalancedRegionBuilder<
+    P extends Point<P>,
+    N extends AbstractRegionNode<P, N>> extends AbstractPartitionedRegionBuilder<P, N> {
+
+    /** Default maximum number of boundaries in a cell before partitioning stops. */
+    private static final int DEFAULT_MAX_CELL_BOUNDARIES = 16;
+
+    /** Default number of candidate boundaries evaluated when choosing the next boundary to insert into a cell. */
+    private static final int DEFAULT_SPLITTER_SAMPLE_SIZE = 8;
+
+    /** Default weight applied to the number of split boundaries in the cost function. */
+    private static final double DEFAULT_SPLIT_WEIGHT = 4.0;
+
+    /** Region boundaries to insert. */
+    private final List<HyperplaneConvexSubset<P>> boundaries = new ArrayList<>();
+
+    /** Subtree initializer for boundary cuts. */
+    private final SubtreeInitializer<N> boundaryInit;
+
+    /** Subtree initializer for partition cuts. */
+    private final SubtreeInitializer<N> partitionInit;
+
+    /** Maximum number of boundaries in a cell before partitioning stops. */
+    private int maxCellBoundaries = DEFAULT_MAX_CELL_BOUNDARIES;
+
+    /** Number of candidate boundaries evaluated when choosing the next boundary to insert into a cell. */
+    private int splitterSampleSize = DEFAULT_SPLITTER_SAMPLE_SIZE;
+
+    /** Weight applied to the number of split boundaries in the cost function. */
+    private double splitWeight = DEFAULT_SPLIT_WEIGHT;
+
+    /** Construct a new instance that builds a balanced region in the given tree. The tree must
+     * be empty.
+     * @param tree tree to build the region in; must be empty
+     * @throws IllegalArgumentException if the tree is not empty
+     */
+    protected AbstractBalancedRegionBuilder(final AbstractRegionBSPTree<P, N> tree) {
+        super(tree);
+
+        this.boundaryInit = tree.getSubtreeInitializer(RegionCutRule.MINUS_INSIDE);
+        this.partitionInit = tree.getSubtreeInitializer(RegionCutRule.INHERIT);
+    }
+
+    /** Internal method to add a region boundary to the set of boundaries used to construct the region.
+     * @param boundary boundary to add
+     */
+    protected void addBoundaryInternal(final HyperplaneConvexSubset<P> boundary) {
+        boundaries.add(boundary);
+    }
+
+    /** Internal method to set the maximum number of boundaries that may be present in a cell before
+     * partitioning stops.
+     * @param max maximum number of boundaries in a cell
+     * @throws IllegalArgumentException if {@code max} is less than 1
+     */
+    protected void setMaxCellBoundariesInternal(final int max) {
+        this.maxCellBoundaries = checkPositive(max, "Max cell boundaries");
+    }
+
+    /** Internal method to set the number of candidate boundaries evaluated when choosing the next
+     * boundary to insert into a cell.
+     * @param sampleSize number of candidate boundaries to evaluate
+     * @throws IllegalArgumentException if {@code sampleSize} is less than 1
+     */
+    protected void setSplitterSampleSizeInternal(final int sampleSize) {
+        this.splitterSampleSize = checkPositive(sampleSize, "Splitter sample size");
+    }
+
+    /** Internal method to set the weight applied to the number of split boundaries in the
+     * cost function used to choose cuts.
+     * @param weight split weight
+     * @throws IllegalArgumentException if {@code weight} is negative or not finite
+     */
+    protected void setSplitWeightInternal(final double weight) {
+        if (!Double.isFinite(weight) || weight < 0) {
+            throw new IllegalArgumentException("Split weight must be finite and non-negative; was " + weight);
+        }
+        this.splitWeight = weight;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected AbstractRegionBSPTree<P, N> buildInternal() {
+        final List<Cell<N, P>> cells = new ArrayList<>();
+        final List<HyperplaneConvexSubset<P>> partitionBoundaries = new ArrayList<>();
+
+        // partitioning phase
+        partition(getTree().getRoot(), new ArrayList<>(boundaries), cells, partitionBoundaries);
+        boundaries.clear();
+
+        // boundary insertion phase
+        beginBoundaryInsertion();
+
+        final ForkJoinPool pool = getParallelismPool();
+        if (pool != null && cells.size() > 1) {
+            pool.invoke(new CellTask(cells, 0, cells.size()));
+        } else {
+            for (final Cell<N, P> cell : cells) {
+                buildCell(cell);
+            }
+        }
+
+        // insert boundaries lying directly on partitions using the standard algorithm; this must
+        // be done after the cells are constructed since it only sets the location of existing leaf nodes;
+        // the tree is invalidated once all boundaries are inserted
+        for (final HyperplaneConvexSubset<P> boundary : partitionBoundaries) {
+            insertBoundaryInternal(boundary);
+        }
+
+        return super.buildInternal();
+    }
+
+    /** Get a list of candidate partition hyperplanes for dividing the given boundaries, all of which lie in
+     * the same node region. Good candidates divide the boundaries into two groups of similar size while
+     * splitting as few boundaries as possible. An empty list may be returned if no suitable candidates exist.
+     * @param nodeBoundaries boundaries lying in the node region to partition
+     * @return list of candidate partition hyperplanes
+     */
+    protected abstract List<? extends Hyperplane<P>> getPartitionCandidates(
+            List<? extends HyperplaneConvexSubset<P>> nodeBoundaries);
+
+    /** Partition the boundaries in the region of the given leaf node. Node regions are processed in pre-order,
+     * minus side first, using an explicit stack so that trees of any height are supported.
+     * @param root leaf node to partition
+     * @param rootBoundaries boundaries lying in the root node region
+     * @param cells list of cells to add to
+     * @param partitionBoundaries list of boundaries lying directly on partitions
+     */
+    private void partition(final N root, final List<HyperplaneConvexSubset<P>> rootBoundaries,
+            final List<Cell<N, P>> cells, final List<HyperplaneConvexSubset<P>> partitionBoundaries) {
+        final AbstractRegionBSPTree<P, N> tree = getTree();
+
+        final TraversalStack<Cell<N, P>> stack = new TraversalStack<>();
+        stack.push(new Cell<>(root, rootBoundaries));
+
+        while (!stack.isEmpty()) {
+            final Cell<N, P> entry = stack.pop();
+            final N node = entry.node;
+            final List<HyperplaneConvexSubset<P>> nodeBoundaries = entry.boundaries;
+
+            final HyperplaneConvexSubset<P> cut = nodeBoundaries.size() > maxCellBoundaries ?
+                    trimPartition(node, choosePartition(nodeBoundaries)) :
+                    null;
+
+            if (cut != null) {
+                tree.setNodeCut(node, cut, partitionInit);
+
+                final List<HyperplaneConvexSubset<P>> minus = new ArrayList<>();
+                final List<HyperplaneConvexSubset<P>> plus = new ArrayList<>();
+                splitBoundaries(nodeBoundaries, cut.getHyperplane(), minus, plus, partitionBoundaries);
+
+                // push the plus side first so that the minus side is processed first
+                stack.push(new Cell<>(node.getPlus(), plus));
+                stack.push(new Cell<>(node.getMinus(), minus));
+            } else if (!nodeBoundaries.isEmpty()) {
+                cells.add(entry);
+            }
+        }
+    }
+
+    /** Trim the given partition hyperplane to the region of the given node.
+     * @param node leaf node
+     * @param partition partition hyperplane; may be null
+     * @return the partition trimmed to the node region or null if {@code partition} is null or does not
+     *      intersect the node region
+     */
+    private HyperplaneConvexSubset<P> trimPartition(final N node, final Hyperplane<P> partition) {
+        if (partition != null) {
+            final HyperplaneConvexSubset<P> cut = getTree().trimToNode(node, partition.span());
+            if (cut != null && !cut.isEmpty()) {
+                return cut;
+            }
+        }
+        return null;
+    }
+
+    /** Choose the partition hyperplane to use for the given boundaries or null if no candidate
+     * partition results in smaller groups of boundaries.
+     * @param nodeBoundaries boundaries lying in a node region
+     * @return the chosen partition or null if no candidate partition improves the tree
+     */
+    private Hyperplane<P> choosePartition(final List<HyperplaneConvexSubset<P>> nodeBoundaries) {
+        final int count = nodeBoundaries.size();
+
+        Hyperplane<P> best = null;
+        double bestScore = Double.POSITIVE_INFINITY;
+
+        for (final Hyperplane<P> candidate : getPartitionCandidates(nodeBoundaries)) {
+            final SplitCounts counts = computeSplitCounts(candidate, nodeBoundaries, count);
+
+            // only accept the partition if both sides contain fewer boundaries than the current node
+            if (counts.minus + counts.both < count &&
+                    counts.plus + counts.both < count) {
+                final double score = counts.score(splitWeight);
+                if (score < bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /** Construct the subtree for a cell by inserting the boundaries in the cell in order of increasing cost.
+     * Boundaries are inserted with {@link AbstractBSPTree.AbstractNode#setSubtreeValues(HyperplaneConvexSubset,
+     * AbstractBSPTree.AbstractNode, AbstractBSPTree.AbstractNode) setSubtreeValues}, which neither invalidates
+     * the tree nor accesses nodes outside of the cell subtree, so this method may be called concurrently for
+     * different cells. The subtree is constructed using an explicit stack so that subtrees of any height are
+     * supported.
+     * @param cell cell to construct; the cell node must be a leaf node and its boundary list is modified
+     */
+    private void buildCell(final Cell<N, P> cell) {
+        final AbstractRegionBSPTree<P, N> tree = getTree();
+
+        final TraversalStack<Cell<N, P>> stack = new TraversalStack<>();
+        stack.push(cell);
+
+        while (!stack.isEmpty()) {
+            final Cell<N, P> entry = stack.pop();
+            final N node = entry.node;
+            final List<HyperplaneConvexSubset<P>> nodeBoundaries = entry.boundaries;
+
+            while (!nodeBoundaries.isEmpty()) {
+                final HyperplaneConvexSubset<P> splitter = nodeBoundaries.remove(chooseSplitter(nodeBoundaries));
+                final Hyperplane<P> hyperplane = splitter.getHyperplane();
+
+                final HyperplaneConvexSubset<P> cut = tree.trimToNode(node, hyperplane.span());
+                if (cut != null && !cut.isEmpty()) {
+                    node.setSubtreeValues(cut, tree.createNode(), tree.createNode());
+
+                    // the new child nodes do not contain cached values, so setting their locations
+                    // does not modify this node or any of its ancestors
+                    boundaryInit.initSubtree(node);
+
+                    // boundaries coincident with the cut do not add any information to the tree
+                    // and are discarded
+                    final List<HyperplaneConvexSubset<P>> minus = new ArrayList<>();
+                    final List<HyperplaneConvexSubset<P>> plus = new ArrayList<>();
+                    splitBoundaries(nodeBoundaries, hyperplane, minus, plus, null);
+
+                    stack.push(new Cell<>(node.getPlus(), plus));
+                    stack.push(new Cell<>(node.getMinus(), minus));
+
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Return the index of the boundary with the lowest cost among a sample of the given boundaries.
+     * Samples are taken at evenly spaced indices so that the result is deterministic.
+     * @param nodeBoundaries boundaries to choose from
+     * @return the index of the chosen boundary
+     */
+    private int chooseSplitter(final List<HyperplaneConvexSubset<P>> nodeBoundaries) {
+        final int count = nodeBoundaries.size();
+        final int sampleCount = Math.min(count, splitterSampleSize);
+
+        int bestIdx = 0;
+        double bestScore = Double.POSITIVE_INFINITY;
+
+        if (count > 1) {
+            for (int i = 0; i < sampleCount; ++i) {
+                final int idx = (int) (((long) i * count) / sampleCount);
+                final Hyperplane<P> candidate = nodeBoundaries.get(idx).getHyperplane();
+
+                final double score = computeSplitCounts(candidate, nodeBoundaries, count).score(splitWeight);
+                if (score < bestScore) {
+                    bestIdx = idx;
+                    bestScore = score;
+                }
+            }
+        }
+
+        return bestIdx;
+    }
+
+    /** Split the given boundaries by the hyperplane, placing the results in the given lists.
+     * @param nodeBoundaries boundaries to split
+     * @param splitter splitting hyperplane
+     * @param minus list for boundaries on the minus side of the splitter
+     * @param plus list for boundaries on the plus side of the splitter
+     * @param coincident list for boundaries lying directly on the splitter; may be null, in which case
+     *      these boundaries are discarded
+     */
+    private void splitBoundaries(final List<HyperplaneConvexSubset<P>> nodeBoundaries,
+            final Hyperplane<P> splitter, final List<HyperplaneConvexSubset<P>> minus,
+            final List<HyperplaneConvexSubset<P>> plus, final List<HyperplaneConvexSubset<P>> coincident) {
+
+        for (final HyperplaneConvexSubset<P> boundary : nodeBoundaries) {
+            final Split<? extends HyperplaneConvexSubset<P>> split = boundary.split(splitter);
+
+            if (split.getLocation() == SplitLocation.NEITHER) {
+                if (coincident != null) {
+                    coincident.add(boundary);
+                }
+            } else {
+                if (split.getMinus() != null) {
+                    minus.add(split.getMinus());
+                }
+                if (split.getPlus() != null) {
+                    plus.add(split.getPlus());
+                }
+            }
+        }
+    }
+
+    /** Compute the split counts for the given hyperplane and boundaries.
+     * @param <P> Point implementation type
+     * @param hyperplane hyperplane to compute counts for
+     * @param nodeBoundaries boundaries to classify
+     * @param count number of boundaries in the list
+     * @return the split counts
+     */
+    private static <P extends Point<P>> SplitCounts computeSplitCounts(final Hyperplane<P> hyperplane,
+            final List<HyperplaneConvexSubset<P>> nodeBoundaries, final int count) {
+        final SplitCounts counts = new SplitCounts();
+
+        for (int i = 0; i < count; ++i) {
+            switch (nodeBoundaries.get(i).split(hyperplane).getLocation()) {
+            case MINUS:
+                ++counts.minus;
+                break;
+            case PLUS:
+                ++counts.plus;
+                break;
+            case BOTH:
+                ++counts.both;
+                break;
+            default:
+                break;
+            }
+        }
+
+        return counts;
+    }
+
+    /** Throw an exception if the given value is not positive.
+     * @param value value to check
+     * @param name name of the value
+     * @return the value
+     * @throws IllegalArgumentException if {@code value} is less than 1
+     */
+    private static int checkPositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be greater than zero; was " + value);
+        }
+        return value;
+    }
+
+    /** Class containing the number of boundaries on each side of a hyperplane.
+     */
+    private static final class SplitCounts {
+
+        /** Number of boundaries lying entirely on the minus side. */
+        private int minus;
+
+        /** Number of boundaries lying entirely on the plus side. */
+        private int plus;
+
+        /** Number of boundaries split by the hyperplane. */
+        private int both;
+
+        /** Compute the cost score for these counts.
+         * @param splitWeight weight applied to the number of split boundaries
+         * @return the cost score
+         */
+        double score(final double splitWeight) {
+            return (splitWeight * both) + Math.abs(minus - plus);
+        }
+    }
+
+    /** Class representing a leaf node along with the boundaries lying in its region. Instances are
+     * used for the cells produced by the partitioning phase and for the pending entries of the
+     * partitioning and cell construction stacks.
+     * @param <N> Node implementation type
+     * @param <P> Point implementation type
+     */
+    private static final class Cell<N, P extends Point<P>> {
+
+        /** Leaf node for the cell. */
+        private final N node;
+
+        /** Boundaries lying in the cell. */
+        private final List<HyperplaneConvexSubset<P>> boundaries;
+
+        /** Construct a new instance.
+         * @param node leaf node for the cell
+         * @param boundaries boundaries lying in the cell
+         */
+        Cell(final N node, final List<HyperplaneConvexSubset<P>> boundaries) {
+            this.node = node;
+            this.boundaries = boundaries;
+        }
+    }
+
+    /** Fork/join task used to construct a range of cell subtrees.
+     */
+    private final class CellTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261015L;
+
+        /** Cells to construct. */
+        private final transient List<Cell<N, P>> cells;
+
+        /** Start index (inclusive) of the range of cells to construct. */
+        private final int start;
+
+        /** End index (exclusive) of the range of cells to construct. */
+        private final int end;
+
+        /** Construct a new task for the given range of cells.
+         * @param cells list of cells
+         * @param start start index (inclusive)
+         * @param end end index (exclusive)
+         */
+        CellTask(final List<Cell<N, P>> cells, final int start, final int end) {
+            this.cells = cells;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                buildCell(cells.get(start));
+            } else {
+                final int mid = (start + end) >>> 1;
+                invokeAll(new CellTask(cells, start, mid), new CellTask(cells, mid, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,679 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Base class for immutable, compiled snapshots of region BSP trees. A compiled region
+ * stores the tree structure in a {@link CompactRegionNodeStore} and eagerly computes all
+ * values that {@link AbstractRegionBSPTree} computes lazily, such as node cut boundaries and
+ * region size properties. As a result, no state is modified when querying an instance and
+ * instances may be safely shared between threads without synchronization.
+ *
+ * <p>Compiled regions represent the region as it existed at the time of creation. Subsequent
+ * modifications of the source tree are not reflected in the compiled region.</p>
+ *
+ * <p>Compiled regions may optionally be created with {@link CompactRegionNodeStore#hasSharedSubtrees()
+ * shared subtrees}, in which case structurally identical subtrees of the source tree are stored only once.
+ * Since the cut boundary of a node depends on the region of the node, it is not shared along with the node.
+ * Instead, cut boundaries are identified by the <em>position</em> of the node in the source tree, i.e. the
+ * index of the node in the pre-order ({@code node, minus, plus}) traversal of the source tree, and only
+ * non-empty cut boundaries are retained. The positions of the children of a node are computed during
+ * traversal with {@link #getMinusPosition(int)} and {@link #getPlusPosition(int, int)}. For stores without
+ * shared subtrees, the position of a node is equal to its id.</p>
+ *
+ * <p>Subclasses may override {@link #classifyCut(int, Point)} and {@link #offset(int, Point)}
+ * in order to evaluate cut hyperplanes using primitive coefficient arrays instead of hyperplane
+ * instances. The overridden methods must produce results identical to those of the corresponding
+ * {@link Hyperplane} methods.</p>
+ *
+ * <p>Subclasses may also support batch classification of points given as flat arrays of coordinates by
+ * overriding {@link #classifyCut(int, double[], int)} and exposing
+ * {@link #classifyCoordinates(double[], int, int, int, RegionLocation[], ForkJoinPool)} through a public,
+ * dimension-specific method.</p>
+ * @param <P> Point implementation type
+ */
+public abstract class AbstractCompiledRegion<P extends Point<P>> implements Region<P> {
+
+    /** Minimum number of points classified by a single task during a parallel batch classification. */
+    private static final int MIN_BATCH_TASK_SIZE = 4096;
+
+    /** Initial size of the array used to collect the positions of non-empty cut boundaries. */
+    private static final int INITIAL_POSITION_ARRAY_SIZE = 16;
+
+    /** Store containing the tree structure. */
+    private final CompactRegionNodeStore<P> store;
+
+    /** Node cut boundaries. If subtrees are not shared, the list is indexed by node id and leaf nodes have
+     * null entries. Otherwise, the list only contains non-empty cut boundaries, in the same order as
+     * {@link #boundaryPositions}.
+     */
+    private final List<RegionCutBoundary<P>> cutBoundaries;
+
+    /** Sorted source tree positions of the nodes with entries in {@link #cutBoundaries}; null if subtrees
+     * are not shared.
+     */
+    private final int[] boundaryPositions;
+
+    /** Number of source tree nodes in the subtree rooted at each node, indexed by node id; null if subtrees
+     * are not shared.
+     */
+    private final int[] subtreeSizes;
+
+    /** Empty cut boundary returned for shared nodes that do not contribute to the region boundary. */
+    private final RegionCutBoundary<P> emptyCutBoundary = new RegionCutBoundary<>(null, null);
+
+    /** True if the region is full. */
+    private final boolean full;
+
+    /** True if the region is empty. */
+    private final boolean empty;
+
+    /** The size of the region. */
+    private final double size;
+
+    /** The boundary size of the region. */
+    private final double boundarySize;
+
+    /** The centroid of the region; may be null. */
+    private final P centroid;
+
+    /** The height of the compiled tree, i.e. the number of edges on the longest path from the root to a leaf. */
+    private final int height;
+
+    /** Construct a new instance containing the current state of the given tree.
+     * @param <N> Node implementation type
+     * @param tree tree to compile
+     */
+    protected <N extends AbstractRegionNode<P, N>> AbstractCompiledRegion(final AbstractRegionBSPTree<P, N> tree) {
+        this(tree, false);
+    }
+
+    /** Construct a new instance containing the current state of the given tree, optionally storing
+     * structurally identical subtrees only once.
+     * @param <N> Node implementation type
+     * @param tree tree to compile
+     * @param shareSubtrees if true, structurally identical subtrees of the tree are stored only once
+     * @see CompactRegionNodeStore#from(AbstractRegionBSPTree, boolean)
+     */
+    protected <N extends AbstractRegionNode<P, N>> AbstractCompiledRegion(final AbstractRegionBSPTree<P, N> tree,
+            final boolean shareSubtrees) {
+        this.store = CompactRegionNodeStore.from(tree, shareSubtrees);
+
+        // the node iterator visits nodes in pre-order, i.e. in order of increasing position; for
+        // unshared stores, this is also the order of node ids
+        final List<RegionCutBoundary<P>> boundaries = new ArrayList<>();
+        if (shareSubtrees) {
+            int[] positions = new int[INITIAL_POSITION_ARRAY_SIZE];
+            int position = 0;
+            for (final N node : tree.nodes()) {
+                if (node.isInternal()) {
+                    final RegionCutBoundary<P> boundary = node.getCutBoundary();
+                    if (!boundary.getInsideFacing().isEmpty() || !boundary.getOutsideFacing().isEmpty()) {
+                        if (boundaries.size() == positions.length) {
+                            positions = Arrays.copyOf(positions, positions.length * 2);
+                        }
+                        positions[boundaries.size()] = position;
+                        boundaries.add(boundary);
+                    }
+                }
+                ++position;
+            }
+
+            this.boundaryPositions = Arrays.copyOf(positions, boundaries.size());
+            this.subtreeSizes = computeSubtreeSizes(store);
+        } else {
+            for (final N node : tree.nodes()) {
+                boundaries.add(node.isInternal() ? node.getCutBoundary() : null);
+            }
+
+            this.boundaryPositions = null;
+            this.subtreeSizes = null;
+        }
+        this.cutBoundaries = Collections.unmodifiableList(boundaries);
+
+        this.full = tree.isFull();
+        this.empty = tree.isEmpty();
+        this.size = tree.getSize();
+        this.boundarySize = tree.getBoundarySize();
+        this.centroid = tree.getCentroid();
+        this.height = computeHeight(store);
+    }
+
+    /** Get the store containing the structure of the compiled tree.
+     * @return the store containing the structure of the compiled tree
+     */
+    public CompactRegionNodeStore<P> getNodeStore() {
+        return store;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isFull() {
+        return full;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getBoundarySize() {
+        return boundarySize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public P getCentroid() {
+        return centroid;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RegionLocation classify(final P pt) {
+        if (pt.isNaN()) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        int node = store.getRoot();
+        int cut;
+        while ((cut = store.getCutHyperplaneIndex(node)) != CompactRegionNodeStore.NONE) {
+            final HyperplaneLocation loc = classifyCut(cut, pt);
+            if (loc == HyperplaneLocation.MINUS) {
+                node = store.getMinus(node);
+            } else if (loc == HyperplaneLocation.PLUS) {
+                node = store.getPlus(node);
+            } else {
+                // the point lies on a cut; defer to the store, which examines all
+                // subtrees touching the point
+                return store.classify(pt);
+            }
+        }
+
+        return store.getLocation(node);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public P project(final P pt) {
+        final ProjectionState<P> state = new ProjectionState<>(pt);
+
+        // Stack of entries to process. Non-negative entries are ids of nodes to visit, with the source tree
+        // positions of the nodes stored at the same index in the positions array; negative entries are the
+        // bitwise complements of the positions of nodes whose cut boundary is to be examined, with the offset
+        // of the target point from the node cut stored at the same index in the offsets array. Visiting an
+        // internal node replaces it with three entries, so the stack never holds more than 2 * height + 1 entries.
+        final int[] stack = new int[(2 * height) + 1];
+        final int[] positions = new int[stack.length];
+        final double[] offsets = new double[stack.length];
+
+        int size = 0;
+        stack[size] = store.getRoot();
+        positions[size] = 0;
+        ++size;
+
+        while (size > 0) {
+            final int entry = stack[--size];
+
+            if (entry < 0) {
+                projectOntoCutBoundary(~entry, offsets[size], state);
+            } else {
+                final int cut = store.getCutHyperplaneIndex(entry);
+                if (cut != CompactRegionNodeStore.NONE) {
+                    final int position = positions[size];
+                    final double cutOffset = offset(cut, pt);
+
+                    final boolean plusIsNear = cutOffset > 0.0;
+                    final int minusPosition = getMinusPosition(position);
+                    final int plusPosition = getPlusPosition(entry, position);
+
+                    // push in reverse order: near subtree, then the node cut boundary, then the far subtree
+                    stack[size] = plusIsNear ? store.getMinus(entry) : store.getPlus(entry);
+                    positions[size] = plusIsNear ? minusPosition : plusPosition;
+                    ++size;
+
+                    offsets[size] = cutOffset;
+                    stack[size++] = ~position;
+
+                    stack[size] = plusIsNear ? store.getPlus(entry) : store.getMinus(entry);
+                    positions[size] = plusIsNear ? plusPosition : minusPosition;
+                    ++size;
+                }
+            }
+        }
+
+        return state.projected;
+    }
+
+    /** Get the cut boundary for the given node or null if the node is a leaf.
+     * @param node node id
+     * @param position position of the node in the source tree
+     * @return the cut boundary for the node or null if the node is a leaf
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     * @see AbstractRegionNode#getCutBoundary()
+     */
+    protected RegionCutBoundary<P> getCutBoundary(final int node, final int position) {
+        return store.isLeaf(node) ?
+                null :
+                getInternalCutBoundary(position);
+    }
+
+    /** Get the position in the source tree of the minus child of the internal node at the given position.
+     * @param position position of an internal node in the source tree
+     * @return the position of the minus child of the node
+     */
+    protected int getMinusPosition(final int position) {
+        return position + 1;
+    }
+
+    /** Get the position in the source tree of the plus child of the given internal node.
+     * @param node internal node id
+     * @param position position of the node in the source tree
+     * @return the position of the plus child of the node
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    protected int getPlusPosition(final int node, final int position) {
+        return subtreeSizes != null ?
+                position + 1 + subtreeSizes[store.getMinus(node)] :
+                store.getPlus(node);
+    }
+
+    /** Get the cut boundary of the internal node at the given source tree position.
+     * @param position position of an internal node in the source tree
+     * @return the cut boundary of the node
+     */
+    private RegionCutBoundary<P> getInternalCutBoundary(final int position) {
+        if (boundaryPositions == null) {
+            return cutBoundaries.get(position);
+        }
+
+        final int idx = Arrays.binarySearch(boundaryPositions, position);
+        return idx >= 0 ?
+                cutBoundaries.get(idx) :
+                emptyCutBoundary;
+    }
+
+    /** Classify a point with respect to the cut hyperplane with the given index in the
+     * {@link CompactRegionNodeStore#getHyperplanes() hyperplane table}. This implementation
+     * delegates to {@link Hyperplane#classify(Point)}.
+     * @param hyperplaneIndex index of the hyperplane in the hyperplane table
+     * @param pt point to classify
+     * @return the location of the point relative to the hyperplane
+     */
+    protected HyperplaneLocation classifyCut(final int hyperplaneIndex, final P pt) {
+        return store.getHyperplanes().get(hyperplaneIndex).classify(pt);
+    }
+
+    /** Classify the point with coordinates starting at {@code offset} in {@code coords} with respect to
+     * the cut hyperplane with the given index in the {@link CompactRegionNodeStore#getHyperplanes()
+     * hyperplane table}. This method is used for batch classification of points and must not allocate
+     * any objects. This implementation throws an {@link UnsupportedOperationException}.
+     * @param hyperplaneIndex index of the hyperplane in the hyperplane table
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the point in {@code coords}
+     * @return the location of the point relative to the hyperplane
+     * @throws UnsupportedOperationException if this instance does not support batch classification
+     */
+    protected HyperplaneLocation classifyCut(final int hyperplaneIndex, final double[] coords, final int offset) {
+        throw new UnsupportedOperationException("Coordinate-based classification is not supported by " +
+                getClass().getSimpleName());
+    }
+
+    /** Classify a batch of points given as consecutive groups of {@code dimension} coordinates in
+     * {@code coords}, starting at index {@code offset}, and store the location of the {@code i}th point in
+     * {@code out[i]}. Each point is located with a non-recursive descent of the tree and no objects are
+     * allocated per point. Points containing NaN coordinates are classified as
+     * {@link RegionLocation#OUTSIDE outside}. If {@code pool} is not null and the batch is sufficiently
+     * large, the batch is split into ranges that are classified in parallel using the pool.
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the first point in {@code coords}
+     * @param count number of points to classify
+     * @param dimension number of coordinates per point
+     * @param out array receiving the locations of the points
+     * @param pool pool used to classify the points in parallel; may be null
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if the range of coordinates specified by {@code offset}, {@code count},
+     *      and {@code dimension} is not contained in {@code coords} or {@code out} contains fewer than
+     *      {@code count} elements
+     * @throws UnsupportedOperationException if this instance does not support batch classification
+     */
+    protected void classifyCoordinates(final double[] coords, final int offset, final int count, final int dimension,
+            final RegionLocation[] out, final ForkJoinPool pool) {
+        checkCoordinateRange(coords, offset, count, dimension, out);
+
+        if (pool != null && count >= 2 * MIN_BATCH_TASK_SIZE) {
+            pool.invoke(new ClassifyTask(coords, offset, dimension, out, 0, count));
+        } else {
+            classifyCoordinateRange(coords, offset, dimension, out, 0, count);
+        }
+    }
+
+    /** Check that {@code coords} contains {@code count} points with {@code dimension} coordinates each, starting
+     * at index {@code offset}, and that {@code out} is large enough to receive the locations of the points.
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the first point in {@code coords}
+     * @param count number of points
+     * @param dimension number of coordinates per point
+     * @param out array receiving the locations of the points
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if the range of coordinates specified by {@code offset}, {@code count},
+     *      and {@code dimension} is not contained in {@code coords} or {@code out} contains fewer than
+     *      {@code count} elements
+     */
+    protected static void checkCoordinateRange(final double[] coords, final int offset, final int count,
+            final int dimension, final RegionLocation[] out) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Point count must not be negative; was " + count);
+        }
+        if (offset < 0 || offset > coords.length || (coords.length - offset) / dimension < count) {
+            throw new IndexOutOfBoundsException("Coordinate range [" + offset + ", " + offset + " + " +
+                    count + " * " + dimension + ") is out of bounds for array length " + coords.length);
+        }
+        if (out.length < count) {
+            throw new IndexOutOfBoundsException("Output array length " + out.length +
+                    " is less than point count " + count);
+        }
+    }
+
+    /** Classify the points with indices in the range {@code [start, end)} of a batch.
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the first point of the batch in {@code coords}
+     * @param dimension number of coordinates per point
+     * @param out array receiving the locations of the points
+     * @param start index of the first point to classify
+     * @param end index one past the last point to classify
+     */
+    private void classifyCoordinateRange(final double[] coords, final int offset, final int dimension,
+            final RegionLocation[] out, final int start, final int end) {
+        // scratch stack used for points lying directly on cuts; the depth-first search holds at most one
+        // pending sibling per level below the starting node, in addition to the node being visited
+        final int[] stack = new int[height + 1];
+
+        for (int i = start; i < end; ++i) {
+            out[i] = classifyCoordinates(coords, offset + (i * dimension), dimension, stack);
+        }
+    }
+
+    /** Classify a single point given by coordinates in a flat array.
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the point in {@code coords}
+     * @param dimension number of coordinates per point
+     * @param stack scratch stack with a size greater than the height of the tree
+     * @return the location of the point with respect to the region
+     */
+    private RegionLocation classifyCoordinates(final double[] coords, final int offset, final int dimension,
+            final int[] stack) {
+        for (int i = offset; i < offset + dimension; ++i) {
+            if (Double.isNaN(coords[i])) {
+                return RegionLocation.OUTSIDE;
+            }
+        }
+
+        int node = store.getRoot();
+        int cut;
+        while ((cut = store.getCutHyperplaneIndex(node)) != CompactRegionNodeStore.NONE) {
+            final HyperplaneLocation loc = classifyCut(cut, coords, offset);
+            if (loc == HyperplaneLocation.MINUS) {
+                node = store.getMinus(node);
+            } else if (loc == HyperplaneLocation.PLUS) {
+                node = store.getPlus(node);
+            } else {
+                return classifyCoordinatesOnCut(node, coords, offset, stack);
+            }
+        }
+
+        return store.getLocation(node);
+    }
+
+    /** Classify a point lying directly on the cut of the given node. All leaf nodes reachable from the
+     * node (following both children whenever the point lies on a cut) are examined. If they all share the
+     * same location, that location is returned. Otherwise, the point lies on the region boundary.
+     * @param start id of the node with the cut containing the point
+     * @param coords array containing point coordinates
+     * @param offset index of the first coordinate of the point in {@code coords}
+     * @param stack scratch stack with a size greater than the height of the tree
+     * @return the location of the point with respect to the region
+     */
+    private RegionLocation classifyCoordinatesOnCut(final int start, final double[] coords, final int offset,
+            final int[] stack) {
+        int size = 0;
+        stack[size++] = start;
+
+        RegionLocation result = null;
+
+        int node;
+        int cut;
+        while (size > 0) {
+            node = stack[--size];
+
+            cut = store.getCutHyperplaneIndex(node);
+            if (cut == CompactRegionNodeStore.NONE) {
+                final RegionLocation loc = store.getLocation(node);
+                if (result == null) {
+                    result = loc;
+                } else if (result != loc) {
+                    return RegionLocation.BOUNDARY;
+                }
+            } else {
+                final HyperplaneLocation loc = classifyCut(cut, coords, offset);
+                if (loc != HyperplaneLocation.MINUS) {
+                    stack[size++] = store.getPlus(node);
+                }
+                if (loc != HyperplaneLocation.PLUS) {
+                    stack[size++] = store.getMinus(node);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /** Compute the offset of a point from the cut hyperplane with the given index in the
+     * {@link CompactRegionNodeStore#getHyperplanes() hyperplane table}. This implementation
+     * delegates to {@link Hyperplane#offset(Point)}.
+     * @param hyperplaneIndex index of the hyperplane in the hyperplane table
+     * @param pt point to compute the offset of
+     * @return the offset of the point from the hyperplane
+     */
+    protected double offset(final int hyperplaneIndex, final P pt) {
+        return store.getHyperplanes().get(hyperplaneIndex).offset(pt);
+    }
+
+    /** Method used to determine which of points {@code a} and {@code b} should be considered
+     * as the "closest" point to {@code target} when the points are exactly equidistant. This
+     * implementation returns {@code a}.
+     * @param target the target point
+     * @param a first point to consider
+     * @param b second point to consider
+     * @return which of {@code a} or {@code b} should be considered as the one closest to
+     *      {@code target}
+     */
+    protected P disambiguateClosestPoint(final P target, final P a, final P b) {
+        return a;
+    }
+
+    /** Update the projection state with the point on the cut boundary of the given node closest to the
+     * target point, if the cut lies close enough to the target to possibly contain a closer point. Nodes
+     * are examined in the same order as in {@link AbstractRegionBSPTree#project(Point)}, namely after the
+     * subtree on the same side of the cut as the target and before the subtree on the opposite side.
+     * @param position source tree position of an internal node
+     * @param cutOffset offset of the target point from the node cut
+     * @param state projection state
+     */
+    private void projectOntoCutBoundary(final int position, final double cutOffset, final ProjectionState<P> state) {
+        if (state.minDist < 0.0 || Math.abs(cutOffset) <= state.minDist) {
+            final P boundaryPt = getInternalCutBoundary(position).closest(state.target);
+            if (boundaryPt != null) {
+                final double dist = boundaryPt.distance(state.target);
+                final int cmp = Double.compare(dist, state.minDist);
+
+                if (state.minDist < 0.0 || cmp < 0) {
+                    state.projected = boundaryPt;
+                    state.minDist = dist;
+                } else if (cmp == 0) {
+                    state.projected = disambiguateClosestPoint(state.target, state.projected, boundaryPt);
+                }
+            }
+        }
+    }
+
+    /** Compute the height of the tree contained in the given store, i.e. the number of edges on the longest
+     * path from the root to a leaf. Nodes are processed in decreasing id order, which guarantees that the
+     * heights of the children of a node are known before the height of the node is computed.
+     * @param store node store
+     * @return the height of the tree
+     */
+    private static int computeHeight(final CompactRegionNodeStore<?> store) {
+        final int[] heights = new int[store.getNodeCount()];
+        for (int node = heights.length - 1; node >= 0; --node) {
+            if (!store.isLeaf(node)) {
+                heights[node] = 1 + Math.max(heights[store.getMinus(node)], heights[store.getPlus(node)]);
+            }
+        }
+        return heights[store.getRoot()];
+    }
+
+    /** Compute the number of source tree nodes in the subtree rooted at each node in the given store. As in
+     * {@link #computeHeight(CompactRegionNodeStore)}, nodes are processed in decreasing id order.
+     * @param store node store
+     * @return array containing the subtree size of each node, indexed by node id
+     */
+    private static int[] computeSubtreeSizes(final CompactRegionNodeStore<?> store) {
+        final int[] sizes = new int[store.getNodeCount()];
+        for (int node = sizes.length - 1; node >= 0; --node) {
+            sizes[node] = store.isLeaf(node) ?
+                    1 :
+                    1 + sizes[store.getMinus(node)] + sizes[store.getPlus(node)];
+        }
+        return sizes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[nodeCount= ")
+                .append(store.getNodeCount())
+                .append(", hyperplaneCount= ")
+                .append(store.getHyperplaneCount())
+                .append(']')
+                .toString();
+    }
+
+    /** Fork/join task used to classify a range of points from a batch in parallel. Ranges larger than
+     * twice the minimum task size are split in half, with each half classified as a separate task. Tasks
+     * write to disjoint ranges of the output array.
+     */
+    private final class ClassifyTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261015L;
+
+        /** Array containing point coordinates. */
+        private final transient double[] coords;
+
+        /** Index of the first coordinate of the first point of the batch. */
+        private final int offset;
+
+        /** Number of coordinates per point. */
+        private final int dimension;
+
+        /** Array receiving the point locations. */
+        private final transient RegionLocation[] out;
+
+        /** Index of the first point to classify. */
+        private final int start;
+
+        /** Index one past the last point to classify. */
+        private final int end;
+
+        /** Construct a new task for classifying the points with indices in the range {@code [start, end)}.
+         * @param coords array containing point coordinates
+         * @param offset index of the first coordinate of the first point of the batch
+         * @param dimension number of coordinates per point
+         * @param out array receiving the point locations
+         * @param start index of the first point to classify
+         * @param end index one past the last point to classify
+         */
+        ClassifyTask(final double[] coords, final int offset, final int dimension, final RegionLocation[] out,
+                final int start, final int end) {
+            this.coords = coords;
+            this.offset = offset;
+            this.dimension = dimension;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start < 2 * MIN_BATCH_TASK_SIZE) {
+                classifyCoordinateRange(coords, offset, dimension, out, start, end);
+            } else {
+                final int mid = (start + end) >>> 1;
+                invokeAll(
+                        new ClassifyTask(coords, offset, dimension, out, start, mid),
+                        new ClassifyTask(coords, offset, dimension, out, mid, end));
+            }
+        }
+    }
+
+    /** Class containing the mutable state of a single projection operation.
+     * @param <P> Point implementation type
+     */
+    private static final class ProjectionState<P extends Point<P>> {
+
+        /** The point being projected. */
+        private final P target;
+
+        /** The current projected point. */
+        private P projected;
+
+        /** The current closest distance to the boundary found; negative if no point has been found. */
+        private double minDist = -1.0;
+
+        /** Construct a new instance for projecting the given point.
+         * @param target point to project
+         */
+        ProjectionState(final P target) {
+            this.target = target;
+        }
+    }
+}
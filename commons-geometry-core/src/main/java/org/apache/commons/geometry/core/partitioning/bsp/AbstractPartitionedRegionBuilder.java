@@ -19,8 +19,12 @@ package org.apache.commons.geometry.core.partitioning.bsp;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
 
 import org.apache.commons.geometry.core.Point;
@@ -52,6 +56,14 @@ import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.A
  * <p>After all boundaries are inserted, the tree undergoes final processing to ensure that the region is consistent
  * and that unnecessary nodes are removed.</p>
  *
+ * <p>Boundaries may optionally be inserted in parallel by {@link #setParallelismInternal(ForkJoinPool) setting}
+ * a fork/join pool. In this mode, boundaries are collected when inserted and are only added to the tree when the
+ * region is built. Each boundary is first split by the partitions and the resulting pieces are grouped by the
+ * partition leaf node that they lie in. The subtrees of the partition leaves are then constructed independently
+ * as fork/join tasks. Boundaries lying directly on partitions are inserted sequentially afterwards since they
+ * affect nodes on both sides of a partition. The represented region is the same as in sequential mode
+ * but the tree structure may differ, since boundaries lying on partitions are inserted last.</p>
+ *
  * <p>This class does not expose any public methods so that subclasses can present their own
  * public API, tailored to the specific types being worked with. In particular, most subclasses
  * will want to restrict the tree types used with the algorithm, which is difficult to implement
@@ -79,6 +91,12 @@ public abstract class AbstractPartitionedRegionBuilder<
     /** Set of all internal nodes used as partitioning nodes. */
     private final Set<N> partitionNodes = new HashSet<>();
 
+    /** Boundaries waiting to be inserted in parallel when the region is built. */
+    private final List<HyperplaneConvexSubset<P>> pendingBoundaries = new ArrayList<>();
+
+    /** Pool used to insert boundaries in parallel; null if insertion is sequential. */
+    private ForkJoinPool pool;
+
     /** Construct a new instance that builds a partitioned region in the given tree. The tree must
      * be empty.
      * @param tree tree to build the region in; must be empty
@@ -97,6 +115,14 @@ public abstract class AbstractPartitionedRegionBuilder<
      * @return the partitioned region
      */
     protected AbstractRegionBSPTree<P, N> buildInternal() {
+        if (!pendingBoundaries.isEmpty()) {
+            insertPendingBoundaries();
+        }
+
+        // ensure that cached properties are recomputed, in case the tree structure
+        // was modified directly by a subclass or by parallel boundary insertion
+        tree.invalidate();
+
         // condense to combine homogenous leaf nodes
         tree.condense();
 
@@ -124,6 +150,38 @@ public abstract class AbstractPartitionedRegionBuilder<
      * @param boundary boundary to insert
      */
     protected void insertBoundaryInternal(final HyperplaneConvexSubset<P> boundary) {
+        beginBoundaryInsertion();
+
+        if (pool != null) {
+            pendingBoundaries.add(boundary);
+        } else {
+            insertBoundaryRecursive(tree.getRoot(), boundary, boundary.getHyperplane().span(),
+                (leaf, cut) -> tree.setNodeCut(leaf, cut, subtreeInit));
+        }
+    }
+
+    /** Internal method to set the fork/join pool used to insert boundaries in parallel. If a pool is set,
+     * boundaries are collected as they are inserted and are added to the tree in parallel when the region
+     * is built.
+     * @param forkJoinPool pool to use; may be null, in which case boundaries are inserted sequentially
+     */
+    protected void setParallelismInternal(final ForkJoinPool forkJoinPool) {
+        this.pool = forkJoinPool;
+    }
+
+    /** Get the fork/join pool used to construct the tree in parallel.
+     * @return the fork/join pool used to construct the tree in parallel; may be null
+     */
+    protected ForkJoinPool getParallelismPool() {
+        return pool;
+    }
+
+    /** Switch this instance to the <em>boundary insertion</em> phase, if not already done. All internal
+     * nodes currently present in the tree are recorded as partition nodes. This method is called automatically
+     * by {@link #insertBoundaryInternal(HyperplaneConvexSubset)}; subclasses that modify the tree directly
+     * must call it before inserting any boundaries.
+     */
+    protected void beginBoundaryInsertion() {
         if (insertingPartitions) {
             // switch to inserting boundaries; place all current internal nodes into
             // a set for easy identification
@@ -135,9 +193,13 @@ public abstract class AbstractPartitionedRegionBuilder<
 
             insertingPartitions = false;
         }
+    }
 
-        insertBoundaryRecursive(tree.getRoot(), boundary, boundary.getHyperplane().span(),
-            (leaf, cut) -> tree.setNodeCut(leaf, cut, subtreeInit));
+    /** Get the tree being constructed.
+     * @return the tree being constructed
+     */
+    protected AbstractRegionBSPTree<P, N> getTree() {
+        return tree;
     }
 
     /** Insert a region boundary into the tree.
@@ -205,6 +267,96 @@ public abstract class AbstractPartitionedRegionBuilder<
         }
     }
 
+    /** Insert all pending boundaries into the tree. Boundaries are grouped by the partition leaf node that
+     * they lie in and the subtrees of these nodes are constructed in parallel. Boundaries lying directly on
+     * partitions are inserted afterwards on the calling thread.
+     */
+    private void insertPendingBoundaries() {
+        final Map<N, List<PendingInsert<P>>> buckets = new LinkedHashMap<>();
+        final List<PartitionInsert<P, N>> partitionInserts = new ArrayList<>();
+
+        for (final HyperplaneConvexSubset<P> boundary : pendingBoundaries) {
+            bucketBoundaryRecursive(tree.getRoot(), boundary, boundary.getHyperplane().span(),
+                    buckets, partitionInserts);
+        }
+        pendingBoundaries.clear();
+
+        final List<Map.Entry<N, List<PendingInsert<P>>>> bucketList = new ArrayList<>(buckets.entrySet());
+        if (pool != null && bucketList.size() > 1) {
+            pool.invoke(new BucketTask(bucketList, 0, bucketList.size()));
+        } else {
+            for (final Map.Entry<N, List<PendingInsert<P>>> bucket : bucketList) {
+                insertBucket(bucket.getKey(), bucket.getValue());
+            }
+        }
+
+        for (final PartitionInsert<P, N> entry : partitionInserts) {
+            insertBoundaryRecursiveInternalNode(entry.node, entry.insert, entry.trimmed,
+                (leaf, cut) -> tree.setNodeCut(leaf, cut, subtreeInit));
+        }
+    }
+
+    /** Split a boundary by the partition nodes in the subtree rooted at the given node and add the resulting
+     * pieces to the bucket of the first non-partition node that they reach.
+     * @param node node to insert into
+     * @param insert the hyperplane convex subset to insert
+     * @param trimmed version of the hyperplane convex subset filling the entire space of {@code node}
+     * @param buckets map of pending insertions for each non-partition node
+     * @param partitionInserts list of insertions lying directly on partition nodes
+     */
+    private void bucketBoundaryRecursive(final N node, final HyperplaneConvexSubset<P> insert,
+            final HyperplaneConvexSubset<P> trimmed, final Map<N, List<PendingInsert<P>>> buckets,
+            final List<PartitionInsert<P, N>> partitionInserts) {
+        if (!isPartitionNode(node)) {
+            buckets.computeIfAbsent(node, k -> new ArrayList<>())
+                .add(new PendingInsert<>(insert, trimmed));
+            return;
+        }
+
+        final Split<? extends HyperplaneConvexSubset<P>> insertSplit =
+                insert.split(node.getCutHyperplane());
+
+        final HyperplaneConvexSubset<P> minus = insertSplit.getMinus();
+        final HyperplaneConvexSubset<P> plus = insertSplit.getPlus();
+
+        if (minus == null && plus == null) {
+            partitionInserts.add(new PartitionInsert<>(node, insert, trimmed));
+        } else {
+            final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit =
+                    trimmed.split(node.getCutHyperplane());
+
+            if (minus != null) {
+                bucketBoundaryRecursive(node.getMinus(), minus, trimmedSplit.getMinus(), buckets, partitionInserts);
+            }
+            if (plus != null) {
+                bucketBoundaryRecursive(node.getPlus(), plus, trimmedSplit.getPlus(), buckets, partitionInserts);
+            }
+        }
+    }
+
+    /** Insert the given boundary pieces into the subtree rooted at a non-partition node. Leaf nodes are cut
+     * with {@link AbstractBSPTree.AbstractNode#setSubtreeValues(HyperplaneConvexSubset,
+     * AbstractBSPTree.AbstractNode, AbstractBSPTree.AbstractNode) setSubtreeValues}, which neither invalidates
+     * the tree nor accesses nodes outside of the subtree, so this method may be called concurrently for
+     * different nodes. The tree is invalidated once by {@link #buildInternal()} after all insertions
+     * are complete.
+     * @param node root of the subtree to insert into; this must not be a partition node
+     * @param inserts boundary pieces lying in the region of the node
+     */
+    private void insertBucket(final N node, final List<PendingInsert<P>> inserts) {
+        final BiConsumer<N, HyperplaneConvexSubset<P>> leafFn = (leaf, cut) -> {
+            leaf.setSubtreeValues(cut, tree.createNode(), tree.createNode());
+
+            // the new child nodes do not contain cached values, so setting their locations
+            // does not modify the leaf or any of its ancestors
+            subtreeInit.initSubtree(leaf);
+        };
+
+        for (final PendingInsert<P> entry : inserts) {
+            insertBoundaryRecursive(node, entry.insert, entry.trimmed, leafFn);
+        }
+    }
+
     /** Propagate the region interior to partitioned leaf nodes that have not had a boundary
      * inserted.
      * @return true if any nodes were changed
@@ -237,51 +389,69 @@ public abstract class AbstractPartitionedRegionBuilder<
     }
 
     /** Return a list containing all outside leaf nodes that have a parent marked as a partition node.
+     * Nodes are visited in pre-order, minus side first, using an explicit stack so that trees of any
+     * height are supported.
      * @return a list containing all outside leaf nodes that have a parent marked as a partition node
      */
     private List<N> getOutsidePartitionedLeaves() {
         final List<N> result = new ArrayList<>();
 
-        final N root = tree.getRoot();
-        collectOutsidePartitionedLeavesRecursive(root, false, result);
+        // the entry state is 1 if the parent of the node is a partition node and 0 otherwise
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(tree.getRoot(), 0);
 
-        return result;
-    }
+        while (!stack.isEmpty()) {
+            final boolean parentIsPartitionNode = stack.peekState() != 0;
+            final N node = stack.pop();
 
-   /** Recursively collect all outside leaf nodes that have a parent marked as a partition node.
-    * @param node root of the subtree to collect nodes from
-    * @param parentIsPartitionNode true if the parent of {@code node} is a partition node
-    * @param result list of accumulated results
-    */
-    private void collectOutsidePartitionedLeavesRecursive(final N node, final boolean parentIsPartitionNode,
-            final List<N> result) {
-        if (node != null) {
             if (parentIsPartitionNode && node.isOutside()) {
                 result.add(node);
             }
 
-            final boolean partitionNode = isPartitionNode(node);
+            if (!node.isLeaf()) {
+                final int childState = isPartitionNode(node) ? 1 : 0;
 
-            collectOutsidePartitionedLeavesRecursive(node.getMinus(), partitionNode, result);
-            collectOutsidePartitionedLeavesRecursive(node.getPlus(), partitionNode, result);
+                stack.push(node.getPlus(), childState);
+                stack.push(node.getMinus(), childState);
+            }
         }
+
+        return result;
     }
 
     /** Return true if {@code sub} touches an inside leaf node anywhere in the subtree rooted at {@code node}.
+     * Subtrees are visited using an explicit stack so that trees of any height are supported.
      * @param sub convex subset to check
      * @param node root node of the subtree to test against
      * @return true if {@code sub} touches an inside leaf node anywhere in the subtree rooted at {@code node}
      */
     private boolean touchesInside(final HyperplaneConvexSubset<P> sub, final N node) {
-        if (sub != null) {
-            if (node.isLeaf()) {
-                return node.isInside();
-            } else {
-                final Split<? extends HyperplaneConvexSubset<P>> split = sub.split(node.getCutHyperplane());
-
-                return touchesInside(split.getMinus(), node.getMinus()) ||
-                        touchesInside(split.getPlus(), node.getPlus());
-
+        final TraversalStack<N> nodeStack = new TraversalStack<>();
+        final TraversalStack<HyperplaneConvexSubset<P>> subStack = new TraversalStack<>();
+
+        nodeStack.push(node);
+        subStack.push(sub);
+
+        while (!nodeStack.isEmpty()) {
+            final N current = nodeStack.pop();
+            final HyperplaneConvexSubset<P> currentSub = subStack.pop();
+
+            if (currentSub != null) {
+                if (current.isLeaf()) {
+                    if (current.isInside()) {
+                        return true;
+                    }
+                } else {
+                    final Split<? extends HyperplaneConvexSubset<P>> split =
+                            currentSub.split(current.getCutHyperplane());
+
+                    // push the plus side first so that the minus side is checked first
+                    nodeStack.push(current.getPlus());
+                    subStack.push(split.getPlus());
+
+                    nodeStack.push(current.getMinus());
+                    subStack.push(split.getMinus());
+                }
             }
         }
 
@@ -304,4 +474,93 @@ public abstract class AbstractPartitionedRegionBuilder<
             throw new IllegalStateException("Cannot insert partitions after boundaries have been inserted");
         }
     }
+
+    /** Class containing a boundary piece waiting to be inserted into the subtree of a partition leaf node.
+     * @param <P> Point implementation type
+     */
+    private static final class PendingInsert<P extends Point<P>> {
+
+        /** The hyperplane convex subset to insert. */
+        private final HyperplaneConvexSubset<P> insert;
+
+        /** Version of the hyperplane convex subset filling the entire space of the target node. */
+        private final HyperplaneConvexSubset<P> trimmed;
+
+        /** Construct a new instance.
+         * @param insert the hyperplane convex subset to insert
+         * @param trimmed version of the hyperplane convex subset filling the entire space of the target node
+         */
+        PendingInsert(final HyperplaneConvexSubset<P> insert, final HyperplaneConvexSubset<P> trimmed) {
+            this.insert = insert;
+            this.trimmed = trimmed;
+        }
+    }
+
+    /** Class containing a boundary piece lying directly on the cut of a partition node.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class PartitionInsert<P extends Point<P>, N> {
+
+        /** Partition node containing the boundary piece. */
+        private final N node;
+
+        /** The hyperplane convex subset to insert. */
+        private final HyperplaneConvexSubset<P> insert;
+
+        /** Version of the hyperplane convex subset filling the entire space of {@link #node}. */
+        private final HyperplaneConvexSubset<P> trimmed;
+
+        /** Construct a new instance.
+         * @param node partition node containing the boundary piece
+         * @param insert the hyperplane convex subset to insert
+         * @param trimmed version of the hyperplane convex subset filling the entire space of {@code node}
+         */
+        PartitionInsert(final N node, final HyperplaneConvexSubset<P> insert,
+                final HyperplaneConvexSubset<P> trimmed) {
+            this.node = node;
+            this.insert = insert;
+            this.trimmed = trimmed;
+        }
+    }
+
+    /** Fork/join task used to insert a range of boundary buckets into their subtrees.
+     */
+    private final class BucketTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261015L;
+
+        /** Buckets to insert. */
+        private final transient List<Map.Entry<N, List<PendingInsert<P>>>> buckets;
+
+        /** Start index (inclusive) of the range of buckets to insert. */
+        private final int start;
+
+        /** End index (exclusive) of the range of buckets to insert. */
+        private final int end;
+
+        /** Construct a new task for the given range of buckets.
+         * @param buckets list of buckets
+         * @param start start index (inclusive)
+         * @param end end index (exclusive)
+         */
+        BucketTask(final List<Map.Entry<N, List<PendingInsert<P>>>> buckets, final int start, final int end) {
+            this.buckets = buckets;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                final Map.Entry<N, List<PendingInsert<P>>> bucket = buckets.get(start);
+                insertBucket(bucket.getKey(), bucket.getValue());
+            } else {
+                final int mid = (start + end) >>> 1;
+                invokeAll(new BucketTask(buckets, start, mid), new BucketTask(buckets, mid, end));
+            }
+        }
+    }
 }
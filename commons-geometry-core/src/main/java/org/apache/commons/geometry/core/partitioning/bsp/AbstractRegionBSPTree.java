@@ -17,10 +17,15 @@
 package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.RegionLocation;
@@ -55,12 +60,36 @@ public abstract class AbstractRegionBSPTree<
     /** Value used to indicate an unknown size. */
     private static final double UNKNOWN_SIZE = -1.0;
 
+    /** Default minimum subtree node count for parallel merges. */
+    private static final int DEFAULT_PARALLEL_MERGE_THRESHOLD = 1024;
+
     /** The region boundary size; this is computed when requested and then cached. */
     private double boundarySize = UNKNOWN_SIZE;
 
     /** The current size properties for the region. */
     private RegionSizeProperties<P> regionSizeProperties;
 
+    /** Flag indicating whether or not point classification should be performed using a
+     * {@link CompactRegionNodeStore}.
+     */
+    private boolean useCompactNodeStore;
+
+    /** Flag indicating whether or not structurally identical subtrees should be shared in the
+     * compact node store.
+     */
+    private boolean shareCompactNodeSubtrees;
+
+    /** Compact, array-based representation of the tree structure; this is computed when
+     * requested and then cached.
+     */
+    private CompactRegionNodeStore<P> compactNodeStore;
+
+    /** Pool used to perform boolean merge operations in parallel; null if merges are sequential. */
+    private ForkJoinPool parallelMergePool;
+
+    /** Minimum number of nodes a subtree must contain for its child merges to be performed in parallel. */
+    private int parallelMergeThreshold = DEFAULT_PARALLEL_MERGE_THRESHOLD;
+
     /** Construct a new region will the given boolean determining whether or not the
      * region will be full (including the entire space) or empty (excluding the entire
      * space).
@@ -74,13 +103,13 @@ public abstract class AbstractRegionBSPTree<
     /** {@inheritDoc} */
     @Override
     public boolean isEmpty() {
-        return !hasNodeWithLocationRecursive(getRoot(), RegionLocation.INSIDE);
+        return !hasNodeWithLocation(getRoot(), RegionLocation.INSIDE);
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isFull() {
-        return !hasNodeWithLocationRecursive(getRoot(), RegionLocation.OUTSIDE);
+        return !hasNodeWithLocation(getRoot(), RegionLocation.OUTSIDE);
     }
 
     /** Return true if any node in the subtree rooted at the given node has a location with the
@@ -89,14 +118,23 @@ public abstract class AbstractRegionBSPTree<
      * @param location the location to find
      * @return true if any node in the subtree has the given location
      */
-    private boolean hasNodeWithLocationRecursive(final AbstractRegionNode<P, N> node, final RegionLocation location) {
-        if (node == null) {
-            return false;
+    private boolean hasNodeWithLocation(final N node, final RegionLocation location) {
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(node);
+
+        N current;
+        while (!stack.isEmpty()) {
+            current = stack.pop();
+
+            if (current.getLocation() == location) {
+                return true;
+            } else if (current.isInternal()) {
+                stack.push(current.getPlus());
+                stack.push(current.getMinus());
+            }
         }
 
-        return node.getLocation() == location ||
-                hasNodeWithLocationRecursive(node.getMinus(), location) ||
-                hasNodeWithLocationRecursive(node.getPlus(), location);
+        return false;
     }
 
     /** Modify this instance so that it contains the entire space.
@@ -269,6 +307,31 @@ public abstract class AbstractRegionBSPTree<
                 typeConverter);
     }
 
+    /** Internal method for creating streams containing the region boundaries. The boundaries are
+     * encountered in the same order as with {@link #createBoundaryIterable(Function)}. The stream is
+     * sequential but may be split efficiently by subtree when made parallel. Parallel streams compute
+     * the boundary of each node cut in the thread that processes the node; the tree must not be
+     * modified while the stream is in use.
+     * @param typeConverter function to convert the generic hyperplane subset type into
+     *      the type specific for this tree
+     * @param <C> HyperplaneConvexSubset implementation type
+     * @return a stream containing the region boundaries
+     */
+    protected <C extends HyperplaneConvexSubset<P>> Stream<C> createBoundaryStream(
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter) {
+
+        return StreamSupport.stream(nodes().spliterator(), false)
+                .filter(AbstractRegionNode::isInternal)
+                .flatMap(node -> {
+                    final RegionCutBoundary<P> cutBoundary = node.getCutBoundary();
+
+                    return Stream.concat(
+                            cutBoundary.getOutsideFacing().stream(),
+                            cutBoundary.getInsideFacing().stream().map(HyperplaneConvexSubset::reverse));
+                })
+                .map(typeConverter);
+    }
+
     /** Return a list containing the boundaries of the region. Each boundary is oriented such
      * that its plus side points to the outside of the region. The exact ordering of
      * the boundaries is determined by the internal structure of the tree.
@@ -342,6 +405,70 @@ public abstract class AbstractRegionBSPTree<
         return new Split<>(splitMinus, splitPlus);
     }
 
+    /** Return true if this instance uses a {@link CompactRegionNodeStore} to perform point
+     * classification.
+     * @return true if this instance uses a compact node store for point classification
+     * @see #setUseCompactNodeStore(boolean)
+     */
+    public boolean isUseCompactNodeStore() {
+        return useCompactNodeStore;
+    }
+
+    /** Set whether or not this instance should use a {@link CompactRegionNodeStore} to perform
+     * point classification. When enabled, the compact store is created lazily on the first call to
+     * {@link #classify(Point)} following a structural change and is reused until the tree is next modified.
+     * This trades the memory required for the compact store and the cost of rebuilding it after
+     * modification for faster classification of large numbers of points. The public API of the tree
+     * is not affected by this setting.
+     * @param useCompactNodeStore if true, the tree will use a compact node store to classify points
+     * @see #getCompactNodeStore()
+     */
+    public void setUseCompactNodeStore(final boolean useCompactNodeStore) {
+        this.useCompactNodeStore = useCompactNodeStore;
+    }
+
+    /** Return true if the {@link CompactRegionNodeStore} for this instance shares structurally
+     * identical subtrees.
+     * @return true if the compact node store for this instance shares identical subtrees
+     * @see #setShareCompactNodeSubtrees(boolean)
+     */
+    public boolean isShareCompactNodeSubtrees() {
+        return shareCompactNodeSubtrees;
+    }
+
+    /** Set whether or not the {@link CompactRegionNodeStore} for this instance should store structurally
+     * identical subtrees only once, representing the tree structure as a directed acyclic graph. This can greatly
+     * reduce the size of the compact store for trees containing many repeated cut sequences, such as those produced
+     * by boolean operations and partitioned region builders, at the cost of additional work when the store is
+     * created. Point classification results are not affected. Other queries, such as {@link #project(Point)},
+     * always use the node objects of the tree and are also not affected. Since the store is kept in addition
+     * to the node objects, this setting does not reduce the total memory used by the tree. In order to replace
+     * the tree with a smaller, read-only representation, use a compiled region created with shared subtrees
+     * (see {@link AbstractCompiledRegion}) and discard the tree.
+     * @param shareCompactNodeSubtrees if true, identical subtrees are shared in the compact node store
+     * @see #getCompactNodeStore()
+     * @see CompactRegionNodeStore#from(AbstractRegionBSPTree, boolean)
+     */
+    public void setShareCompactNodeSubtrees(final boolean shareCompactNodeSubtrees) {
+        if (this.shareCompactNodeSubtrees != shareCompactNodeSubtrees) {
+            this.shareCompactNodeSubtrees = shareCompactNodeSubtrees;
+            this.compactNodeStore = null;
+        }
+    }
+
+    /** Get a {@link CompactRegionNodeStore} containing the current structure of this tree. The
+     * value is computed lazily and cached until the tree is next modified.
+     * @return a compact node store containing the current structure of this tree
+     * @see #setShareCompactNodeSubtrees(boolean)
+     */
+    public CompactRegionNodeStore<P> getCompactNodeStore() {
+        if (compactNodeStore == null) {
+            compactNodeStore = CompactRegionNodeStore.from(this, shareCompactNodeSubtrees);
+        }
+
+        return compactNodeStore;
+    }
+
     /** Get the size-related properties for the region. The value is computed
      * lazily and cached.
      * @return the size-related properties for the region
@@ -370,45 +497,104 @@ public abstract class AbstractRegionBSPTree<
             return RegionLocation.OUTSIDE;
         }
 
-        return classifyRecursive(getRoot(), point);
+        if (useCompactNodeStore) {
+            return getCompactNodeStore().classify(point);
+        }
+
+        return classify(getRoot(), point);
     }
 
-    /** Recursively classify a point with respect to the region.
+    /** Classify a point with respect to the region rooted at the given node. The point is passed
+     * down a single path of the tree without allocating any objects until it reaches a leaf or lies
+     * directly on a node cut, in which case it is classified against both child subtrees of that node.
      * @param node the node to classify against
      * @param point the point to classify
      * @return the classification of the point with respect to the region rooted
      *      at the given node
      */
-    private RegionLocation classifyRecursive(final AbstractRegionNode<P, N> node, final P point) {
-        if (node.isLeaf()) {
-            // the point is in a leaf, so the classification is just the leaf location
-            return node.getLocation();
-        } else {
-            final HyperplaneLocation cutLoc = node.getCutHyperplane().classify(point);
+    private RegionLocation classify(final N node, final P point) {
+        N current = node;
+        HyperplaneLocation cutLoc;
+        while (current.isInternal()) {
+            cutLoc = current.getCutHyperplane().classify(point);
 
             if (cutLoc == HyperplaneLocation.MINUS) {
-                return classifyRecursive(node.getMinus(), point);
+                current = current.getMinus();
             } else if (cutLoc == HyperplaneLocation.PLUS) {
-                return classifyRecursive(node.getPlus(), point);
+                current = current.getPlus();
+            } else {
+                return classifyOnCut(current, point);
+            }
+        }
+
+        // the point is in a leaf, so the classification is just the leaf location
+        return current.getLocation();
+    }
+
+    /** Classify a point lying directly on the cut of the given node against both child subtrees of
+     * the node. Pending subtrees are kept in a {@link TraversalStack} rather than on the call stack.
+     * @param node the node with the cut containing the point
+     * @param point the point to classify
+     * @return the classification of the point with respect to the region rooted
+     *      at the given node
+     */
+    private RegionLocation classifyOnCut(final N node, final P point) {
+        final TraversalStack<N> nodeStack = new TraversalStack<>();
+        final TraversalStack<RegionLocation> resultStack = new TraversalStack<>();
+
+        nodeStack.push(node, EXIT);
+        nodeStack.push(node.getPlus(), ENTER);
+        nodeStack.push(node.getMinus(), ENTER);
+
+        N current;
+        while (!nodeStack.isEmpty()) {
+            final int state = nodeStack.peekState();
+            current = nodeStack.pop();
+
+            if (state == EXIT) {
+                // the point is on the cut boundary; see if we ended up with the same
+                // result for both child subtrees or not
+                final RegionLocation plusLoc = resultStack.pop();
+                final RegionLocation minusLoc = resultStack.pop();
+
+                resultStack.push(minusLoc == plusLoc ? minusLoc : RegionLocation.BOUNDARY);
             } else {
-                // the point is on the cut boundary; classify against both child
-                // subtrees and see if we end up with the same result or not
-                final RegionLocation minusLoc = classifyRecursive(node.getMinus(), point);
-                final RegionLocation plusLoc = classifyRecursive(node.getPlus(), point);
+                // move down the tree until we reach a leaf or a cut containing the point
+                HyperplaneLocation cutLoc;
+                while (current.isInternal()) {
+                    cutLoc = current.getCutHyperplane().classify(point);
+
+                    if (cutLoc == HyperplaneLocation.MINUS) {
+                        current = current.getMinus();
+                    } else if (cutLoc == HyperplaneLocation.PLUS) {
+                        current = current.getPlus();
+                    } else {
+                        break;
+                    }
+                }
 
-                if (minusLoc == plusLoc) {
-                    return minusLoc;
+                if (current.isLeaf()) {
+                    // the point is in a leaf, so the classification is just the leaf location
+                    resultStack.push(current.getLocation());
+                } else {
+                    // classify against both child subtrees
+                    nodeStack.push(current, EXIT);
+                    nodeStack.push(current.getPlus(), ENTER);
+                    nodeStack.push(current.getMinus(), ENTER);
                 }
-                return RegionLocation.BOUNDARY;
             }
         }
+
+        return resultStack.pop();
     }
 
     /** Change this region into its complement. All inside nodes become outside
      * nodes and vice versa. The orientations of the node cuts are not modified.
      */
     public void complement() {
-        complementRecursive(getRoot());
+        complementSubtree(getRoot());
+
+        invalidate();
     }
 
     /** Set this instance to be the complement of the given tree. The argument
@@ -417,23 +603,74 @@ public abstract class AbstractRegionBSPTree<
      */
     public void complement(final AbstractRegionBSPTree<P, N> tree) {
         copySubtree(tree.getRoot(), getRoot());
-        complementRecursive(getRoot());
+        complementSubtree(getRoot());
+
+        invalidate();
     }
 
-    /** Recursively switch all inside nodes to outside nodes and vice versa.
+    /** Switch all inside nodes to outside nodes and vice versa in the subtree rooted
+     * at the given node.
      * @param node the node at the root of the subtree to switch
      */
-    private void complementRecursive(final AbstractRegionNode<P, N> node) {
-        if (node != null) {
-            final RegionLocation newLoc = (node.getLocation() == RegionLocation.INSIDE) ?
+    private void complementSubtree(final N node) {
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(node);
+
+        N current;
+        while (!stack.isEmpty()) {
+            current = stack.pop();
+
+            final RegionLocation newLoc = (current.getLocation() == RegionLocation.INSIDE) ?
                     RegionLocation.OUTSIDE :
                     RegionLocation.INSIDE;
 
-            node.setLocationValue(newLoc);
+            current.setLocationValue(newLoc);
+
+            if (current.isInternal()) {
+                stack.push(current.getPlus());
+                stack.push(current.getMinus());
+            }
+        }
+    }
+
+    /** Get the fork/join pool used to perform boolean operations in parallel or null if boolean
+     * operations are performed sequentially.
+     * @return the pool used for parallel boolean operations; may be null
+     * @see #setParallelMerge(ForkJoinPool, int)
+     */
+    public ForkJoinPool getParallelMergePool() {
+        return parallelMergePool;
+    }
+
+    /** Get the minimum number of nodes that a subtree of the first merge argument must contain
+     * in order for its child merges to be performed as separate parallel tasks.
+     * @return the minimum subtree node count for parallel merges
+     * @see #setParallelMerge(ForkJoinPool, int)
+     */
+    public int getParallelMergeThreshold() {
+        return parallelMergeThreshold;
+    }
 
-            complementRecursive(node.getMinus());
-            complementRecursive(node.getPlus());
+    /** Configure this tree to perform the boolean operations {@code union}, {@code intersection},
+     * {@code difference}, and {@code xor} in parallel when it is the output of the operation. During
+     * a parallel merge, the minus and plus subtrees resulting from partitioning the second argument
+     * by a cut of the first are merged as separate fork/join tasks, provided that the subtree of the first
+     * argument contains at least {@code threshold} nodes. The resulting tree structure is identical to
+     * that produced by a sequential merge. Passing a null pool restores sequential merging.
+     *
+     * <p>Input trees must not be modified by other threads while a merge is in progress.</p>
+     * @param pool pool used to execute merge tasks; may be null
+     * @param threshold minimum number of nodes a subtree of the first merge argument must contain
+     *      for its child merges to be forked as separate tasks
+     * @throws IllegalArgumentException if {@code threshold} is less than 1
+     */
+    public void setParallelMerge(final ForkJoinPool pool, final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel merge threshold must be greater than zero; was " +
+                    threshold);
         }
+        this.parallelMergePool = pool;
+        this.parallelMergeThreshold = threshold;
     }
 
     /** Compute the union of this instance and the given region, storing the result back in
@@ -504,6 +741,56 @@ public abstract class AbstractRegionBSPTree<
         new XorOperator<P, N>().apply(a, b, this);
     }
 
+    /** Compute the union of all of the given regions. The regions are combined pairwise in a balanced order,
+     * so that each input takes part in a number of merge operations proportional to the logarithm of the
+     * number of inputs, instead of being repeatedly merged into a single, growing result tree. None of the
+     * arguments are modified.
+     *
+     * <p>If {@code boundsFunction} is not null, it is used to determine the axis-aligned bounding box of each
+     * input region. Inputs are ordered so that regions with nearby bounding boxes are merged with each other
+     * first, which keeps the cuts of each operand away from the boundaries of the other in the remaining
+     * merges. If {@code pool} is not null, independent merges are performed in parallel as fork/join tasks and
+     * each merge is itself performed in parallel as described in {@link #setParallelMerge(ForkJoinPool, int)}.
+     * The structure of the result does not depend on whether or not a pool is given.</p>
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     * @param <T> Tree implementation type
+     * @param trees regions to compute the union of
+     * @param factory function used to create new, empty trees for the intermediate and final results
+     * @param boundsFunction function returning the bounding box of a region as an array containing the
+     *      minimum coordinate values followed by the maximum coordinate values, or null if the bounding box of
+     *      the region cannot be determined; may be null
+     * @param pool pool used to perform merges in parallel; may be null
+     * @return a new tree containing the union of the given regions
+     */
+    protected static <P extends Point<P>, N extends AbstractRegionNode<P, N>, T extends AbstractRegionBSPTree<P, N>>
+            T unionAll(final Collection<? extends T> trees, final Supplier<? extends T> factory,
+                    final Function<? super T, double[]> boundsFunction, final ForkJoinPool pool) {
+        return new MultiMerger<P, N, T>(factory, boundsFunction, pool, true).mergeAll(trees);
+    }
+
+    /** Compute the intersection of all of the given regions. The regions are combined in the same way as
+     * described in {@link #unionAll(Collection, Supplier, Function, ForkJoinPool)}. In addition, if the
+     * bounding boxes of the inputs returned by {@code boundsFunction} do not have a common intersection, the
+     * result is known to be empty and no merges are performed. None of the arguments are modified.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     * @param <T> Tree implementation type
+     * @param trees regions to compute the intersection of
+     * @param factory function used to create new, empty trees for the intermediate and final results
+     * @param boundsFunction function returning the bounding box of a region as an array containing the
+     *      minimum coordinate values followed by the maximum coordinate values, or null if the bounding box of
+     *      the region cannot be determined; may be null
+     * @param pool pool used to perform merges in parallel; may be null
+     * @return a new tree containing the intersection of the given regions; the result is full if no
+     *      regions are given
+     */
+    protected static <P extends Point<P>, N extends AbstractRegionNode<P, N>, T extends AbstractRegionBSPTree<P, N>>
+            T intersectionAll(final Collection<? extends T> trees, final Supplier<? extends T> factory,
+                    final Function<? super T, double[]> boundsFunction, final ForkJoinPool pool) {
+        return new MultiMerger<P, N, T>(factory, boundsFunction, pool, false).mergeAll(trees);
+    }
+
     /** Condense this tree by removing redundant subtrees, returning true if the
      * tree structure was modified.
      *
@@ -517,7 +804,71 @@ public abstract class AbstractRegionBSPTree<
      * @return true if the tree structure was modified, otherwise false
      */
     public boolean condense() {
-        return new Condenser<P, N>().condense(getRoot());
+        final long start = startOperation();
+
+        final Condenser<P, N> condenser = new Condenser<>();
+        final boolean modified = condenser.condense(getRoot());
+
+        endOperation(BSPTreeListener.Operation.CONDENSE, condenser.getRemovedNodeCount(), start);
+
+        return modified;
+    }
+
+    /** Attempt to improve the structure of this tree by rebuilding it from its current boundaries.
+     * Long sequences of boolean operations can leave a tree with many cuts that do not contribute to the
+     * region boundary and that cannot be removed by {@link #condense()}, since they separate leaf nodes
+     * with different locations further down the tree. This method extracts the region boundaries, builds a
+     * new tree from them using {@link #buildOptimizedTree()}, and replaces the structure of this tree with
+     * the new tree if the new tree has fewer nodes or a smaller height. Otherwise, this tree is not modified.
+     *
+     * <p>Regions with no boundaries (ie, empty or full regions) are always reduced to a single node.</p>
+     * @return the result of the optimization, containing the node count and height before and after
+     * @see #buildOptimizedTree()
+     */
+    public RegionOptimizationResult optimize() {
+        final long start = startOperation();
+
+        final int countBefore = count();
+        final int heightBefore = height();
+
+        boolean applied = false;
+        if (countBefore > 1) {
+            if (isFull()) {
+                setFull();
+                applied = true;
+            } else if (isEmpty()) {
+                setEmpty();
+                applied = true;
+            } else {
+                final AbstractRegionBSPTree<P, N> optimized = buildOptimizedTree();
+                if (optimized != null &&
+                        (optimized.count() < countBefore || optimized.height() < heightBefore)) {
+                    copy(optimized);
+                    applied = true;
+                }
+            }
+        }
+
+        final RegionOptimizationResult result = applied ?
+                new RegionOptimizationResult(countBefore, heightBefore, count(), height(), true) :
+                new RegionOptimizationResult(countBefore, heightBefore, countBefore, heightBefore, false);
+
+        endOperation(BSPTreeListener.Operation.OPTIMIZE, 1, start);
+
+        return result;
+    }
+
+    /** Build a new tree representing the same region as this instance, with a structure intended to
+     * be better suited for queries and further boolean operations. The new tree is used by {@link #optimize()}
+     * to replace the structure of this tree. Implementations typically construct the new tree from
+     * the current region boundaries. This method is only called for trees that are neither empty nor full.
+     *
+     * <p>This default implementation returns null, indicating that optimization is not supported.</p>
+     * @return a new tree representing the same region as this instance or null if optimization is
+     *      not supported
+     */
+    protected AbstractRegionBSPTree<P, N> buildOptimizedTree() {
+        return null;
     }
 
     /** {@inheritDoc} */
@@ -534,6 +885,22 @@ public abstract class AbstractRegionBSPTree<
         // clear cached region properties
         boundarySize = UNKNOWN_SIZE;
         regionSizeProperties = null;
+        compactNodeStore = null;
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>This implementation clears the subtree properties of all nodes in the tree, since node
+     * modifications made during the bulk modification do not clear the properties of their ancestors.</p>
+     * @see AbstractRegionNode#clearSubtreeProperties()
+     */
+    @Override
+    protected void endBulkModification() {
+        super.endBulkModification();
+
+        for (final N node : nodes()) {
+            node.clearSubtreeProperties();
+        }
     }
 
     /** {@link BSPTree.Node} implementation for use with {@link AbstractRegionBSPTree}s.
@@ -592,6 +959,7 @@ public abstract class AbstractRegionBSPTree<
             if (this.location != location) {
                 this.location = location;
 
+                subtreeModified();
                 getTree().invalidate();
             }
         }
@@ -683,14 +1051,28 @@ public abstract class AbstractRegionBSPTree<
             if (!isLeaf()) {
                 checkValid();
 
-                if (cutBoundary == null) {
+                final boolean cached = cutBoundary != null;
+                if (!cached) {
                     cutBoundary = computeBoundary();
                 }
+
+                final BSPTreeListener listener = getTree().getListener();
+                if (listener != null) {
+                    listener.cutBoundaryRequested(cached);
+                }
             }
 
             return cutBoundary;
         }
 
+        /** Return true if this node is an internal node and its cut boundary has already been computed
+         * for the current tree structure.
+         * @return true if the cut boundary of this node is cached
+         */
+        boolean isCutBoundaryCached() {
+            return isInternal() && isCurrent() && cutBoundary != null;
+        }
+
         /** Compute the portion of the node's cut that lies on the boundary of the region.
          * This method must only be called on internal nodes.
          * @return object representing the portions of the node's cut that lie on the region's boundary
@@ -799,7 +1181,44 @@ public abstract class AbstractRegionBSPTree<
          * @see #setLocation(RegionLocation)
          */
         protected void setLocationValue(final RegionLocation locationValue) {
-            this.location = locationValue;
+            if (this.location != locationValue) {
+                this.location = locationValue;
+
+                subtreeModified();
+            }
+        }
+
+        /** {@inheritDoc}
+         *
+         * <p>This implementation clears the subtree properties of this node and of each of its
+         * ancestors by calling {@link #clearSubtreeProperties()}, stopping at the first ancestor that does
+         * not contain any cached values. Subtree properties are always computed from the bottom up, meaning
+         * that the ancestors of an internal node without cached values do not contain cached values either.
+         * Nothing is cleared while a {@link AbstractBSPTree#isBulkModification() bulk modification} of the
+         * tree is in progress; the subtree properties of all nodes are cleared when it ends instead.</p>
+         */
+        @Override
+        protected void subtreeModified() {
+            if (getTree().isBulkModification()) {
+                return;
+            }
+
+            clearSubtreeProperties();
+
+            N node = getParent();
+            while (node != null && node.clearSubtreeProperties()) {
+                node = node.getParent();
+            }
+        }
+
+        /** Clear any properties cached on this node that are computed from the subtree rooted at the
+         * node, such as the contribution of the subtree to the size of the region. Subclasses that cache
+         * such values must override this method; the default implementation does nothing and returns false.
+         * @return true if cached values were present and cleared
+         * @see #subtreeModified()
+         */
+        protected boolean clearSubtreeProperties() {
+            return false;
         }
     }
 
@@ -831,16 +1250,19 @@ public abstract class AbstractRegionBSPTree<
                 final RegionCutBoundary<P> boundary = node.getCutBoundary();
                 final P boundaryPt = boundary.closest(point);
 
-                final double dist = boundaryPt.distance(point);
-                final int cmp = Double.compare(dist, minDist);
-
-                if (minDist < 0.0 || cmp < 0) {
-                    projected = boundaryPt;
-                    minDist = dist;
-                } else if (cmp == 0) {
-                    // the two points are the _exact_ same distance from the reference point, so use
-                    // a separate method to disambiguate them
-                    projected = disambiguateClosestPoint(point, projected, boundaryPt);
+                // the cut may not contain any portion of the region boundary
+                if (boundaryPt != null) {
+                    final double dist = boundaryPt.distance(point);
+                    final int cmp = Double.compare(dist, minDist);
+
+                    if (minDist < 0.0 || cmp < 0) {
+                        projected = boundaryPt;
+                        minDist = dist;
+                    } else if (cmp == 0) {
+                        // the two points are the _exact_ same distance from the reference point, so use
+                        // a separate method to disambiguate them
+                        projected = disambiguateClosestPoint(point, projected, boundaryPt);
+                    }
                 }
             }
 
@@ -879,6 +1301,15 @@ public abstract class AbstractRegionBSPTree<
         public P getProjected() {
             return projected;
         }
+
+        /** Get the distance from the target point to the closest region boundary point found so far.
+         * A negative value is returned if no boundary point has been found yet.
+         * @return the distance from the target point to the closest boundary point found so far, or
+         *      a negative value if no boundary point has been found
+         */
+        protected double getMinDistance() {
+            return minDist;
+        }
     }
 
     /** Class containing the primary size-related properties of a region. These properties
@@ -925,7 +1356,8 @@ public abstract class AbstractRegionBSPTree<
         extends AbstractBSPTreeMergeOperator<P, N> {
 
         /** Merge two input trees, storing the output in the third. The output tree can be one of the
-         * input trees. The output tree is condensed before the method returns.
+         * input trees. The output tree is condensed before the method returns. The merge is performed
+         * in parallel if the output tree has been configured to do so.
          * @param inputTree1 first input tree
          * @param inputTree2 second input tree
          * @param outputTree the tree that will contain the result of the merge; may be one
@@ -934,6 +1366,10 @@ public abstract class AbstractRegionBSPTree<
         public void apply(final AbstractRegionBSPTree<P, N> inputTree1, final AbstractRegionBSPTree<P, N> inputTree2,
                 final AbstractRegionBSPTree<P, N> outputTree) {
 
+            if (outputTree.parallelMergePool != null) {
+                setParallelism(outputTree.parallelMergePool, outputTree.parallelMergeThreshold);
+            }
+
             this.performMerge(inputTree1, inputTree2, outputTree);
 
             outputTree.condense();
@@ -994,7 +1430,7 @@ public abstract class AbstractRegionBSPTree<
                 // this region is inside of tree1, so only include subregions that are
                 // not in tree2, ie include everything in node2's complement
                 final N output = outputSubtree(node2);
-                output.getTree().complementRecursive(output);
+                output.getTree().complementSubtree(output);
 
                 return output;
             } else if (node2.isInside()) {
@@ -1028,7 +1464,7 @@ public abstract class AbstractRegionBSPTree<
                     // this region is inside node1, so only include subregions that are
                     // not in node2, ie include everything in node2's complement
                     final N output = outputSubtree(node2);
-                    output.getTree().complementRecursive(output);
+                    output.getTree().complementSubtree(output);
 
                     return output;
                 } else {
@@ -1044,6 +1480,289 @@ public abstract class AbstractRegionBSPTree<
         }
     }
 
+    /** Class used to compute the union or intersection of any number of region trees by merging them
+     * pairwise in a balanced order.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     * @param <T> Tree implementation type
+     */
+    private static final class MultiMerger<
+            P extends Point<P>,
+            N extends AbstractRegionNode<P, N>,
+            T extends AbstractRegionBSPTree<P, N>> {
+
+        /** Function used to create new, empty trees. */
+        private final Supplier<? extends T> factory;
+
+        /** Function returning the bounding boxes of input regions; may be null. */
+        private final Function<? super T, double[]> boundsFunction;
+
+        /** Pool used to perform merges in parallel; may be null. */
+        private final ForkJoinPool pool;
+
+        /** True if computing the union of the inputs; false if computing the intersection. */
+        private final boolean union;
+
+        /** Construct a new instance.
+         * @param factory function used to create new, empty trees
+         * @param boundsFunction function returning the bounding boxes of input regions; may be null
+         * @param pool pool used to perform merges in parallel; may be null
+         * @param union true if computing the union of the inputs; false if computing the intersection
+         */
+        MultiMerger(final Supplier<? extends T> factory, final Function<? super T, double[]> boundsFunction,
+                final ForkJoinPool pool, final boolean union) {
+            this.factory = factory;
+            this.boundsFunction = boundsFunction;
+            this.pool = pool;
+            this.union = union;
+        }
+
+        /** Merge all of the given trees into a new tree.
+         * @param trees trees to merge
+         * @return a new tree containing the result of the merge
+         */
+        T mergeAll(final Collection<? extends T> trees) {
+            // the location that makes an input irrelevant (empty for union, full for intersection) and the
+            // location that determines the result by itself
+            final RegionLocation neutral = union ? RegionLocation.OUTSIDE : RegionLocation.INSIDE;
+
+            final List<T> inputs = new ArrayList<>(trees.size());
+            for (final T tree : trees) {
+                final N root = tree.getRoot();
+                if (root.isLeaf()) {
+                    if (root.getLocation() != neutral) {
+                        return createLeafTree(root.getLocation());
+                    }
+                } else {
+                    inputs.add(tree);
+                }
+            }
+
+            if (inputs.isEmpty()) {
+                return createLeafTree(neutral);
+            } else if (boundsFunction != null && !orderByBounds(inputs)) {
+                // the bounding boxes do not have a common intersection
+                return createLeafTree(RegionLocation.OUTSIDE);
+            }
+
+            final T result;
+            if (inputs.size() == 1) {
+                result = factory.get();
+                result.copy(inputs.get(0));
+            } else {
+                final MergeTask task = new MergeTask(inputs, 0, inputs.size());
+                result = pool != null ?
+                        pool.invoke(task) :
+                        task.compute();
+            }
+
+            return result;
+        }
+
+        /** Create a new tree consisting of a single leaf node with the given location.
+         * @param location location of the leaf node
+         * @return a new tree consisting of a single leaf node
+         */
+        private T createLeafTree(final RegionLocation location) {
+            final T tree = factory.get();
+            if (location == RegionLocation.INSIDE) {
+                tree.setFull();
+            } else {
+                tree.setEmpty();
+            }
+            return tree;
+        }
+
+        /** Reorder the given inputs so that inputs with nearby bounding boxes are adjacent in the list. The
+         * order is determined by recursively sorting the inputs by the center of their bounding boxes along
+         * the axis with the largest spread and splitting the list at the same midpoints used by
+         * {@link MergeTask}. Inputs without bounding boxes are placed at the start of the list.
+         * @param inputs inputs to reorder
+         * @return false if the result of an intersection operation is known to be empty since the bounding
+         *      boxes of the inputs do not have a common intersection
+         */
+        private boolean orderByBounds(final List<T> inputs) {
+            final List<BoundedInput> bounded = new ArrayList<>(inputs.size());
+            final List<T> unbounded = new ArrayList<>();
+
+            double[] common = null;
+            for (final T input : inputs) {
+                final double[] bounds = boundsFunction.apply(input);
+                if (bounds == null) {
+                    unbounded.add(input);
+                } else {
+                    bounded.add(new BoundedInput(input, bounds));
+
+                    if (!union) {
+                        common = intersectBounds(common, bounds);
+                        if (common == null) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            sortSpatially(bounded, 0, bounded.size());
+
+            inputs.clear();
+            inputs.addAll(unbounded);
+            for (final BoundedInput input : bounded) {
+                inputs.add(input.tree);
+            }
+
+            return true;
+        }
+
+        /** Recursively sort the given range of inputs by the centers of their bounding boxes.
+         * @param inputs list of inputs
+         * @param from start index of the range, inclusive
+         * @param to end index of the range, exclusive
+         */
+        private void sortSpatially(final List<BoundedInput> inputs, final int from, final int to) {
+            if (to - from > 2) {
+                final int dim = inputs.get(from).center.length;
+
+                int axis = 0;
+                double maxSpread = -1.0;
+                for (int i = 0; i < dim; ++i) {
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int j = from; j < to; ++j) {
+                        final double value = inputs.get(j).center[i];
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+
+                    if (max - min > maxSpread) {
+                        maxSpread = max - min;
+                        axis = i;
+                    }
+                }
+
+                final int sortAxis = axis;
+                inputs.subList(from, to).sort((a, b) -> Double.compare(a.center[sortAxis], b.center[sortAxis]));
+
+                final int mid = (from + to) >>> 1;
+                sortSpatially(inputs, from, mid);
+                sortSpatially(inputs, mid, to);
+            }
+        }
+
+        /** Compute the intersection of two bounding boxes.
+         * @param a first bounding box; if null, {@code b} is returned
+         * @param b second bounding box
+         * @return the intersection of the bounding boxes or null if they do not intersect
+         */
+        private static double[] intersectBounds(final double[] a, final double[] b) {
+            if (a == null) {
+                return b.clone();
+            }
+
+            final int dim = a.length / 2;
+            for (int i = 0; i < dim; ++i) {
+                a[i] = Math.max(a[i], b[i]);
+                a[i + dim] = Math.min(a[i + dim], b[i + dim]);
+
+                if (a[i] > a[i + dim]) {
+                    return null;
+                }
+            }
+
+            return a;
+        }
+
+        /** Class associating an input tree with the center of its bounding box.
+         */
+        private final class BoundedInput {
+
+            /** Input tree. */
+            private final T tree;
+
+            /** Center of the bounding box of the input tree. */
+            private final double[] center;
+
+            /** Construct a new instance.
+             * @param tree input tree
+             * @param bounds bounding box of the input tree
+             */
+            BoundedInput(final T tree, final double[] bounds) {
+                this.tree = tree;
+
+                final int dim = bounds.length / 2;
+                this.center = new double[dim];
+                for (int i = 0; i < dim; ++i) {
+                    center[i] = 0.5 * (bounds[i] + bounds[i + dim]);
+                }
+            }
+        }
+
+        /** Fork/join task used to merge a range of the inputs. The range is split in half and each half is
+         * merged independently, with the left half forked as a separate task when a pool is configured. The
+         * results of the two halves are then merged into a new tree.
+         */
+        private final class MergeTask extends RecursiveTask<T> {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20261015L;
+
+            /** Input trees. */
+            private final transient List<T> inputs;
+
+            /** Start index of the range, inclusive. */
+            private final int from;
+
+            /** End index of the range, exclusive. */
+            private final int to;
+
+            /** Construct a new task for merging the given range of inputs.
+             * @param inputs input trees
+             * @param from start index of the range, inclusive
+             * @param to end index of the range, exclusive
+             */
+            MergeTask(final List<T> inputs, final int from, final int to) {
+                this.inputs = inputs;
+                this.from = from;
+                this.to = to;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            protected T compute() {
+                if (to - from == 1) {
+                    return inputs.get(from);
+                }
+
+                final int mid = (from + to) >>> 1;
+
+                final MergeTask minTask = new MergeTask(inputs, from, mid);
+                final MergeTask maxTask = new MergeTask(inputs, mid, to);
+
+                final T a;
+                final T b;
+                if (pool != null) {
+                    minTask.fork();
+                    b = maxTask.compute();
+                    a = minTask.join();
+                } else {
+                    a = minTask.compute();
+                    b = maxTask.compute();
+                }
+
+                final RegionMergeOperator<P, N> operator = union ?
+                        new UnionOperator<>() :
+                        new IntersectionOperator<>();
+                final T result = factory.get();
+                if (pool != null) {
+                    operator.setParallelism(pool, result.getParallelMergeThreshold());
+                }
+
+                operator.apply(a, b, result);
+
+                return result;
+            }
+        }
+    }
+
     /** Internal class used to perform tree condense operations.
      * @param <P> Point implementation type
      * @param <N> BSP tree node implementation type
@@ -1052,6 +1771,9 @@ public abstract class AbstractRegionBSPTree<
         /** Flag set to true if the tree was modified during the operation. */
         private boolean modifiedTree;
 
+        /** Number of nodes removed during the operation. */
+        private int removedNodeCount;
+
         /** Condense the nodes in the subtree rooted at the given node. Redundant child nodes are
          * removed. The tree is invalidated if the tree structure was modified.
          * @param node the root node of the subtree to condense
@@ -1059,36 +1781,72 @@ public abstract class AbstractRegionBSPTree<
          */
         boolean condense(final N node) {
             modifiedTree = false;
+            removedNodeCount = 0;
 
-            condenseRecursive(node);
+            condenseSubtree(node);
 
             return modifiedTree;
         }
 
-        /** Recursively condense nodes that have children with homogenous location attributes
-         * (eg, both inside, both outside) into single nodes.
+        /** Get the number of nodes removed by the last condense operation.
+         * @return the number of nodes removed by the last condense operation
+         */
+        int getRemovedNodeCount() {
+            return removedNodeCount;
+        }
+
+        /** Condense nodes that have children with homogenous location attributes
+         * (eg, both inside, both outside) into single nodes. Nodes are processed in
+         * post-order, with the condensed location of each visited subtree kept on a
+         * result stack until its parent is processed.
          * @param node the root of the subtree to condense
          * @return the location of the successfully condensed subtree or null if no condensing was
          *      able to be performed
          */
-        private RegionLocation condenseRecursive(final N node) {
+        private RegionLocation condenseSubtree(final N node) {
             if (node.isLeaf()) {
+                // nothing to condense; avoid allocating the traversal stacks
                 return node.getLocation();
             }
 
-            final RegionLocation minusLocation = condenseRecursive(node.getMinus());
-            final RegionLocation plusLocation = condenseRecursive(node.getPlus());
+            final TraversalStack<N> nodeStack = new TraversalStack<>();
+            final TraversalStack<RegionLocation> resultStack = new TraversalStack<>();
 
-            if (minusLocation == plusLocation && minusLocation != null) {
-                node.setLocationValue(minusLocation);
-                node.clearCut();
+            nodeStack.push(node, ENTER);
 
-                modifiedTree = true;
+            N current;
+            while (!nodeStack.isEmpty()) {
+                final int state = nodeStack.peekState();
+                current = nodeStack.peek();
 
-                return minusLocation;
+                if (current.isLeaf()) {
+                    resultStack.push(current.getLocation());
+                    nodeStack.pop();
+                } else if (state == ENTER) {
+                    nodeStack.setState(EXIT);
+                    nodeStack.push(current.getPlus(), ENTER);
+                    nodeStack.push(current.getMinus(), ENTER);
+                } else {
+                    final RegionLocation plusLocation = resultStack.pop();
+                    final RegionLocation minusLocation = resultStack.pop();
+
+                    if (minusLocation == plusLocation && minusLocation != null) {
+                        current.setLocationValue(minusLocation);
+                        current.clearCut();
+
+                        modifiedTree = true;
+                        removedNodeCount += 2;
+
+                        resultStack.push(minusLocation);
+                    } else {
+                        resultStack.push(null);
+                    }
+
+                    nodeStack.pop();
+                }
             }
 
-            return null;
+            return resultStack.pop();
         }
     }
 
@@ -0,0 +1,530 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Base class for lazily evaluated constructive solid geometry (CSG) expressions over region BSP trees.
+ * Expressions are built by combining operands with the {@link #union(AbstractRegionExpression) union},
+ * {@link #intersection(AbstractRegionExpression) intersection},
+ * {@link #difference(AbstractRegionExpression) difference}, and {@link #xor(AbstractRegionExpression) xor}
+ * methods. No trees are merged when an expression is built; instead, the operations form a directed acyclic
+ * graph that is evaluated on demand by {@link #evaluate()}.
+ *
+ * <p>Expressions are immutable. Operand trees are copied when the operand expressions are created, so later
+ * modifications to the original trees do not affect the expression. This allows the result of each
+ * subexpression to be memoized: an expression instance that is used as an operand of several other expressions
+ * is evaluated at most once, regardless of how many times it is referenced.</p>
+ *
+ * <p>The bounding box of each subexpression is computed when the expression is created and used to prune
+ * the graph before any trees are merged. Intersections of operands with disjoint bounding boxes are known
+ * to be empty, differences with an operand whose bounding box is disjoint from that of the minuend reduce to
+ * the minuend, and operands known to be empty are dropped from unions and xors. The pruning is conservative:
+ * bounding boxes that merely touch are not considered disjoint.</p>
+ *
+ * <p>Points can be {@link #classify(Point) classified} against an expression without evaluating it. The
+ * point is classified against the operand trees and the locations are combined according to the operations
+ * in the graph. Only when a point lies on the boundary of both operands of an operation, where the location
+ * cannot be determined from the operand locations alone, is the result of that operation evaluated.</p>
+ *
+ * <p>Evaluation and classification are performed iteratively, so expression graphs of arbitrary depth may be
+ * used. Instances of this class are not thread-safe.</p>
+ * @param <P> Point implementation type
+ * @param <N> BSP tree node implementation type
+ * @param <T> Region BSP tree implementation type
+ * @param <E> Expression implementation type
+ */
+public abstract class AbstractRegionExpression<
+        P extends Point<P>,
+        N extends AbstractRegionNode<P, N>,
+        T extends AbstractRegionBSPTree<P, N>,
+        E extends AbstractRegionExpression<P, N, T, E>> {
+
+    /** Bounds value used to indicate that a subexpression is known to be empty. */
+    private static final double[] EMPTY_BOUNDS = new double[0];
+
+    /** Traversal state for an operation whose operands have not been classified. */
+    private static final int CLASSIFY_ENTER = 0;
+
+    /** Traversal state for an operation whose first operand has been classified. */
+    private static final int CLASSIFY_FIRST = 1;
+
+    /** Traversal state for an operation whose operands have both been classified. */
+    private static final int CLASSIFY_SECOND = 2;
+
+    /** Enum containing the operations that may be used to combine expressions. */
+    protected enum Operation {
+        /** Union of two regions. */
+        UNION,
+
+        /** Intersection of two regions. */
+        INTERSECTION,
+
+        /** Difference of two regions. */
+        DIFFERENCE,
+
+        /** Symmetric difference of two regions. */
+        XOR
+    }
+
+    /** Operation combining the operands of this expression; null for operand expressions. */
+    private final Operation operation;
+
+    /** First operand of the operation; null for operand expressions. */
+    private final AbstractRegionExpression<P, N, T, E> first;
+
+    /** Second operand of the operation; null for operand expressions. */
+    private final AbstractRegionExpression<P, N, T, E> second;
+
+    /** Expression that this expression is known to be equivalent to after pruning; null if none. */
+    private final AbstractRegionExpression<P, N, T, E> alias;
+
+    /** Bounding box of the expression, consisting of the minimum coordinates followed by the maximum
+     * coordinates. The value is null if the expression is not known to be bounded and {@link #EMPTY_BOUNDS}
+     * if the expression is known to be empty.
+     */
+    private final double[] bounds;
+
+    /** Evaluated tree for this expression; null if not yet evaluated. For operand expressions, this is the
+     * operand tree.
+     */
+    private T result;
+
+    /** Construct a new operand expression.
+     * @param tree operand tree; callers are responsible for ensuring that the tree is not modified
+     *      after this expression is created
+     * @param bounds bounding box of the tree, consisting of the minimum coordinates followed by the
+     *      maximum coordinates; may be null if the tree is not known to be bounded
+     */
+    protected AbstractRegionExpression(final T tree, final double[] bounds) {
+        this.operation = null;
+        this.first = null;
+        this.second = null;
+        this.alias = null;
+        this.result = tree;
+
+        final N root = tree.getRoot();
+        this.bounds = root.isLeaf() && root.isOutside() ?
+                EMPTY_BOUNDS :
+                bounds;
+    }
+
+    /** Construct a new expression combining the given operands.
+     * @param operation operation combining the operands
+     * @param first first operand
+     * @param second second operand
+     */
+    protected AbstractRegionExpression(final Operation operation, final E first, final E second) {
+        this.operation = operation;
+        this.first = first;
+        this.second = second;
+
+        final double[] firstBounds = this.first.resolve().bounds;
+        final double[] secondBounds = this.second.resolve().bounds;
+
+        final boolean firstEmpty = firstBounds == EMPTY_BOUNDS;
+        final boolean secondEmpty = secondBounds == EMPTY_BOUNDS;
+
+        switch (operation) {
+        case UNION:
+        case XOR:
+            if (firstEmpty) {
+                alias = second;
+                bounds = secondBounds;
+            } else if (secondEmpty) {
+                alias = first;
+                bounds = firstBounds;
+            } else {
+                alias = null;
+                bounds = boundsUnion(firstBounds, secondBounds);
+            }
+            break;
+        case INTERSECTION:
+            alias = null;
+            bounds = firstEmpty || secondEmpty ?
+                    EMPTY_BOUNDS :
+                    boundsIntersection(firstBounds, secondBounds);
+            break;
+        default: // DIFFERENCE
+            if (firstEmpty || secondEmpty || boundsDisjoint(firstBounds, secondBounds)) {
+                alias = first;
+            } else {
+                alias = null;
+            }
+            bounds = firstBounds;
+            break;
+        }
+    }
+
+    /** Return a new expression representing the union of this expression and the argument.
+     * @param other expression to union with
+     * @return a new expression representing the union of this expression and the argument
+     */
+    public E union(final E other) {
+        return createExpression(Operation.UNION, getSelf(), other);
+    }
+
+    /** Return a new expression representing the intersection of this expression and the argument.
+     * @param other expression to intersect with
+     * @return a new expression representing the intersection of this expression and the argument
+     */
+    public E intersection(final E other) {
+        return createExpression(Operation.INTERSECTION, getSelf(), other);
+    }
+
+    /** Return a new expression representing the difference of this expression and the argument,
+     * i.e. the region of this expression that is not contained in the argument.
+     * @param other expression to subtract
+     * @return a new expression representing the difference of this expression and the argument
+     */
+    public E difference(final E other) {
+        return createExpression(Operation.DIFFERENCE, getSelf(), other);
+    }
+
+    /** Return a new expression representing the symmetric difference (xor) of this expression and
+     * the argument.
+     * @param other expression to xor with
+     * @return a new expression representing the symmetric difference of this expression and the argument
+     */
+    public E xor(final E other) {
+        return createExpression(Operation.XOR, getSelf(), other);
+    }
+
+    /** Return true if this expression is known to represent an empty region without evaluating it. A
+     * return value of false does not imply that the region is not empty.
+     * @return true if this expression is known to represent an empty region
+     */
+    public boolean isKnownEmpty() {
+        return resolve().bounds == EMPTY_BOUNDS;
+    }
+
+    /** Return true if the result of this expression has been evaluated and memoized.
+     * @return true if the result of this expression has been evaluated
+     */
+    public boolean isEvaluated() {
+        return resolve().result != null;
+    }
+
+    /** Evaluate the expression, returning a new tree containing the result. Results of subexpressions,
+     * including that of this expression, are memoized so that subsequent calls do not repeat any tree
+     * merge operations. However, each call returns a new copy of the memoized result, which takes time
+     * proportional to the size of the result tree. The returned tree may be freely modified.
+     * @return a new tree containing the result of the expression
+     */
+    public T evaluate() {
+        final T copy = createTree();
+        copy.copy(evaluateInternal());
+
+        return copy;
+    }
+
+    /** Classify a point with respect to the region represented by this expression. The result is the same
+     * as that of classifying the point against the {@link #evaluate() evaluated} tree, but the expression is
+     * only evaluated for the subexpressions where the location of the point cannot be determined from the
+     * locations of the point relative to the operands.
+     * @param pt point to classify
+     * @return the classification of the point with respect to the region
+     */
+    public RegionLocation classify(final P pt) {
+        final TraversalStack<AbstractRegionExpression<P, N, T, E>> stack = new TraversalStack<>();
+        final TraversalStack<RegionLocation> locations = new TraversalStack<>();
+
+        stack.push(resolve());
+
+        AbstractRegionExpression<P, N, T, E> expr;
+        int state;
+        RegionLocation loc;
+        while (!stack.isEmpty()) {
+            state = stack.peekState();
+            expr = stack.pop();
+
+            if (expr.result != null) {
+                locations.push(expr.result.classify(pt));
+            } else if (expr.bounds == EMPTY_BOUNDS) {
+                locations.push(RegionLocation.OUTSIDE);
+            } else if (state == CLASSIFY_ENTER) {
+                stack.push(expr, CLASSIFY_FIRST);
+                stack.push(expr.first.resolve());
+            } else if (state == CLASSIFY_FIRST) {
+                loc = getDeterminedLocation(expr.operation, locations.peek());
+                if (loc != null) {
+                    locations.pop();
+                    locations.push(loc);
+                } else {
+                    stack.push(expr, CLASSIFY_SECOND);
+                    stack.push(expr.second.resolve());
+                }
+            } else {
+                final RegionLocation secondLoc = locations.pop();
+                final RegionLocation firstLoc = locations.pop();
+
+                loc = combineLocations(expr.operation, firstLoc, secondLoc);
+                if (loc == null) {
+                    // the point lies on the boundary of both operands; the location depends on the
+                    // orientation of the boundaries and so must be determined from the merged tree
+                    loc = expr.evaluateInternal().classify(pt);
+                }
+
+                locations.push(loc);
+            }
+        }
+
+        return locations.pop();
+    }
+
+    /** Return true if the region represented by this expression contains the given point, meaning that
+     * the point is classified as {@link RegionLocation#INSIDE inside} or on the
+     * {@link RegionLocation#BOUNDARY boundary}.
+     * @param pt point to test
+     * @return true if the region contains the point
+     * @see #classify(Point)
+     */
+    public boolean contains(final P pt) {
+        return classify(pt) != RegionLocation.OUTSIDE;
+    }
+
+    /** Get the operation combining the operands of this expression, or null if this is an operand expression.
+     * @return the operation of this expression; may be null
+     */
+    protected Operation getOperation() {
+        return operation;
+    }
+
+    /** Return this instance as the expression implementation type.
+     * @return this instance as the expression implementation type
+     */
+    protected abstract E getSelf();
+
+    /** Create a new expression combining the given operands.
+     * @param op operation combining the operands
+     * @param firstOperand first operand
+     * @param secondOperand second operand
+     * @return a new expression combining the given operands
+     */
+    protected abstract E createExpression(Operation op, E firstOperand, E secondOperand);
+
+    /** Create a new, empty tree.
+     * @return a new, empty tree
+     */
+    protected abstract T createTree();
+
+    /** Get the expression that this expression is equivalent to after pruning.
+     * @return the expression that this expression is equivalent to
+     */
+    private AbstractRegionExpression<P, N, T, E> resolve() {
+        AbstractRegionExpression<P, N, T, E> expr = this;
+        while (expr.alias != null) {
+            expr = expr.alias;
+        }
+        return expr;
+    }
+
+    /** Evaluate the expression, memoizing the results of all evaluated subexpressions.
+     * @return the memoized result tree; callers must not modify the returned tree
+     */
+    private T evaluateInternal() {
+        final AbstractRegionExpression<P, N, T, E> target = resolve();
+        if (target.result == null) {
+            final TraversalStack<AbstractRegionExpression<P, N, T, E>> stack = new TraversalStack<>();
+            stack.push(target);
+
+            AbstractRegionExpression<P, N, T, E> expr;
+            AbstractRegionExpression<P, N, T, E> firstExpr;
+            AbstractRegionExpression<P, N, T, E> secondExpr;
+            while (!stack.isEmpty()) {
+                expr = stack.peek();
+
+                if (expr.result != null) {
+                    stack.pop();
+                } else if (expr.bounds == EMPTY_BOUNDS) {
+                    expr.result = createTree();
+                    stack.pop();
+                } else {
+                    firstExpr = expr.first.resolve();
+                    secondExpr = expr.second.resolve();
+
+                    if (firstExpr.result == null || secondExpr.result == null) {
+                        if (secondExpr.result == null) {
+                            stack.push(secondExpr);
+                        }
+                        if (firstExpr.result == null) {
+                            stack.push(firstExpr);
+                        }
+                    } else {
+                        expr.result = merge(expr.operation, firstExpr.result, secondExpr.result);
+                        stack.pop();
+                    }
+                }
+            }
+        }
+
+        return target.result;
+    }
+
+    /** Return a new tree containing the result of applying the given operation to the argument trees.
+     * @param op operation to apply
+     * @param a first operand tree
+     * @param b second operand tree
+     * @return a new tree containing the result of the operation
+     */
+    private T merge(final Operation op, final T a, final T b) {
+        final T tree = createTree();
+
+        switch (op) {
+        case UNION:
+            tree.union(a, b);
+            break;
+        case INTERSECTION:
+            tree.intersection(a, b);
+            break;
+        case DIFFERENCE:
+            tree.difference(a, b);
+            break;
+        default: // XOR
+            tree.xor(a, b);
+            break;
+        }
+
+        return tree;
+    }
+
+    /** Get the location of a point with respect to the result of the given operation if it can be
+     * determined from the location of the point with respect to the first operand alone.
+     * @param op operation
+     * @param firstLoc location of the point with respect to the first operand
+     * @return the location of the point with respect to the result of the operation or null if
+     *      it cannot be determined from the first operand
+     */
+    private static RegionLocation getDeterminedLocation(final Operation op, final RegionLocation firstLoc) {
+        switch (op) {
+        case UNION:
+            return firstLoc == RegionLocation.INSIDE ? firstLoc : null;
+        case INTERSECTION:
+        case DIFFERENCE:
+            return firstLoc == RegionLocation.OUTSIDE ? firstLoc : null;
+        default: // XOR
+            return null;
+        }
+    }
+
+    /** Get the location of a point with respect to the result of the given operation from the locations
+     * of the point with respect to the operands. Null is returned if the point lies on the boundary of both
+     * operands, in which case the location cannot be determined from the operand locations alone.
+     * @param op operation
+     * @param firstLoc location of the point with respect to the first operand
+     * @param secondLoc location of the point with respect to the second operand
+     * @return the location of the point with respect to the result of the operation or null if it cannot
+     *      be determined
+     */
+    private static RegionLocation combineLocations(final Operation op, final RegionLocation firstLoc,
+            final RegionLocation secondLoc) {
+        if (firstLoc == RegionLocation.BOUNDARY && secondLoc == RegionLocation.BOUNDARY) {
+            return null;
+        }
+
+        switch (op) {
+        case UNION:
+            if (firstLoc == RegionLocation.INSIDE || secondLoc == RegionLocation.INSIDE) {
+                return RegionLocation.INSIDE;
+            }
+            return firstLoc == RegionLocation.OUTSIDE ? secondLoc : firstLoc;
+        case INTERSECTION:
+            if (firstLoc == RegionLocation.OUTSIDE || secondLoc == RegionLocation.OUTSIDE) {
+                return RegionLocation.OUTSIDE;
+            }
+            return firstLoc == RegionLocation.INSIDE ? secondLoc : firstLoc;
+        case DIFFERENCE:
+            if (firstLoc == RegionLocation.OUTSIDE || secondLoc == RegionLocation.INSIDE) {
+                return RegionLocation.OUTSIDE;
+            }
+            return secondLoc == RegionLocation.OUTSIDE ? firstLoc : RegionLocation.BOUNDARY;
+        default: // XOR
+            if (firstLoc == RegionLocation.BOUNDARY || secondLoc == RegionLocation.BOUNDARY) {
+                return RegionLocation.BOUNDARY;
+            }
+            return firstLoc == secondLoc ? RegionLocation.OUTSIDE : RegionLocation.INSIDE;
+        }
+    }
+
+    /** Compute the union of two bounding boxes.
+     * @param a first bounding box; may be null
+     * @param b second bounding box; may be null
+     * @return the union of the bounding boxes, or null if either is null
+     */
+    private static double[] boundsUnion(final double[] a, final double[] b) {
+        if (a == null || b == null) {
+            return null;
+        }
+
+        final int dim = a.length / 2;
+        final double[] result = new double[a.length];
+        for (int i = 0; i < dim; ++i) {
+            result[i] = Math.min(a[i], b[i]);
+            result[i + dim] = Math.max(a[i + dim], b[i + dim]);
+        }
+
+        return result;
+    }
+
+    /** Compute the intersection of two bounding boxes.
+     * @param a first bounding box; may be null
+     * @param b second bounding box; may be null
+     * @return the intersection of the bounding boxes; {@link #EMPTY_BOUNDS} is returned if the
+     *      boxes are disjoint
+     */
+    private static double[] boundsIntersection(final double[] a, final double[] b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        } else if (boundsDisjoint(a, b)) {
+            return EMPTY_BOUNDS;
+        }
+
+        final int dim = a.length / 2;
+        final double[] result = new double[a.length];
+        for (int i = 0; i < dim; ++i) {
+            result[i] = Math.max(a[i], b[i]);
+            result[i + dim] = Math.min(a[i + dim], b[i + dim]);
+        }
+
+        return result;
+    }
+
+    /** Return true if the given bounding boxes are strictly disjoint. Boxes that touch are not
+     * considered disjoint.
+     * @param a first bounding box; may be null
+     * @param b second bounding box; may be null
+     * @return true if the bounding boxes are strictly disjoint
+     */
+    private static boolean boundsDisjoint(final double[] a, final double[] b) {
+        if (a == null || b == null) {
+            return false;
+        }
+
+        final int dim = a.length / 2;
+        for (int i = 0; i < dim; ++i) {
+            if (a[i + dim] < b[i] || b[i + dim] < a[i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
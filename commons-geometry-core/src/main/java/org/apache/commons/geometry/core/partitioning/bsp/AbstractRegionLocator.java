@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Base class for objects that classify sequences of spatially coherent points against a region BSP tree.
+ * Each instance remembers the leaf node containing the last classified point along with the hyperplanes
+ * bounding the convex cell of that leaf. Subsequent points are first tested against these hyperplanes and
+ * the classification of the leaf is returned directly if the point is still strictly inside of the cell. A
+ * full descent from the root of the tree is only performed when the point leaves the cell. For point
+ * sequences such as scanlines, where consecutive points usually lie in the same leaf, this avoids repeatedly
+ * testing the cuts near the root of the tree.
+ *
+ * <p>The cell of a leaf is initially bounded by the cut hyperplanes of all of its ancestors, tested from the
+ * closest ancestor upward. Once the same cell has been reused {@value #CELL_REDUCTION_HIT_COUNT} times, the
+ * hyperplanes that cannot affect the classification of points inside of the cell are removed using the
+ * cell vertices returned by {@link #getCellVertices(AbstractRegionNode)}.</p>
+ *
+ * <p>The results returned by {@link #classify(Point)} are the same as those returned by
+ * {@link AbstractRegionBSPTree#classify(Point)}. Modifications to the tree are detected automatically. Instances
+ * of this class are not thread-safe; each thread should use its own locator.</p>
+ * @param <P> Point implementation type
+ * @param <N> BSP tree node implementation type
+ */
+public abstract class AbstractRegionLocator<P extends Point<P>, N extends AbstractRegionNode<P, N>> {
+
+    /** Number of consecutive cell hits after which the hyperplanes bounding the cell are reduced. */
+    public static final int CELL_REDUCTION_HIT_COUNT = 16;
+
+    /** Tree that points are classified against. */
+    private final AbstractRegionBSPTree<P, N> tree;
+
+    /** Hyperplanes bounding the cell of the current leaf. */
+    private final List<Hyperplane<P>> cellHyperplanes = new ArrayList<>();
+
+    /** Location of the cell of the current leaf relative to each of the hyperplanes in {@link #cellHyperplanes}. */
+    private final List<HyperplaneLocation> cellSides = new ArrayList<>();
+
+    /** Leaf node containing the last located point; may be null. */
+    private N leaf;
+
+    /** Tree version at the time that {@link #leaf} was located. */
+    private int leafVersion;
+
+    /** Number of points found in the cell of the current leaf without a descent from the root. */
+    private int cellHitCount;
+
+    /** Construct a new instance for classifying points against the given tree.
+     * @param tree tree to classify points against
+     */
+    protected AbstractRegionLocator(final AbstractRegionBSPTree<P, N> tree) {
+        this.tree = tree;
+    }
+
+    /** Get the tree that points are classified against.
+     * @return the tree that points are classified against
+     */
+    public AbstractRegionBSPTree<P, N> getTree() {
+        return tree;
+    }
+
+    /** Get the leaf node containing the last located point. Null is returned if no point has been
+     * located yet, if the tree has been modified since the last point was located, or if the last point
+     * lay directly on a cut hyperplane and was therefore not contained in a single leaf.
+     * @return the leaf node containing the last located point; may be null
+     */
+    public N getLeaf() {
+        return isLeafValid() ? leaf : null;
+    }
+
+    /** Get the number of hyperplanes currently tested in order to determine if a point lies in the
+     * cell of the {@link #getLeaf() current leaf}.
+     * @return the number of hyperplanes bounding the current cell
+     */
+    public int getCellHyperplaneCount() {
+        return isLeafValid() ? cellHyperplanes.size() : 0;
+    }
+
+    /** Classify a point with respect to the region. The result is the same as that of
+     * {@link AbstractRegionBSPTree#classify(Point)}.
+     * @param pt point to classify
+     * @return the classification of the point with respect to the region
+     */
+    public RegionLocation classify(final P pt) {
+        if (pt.isNaN()) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        if (isLeafValid() && isInCell(pt)) {
+            if (++cellHitCount == CELL_REDUCTION_HIT_COUNT) {
+                reduceCell();
+            }
+
+            return leaf.getLocation();
+        }
+
+        return locate(pt);
+    }
+
+    /** Get the vertices of the convex cell of the given leaf node. The returned vertices must completely
+     * characterize the cell, meaning that the cell is the convex hull of the vertices. Null should be returned
+     * if the cell is not bounded or if the vertices cannot be determined, in which case all ancestor cut
+     * hyperplanes of the leaf continue to be tested.
+     * @param node leaf node
+     * @return the vertices of the cell of the leaf node, or null if the cell is not bounded by its vertices
+     */
+    protected abstract Collection<P> getCellVertices(N node);
+
+    /** Return true if the current leaf was located in the current version of the tree.
+     * @return true if the current leaf is valid
+     */
+    private boolean isLeafValid() {
+        return leaf != null && leafVersion == tree.getVersion();
+    }
+
+    /** Return true if the given point lies strictly inside of the cell of the current leaf.
+     * @param pt point to test
+     * @return true if the point lies strictly inside of the current cell
+     */
+    private boolean isInCell(final P pt) {
+        final int size = cellHyperplanes.size();
+        for (int i = 0; i < size; ++i) {
+            if (cellHyperplanes.get(i).classify(pt) != cellSides.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Locate the given point by descending from the root of the tree, storing the leaf and cell
+     * containing the point if it lies strictly inside of a single leaf.
+     * @param pt point to locate
+     * @return the classification of the point
+     */
+    private RegionLocation locate(final P pt) {
+        leaf = null;
+
+        N node = tree.getRoot();
+
+        HyperplaneLocation cutLoc;
+        while (node.isInternal()) {
+            cutLoc = node.getCutHyperplane().classify(pt);
+
+            if (cutLoc == HyperplaneLocation.MINUS) {
+                node = node.getMinus();
+            } else if (cutLoc == HyperplaneLocation.PLUS) {
+                node = node.getPlus();
+            } else {
+                // the point lies on a cut and must be classified against both subtrees
+                return tree.classify(pt);
+            }
+        }
+
+        leaf = node;
+        leafVersion = tree.getVersion();
+        cellHitCount = 0;
+
+        // store the ancestor cuts from the leaf upward, since cuts closer to the leaf are more
+        // likely to be crossed by the next point
+        cellHyperplanes.clear();
+        cellSides.clear();
+
+        N child = node;
+        N parent;
+        while ((parent = child.getParent()) != null) {
+            cellHyperplanes.add(parent.getCutHyperplane());
+            cellSides.add(child.isMinus() ? HyperplaneLocation.MINUS : HyperplaneLocation.PLUS);
+
+            child = parent;
+        }
+
+        return leaf.getLocation();
+    }
+
+    /** Remove the hyperplanes from the current cell that do not need to be tested. A hyperplane is removed
+     * if all of the cell vertices lie strictly on the same side of it as the cell, since no point
+     * inside of the cell can then lie on the hyperplane or on its opposite side.
+     */
+    private void reduceCell() {
+        final Collection<P> vertices = getCellVertices(leaf);
+        if (vertices == null || vertices.isEmpty()) {
+            return;
+        }
+
+        int count = 0;
+        for (int i = 0; i < cellHyperplanes.size(); ++i) {
+            final Hyperplane<P> hyperplane = cellHyperplanes.get(i);
+            final HyperplaneLocation side = cellSides.get(i);
+
+            if (!isStrictlyOnSide(hyperplane, side, vertices)) {
+                cellHyperplanes.set(count, hyperplane);
+                cellSides.set(count, side);
+                ++count;
+            }
+        }
+
+        cellHyperplanes.subList(count, cellHyperplanes.size()).clear();
+        cellSides.subList(count, cellSides.size()).clear();
+    }
+
+    /** Return true if all of the given points lie strictly on the given side of the hyperplane.
+     * @param <P> Point implementation type
+     * @param hyperplane hyperplane to test against
+     * @param side the required side of the hyperplane
+     * @param pts points to test
+     * @return true if all points lie strictly on the given side of the hyperplane
+     */
+    private static <P extends Point<P>> boolean isStrictlyOnSide(final Hyperplane<P> hyperplane,
+            final HyperplaneLocation side, final Collection<P> pts) {
+        for (final P pt : pts) {
+            if (hyperplane.classify(pt) != side) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+/** Interface for objects notified of structural operations performed on BSP trees. Listeners are
+ * registered with {@link AbstractBSPTree#setListener(BSPTreeListener)} and may be used to collect
+ * metrics on tree construction and usage. All methods have empty default implementations so that
+ * implementations only need to override the notifications they are interested in.
+ *
+ * <p>Notifications are sent from the thread performing the operation. Since merge operations may be
+ * performed in parallel, implementations must be thread-safe if they are used with trees configured
+ * for parallel merging.</p>
+ * @see BSPTreeMetrics
+ */
+public interface BSPTreeListener {
+
+    /** Enum containing the tree operations reported to listeners.
+     */
+    enum Operation {
+
+        /** Operation cutting a single node with a hyperplane, including trimming the hyperplane
+         * to the node region.
+         */
+        CUT,
+
+        /** Operation inserting a hyperplane convex subset into a tree.
+         */
+        INSERT,
+
+        /** Operation splitting a leaf node with a partitioning hyperplane subset.
+         */
+        SPLIT_LEAF_NODE,
+
+        /** Operation splitting an internal node and its subtree with a partitioning hyperplane
+         * subset. The reported time includes the time spent splitting the child subtrees, which
+         * are also reported individually.
+         */
+        SPLIT_INTERNAL_NODE,
+
+        /** Operation merging two trees, such as a boolean region operation. The reported time
+         * includes the time spent on any node splits performed by the merge, which are also
+         * reported individually.
+         */
+        MERGE,
+
+        /** Operation condensing a region tree. The reported count is the number of nodes removed.
+         */
+        CONDENSE,
+
+        /** Operation rebuilding a region tree from its boundaries in order to improve its structure.
+         */
+        OPTIMIZE
+    }
+
+    /** Method called when a tree operation has been completed.
+     * @param operation the completed operation
+     * @param count number of items affected by the operation; this is the number of nodes removed
+     *      for {@link Operation#CONDENSE} operations and {@code 1} for all other operations
+     * @param nanos elapsed time of the operation in nanoseconds
+     */
+    default void operationCompleted(final Operation operation, final int count, final long nanos) {
+        // do nothing by default
+    }
+
+    /** Method called when the cut boundary of a region tree node is requested.
+     * @param cached true if the cut boundary was already computed and cached on the node;
+     *      false if it was computed for this request
+     */
+    default void cutBoundaryRequested(final boolean cached) {
+        // do nothing by default
+    }
+}
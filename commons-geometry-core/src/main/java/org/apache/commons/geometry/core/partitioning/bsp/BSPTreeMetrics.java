@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** {@link BSPTreeListener} implementation that accumulates operation counts, times,
+ * and cut boundary cache hit rates. A single instance may be shared between any number of trees
+ * in order to collect aggregate values.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ */
+public final class BSPTreeMetrics implements BSPTreeListener {
+
+    /** Number of operations of each type, indexed by operation ordinal. */
+    private final LongAdder[] counts = createAdders();
+
+    /** Number of items affected by operations of each type, indexed by operation ordinal. */
+    private final LongAdder[] itemCounts = createAdders();
+
+    /** Total elapsed time in nanoseconds for operations of each type, indexed by operation ordinal. */
+    private final LongAdder[] nanos = createAdders();
+
+    /** Number of cut boundary requests satisfied by cached values. */
+    private final LongAdder cutBoundaryHits = new LongAdder();
+
+    /** Number of cut boundary requests requiring computation. */
+    private final LongAdder cutBoundaryMisses = new LongAdder();
+
+    /** {@inheritDoc} */
+    @Override
+    public void operationCompleted(final Operation operation, final int count, final long elapsedNanos) {
+        final int idx = operation.ordinal();
+
+        counts[idx].increment();
+        itemCounts[idx].add(count);
+        nanos[idx].add(elapsedNanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void cutBoundaryRequested(final boolean cached) {
+        if (cached) {
+            cutBoundaryHits.increment();
+        } else {
+            cutBoundaryMisses.increment();
+        }
+    }
+
+    /** Get the number of times the given operation was performed.
+     * @param operation operation type
+     * @return the number of times the operation was performed
+     */
+    public long getCount(final Operation operation) {
+        return counts[operation.ordinal()].sum();
+    }
+
+    /** Get the total number of items affected by the given operation. For
+     * {@link BSPTreeListener.Operation#CONDENSE CONDENSE} operations, this is the total number of
+     * nodes removed. For all other operations, this is equal to {@link #getCount(BSPTreeListener.Operation)}.
+     * @param operation operation type
+     * @return the total number of items affected by the operation
+     */
+    public long getItemCount(final Operation operation) {
+        return itemCounts[operation.ordinal()].sum();
+    }
+
+    /** Get the total elapsed time in nanoseconds spent performing the given operation.
+     * @param operation operation type
+     * @return the total elapsed time in nanoseconds for the operation
+     */
+    public long getNanos(final Operation operation) {
+        return nanos[operation.ordinal()].sum();
+    }
+
+    /** Get the number of cut boundary requests that were satisfied by cached values.
+     * @return the number of cut boundary cache hits
+     */
+    public long getCutBoundaryHits() {
+        return cutBoundaryHits.sum();
+    }
+
+    /** Get the number of cut boundary requests that required the boundary to be computed.
+     * @return the number of cut boundary cache misses
+     */
+    public long getCutBoundaryMisses() {
+        return cutBoundaryMisses.sum();
+    }
+
+    /** Get the fraction of cut boundary requests that were satisfied by cached values. Zero is
+     * returned if no requests have been made.
+     * @return the cut boundary cache hit rate, in the range {@code [0, 1]}
+     */
+    public double getCutBoundaryHitRate() {
+        final long hits = getCutBoundaryHits();
+        final long total = hits + getCutBoundaryMisses();
+
+        return total > 0 ?
+                (double) hits / total :
+                0.0;
+    }
+
+    /** Reset all accumulated values to zero. Values recorded concurrently with this call
+     * may or may not be retained.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i].reset();
+            itemCounts[i].reset();
+            nanos[i].reset();
+        }
+
+        cutBoundaryHits.reset();
+        cutBoundaryMisses.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append('[');
+
+        for (final Operation operation : Operation.values()) {
+            sb.append(operation)
+                .append("= (count= ")
+                .append(getCount(operation))
+                .append(", nanos= ")
+                .append(getNanos(operation))
+                .append("), ");
+        }
+
+        sb.append("cutBoundaryHitRate= ")
+            .append(getCutBoundaryHitRate())
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Create an array containing one new adder for each operation type.
+     * @return an array containing one new adder for each operation type
+     */
+    private static LongAdder[] createAdders() {
+        final LongAdder[] adders = new LongAdder[Operation.values().length];
+        for (int i = 0; i < adders.length; ++i) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Class containing structural statistics for a BSP tree, computed in a single pass over the tree
+ * nodes. These values can be used to diagnose performance issues caused by the shape of a tree. For
+ * example, a tree that has degenerated into a list of nodes will have an average leaf depth close to
+ * its node count.
+ *
+ * <p>The <em>query depth</em> values describe the number of cuts that must be tested in order to locate
+ * the leaf node containing a point. The average query depth assumes that all leaf nodes are equally
+ * likely to be the target of a query. The weighted query depth uses a weight for each leaf node; by
+ * default, the weight of a leaf at depth {@code d} is {@code 2^-d}, which corresponds to queries that
+ * are equally likely to lie on either side of each cut.</p>
+ *
+ * <p>Instances of this class are immutable.</p>
+ */
+public final class BSPTreeStatistics {
+
+    /** Initial length of the leaf depth histogram array. */
+    private static final int INITIAL_HISTOGRAM_LENGTH = 16;
+
+    /** Total number of nodes. */
+    private final int nodeCount;
+
+    /** Number of leaf nodes. */
+    private final int leafCount;
+
+    /** Number of leaf nodes with a location of {@link RegionLocation#INSIDE INSIDE}. */
+    private final int insideLeafCount;
+
+    /** Number of leaf nodes with a location of {@link RegionLocation#OUTSIDE OUTSIDE}. */
+    private final int outsideLeafCount;
+
+    /** Number of internal nodes with cached cut boundaries. */
+    private final int cachedCutBoundaryCount;
+
+    /** Number of leaf nodes at each depth. */
+    private final int[] leafDepthCounts;
+
+    /** Average leaf depth. */
+    private final double averageQueryDepth;
+
+    /** Weighted average leaf depth. */
+    private final double weightedQueryDepth;
+
+    /** Simple constructor.
+     * @param counter counter containing the values for the instance
+     */
+    private BSPTreeStatistics(final Counter counter) {
+        this.nodeCount = counter.nodeCount;
+        this.leafCount = counter.leafCount;
+        this.insideLeafCount = counter.insideLeafCount;
+        this.outsideLeafCount = counter.outsideLeafCount;
+        this.cachedCutBoundaryCount = counter.cachedCutBoundaryCount;
+        this.leafDepthCounts = Arrays.copyOf(counter.leafDepthCounts, counter.height + 1);
+        this.averageQueryDepth = counter.leafDepthSum / counter.leafCount;
+        this.weightedQueryDepth = counter.weightSum > 0 ?
+                counter.weightedDepthSum / counter.weightSum :
+                Double.NaN;
+    }
+
+    /** Get the total number of nodes in the tree.
+     * @return the total number of nodes in the tree
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /** Get the number of leaf nodes in the tree.
+     * @return the number of leaf nodes in the tree
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /** Get the number of internal nodes in the tree.
+     * @return the number of internal nodes in the tree
+     */
+    public int getInternalNodeCount() {
+        return nodeCount - leafCount;
+    }
+
+    /** Get the number of leaf nodes with a location of {@link RegionLocation#INSIDE INSIDE}. This
+     * is zero for trees that do not represent regions.
+     * @return the number of inside leaf nodes
+     */
+    public int getInsideLeafCount() {
+        return insideLeafCount;
+    }
+
+    /** Get the number of leaf nodes with a location of {@link RegionLocation#OUTSIDE OUTSIDE}. This
+     * is zero for trees that do not represent regions.
+     * @return the number of outside leaf nodes
+     */
+    public int getOutsideLeafCount() {
+        return outsideLeafCount;
+    }
+
+    /** Get the height of the tree, ie, the maximum depth of any leaf node.
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return leafDepthCounts.length - 1;
+    }
+
+    /** Get the number of leaf nodes at each depth in the tree. The value at index {@code i} is the
+     * number of leaf nodes with depth {@code i}. The length of the array is equal to the
+     * {@link #getHeight() height} of the tree plus one.
+     * @return the leaf depth histogram; a new array is returned on each call
+     */
+    public int[] getLeafDepthHistogram() {
+        return leafDepthCounts.clone();
+    }
+
+    /** Get the average depth of the leaf nodes in the tree. This is the average number of cuts that
+     * must be tested to locate a leaf node when all leaf nodes are equally likely query targets.
+     * @return the average leaf node depth
+     */
+    public double getAverageQueryDepth() {
+        return averageQueryDepth;
+    }
+
+    /** Get the weighted average depth of the leaf nodes in the tree, using the leaf weights given when
+     * this instance was created. NaN is returned if the sum of the leaf weights is not positive.
+     * @return the weighted average leaf node depth
+     * @see #from(BSPTree, ToDoubleFunction)
+     */
+    public double getWeightedQueryDepth() {
+        return weightedQueryDepth;
+    }
+
+    /** Get the number of internal nodes with cut boundaries that are currently computed and cached.
+     * This is zero for trees that do not represent regions.
+     * @return the number of internal nodes with cached cut boundaries
+     */
+    public int getCachedCutBoundaryCount() {
+        return cachedCutBoundaryCount;
+    }
+
+    /** Get the fraction of internal nodes with cut boundaries that are currently computed and cached.
+     * This is the expected hit rate of the cut boundary cache for operations that access the boundaries
+     * of all internal nodes, such as boundary extraction. Zero is returned if the tree has no internal nodes.
+     * @return the fraction of internal nodes with cached cut boundaries, in the range {@code [0, 1]}
+     */
+    public double getCachedCutBoundaryFraction() {
+        final int internalCount = getInternalNodeCount();
+        return internalCount > 0 ?
+                (double) cachedCutBoundaryCount / internalCount :
+                0.0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[nodeCount= ")
+                .append(nodeCount)
+                .append(", leafCount= ")
+                .append(leafCount)
+                .append(", insideLeafCount= ")
+                .append(insideLeafCount)
+                .append(", outsideLeafCount= ")
+                .append(outsideLeafCount)
+                .append(", height= ")
+                .append(getHeight())
+                .append(", averageQueryDepth= ")
+                .append(averageQueryDepth)
+                .append(", weightedQueryDepth= ")
+                .append(weightedQueryDepth)
+                .append(", cachedCutBoundaryCount= ")
+                .append(cachedCutBoundaryCount)
+                .append(']')
+                .toString();
+    }
+
+    /** Compute the statistics for the given tree. The weighted query depth is computed with a weight
+     * of {@code 2^-d} for each leaf node at depth {@code d}.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to compute statistics for
+     * @return the statistics for the tree
+     */
+    public static <P extends Point<P>, N extends BSPTree.Node<P, N>> BSPTreeStatistics from(
+            final BSPTree<P, N> tree) {
+        return from(tree, null);
+    }
+
+    /** Compute the statistics for the given tree, using the given function to determine the weight of
+     * each leaf node when computing the {@link #getWeightedQueryDepth() weighted query depth}. For example,
+     * the weight function may return the size of each leaf node region in order to compute the expected
+     * query depth for uniformly distributed points.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to compute statistics for
+     * @param leafWeight function returning the weight of a leaf node; if null, a weight of
+     *      {@code 2^-d} is used for each leaf node at depth {@code d}
+     * @return the statistics for the tree
+     */
+    public static <P extends Point<P>, N extends BSPTree.Node<P, N>> BSPTreeStatistics from(
+            final BSPTree<P, N> tree, final ToDoubleFunction<? super N> leafWeight) {
+
+        final Counter counter = new Counter();
+
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(tree.getRoot(), 0);
+
+        int depth;
+        N node;
+        while (!stack.isEmpty()) {
+            depth = stack.peekState();
+            node = stack.pop();
+
+            if (node.isLeaf()) {
+                final double weight = leafWeight != null ?
+                        leafWeight.applyAsDouble(node) :
+                        Math.scalb(1.0, -depth);
+
+                counter.addLeaf(node, depth, weight);
+            } else {
+                counter.addInternal(node);
+
+                stack.push(node.getPlus(), depth + 1);
+                stack.push(node.getMinus(), depth + 1);
+            }
+        }
+
+        return new BSPTreeStatistics(counter);
+    }
+
+    /** Class used to accumulate values during the tree traversal.
+     */
+    private static final class Counter {
+
+        /** Total number of nodes. */
+        private int nodeCount;
+
+        /** Number of leaf nodes. */
+        private int leafCount;
+
+        /** Number of inside leaf nodes. */
+        private int insideLeafCount;
+
+        /** Number of outside leaf nodes. */
+        private int outsideLeafCount;
+
+        /** Number of internal nodes with cached cut boundaries. */
+        private int cachedCutBoundaryCount;
+
+        /** Maximum leaf depth. */
+        private int height;
+
+        /** Number of leaf nodes at each depth. */
+        private int[] leafDepthCounts = new int[INITIAL_HISTOGRAM_LENGTH];
+
+        /** Sum of all leaf depths. */
+        private double leafDepthSum;
+
+        /** Sum of all leaf weights. */
+        private double weightSum;
+
+        /** Sum of all leaf depths multiplied by the leaf weights. */
+        private double weightedDepthSum;
+
+        /** Add a leaf node.
+         * @param node leaf node
+         * @param depth depth of the node
+         * @param weight weight of the node
+         */
+        void addLeaf(final BSPTree.Node<?, ?> node, final int depth, final double weight) {
+            ++nodeCount;
+            ++leafCount;
+
+            if (node instanceof AbstractRegionNode) {
+                final RegionLocation location = ((AbstractRegionNode<?, ?>) node).getLocation();
+                if (location == RegionLocation.INSIDE) {
+                    ++insideLeafCount;
+                } else if (location == RegionLocation.OUTSIDE) {
+                    ++outsideLeafCount;
+                }
+            }
+
+            if (depth >= leafDepthCounts.length) {
+                leafDepthCounts = Arrays.copyOf(leafDepthCounts, Math.max(depth + 1, leafDepthCounts.length * 2));
+            }
+            ++leafDepthCounts[depth];
+            height = Math.max(height, depth);
+
+            leafDepthSum += depth;
+            weightSum += weight;
+            weightedDepthSum += weight * depth;
+        }
+
+        /** Add an internal node.
+         * @param node internal node
+         */
+        void addInternal(final BSPTree.Node<?, ?> node) {
+            ++nodeCount;
+
+            if (node instanceof AbstractRegionNode &&
+                    ((AbstractRegionNode<?, ?>) node).isCutBoundaryCached()) {
+                ++cachedCutBoundaryCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,676 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Class storing the structure of a region BSP tree in primitive arrays indexed by node id.
+ * Tree topology is stored in {@code int} arrays containing the parent, minus child, and plus
+ * child of each node and node locations are stored in a {@code byte} array. Node cut hyperplanes
+ * are interned in a side table so that nodes sharing the same hyperplane instance (as is common
+ * after boolean operations) reference the same table entry.
+ *
+ * <p>Node ids are assigned in depth-first, pre-order ({@code node, minus, plus}) order,
+ * with the root node always having an id of {@code 0}. Compared to the object-based
+ * node representation used by {@link AbstractRegionBSPTree}, this structure avoids per-node object
+ * headers and pointer chasing, making it well suited for read-intensive operations such as
+ * point classification on large trees.</p>
+ *
+ * <p>Stores may optionally be created with {@link #from(AbstractRegionBSPTree, boolean) shared subtrees}.
+ * In this mode, structurally identical subtrees (subtrees with {@link Object#equals(Object) equal} cut
+ * hyperplanes and the same leaf locations) are stored only once and referenced from each place they occur,
+ * turning the tree into a directed acyclic graph. Hyperplanes are compared by value rather than by identity
+ * since tree nodes do not necessarily reference the hyperplane instances originally inserted into the tree.
+ * Boolean operations and partitioned region construction frequently produce many such subtrees, for example
+ * when the same sequence of cuts is repeated in different regions of a voxel-like model. Point classification
+ * and node location work exactly as for unshared stores. However, since a shared node may be reached through
+ * more than one parent, node ids are no longer assigned in pre-order. Instead, every node has a smaller id
+ * than its children.</p>
+ *
+ * <p>Instances of this class are immutable and represent a snapshot of the tree structure at
+ * the time of creation. Subsequent modifications of the source tree are not reflected in the
+ * store.</p>
+ * @param <P> Point implementation type
+ * @see AbstractRegionBSPTree#getCompactNodeStore()
+ */
+public final class CompactRegionNodeStore<P extends Point<P>> {
+
+    /** Value used in the node and hyperplane index arrays to indicate that no value is present. */
+    public static final int NONE = -1;
+
+    /** Location code for nodes with a {@code null} location. */
+    private static final byte NO_LOCATION_CODE = -1;
+
+    /** Location values indexed by location code. */
+    private static final RegionLocation[] LOCATIONS = RegionLocation.values();
+
+    /** Initial size for the work stacks used when traversing the tree. */
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    /** Parent node ids. */
+    private final int[] parents;
+
+    /** Minus child node ids; set to {@link #NONE} for leaf nodes. */
+    private final int[] minus;
+
+    /** Plus child node ids; set to {@link #NONE} for leaf nodes. */
+    private final int[] plus;
+
+    /** Indices into the hyperplane table for node cuts; set to {@link #NONE} for leaf nodes. */
+    private final int[] cutHyperplanes;
+
+    /** Node location codes. */
+    private final byte[] locations;
+
+    /** Table of interned cut hyperplanes. */
+    private final List<Hyperplane<P>> hyperplanes;
+
+    /** True if structurally identical subtrees are shared. */
+    private final boolean sharedSubtrees;
+
+    /** Construct a new instance from its component parts.
+     * @param parents parent node ids
+     * @param minus minus child node ids
+     * @param plus plus child node ids
+     * @param cutHyperplanes indices into the hyperplane table
+     * @param locations node location codes
+     * @param hyperplanes hyperplane table
+     * @param sharedSubtrees true if structurally identical subtrees are shared
+     */
+    private CompactRegionNodeStore(final int[] parents, final int[] minus, final int[] plus,
+            final int[] cutHyperplanes, final byte[] locations, final List<Hyperplane<P>> hyperplanes,
+            final boolean sharedSubtrees) {
+        this.parents = parents;
+        this.minus = minus;
+        this.plus = plus;
+        this.cutHyperplanes = cutHyperplanes;
+        this.locations = locations;
+        this.hyperplanes = Collections.unmodifiableList(hyperplanes);
+        this.sharedSubtrees = sharedSubtrees;
+    }
+
+    /** Return true if this instance was created with structurally identical subtrees shared
+     * between their occurrences in the source tree. If true, nodes may be referenced by more
+     * than one parent and node ids are not assigned in pre-order.
+     * @return true if structurally identical subtrees are shared
+     * @see #from(AbstractRegionBSPTree, boolean)
+     */
+    public boolean hasSharedSubtrees() {
+        return sharedSubtrees;
+    }
+
+    /** Get the number of nodes in the store.
+     * @return the number of nodes in the store
+     */
+    public int getNodeCount() {
+        return locations.length;
+    }
+
+    /** Get the number of distinct hyperplanes referenced by node cuts.
+     * @return the number of distinct hyperplanes referenced by node cuts
+     */
+    public int getHyperplaneCount() {
+        return hyperplanes.size();
+    }
+
+    /** Get the table of distinct cut hyperplanes. Nodes reference entries in this
+     * list through {@link #getCutHyperplaneIndex(int)}.
+     * @return an unmodifiable list containing the distinct cut hyperplanes
+     */
+    public List<Hyperplane<P>> getHyperplanes() {
+        return hyperplanes;
+    }
+
+    /** Get the id of the root node. This is always {@code 0}.
+     * @return the id of the root node
+     */
+    public int getRoot() {
+        return 0;
+    }
+
+    /** Get the id of the parent of the given node or {@link #NONE} if the node is the root. If the
+     * store {@link #hasSharedSubtrees() shares subtrees} and the node has more than one parent, the
+     * id of one of the parents is returned.
+     * @param node node id
+     * @return the id of the parent node or {@link #NONE} if the node is the root
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public int getParent(final int node) {
+        return parents[node];
+    }
+
+    /** Get the id of the minus child of the given node or {@link #NONE} if the node is a leaf.
+     * @param node node id
+     * @return the id of the minus child or {@link #NONE} if the node is a leaf
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public int getMinus(final int node) {
+        return minus[node];
+    }
+
+    /** Get the id of the plus child of the given node or {@link #NONE} if the node is a leaf.
+     * @param node node id
+     * @return the id of the plus child or {@link #NONE} if the node is a leaf
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public int getPlus(final int node) {
+        return plus[node];
+    }
+
+    /** Return true if the given node is a leaf node.
+     * @param node node id
+     * @return true if the given node is a leaf node
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public boolean isLeaf(final int node) {
+        return cutHyperplanes[node] == NONE;
+    }
+
+    /** Get the index in the {@link #getHyperplanes() hyperplane table} of the cut hyperplane
+     * for the given node or {@link #NONE} if the node is a leaf.
+     * @param node node id
+     * @return the index of the node's cut hyperplane or {@link #NONE} if the node is a leaf
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public int getCutHyperplaneIndex(final int node) {
+        return cutHyperplanes[node];
+    }
+
+    /** Get the cut hyperplane for the given node or null if the node is a leaf.
+     * @param node node id
+     * @return the cut hyperplane for the node or null if the node is a leaf
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public Hyperplane<P> getCutHyperplane(final int node) {
+        final int idx = cutHyperplanes[node];
+        return idx != NONE ?
+                hyperplanes.get(idx) :
+                null;
+    }
+
+    /** Get the region location of the given node. As with {@link AbstractRegionNode#getLocation()},
+     * only the locations of leaf nodes are meaningful.
+     * @param node node id
+     * @return the location of the node; may be null
+     * @throws IndexOutOfBoundsException if the node id is not valid
+     */
+    public RegionLocation getLocation(final int node) {
+        final byte code = locations[node];
+        return code != NO_LOCATION_CODE ?
+                LOCATIONS[code] :
+                null;
+    }
+
+    /** Find the id of the leaf node containing the given point. Points lying directly on a node cut
+     * are placed on the side given by {@code cutRule}. If the rule is {@link FindNodeCutRule#NODE},
+     * the id of the internal node with the cut containing the point is returned.
+     * @param pt point to locate
+     * @param cutRule value determining the search behavior when the test point lies directly on
+     *      the cut of an internal node
+     * @return the id of the smallest node containing the point
+     */
+    public int findNode(final P pt, final BSPTree.FindNodeCutRule cutRule) {
+        int node = 0;
+        int cut;
+        while ((cut = cutHyperplanes[node]) != NONE) {
+            final HyperplaneLocation loc = hyperplanes.get(cut).classify(pt);
+
+            if (loc == HyperplaneLocation.MINUS ||
+                    (loc == HyperplaneLocation.ON && cutRule == BSPTree.FindNodeCutRule.MINUS)) {
+                node = minus[node];
+            } else if (loc == HyperplaneLocation.PLUS || cutRule == BSPTree.FindNodeCutRule.PLUS) {
+                node = plus[node];
+            } else {
+                break;
+            }
+        }
+
+        return node;
+    }
+
+    /** Classify a point with respect to the region represented by this instance. The result is
+     * identical to that of {@link AbstractRegionBSPTree#classify(Point)} on the source tree.
+     * @param pt point to classify
+     * @return the location of the point with respect to the region
+     */
+    public RegionLocation classify(final P pt) {
+        if (pt.isNaN()) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        // fast path: follow a single path from the root down to a leaf, only falling
+        // back to a stack-based search if the point lies directly on a node cut
+        int node = 0;
+        int cut;
+        while ((cut = cutHyperplanes[node]) != NONE) {
+            final HyperplaneLocation loc = hyperplanes.get(cut).classify(pt);
+            if (loc == HyperplaneLocation.MINUS) {
+                node = minus[node];
+            } else if (loc == HyperplaneLocation.PLUS) {
+                node = plus[node];
+            } else {
+                return classifyOnCut(node, pt);
+            }
+        }
+
+        return LOCATIONS[locations[node]];
+    }
+
+    /** Classify a point lying directly on the cut of the given node. All leaf nodes reachable
+     * from the node (following both children whenever the point lies on a cut) are examined. If
+     * they all share the same location, that location is returned. Otherwise, the point lies on
+     * the region boundary.
+     * @param start id of the node with the cut containing the point
+     * @param pt point to classify
+     * @return the location of the point with respect to the region
+     */
+    private RegionLocation classifyOnCut(final int start, final P pt) {
+        int[] stack = new int[INITIAL_STACK_SIZE];
+        int size = 0;
+        stack[size++] = start;
+
+        byte result = NO_LOCATION_CODE;
+
+        int node;
+        int cut;
+        while (size > 0) {
+            node = stack[--size];
+
+            cut = cutHyperplanes[node];
+            if (cut == NONE) {
+                final byte code = locations[node];
+                if (result == NO_LOCATION_CODE) {
+                    result = code;
+                } else if (result != code) {
+                    return RegionLocation.BOUNDARY;
+                }
+            } else {
+                final HyperplaneLocation loc = hyperplanes.get(cut).classify(pt);
+
+                if (size + 2 > stack.length) {
+                    final int[] tmp = new int[stack.length * 2];
+                    System.arraycopy(stack, 0, tmp, 0, size);
+                    stack = tmp;
+                }
+
+                if (loc != HyperplaneLocation.MINUS) {
+                    stack[size++] = plus[node];
+                }
+                if (loc != HyperplaneLocation.PLUS) {
+                    stack[size++] = minus[node];
+                }
+            }
+        }
+
+        return LOCATIONS[result];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[nodeCount= ")
+                .append(getNodeCount())
+                .append(", hyperplaneCount= ")
+                .append(getHyperplaneCount())
+                .append(", sharedSubtrees= ")
+                .append(sharedSubtrees)
+                .append(']')
+                .toString();
+    }
+
+    /** Create a new instance containing the current structure of the given tree.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to create a compact store for
+     * @return a new compact store containing the current structure of the tree
+     */
+    public static <P extends Point<P>, N extends AbstractRegionNode<P, N>> CompactRegionNodeStore<P> from(
+            final AbstractRegionBSPTree<P, N> tree) {
+        return from(tree, false);
+    }
+
+    /** Create a new instance containing the current structure of the given tree, optionally sharing
+     * structurally identical subtrees. Two subtrees are considered identical if they are both leaves with
+     * the same location or if their root nodes have {@link Object#equals(Object) equal} cut hyperplanes and
+     * identical minus and plus subtrees. Equal hyperplanes are stored only once in the hyperplane table.
+     * Since the locations of internal nodes do not affect the represented region, they are not compared;
+     * a shared internal node has the location of its first occurrence in the tree.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to create a compact store for
+     * @param shareSubtrees if true, structurally identical subtrees are stored only once
+     * @return a new compact store containing the current structure of the tree
+     * @see #hasSharedSubtrees()
+     */
+    public static <P extends Point<P>, N extends AbstractRegionNode<P, N>> CompactRegionNodeStore<P> from(
+            final AbstractRegionBSPTree<P, N> tree, final boolean shareSubtrees) {
+        return shareSubtrees ?
+                createShared(tree) :
+                createUnshared(tree);
+    }
+
+    /** Create a new instance containing one entry for each node in the given tree.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to create a compact store for
+     * @return a new compact store containing the current structure of the tree
+     */
+    private static <P extends Point<P>, N extends AbstractRegionNode<P, N>> CompactRegionNodeStore<P>
+            createUnshared(final AbstractRegionBSPTree<P, N> tree) {
+
+        final int count = tree.count();
+
+        final int[] parents = new int[count];
+        final int[] minus = new int[count];
+        final int[] plus = new int[count];
+        final int[] cutHyperplanes = new int[count];
+        final byte[] locations = new byte[count];
+
+        final List<Hyperplane<P>> hyperplanes = new ArrayList<>();
+        final Map<Hyperplane<P>, Integer> hyperplaneIndices = new IdentityHashMap<>();
+
+        // Traverse the tree in pre-order using an explicit stack. The stack stores the node along
+        // with the id of its parent and a flag indicating which side of the parent the node is on.
+        Object[] nodeStack = new Object[INITIAL_STACK_SIZE];
+        int[] parentStack = new int[INITIAL_STACK_SIZE];
+        boolean[] plusStack = new boolean[INITIAL_STACK_SIZE];
+        int size = 0;
+
+        nodeStack[size] = tree.getRoot();
+        parentStack[size] = NONE;
+        ++size;
+
+        int id = 0;
+        while (size > 0) {
+            --size;
+
+            @SuppressWarnings("unchecked")
+            final N node = (N) nodeStack[size];
+            nodeStack[size] = null;
+
+            final int parent = parentStack[size];
+
+            parents[id] = parent;
+            if (parent != NONE) {
+                if (plusStack[size]) {
+                    plus[parent] = id;
+                } else {
+                    minus[parent] = id;
+                }
+            }
+
+            final RegionLocation loc = node.getLocation();
+            locations[id] = loc != null ? (byte) loc.ordinal() : NO_LOCATION_CODE;
+
+            if (node.isLeaf()) {
+                cutHyperplanes[id] = NONE;
+                minus[id] = NONE;
+                plus[id] = NONE;
+            } else {
+                cutHyperplanes[id] = internHyperplane(node.getCutHyperplane(), hyperplanes, hyperplaneIndices);
+
+                if (size + 2 > nodeStack.length) {
+                    final int newLength = nodeStack.length * 2;
+
+                    final Object[] tmpNodes = new Object[newLength];
+                    System.arraycopy(nodeStack, 0, tmpNodes, 0, size);
+                    nodeStack = tmpNodes;
+
+                    final int[] tmpParents = new int[newLength];
+                    System.arraycopy(parentStack, 0, tmpParents, 0, size);
+                    parentStack = tmpParents;
+
+                    final boolean[] tmpPlus = new boolean[newLength];
+                    System.arraycopy(plusStack, 0, tmpPlus, 0, size);
+                    plusStack = tmpPlus;
+                }
+
+                // push plus first so that the minus child is visited next
+                nodeStack[size] = node.getPlus();
+                parentStack[size] = id;
+                plusStack[size] = true;
+                ++size;
+
+                nodeStack[size] = node.getMinus();
+                parentStack[size] = id;
+                plusStack[size] = false;
+                ++size;
+            }
+
+            ++id;
+        }
+
+        return new CompactRegionNodeStore<>(parents, minus, plus, cutHyperplanes, locations, hyperplanes, false);
+    }
+
+    /** Create a new instance for the given tree in which structurally identical subtrees are stored only once.
+     * The tree is traversed in post-order and each node is assigned the id of the first previously seen node
+     * with the same {@link SubtreeKey key}, or a new id if no such node exists. Since children always receive
+     * their ids before their parents, the ids are reversed at the end so that the root has an id of {@code 0}.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     * @param tree tree to create a compact store for
+     * @return a new compact store containing the current structure of the tree
+     */
+    private static <P extends Point<P>, N extends AbstractRegionNode<P, N>> CompactRegionNodeStore<P>
+            createShared(final AbstractRegionBSPTree<P, N> tree) {
+
+        // the node count of the tree is an upper bound on the number of distinct subtrees
+        final int count = tree.count();
+
+        final int[] parents = new int[count];
+        final int[] minus = new int[count];
+        final int[] plus = new int[count];
+        final int[] cutHyperplanes = new int[count];
+        final byte[] locations = new byte[count];
+
+        final List<Hyperplane<P>> hyperplanes = new ArrayList<>();
+        // hyperplanes are interned by value so that equal hyperplanes in different nodes compare as equal
+        final Map<Hyperplane<P>, Integer> hyperplaneIndices = new HashMap<>();
+
+        final Map<SubtreeKey, Integer> subtreeIds = new HashMap<>();
+
+        // stack of ids for subtrees that have been visited but not yet attached to their parents
+        int[] idStack = new int[INITIAL_STACK_SIZE];
+        int idStackSize = 0;
+
+        // node stack; a state value of 1 indicates that the children of the node have been visited
+        final TraversalStack<N> stack = new TraversalStack<>();
+        stack.push(tree.getRoot());
+
+        int n = 0;
+        while (!stack.isEmpty()) {
+            final boolean childrenVisited = stack.peekState() != 0;
+            final N node = stack.pop();
+
+            if (node.isInternal() && !childrenVisited) {
+                // push the minus child last so that it is visited first
+                stack.push(node, 1);
+                stack.push(node.getPlus());
+                stack.push(node.getMinus());
+            } else {
+                int hyperIdx = NONE;
+                int minusId = NONE;
+                int plusId = NONE;
+                if (node.isInternal()) {
+                    plusId = idStack[--idStackSize];
+                    minusId = idStack[--idStackSize];
+                    hyperIdx = internHyperplane(node.getCutHyperplane(), hyperplanes, hyperplaneIndices);
+                }
+
+                final RegionLocation loc = node.getLocation();
+                final byte code = loc != null ? (byte) loc.ordinal() : NO_LOCATION_CODE;
+
+                final SubtreeKey key = new SubtreeKey(hyperIdx, minusId, plusId,
+                        hyperIdx == NONE ? code : NO_LOCATION_CODE);
+                Integer id = subtreeIds.get(key);
+                if (id == null) {
+                    id = n++;
+                    subtreeIds.put(key, id);
+
+                    parents[id] = NONE;
+                    minus[id] = minusId;
+                    plus[id] = plusId;
+                    cutHyperplanes[id] = hyperIdx;
+                    locations[id] = code;
+
+                    if (minusId != NONE) {
+                        setParentIfAbsent(parents, minusId, id);
+                        setParentIfAbsent(parents, plusId, id);
+                    }
+                }
+
+                if (idStackSize == idStack.length) {
+                    idStack = Arrays.copyOf(idStack, idStack.length * 2);
+                }
+                idStack[idStackSize++] = id;
+            }
+        }
+
+        // reverse the ids so that the root (the last node created) has an id of 0
+        final int last = n - 1;
+
+        final int[] outParents = new int[n];
+        final int[] outMinus = new int[n];
+        final int[] outPlus = new int[n];
+        final int[] outCutHyperplanes = new int[n];
+        final byte[] outLocations = new byte[n];
+
+        for (int i = 0; i < n; ++i) {
+            final int outId = last - i;
+
+            outParents[outId] = reverseId(parents[i], last);
+            outMinus[outId] = reverseId(minus[i], last);
+            outPlus[outId] = reverseId(plus[i], last);
+            outCutHyperplanes[outId] = cutHyperplanes[i];
+            outLocations[outId] = locations[i];
+        }
+
+        return new CompactRegionNodeStore<>(outParents, outMinus, outPlus, outCutHyperplanes, outLocations,
+                hyperplanes, true);
+    }
+
+    /** Get the index of the given hyperplane in the hyperplane table, adding it to the table if needed.
+     * @param <P> Point implementation type
+     * @param hyper hyperplane to intern
+     * @param hyperplanes hyperplane table
+     * @param hyperplaneIndices map from hyperplanes to their table indices
+     * @return the index of the hyperplane in the table
+     */
+    private static <P extends Point<P>> int internHyperplane(final Hyperplane<P> hyper,
+            final List<Hyperplane<P>> hyperplanes, final Map<Hyperplane<P>, Integer> hyperplaneIndices) {
+        Integer hyperIdx = hyperplaneIndices.get(hyper);
+        if (hyperIdx == null) {
+            hyperIdx = hyperplanes.size();
+            hyperplanes.add(hyper);
+            hyperplaneIndices.put(hyper, hyperIdx);
+        }
+        return hyperIdx;
+    }
+
+    /** Set the parent of the given node if it does not already have one.
+     * @param parents parent id array
+     * @param node node id
+     * @param parent parent id
+     */
+    private static void setParentIfAbsent(final int[] parents, final int node, final int parent) {
+        if (parents[node] == NONE) {
+            parents[node] = parent;
+        }
+    }
+
+    /** Map a node id assigned during shared store construction to its final value.
+     * @param id id to map; may be {@link #NONE}
+     * @param last the largest assigned id
+     * @return the final id or {@link #NONE} if {@code id} is {@link #NONE}
+     */
+    private static int reverseId(final int id, final int last) {
+        return id != NONE ?
+                last - id :
+                NONE;
+    }
+
+    /** Key identifying a subtree by its cut hyperplane index and child subtree ids or, for leaf
+     * nodes, by location.
+     */
+    private static final class SubtreeKey {
+
+        /** Cut hyperplane index. */
+        private final int hyperplaneIndex;
+
+        /** Minus subtree id. */
+        private final int minusId;
+
+        /** Plus subtree id. */
+        private final int plusId;
+
+        /** Location code for leaf nodes. */
+        private final byte location;
+
+        /** Construct a new instance.
+         * @param hyperplaneIndex cut hyperplane index
+         * @param minusId minus subtree id
+         * @param plusId plus subtree id
+         * @param location location code for leaf nodes
+         */
+        SubtreeKey(final int hyperplaneIndex, final int minusId, final int plusId, final byte location) {
+            this.hyperplaneIndex = hyperplaneIndex;
+            this.minusId = minusId;
+            this.plusId = plusId;
+            this.location = location;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int result = hyperplaneIndex;
+            result = (31 * result) + minusId;
+            result = (31 * result) + plusId;
+            return (31 * result) + location;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (!(obj instanceof SubtreeKey)) {
+                return false;
+            }
+
+            final SubtreeKey other = (SubtreeKey) obj;
+            return hyperplaneIndex == other.hyperplaneIndex &&
+                    minusId == other.minusId &&
+                    plusId == other.plusId &&
+                    location == other.location;
+        }
+    }
+}
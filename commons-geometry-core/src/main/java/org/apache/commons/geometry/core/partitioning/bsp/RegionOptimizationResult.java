@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+/** Class describing the result of a region BSP tree optimization performed with
+ * {@link AbstractRegionBSPTree#optimize()}. The node count and height of the tree are recorded
+ * before and after the operation, along with a flag indicating whether or not the optimized tree
+ * replaced the original tree structure.
+ *
+ * <p>Instances of this class are immutable.</p>
+ */
+public final class RegionOptimizationResult {
+
+    /** Number of nodes in the tree before optimization. */
+    private final int nodeCountBefore;
+
+    /** Height of the tree before optimization. */
+    private final int heightBefore;
+
+    /** Number of nodes in the tree after optimization. */
+    private final int nodeCountAfter;
+
+    /** Height of the tree after optimization. */
+    private final int heightAfter;
+
+    /** True if the tree structure was replaced. */
+    private final boolean applied;
+
+    /** Construct a new instance.
+     * @param nodeCountBefore number of nodes in the tree before optimization
+     * @param heightBefore height of the tree before optimization
+     * @param nodeCountAfter number of nodes in the tree after optimization
+     * @param heightAfter height of the tree after optimization
+     * @param applied true if the tree structure was replaced
+     */
+    RegionOptimizationResult(final int nodeCountBefore, final int heightBefore,
+            final int nodeCountAfter, final int heightAfter, final boolean applied) {
+        this.nodeCountBefore = nodeCountBefore;
+        this.heightBefore = heightBefore;
+        this.nodeCountAfter = nodeCountAfter;
+        this.heightAfter = heightAfter;
+        this.applied = applied;
+    }
+
+    /** Get the number of nodes in the tree before optimization.
+     * @return the number of nodes in the tree before optimization
+     */
+    public int getNodeCountBefore() {
+        return nodeCountBefore;
+    }
+
+    /** Get the height of the tree before optimization.
+     * @return the height of the tree before optimization
+     */
+    public int getHeightBefore() {
+        return heightBefore;
+    }
+
+    /** Get the number of nodes in the tree after optimization. This is equal to
+     * {@link #getNodeCountBefore()} if the optimization was not {@link #isApplied() applied}.
+     * @return the number of nodes in the tree after optimization
+     */
+    public int getNodeCountAfter() {
+        return nodeCountAfter;
+    }
+
+    /** Get the height of the tree after optimization. This is equal to
+     * {@link #getHeightBefore()} if the optimization was not {@link #isApplied() applied}.
+     * @return the height of the tree after optimization
+     */
+    public int getHeightAfter() {
+        return heightAfter;
+    }
+
+    /** Return true if the optimized tree structure replaced the original structure.
+     * @return true if the tree structure was replaced
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[nodeCountBefore= ")
+                .append(nodeCountBefore)
+                .append(", heightBefore= ")
+                .append(heightBefore)
+                .append(", nodeCountAfter= ")
+                .append(nodeCountAfter)
+                .append(", heightAfter= ")
+                .append(heightAfter)
+                .append(", applied= ")
+                .append(applied)
+                .append(']')
+                .toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/** Array-based work stack used to traverse BSP trees iteratively instead of recursing on the
+ * Java call stack. This allows trees of arbitrary depth to be processed without risk of a
+ * {@link StackOverflowError}. Each entry consists of an element, typically a node or a small
+ * object holding the per-node state of an operation, and an integer state value that callers
+ * may use to track the progress of the traversal at that entry (for example, to distinguish
+ * between entering a node and returning to it after its children have been processed).
+ *
+ * <p>Recursive algorithms are converted to use this class by pushing the work for child nodes
+ * in the <em>reverse</em> of the order in which the recursive algorithm would perform it, so that
+ * entries are popped in the original order.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ * @param <E> Element type
+ */
+final class TraversalStack<E> {
+
+    /** Initial capacity of the stack. */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Stack elements. */
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+
+    /** Entry state values. */
+    private int[] states = new int[INITIAL_CAPACITY];
+
+    /** Number of entries in the stack. */
+    private int size;
+
+    /** Return true if the stack contains no entries.
+     * @return true if the stack contains no entries
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Get the number of entries in the stack.
+     * @return the number of entries in the stack
+     */
+    int size() {
+        return size;
+    }
+
+    /** Push an element onto the stack with a state value of zero.
+     * @param element element to push; may be null
+     */
+    void push(final E element) {
+        push(element, 0);
+    }
+
+    /** Push an element onto the stack with the given state value.
+     * @param element element to push; may be null
+     * @param state entry state value
+     */
+    void push(final E element, final int state) {
+        if (size == elements.length) {
+            final int capacity = size * 2;
+            elements = Arrays.copyOf(elements, capacity);
+            states = Arrays.copyOf(states, capacity);
+        }
+
+        elements[size] = element;
+        states[size] = state;
+        ++size;
+    }
+
+    /** Get the element of the top entry without removing it.
+     * @return the element of the top entry
+     * @throws NoSuchElementException if the stack is empty
+     */
+    E peek() {
+        return element(topIndex());
+    }
+
+    /** Get the state value of the top entry.
+     * @return the state value of the top entry
+     * @throws NoSuchElementException if the stack is empty
+     */
+    int peekState() {
+        return states[topIndex()];
+    }
+
+    /** Set the state value of the top entry.
+     * @param state new state value
+     * @throws NoSuchElementException if the stack is empty
+     */
+    void setState(final int state) {
+        states[topIndex()] = state;
+    }
+
+    /** Remove the top entry and return its element.
+     * @return the element of the removed entry
+     * @throws NoSuchElementException if the stack is empty
+     */
+    E pop() {
+        final int idx = topIndex();
+        final E element = element(idx);
+
+        // release the reference for garbage collection
+        elements[idx] = null;
+        --size;
+
+        return element;
+    }
+
+    /** Get the element of the entry at the given index, where index {@code 0} is the bottom of the stack.
+     * @param index entry index
+     * @return the element of the entry at the given index
+     * @throws IndexOutOfBoundsException if the index is not within the bounds of the stack
+     */
+    E get(final int index) {
+        return element(checkIndex(index));
+    }
+
+    /** Get the state value of the entry at the given index, where index {@code 0} is the bottom of the stack.
+     * @param index entry index
+     * @return the state value of the entry at the given index
+     * @throws IndexOutOfBoundsException if the index is not within the bounds of the stack
+     */
+    int getState(final int index) {
+        return states[checkIndex(index)];
+    }
+
+    /** Remove all entries from the stack.
+     */
+    void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /** Check that the given index lies within the bounds of the stack.
+     * @param index index to check
+     * @return the index
+     * @throws IndexOutOfBoundsException if the index is not within the bounds of the stack
+     */
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Traversal stack index " + index +
+                    " is out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    /** Get the index of the top entry.
+     * @return the index of the top entry
+     * @throws NoSuchElementException if the stack is empty
+     */
+    private int topIndex() {
+        if (size == 0) {
+            throw new NoSuchElementException("Traversal stack is empty");
+        }
+        return size - 1;
+    }
+
+    /** Get the element at the given index.
+     * @param idx element index
+     * @return the element at the given index
+     */
+    @SuppressWarnings("unchecked")
+    private E element(final int idx) {
+        return (E) elements[idx];
+    }
+}
@@ -18,17 +18,20 @@ package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.geometry.core.Transform;
 import org.apache.commons.geometry.core.partitioning.BoundarySource;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.partitioning.bsp.BSPTree.FindNodeCutRule;
 import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
 import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
@@ -43,6 +46,8 @@ import org.junit.jupiter.api.Test;
 
 class AbstractBSPTreeTest {
 
+    private static final int DEEP_TREE_HEIGHT = 10_000;
+
     @Test
     void testInitialization() {
         // act
@@ -1203,6 +1208,109 @@ class AbstractBSPTreeTest {
         }
     }
 
+    @Test
+    void testNodesSpliterator_singleNode() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+
+        // act
+        final Spliterator<TestNode> spliterator = tree.nodes().spliterator();
+
+        // assert
+        Assertions.assertEquals(1, spliterator.estimateSize());
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED |
+                Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.DISTINCT));
+        Assertions.assertNull(spliterator.trySplit());
+
+        final List<TestNode> nodes = new ArrayList<>();
+        Assertions.assertTrue(spliterator.tryAdvance(nodes::add));
+        Assertions.assertFalse(spliterator.tryAdvance(nodes::add));
+
+        Assertions.assertEquals(Collections.singletonList(tree.getRoot()), nodes);
+        Assertions.assertEquals(0, spliterator.estimateSize());
+        Assertions.assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    void testNodesSpliterator_splitsMatchIteratorOrder() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.insert(Arrays.asList(
+                new TestLineSegment(new TestPoint2D(-1, 0), new TestPoint2D(1, 0)),
+                new TestLineSegment(new TestPoint2D(-1, -1), new TestPoint2D(1, 1)),
+                new TestLineSegment(new TestPoint2D(0, -1), new TestPoint2D(0, 1)),
+                new TestLineSegment(new TestPoint2D(3, 1), new TestPoint2D(3, 2)),
+                new TestLineSegment(new TestPoint2D(-2, 1), new TestPoint2D(-2, 2))
+            ));
+
+        final List<TestNode> expected = new ArrayList<>();
+        tree.nodes().forEach(expected::add);
+
+        // act
+        for (int maxSplitSize = 1; maxSplitSize <= expected.size(); ++maxSplitSize) {
+            final List<TestNode> nodes = new ArrayList<>();
+            collectWithSplits(tree.nodes().spliterator(), maxSplitSize, nodes);
+
+            // assert
+            Assertions.assertEquals(expected, nodes);
+        }
+    }
+
+    @Test
+    void testNodesSpliterator_partiallyConsumed() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS)
+            .getMinus().cut(TestLine.Y_AXIS)
+            .getMinus().cut(new TestLine(new TestPoint2D(-1, -1), new TestPoint2D(1, 1)));
+
+        final List<TestNode> expected = new ArrayList<>();
+        tree.nodes().forEach(expected::add);
+
+        final Spliterator<TestNode> spliterator = tree.nodes().spliterator();
+
+        final List<TestNode> nodes = new ArrayList<>();
+        spliterator.tryAdvance(nodes::add);
+        spliterator.tryAdvance(nodes::add);
+
+        // act
+        final Spliterator<TestNode> prefix = spliterator.trySplit();
+
+        // assert
+        Assertions.assertNotNull(prefix);
+        Assertions.assertEquals(expected.size() - 2, prefix.estimateSize() + spliterator.estimateSize());
+
+        prefix.forEachRemaining(nodes::add);
+        spliterator.forEachRemaining(nodes::add);
+
+        Assertions.assertEquals(expected, nodes);
+    }
+
+    @Test
+    void testNodesSpliterator_parallelStream() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+
+        TestNode node = tree.getRoot();
+        for (int i = 0; i < 100; ++i) {
+            node.cut(new TestLine(new TestPoint2D(i, 0), new TestPoint2D(i, 1)));
+            node.getMinus().cut(new TestLine(new TestPoint2D(i - 1, i), new TestPoint2D(i - 2, i)));
+            node = node.getPlus();
+        }
+
+        final List<TestNode> expected = new ArrayList<>();
+        tree.nodes().forEach(expected::add);
+
+        // act
+        final List<TestNode> nodes = StreamSupport.stream(tree.nodes().spliterator(), true)
+                .collect(Collectors.toList());
+
+        // assert
+        Assertions.assertEquals(expected, nodes);
+        Assertions.assertEquals(tree.getRoot().getPlus().count(),
+                StreamSupport.stream(tree.getRoot().getPlus().nodes().spliterator(), true).count());
+    }
+
     @Test
     void testSubtreeNodesIterable_singleNodeSubtree() {
         // arrange
@@ -1349,6 +1457,65 @@ class AbstractBSPTreeTest {
         Assertions.assertEquals(5, tree.count());
     }
 
+    @Test
+    void testCopy_sourceModifiedAfterCopy() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        final TestBSPTree copy = new TestBSPTree();
+        final TestBSPTree copyOfCopy = new TestBSPTree();
+
+        copy.copy(tree);
+        copyOfCopy.copy(copy);
+
+        // act
+        tree.getRoot().getMinus().cut(TestLine.Y_AXIS);
+
+        // assert
+        Assertions.assertEquals(5, tree.count());
+        Assertions.assertEquals(3, copy.count());
+        Assertions.assertEquals(3, copyOfCopy.count());
+    }
+
+    @Test
+    void testCopy_copyModified() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        final TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // act
+        copy.getRoot().getPlus().cut(TestLine.Y_AXIS);
+
+        // assert
+        Assertions.assertEquals(3, tree.count());
+        Assertions.assertEquals(5, copy.count());
+
+        for (final TestNode node : copy.nodes()) {
+            Assertions.assertSame(copy, node.getTree());
+        }
+    }
+
+    @Test
+    void testCopy_sourceCopiesCopy() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        final TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // act
+        tree.copy(copy);
+
+        // assert
+        Assertions.assertEquals(3, tree.count());
+        Assertions.assertEquals(3, copy.count());
+    }
+
     @Test
     void testExtract_singleNodeTree() {
         // arrange
@@ -1899,6 +2066,45 @@ class AbstractBSPTreeTest {
                 plusSegments.get(2));
     }
 
+    @Test
+    void testDeepTree_operationsDoNotUseCallStack() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final TestBSPTree tree = createDeepTree(DEEP_TREE_HEIGHT);
+            final int count = (2 * DEEP_TREE_HEIGHT) + 1;
+
+            final TestPoint2D deepPt = new TestPoint2D(DEEP_TREE_HEIGHT + 0.5, 1);
+
+            // act/assert
+            Assertions.assertEquals(count, tree.count());
+            Assertions.assertEquals(DEEP_TREE_HEIGHT, tree.height());
+            Assertions.assertEquals(DEEP_TREE_HEIGHT, tree.findNode(deepPt).depth());
+
+            final TestVisitor nodeFirst = new TestVisitor(BSPTreeVisitor.Order.NODE_MINUS_PLUS);
+            tree.accept(nodeFirst);
+            Assertions.assertEquals(count, nodeFirst.getVisited().size());
+            Assertions.assertSame(tree.getRoot(), nodeFirst.getVisited().get(0));
+
+            final TestVisitor nodeLast = new TestVisitor(BSPTreeVisitor.Order.PLUS_MINUS_NODE);
+            tree.accept(nodeLast);
+            Assertions.assertEquals(count, nodeLast.getVisited().size());
+            Assertions.assertSame(tree.findNode(deepPt), nodeLast.getVisited().get(0));
+            Assertions.assertSame(tree.getRoot(), nodeLast.getVisited().get(count - 1));
+
+            final TestBSPTree copy = new TestBSPTree();
+            copy.copy(tree);
+            Assertions.assertEquals(count, copy.count());
+            Assertions.assertEquals(DEEP_TREE_HEIGHT, copy.height());
+
+            copy.transform(new TestTransform2D(p -> new TestPoint2D(p.getX() + 1, p.getY())));
+            Assertions.assertEquals(DEEP_TREE_HEIGHT, copy.findNode(new TestPoint2D(DEEP_TREE_HEIGHT + 1.5, 1)).depth());
+
+            tree.insert(TestLine.X_AXIS.span());
+            Assertions.assertEquals(count + (2 * (DEEP_TREE_HEIGHT + 1)), tree.count());
+            Assertions.assertEquals(DEEP_TREE_HEIGHT + 1, tree.height());
+        });
+    }
+
     private void assertNodesCopiedRecursive(final TestNode orig, final TestNode copy) {
         Assertions.assertNotSame(orig, copy);
 
@@ -1919,6 +2125,51 @@ class AbstractBSPTreeTest {
         Assertions.assertEquals(orig.count(), copy.count());
     }
 
+    /** Create a degenerate tree of the given height by repeatedly cutting the leaf
+     * node on the positive x side of the previous cut with a vertical line.
+     * @param height height of the tree
+     * @return a new tree with the given height
+     */
+    private static TestBSPTree createDeepTree(final int height) {
+        final TestBSPTree tree = new TestBSPTree();
+
+        TestNode node = tree.getRoot();
+        for (int i = 0; i < height; ++i) {
+            final TestLine line = new TestLine(i, 0, i, 1);
+            node.cut(line);
+
+            node = line.classify(new TestPoint2D(i + 1, 0)) == HyperplaneLocation.PLUS ?
+                    node.getPlus() :
+                    node.getMinus();
+        }
+
+        return tree;
+    }
+
+    /** Add the elements of the given spliterator to {@code result} in encounter order, splitting
+     * recursively until the estimated size of each spliterator is no greater than {@code maxSplitSize}.
+     * @param spliterator spliterator to consume
+     * @param maxSplitSize maximum size of the spliterators that are not split
+     * @param result list to add elements to
+     */
+    private static <T> void collectWithSplits(final Spliterator<T> spliterator, final int maxSplitSize,
+            final List<T> result) {
+        final long size = spliterator.estimateSize();
+        if (size > maxSplitSize) {
+            final Spliterator<T> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                Assertions.assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+                Assertions.assertTrue(prefix.estimateSize() > 0);
+                Assertions.assertTrue(spliterator.estimateSize() > 0);
+
+                collectWithSplits(prefix, maxSplitSize, result);
+            }
+        }
+
+        spliterator.forEachRemaining(result::add);
+        Assertions.assertEquals(0, spliterator.estimateSize());
+    }
+
     private static List<TestLineSegment> getLineSegments(final TestBSPTree tree) {
         return StreamSupport.stream(tree.nodes().spliterator(), false)
             .filter(BSPTree.Node::isInternal)
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AbstractBalancedRegionBuilderTest {
+
+    @Test
+    void testCtor_invalidTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(true);
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            new TestBalancedRegionBuilder(tree);
+        }, IllegalArgumentException.class, "Tree must be empty");
+    }
+
+    @Test
+    void testSetters_invalidArgs() {
+        // arrange
+        final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(() -> builder.setMaxCellBoundariesInternal(0),
+                IllegalArgumentException.class, "Max cell boundaries must be greater than zero; was 0");
+        GeometryTestUtils.assertThrowsWithMessage(() -> builder.setSplitterSampleSizeInternal(-1),
+                IllegalArgumentException.class, "Splitter sample size must be greater than zero; was -1");
+        GeometryTestUtils.assertThrowsWithMessage(() -> builder.setSplitWeightInternal(-1),
+                IllegalArgumentException.class, "Split weight must be finite and non-negative; was -1.0");
+        GeometryTestUtils.assertThrowsWithMessage(() -> builder.setSplitWeightInternal(Double.NaN),
+                IllegalArgumentException.class, "Split weight must be finite and non-negative; was NaN");
+    }
+
+    @Test
+    void testBuildRegion_empty() {
+        // arrange
+        final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        final TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assertions.assertTrue(tree.isEmpty());
+        Assertions.assertEquals(1, tree.count());
+        Assertions.assertEquals(0, tree.height());
+    }
+
+    @Test
+    void testBuildRegion_halfSpace() {
+        // arrange
+        final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+        final TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assertions.assertEquals(3, tree.count());
+        Assertions.assertEquals(1, tree.height());
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(-5, 1), new TestPoint2D(0, 1), new TestPoint2D(5, 1));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(-5, 0), new TestPoint2D(0, 0), new TestPoint2D(5, 0));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-5, -1), new TestPoint2D(0, -1), new TestPoint2D(5, -1));
+    }
+
+    @Test
+    void testBuildRegion_convexPolygon() {
+        // arrange
+        final List<TestLineSegment> boundaries = createRegularPolygon(64, 1);
+        final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+        builder.setMaxCellBoundariesInternal(4);
+
+        // act
+        builder.insertBoundaries(boundaries);
+        final TestRegionBSPTree tree = builder.build();
+
+        // assert
+        final TestRegionBSPTree standard = new TestRegionBSPTree(false);
+        boundaries.forEach(standard::insert);
+
+        Assertions.assertEquals(64, standard.height());
+        Assertions.assertTrue(tree.height() < 20, () -> "Unexpected tree height: " + tree.height());
+
+        PartitionTestUtils.assertTreeStructure(tree);
+        checkClassifyMatches(standard, tree, 1.5);
+    }
+
+    @Test
+    void testBuildRegion_boundariesOnPartitions() {
+        // arrange
+        final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+        builder.setMaxCellBoundariesInternal(1);
+
+        final List<TestLineSegment> boundaries = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            boundaries.add(new TestLineSegment(i, 0, i + 1, 0));
+            boundaries.add(new TestLineSegment(4, i, 4, i + 1));
+            boundaries.add(new TestLineSegment(4 - i, 4, 3 - i, 4));
+            boundaries.add(new TestLineSegment(0, 4 - i, 0, 3 - i));
+        }
+
+        // act
+        builder.insertBoundaries(boundaries);
+        final TestRegionBSPTree tree = builder.build();
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(0.5, 0.5), new TestPoint2D(2, 2), new TestPoint2D(3.5, 3.5),
+                new TestPoint2D(0.5, 3.5), new TestPoint2D(3.5, 0.5));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(0, 0), new TestPoint2D(2, 0), new TestPoint2D(4, 2),
+                new TestPoint2D(2, 4), new TestPoint2D(0, 2), new TestPoint2D(4, 4));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-1, 2), new TestPoint2D(5, 2), new TestPoint2D(2, -1),
+                new TestPoint2D(2, 5), new TestPoint2D(-1, -1));
+    }
+
+    @Test
+    void testBuildRegion_parallelMatchesSequential() {
+        // arrange
+        final List<TestLineSegment> boundaries = createRegularPolygon(128, 2);
+
+        final TestBalancedRegionBuilder sequential = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+        sequential.setMaxCellBoundariesInternal(4);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final TestBalancedRegionBuilder parallel = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+        parallel.setMaxCellBoundariesInternal(4);
+        parallel.setParallelismInternal(pool);
+
+        try {
+            // act
+            sequential.insertBoundaries(boundaries);
+            parallel.insertBoundaries(boundaries);
+
+            final TestRegionBSPTree expected = sequential.build();
+            final TestRegionBSPTree actual = parallel.build();
+
+            // assert
+            Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), actual.treeString(Integer.MAX_VALUE));
+            Assertions.assertEquals(expected.count(), actual.count());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBuildRegion_deepCell() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final int count = 10_000;
+
+            // a single cell containing parallel boundaries; evaluating only the first remaining boundary
+            // produces a subtree with one level per boundary
+            final TestBalancedRegionBuilder builder = new TestBalancedRegionBuilder(new TestRegionBSPTree(false));
+            builder.setMaxCellBoundariesInternal(count);
+            builder.setSplitterSampleSizeInternal(1);
+
+            for (int i = 0; i < count; ++i) {
+                builder.insertBoundary(new TestLineSegment(1, i, 0, i));
+            }
+
+            // act
+            final TestRegionBSPTree tree = builder.build();
+
+            // assert
+            Assertions.assertEquals(count, tree.height());
+            Assertions.assertEquals((2 * count) + 1, tree.count());
+
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                    new TestPoint2D(0.5, -0.5), new TestPoint2D(0.5, 0), new TestPoint2D(0.5, count - 1.5));
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                    new TestPoint2D(0.5, count - 1));
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                    new TestPoint2D(0.5, count - 0.5));
+        });
+    }
+
+    /** Create the boundaries of a regular polygon centered on the origin.
+     * @param count number of sides
+     * @param radius polygon radius
+     * @return the polygon boundaries in counterclockwise order
+     */
+    private static List<TestLineSegment> createRegularPolygon(final int count, final double radius) {
+        final List<TestLineSegment> result = new ArrayList<>();
+
+        final double delta = 2 * Math.PI / count;
+        for (int i = 0; i < count; ++i) {
+            final double start = i * delta;
+            final double end = (i + 1) * delta;
+
+            result.add(new TestLineSegment(
+                    radius * Math.cos(start), radius * Math.sin(start),
+                    radius * Math.cos(end), radius * Math.sin(end)));
+        }
+
+        return result;
+    }
+
+    /** Assert that the two trees classify points on a grid identically.
+     * @param expected expected tree
+     * @param actual actual tree
+     * @param extent grid extent
+     */
+    private static void checkClassifyMatches(final TestRegionBSPTree expected, final TestRegionBSPTree actual,
+            final double extent) {
+        final int steps = 30;
+        final double delta = (2 * extent) / steps;
+        for (int i = 0; i <= steps; ++i) {
+            for (int j = 0; j <= steps; ++j) {
+                final TestPoint2D pt = new TestPoint2D(-extent + (i * delta), -extent + (j * delta));
+                Assertions.assertEquals(expected.classify(pt), actual.classify(pt), () -> "Point " + pt);
+            }
+        }
+    }
+
+    private static class TestBalancedRegionBuilder
+        extends AbstractBalancedRegionBuilder<TestPoint2D, TestRegionBSPTree.TestRegionNode> {
+
+        TestBalancedRegionBuilder(final TestRegionBSPTree tree) {
+            super(tree);
+        }
+
+        public TestRegionBSPTree build() {
+            return (TestRegionBSPTree) buildInternal();
+        }
+
+        public void insertBoundary(final HyperplaneConvexSubset<TestPoint2D> boundary) {
+            addBoundaryInternal(boundary);
+        }
+
+        public void insertBoundaries(final List<? extends HyperplaneConvexSubset<TestPoint2D>> boundaries) {
+            boundaries.forEach(this::addBoundaryInternal);
+        }
+
+        @Override
+        protected List<TestLine> getPartitionCandidates(
+                final List<? extends HyperplaneConvexSubset<TestPoint2D>> nodeBoundaries) {
+            final double[] xs = new double[nodeBoundaries.size()];
+            final double[] ys = new double[nodeBoundaries.size()];
+            for (int i = 0; i < xs.length; ++i) {
+                final TestPoint2D centroid = nodeBoundaries.get(i).getCentroid();
+                xs[i] = centroid.getX();
+                ys[i] = centroid.getY();
+            }
+            Arrays.sort(xs);
+            Arrays.sort(ys);
+
+            final TestPoint2D median = new TestPoint2D(xs[xs.length / 2], ys[ys.length / 2]);
+
+            return Arrays.asList(
+                    new TestLine(median, new TestPoint2D(median.getX() + 1, median.getY())),
+                    new TestLine(median, new TestPoint2D(median.getX(), median.getY() + 1)));
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AbstractCompiledRegionTest {
+
+    @Test
+    void testCompile_emptyAndFull() {
+        // act
+        final TestCompiledRegion empty = new TestCompiledRegion(new TestRegionBSPTree(false));
+        final TestCompiledRegion full = new TestCompiledRegion(new TestRegionBSPTree(true));
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertFalse(empty.isFull());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, empty.classify(TestPoint2D.ZERO));
+        Assertions.assertNull(empty.project(TestPoint2D.ZERO));
+
+        Assertions.assertFalse(full.isEmpty());
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertEquals(RegionLocation.INSIDE, full.classify(TestPoint2D.ZERO));
+        Assertions.assertNull(full.project(TestPoint2D.ZERO));
+    }
+
+    @Test
+    void testCompile_properties() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertBox(tree);
+
+        // act
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+
+        // assert
+        Assertions.assertEquals(tree.getSize(), compiled.getSize());
+        Assertions.assertEquals(tree.getBoundarySize(), compiled.getBoundarySize());
+        PartitionTestUtils.assertPointsEqual(tree.getCentroid(), compiled.getCentroid());
+
+        Assertions.assertEquals(tree.count(), compiled.getNodeStore().getNodeCount());
+        Assertions.assertEquals("TestCompiledRegion[nodeCount= 9, hyperplaneCount= 4]", compiled.toString());
+    }
+
+    @Test
+    void testClassify_matchesTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertBox(tree);
+
+        tree.getRoot().getMinus().getMinus().getMinus().getMinus()
+            .insertCut(new TestLine(new TestPoint2D(0.5, 0), new TestPoint2D(0.5, 1)));
+
+        // act
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+
+        // assert
+        for (double x = -1; x <= 2; x += 0.25) {
+            for (double y = -1; y <= 2; y += 0.25) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+                Assertions.assertEquals(tree.contains(pt), compiled.contains(pt), () -> "Point " + pt);
+            }
+        }
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(new TestPoint2D(Double.NaN, 0)));
+    }
+
+    @Test
+    void testProject_matchesTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertBox(tree);
+
+        // act
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+
+        // assert
+        PartitionTestUtils.assertPointsEqual(TestPoint2D.ZERO, compiled.project(TestPoint2D.ZERO));
+        PartitionTestUtils.assertPointsEqual(TestPoint2D.ZERO, compiled.project(new TestPoint2D(-1, -4)));
+        PartitionTestUtils.assertPointsEqual(new TestPoint2D(1, 1), compiled.project(new TestPoint2D(2, 9)));
+        PartitionTestUtils.assertPointsEqual(new TestPoint2D(0.5, 1), compiled.project(new TestPoint2D(0.5, 3)));
+
+        for (double x = -1; x <= 2; x += 0.3) {
+            for (double y = -1; y <= 2; y += 0.3) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                PartitionTestUtils.assertPointsEqual(tree.project(pt), compiled.project(pt));
+            }
+        }
+    }
+
+    @Test
+    void testProject_deepTree() {
+        // arrange
+        final int height = 10_000;
+
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        TestRegionNode node = tree.getRoot();
+        for (int i = 0; i < height; ++i) {
+            node = node.cut(new TestLine(i, 0, i, 1)).getPlus();
+        }
+
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+
+        // act/assert
+        PartitionTestUtils.runWithSmallStack(() -> {
+            PartitionTestUtils.assertPointsEqual(new TestPoint2D(height - 1, 2),
+                    compiled.project(new TestPoint2D(height + 1, 2)));
+            PartitionTestUtils.assertPointsEqual(new TestPoint2D(height - 1, -3),
+                    compiled.project(new TestPoint2D(-1, -3)));
+        });
+    }
+
+    @Test
+    void testCompile_sharedSubtrees() {
+        // arrange
+        final int columns = 10;
+        final TestRegionBSPTree tree = createBands(columns);
+
+        // act
+        final TestCompiledRegion unshared = new TestCompiledRegion(tree);
+        final TestCompiledRegion shared = new TestCompiledRegion(tree, true);
+
+        // assert
+        Assertions.assertEquals(61, tree.count());
+        Assertions.assertEquals(61, unshared.getNodeStore().getNodeCount());
+
+        // one node per column cut plus a single copy of the repeated band subtree
+        Assertions.assertTrue(shared.getNodeStore().hasSharedSubtrees());
+        Assertions.assertEquals(columns + 4, shared.getNodeStore().getNodeCount());
+
+        Assertions.assertEquals(tree.getSize(), shared.getSize());
+        Assertions.assertEquals(tree.getBoundarySize(), shared.getBoundarySize());
+    }
+
+    @Test
+    void testSharedSubtrees_matchesTree() {
+        // arrange
+        final int columns = 10;
+        final TestRegionBSPTree tree = createBands(columns);
+
+        // act
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree, true);
+
+        // assert
+        for (double x = -1; x <= columns + 1; x += 0.25) {
+            for (double y = -1; y <= 2; y += 0.25) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+                PartitionTestUtils.assertPointsEqual(tree.project(pt), compiled.project(pt));
+            }
+        }
+    }
+
+    @Test
+    void testSharedSubtrees_cutBoundaries() {
+        // arrange
+        final TestRegionBSPTree tree = createBands(3);
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree, true);
+        final CompactRegionNodeStore<TestPoint2D> store = compiled.getNodeStore();
+
+        // act/assert
+        int node = store.getRoot();
+        int position = 0;
+        for (final TestRegionNode treeNode : tree.nodes()) {
+            if (treeNode.isLeaf()) {
+                continue;
+            }
+            // follow the path of column cuts down the plus side of the tree
+            if (treeNode.getCutHyperplane() == store.getCutHyperplane(node)) {
+                final RegionCutBoundary<TestPoint2D> expected = treeNode.getCutBoundary();
+                final RegionCutBoundary<TestPoint2D> actual = compiled.getCutBoundary(node, position);
+
+                Assertions.assertEquals(expected.getSize(), actual.getSize());
+
+                final int band = store.getMinus(node);
+                final int bandPosition = compiled.getMinusPosition(position);
+                Assertions.assertEquals(treeNode.getMinus().getCutBoundary().getSize(),
+                        compiled.getCutBoundary(band, bandPosition).getSize());
+
+                position = compiled.getPlusPosition(node, position);
+                node = store.getPlus(node);
+            }
+        }
+
+        Assertions.assertTrue(store.isLeaf(node));
+        Assertions.assertEquals(tree.count() - 1, position);
+        Assertions.assertNull(compiled.getCutBoundary(node, position));
+    }
+
+    @Test
+    void testCompile_unaffectedByTreeModification() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertBox(tree);
+
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+
+        // act
+        tree.complement();
+
+        // assert
+        Assertions.assertEquals(RegionLocation.INSIDE, compiled.classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(new TestPoint2D(5, 5)));
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(0.5, 0.5)));
+    }
+
+    @Test
+    void testClassifyCoordinates_notSupported() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertBox(tree);
+
+        final TestCompiledRegion compiled = new TestCompiledRegion(tree);
+        final RegionLocation[] out = new RegionLocation[1];
+
+        // act/assert
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> compiled.classifyCoordinates(new double[] {0.5, 0.5}, 0, 1, 2, out, null));
+    }
+
+    /** Create a tree containing a horizontal band {@code 0 < y < 1} in each of {@code columns} columns
+     * separated by vertical cuts. The same band subtree is repeated in each column.
+     * @param columns number of columns
+     * @return tree containing repeated band subtrees
+     */
+    private static TestRegionBSPTree createBands(final int columns) {
+        final TestLine lower = new TestLine(0, 0, 1, 0);
+        final TestLine upper = new TestLine(1, 1, 0, 1);
+
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        TestRegionNode node = tree.getRoot();
+        for (int i = 0; i < columns; ++i) {
+            node.cut(new TestLine(i + 1, 0, i + 1, 1));
+            node.getMinus().cut(lower).getMinus().cut(upper);
+            node = node.getPlus();
+        }
+        return tree;
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree) {
+        tree.insert(Arrays.asList(
+                new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)),
+                new TestLineSegment(new TestPoint2D(1, 0), new TestPoint2D(1, 1)),
+                new TestLineSegment(new TestPoint2D(1, 1), new TestPoint2D(0, 1)),
+                new TestLineSegment(new TestPoint2D(0, 1), TestPoint2D.ZERO)));
+    }
+
+    private static final class TestCompiledRegion extends AbstractCompiledRegion<TestPoint2D> {
+
+        TestCompiledRegion(final TestRegionBSPTree tree) {
+            super(tree);
+        }
+
+        TestCompiledRegion(final TestRegionBSPTree tree, final boolean shareSubtrees) {
+            super(tree, shareSubtrees);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.RegionLocation;
@@ -413,6 +414,84 @@ class AbstractPartitionedRegionBuilderTest {
         }
     }
 
+    @Test
+    void testBuildRegion_parallel() {
+        // arrange
+        final int maxCount = 4;
+
+        final List<TestLineSegment> boundaries = Arrays.asList(
+                new TestLineSegment(new TestPoint2D(1, 0), new TestPoint2D(1, 1)),
+                new TestLineSegment(new TestPoint2D(1, 1), new TestPoint2D(3, 1)),
+                new TestLineSegment(new TestPoint2D(3, 1), new TestPoint2D(3, 2)),
+                new TestLineSegment(new TestPoint2D(3, 2), new TestPoint2D(-1, 2)),
+                new TestLineSegment(new TestPoint2D(-1, 2), new TestPoint2D(-1, -1)),
+                new TestLineSegment(new TestPoint2D(-1, -1), new TestPoint2D(3, -1)),
+                new TestLineSegment(new TestPoint2D(3, -1), new TestPoint2D(3, 0)),
+                new TestLineSegment(new TestPoint2D(3, 0), new TestPoint2D(1, 0))
+            );
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int c = 0; c <= maxCount; ++c) {
+                final TestRegionBuilder sequentialBuilder = new TestRegionBuilder(new TestRegionBSPTree(false));
+                final TestRegionBuilder parallelBuilder = new TestRegionBuilder(new TestRegionBSPTree(false));
+                parallelBuilder.setParallelism(pool);
+
+                // act
+                insertGridRecursive(-2, 2, c, sequentialBuilder);
+                insertGridRecursive(-2, 2, c, parallelBuilder);
+
+                for (final TestLineSegment boundary : boundaries) {
+                    sequentialBuilder.insertBoundary(boundary);
+                    parallelBuilder.insertBoundary(boundary);
+                }
+
+                final TestRegionBSPTree sequential = sequentialBuilder.build();
+                final TestRegionBSPTree parallel = parallelBuilder.build();
+
+                // assert
+                PartitionTestUtils.assertTreeStructure(parallel);
+
+                for (double x = -4; x <= 4; x += 0.25) {
+                    for (double y = -4; y <= 4; y += 0.25) {
+                        final TestPoint2D pt = new TestPoint2D(x, y);
+                        Assertions.assertEquals(sequential.classify(pt), parallel.classify(pt), () -> "Point " + pt);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBuildRegion_parallel_boundaryOnPartition() {
+        // arrange
+        final TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+        builder.setParallelism(ForkJoinPool.commonPool());
+
+        builder.insertPartition(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+        builder.insertPartition(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(0, 1)));
+
+        // act
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(1, 0), new TestPoint2D(1, 1)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(1, 1), new TestPoint2D(-1, 1)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(-1, 1), new TestPoint2D(-1, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(-1, 0), new TestPoint2D(1, 0)));
+
+        final TestRegionBSPTree tree = builder.build();
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(0.5, 0.5), new TestPoint2D(-0.5, 0.5), new TestPoint2D(0, 0.5));
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(0.5, 0), new TestPoint2D(-0.5, 0), new TestPoint2D(0, 1));
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(0.5, -0.5), new TestPoint2D(-0.5, -0.5), new TestPoint2D(2, 0.5));
+    }
+
     private static void insertGridRecursive(final double min, final double max, final int count, final TestRegionBuilder builder) {
         if (count > 0) {
             final double center = (0.5 * (max - min)) + min;
@@ -446,5 +525,9 @@ class AbstractPartitionedRegionBuilderTest {
         public void insertBoundary(final HyperplaneConvexSubset<TestPoint2D> boundary) {
             insertBoundaryInternal(boundary);
         }
+
+        public void setParallelism(final ForkJoinPool pool) {
+            setParallelismInternal(pool);
+        }
     }
 }
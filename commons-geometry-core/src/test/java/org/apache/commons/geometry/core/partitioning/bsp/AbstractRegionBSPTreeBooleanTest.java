@@ -17,6 +17,11 @@
 package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
@@ -24,6 +29,7 @@ import org.apache.commons.geometry.core.partitioning.test.TestLine;
 import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
 import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
 import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 class AbstractRegionBSPTreeBooleanTest {
@@ -574,6 +580,176 @@ class AbstractRegionBSPTreeBooleanTest {
             .check();
     }
 
+    @Test
+    void testParallelMerge_matchesSequential() {
+        // arrange
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act/assert
+            checkParallelMerge(pool, TestRegionBSPTree::union);
+            checkParallelMerge(pool, TestRegionBSPTree::intersection);
+            checkParallelMerge(pool, TestRegionBSPTree::difference);
+            checkParallelMerge(pool, TestRegionBSPTree::xor);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelMerge_belowThreshold() {
+        // arrange
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final TestRegionBSPTree expected = fullTree();
+            insertSkewedBowtie(expected);
+            expected.union(xAxisTree());
+
+            final TestRegionBSPTree tree = fullTree();
+            insertSkewedBowtie(tree);
+            tree.setParallelMerge(pool, Integer.MAX_VALUE);
+
+            // act
+            tree.union(xAxisTree());
+
+            // assert
+            Assertions.assertEquals(expected.treeString(), tree.treeString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSetParallelMerge() {
+        // arrange
+        final TestRegionBSPTree tree = fullTree();
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        // act/assert
+        Assertions.assertNull(tree.getParallelMergePool());
+        Assertions.assertEquals(1024, tree.getParallelMergeThreshold());
+
+        tree.setParallelMerge(pool, 10);
+        Assertions.assertSame(pool, tree.getParallelMergePool());
+        Assertions.assertEquals(10, tree.getParallelMergeThreshold());
+
+        tree.setParallelMerge(null, 1);
+        Assertions.assertNull(tree.getParallelMergePool());
+        Assertions.assertEquals(1, tree.getParallelMergeThreshold());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> tree.setParallelMerge(pool, 0));
+    }
+
+    @Test
+    void testUnionAll() {
+        // arrange
+        final TestRegionBSPTree a = fullTree();
+        insertBox(a, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        final TestRegionBSPTree b = fullTree();
+        insertBox(b, new TestPoint2D(2, 3), new TestPoint2D(3, 2));
+
+        final TestRegionBSPTree c = fullTree();
+        insertSkewedBowtie(c);
+
+        final TestRegionBSPTree expected = fullTree();
+        expected.copy(a);
+        expected.union(b);
+        expected.union(c);
+
+        // act
+        final TestRegionBSPTree result = AbstractRegionBSPTree.unionAll(
+                Arrays.asList(a, emptyTree(), b, c), TestRegionBSPTree::new, null, null);
+
+        // assert
+        Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), result.treeString(Integer.MAX_VALUE));
+        PartitionTestUtils.assertTreeStructure(result);
+
+        Assertions.assertTrue(AbstractRegionBSPTree.unionAll(
+                Collections.emptyList(), TestRegionBSPTree::new, null, null).isEmpty());
+        Assertions.assertTrue(AbstractRegionBSPTree.unionAll(
+                Arrays.asList(a, fullTree(), b), TestRegionBSPTree::new, null, null).isFull());
+    }
+
+    @Test
+    void testIntersectionAll() {
+        // arrange
+        final TestRegionBSPTree a = fullTree();
+        insertBox(a, new TestPoint2D(0, 2), new TestPoint2D(2, 0));
+
+        final TestRegionBSPTree b = fullTree();
+        insertBox(b, new TestPoint2D(1, 3), new TestPoint2D(3, 1));
+
+        final TestRegionBSPTree expected = fullTree();
+        expected.copy(a);
+        expected.intersection(b);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            // act
+            final TestRegionBSPTree result = AbstractRegionBSPTree.intersectionAll(
+                    Arrays.asList(a, fullTree(), b), TestRegionBSPTree::new, null, pool);
+
+            // assert
+            Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), result.treeString(Integer.MAX_VALUE));
+            PartitionTestUtils.assertTreeStructure(result);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertTrue(AbstractRegionBSPTree.intersectionAll(
+                Collections.emptyList(), TestRegionBSPTree::new, null, null).isFull());
+        Assertions.assertTrue(AbstractRegionBSPTree.intersectionAll(
+                Arrays.asList(a, emptyTree(), b), TestRegionBSPTree::new, null, null).isEmpty());
+    }
+
+    @Test
+    void testIntersectionAll_disjointBoundsSkipsMerge() {
+        // arrange
+        final TestRegionBSPTree a = fullTree();
+        insertBox(a, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        final TestRegionBSPTree b = fullTree();
+        insertBox(b, new TestPoint2D(2, 3), new TestPoint2D(3, 2));
+
+        final Map<TestRegionBSPTree, double[]> bounds = new HashMap<>();
+        bounds.put(a, new double[] {0, 0, 1, 1});
+        bounds.put(b, new double[] {2, 2, 3, 3});
+
+        final int[] created = {0};
+        final Supplier<TestRegionBSPTree> factory = () -> {
+            ++created[0];
+            return new TestRegionBSPTree();
+        };
+
+        // act
+        final TestRegionBSPTree result = AbstractRegionBSPTree.intersectionAll(
+                Arrays.asList(a, b), factory, bounds::get, null);
+
+        // assert
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(1, result.count());
+        Assertions.assertEquals(1, created[0]);
+    }
+
+    private static void checkParallelMerge(final ForkJoinPool pool,
+            final BiConsumer<TestRegionBSPTree, TestRegionBSPTree> op) {
+        final TestRegionBSPTree other = fullTree();
+        insertBox(other, new TestPoint2D(-3, 2), new TestPoint2D(2, -3));
+
+        final TestRegionBSPTree expected = fullTree();
+        insertSkewedBowtie(expected);
+        op.accept(expected, other);
+
+        final TestRegionBSPTree parallel = fullTree();
+        insertSkewedBowtie(parallel);
+        parallel.setParallelMerge(pool, 1);
+        op.accept(parallel, other);
+
+        Assertions.assertEquals(expected.count(), parallel.count());
+        Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), parallel.treeString(Integer.MAX_VALUE));
+        PartitionTestUtils.assertTreeStructure(parallel);
+    }
+
     private static TestRegionBSPTree emptyTree() {
         return new TestRegionBSPTree(false);
     }
@@ -46,6 +46,8 @@ import org.junit.jupiter.api.Test;
 
 class AbstractRegionBSPTreeTest {
 
+    private static final int DEEP_TREE_HEIGHT = 10_000;
+
     private TestRegionBSPTree tree;
 
     private TestRegionNode root;
@@ -378,6 +380,99 @@ class AbstractRegionBSPTreeTest {
         Assertions.assertNotSame(prevProps, tree.getRegionSizeProperties());
     }
 
+    @Test
+    void testOptimize_notSupported() {
+        // arrange
+        tree = emptyTree();
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+        tree.insert(TestLine.X_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertFalse(result.isApplied());
+        Assertions.assertEquals(7, result.getNodeCountBefore());
+        Assertions.assertEquals(2, result.getHeightBefore());
+        Assertions.assertEquals(7, result.getNodeCountAfter());
+        Assertions.assertEquals(2, result.getHeightAfter());
+
+        Assertions.assertEquals(7, tree.count());
+    }
+
+    @Test
+    void testOptimize_emptyAndFull() {
+        // arrange
+        final TestRegionBSPTree full = fullTree();
+        full.insert(TestLine.Y_AXIS.span(), RegionCutRule.INHERIT);
+        full.insert(TestLine.X_AXIS.span(), RegionCutRule.INHERIT);
+
+        final TestRegionBSPTree empty = emptyTree();
+        empty.insert(TestLine.Y_AXIS.span(), RegionCutRule.INHERIT);
+
+        // act
+        final RegionOptimizationResult fullResult = full.optimize();
+        final RegionOptimizationResult emptyResult = empty.optimize();
+
+        // assert
+        Assertions.assertTrue(fullResult.isApplied());
+        Assertions.assertEquals(7, fullResult.getNodeCountBefore());
+        Assertions.assertEquals(1, fullResult.getNodeCountAfter());
+        Assertions.assertEquals(0, fullResult.getHeightAfter());
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertEquals(1, full.count());
+
+        Assertions.assertTrue(emptyResult.isApplied());
+        Assertions.assertEquals(3, emptyResult.getNodeCountBefore());
+        Assertions.assertEquals(1, emptyResult.getNodeCountAfter());
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertEquals(1, empty.count());
+    }
+
+    @Test
+    void testOptimize_singleNode() {
+        // arrange
+        tree = fullTree();
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertFalse(result.isApplied());
+        Assertions.assertEquals(1, result.getNodeCountAfter());
+        Assertions.assertTrue(tree.isFull());
+    }
+
+    @Test
+    void testOptimize_reportsToListener() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        tree = emptyTree();
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+        tree.setListener(metrics);
+
+        // act
+        tree.optimize();
+
+        // assert
+        Assertions.assertEquals(1, metrics.getCount(BSPTreeListener.Operation.OPTIMIZE));
+    }
+
+    @Test
+    void testOptimizationResult_toString() {
+        // arrange
+        tree = emptyTree();
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+
+        // act
+        final String str = tree.optimize().toString();
+
+        // assert
+        Assertions.assertEquals("RegionOptimizationResult[nodeCountBefore= 3, heightBefore= 1, " +
+                "nodeCountAfter= 3, heightAfter= 1, applied= false]", str);
+    }
+
     @Test
     void testCondense_doesNotInvalidateTreeWhenNotChanged() {
         // arrange
@@ -1280,6 +1375,65 @@ class AbstractRegionBSPTreeTest {
         Assertions.assertEquals(origLocations, copyLocations);
     }
 
+    @Test
+    void testCopy_regionProperties() {
+        // arrange
+        insertSkewedBowtie(tree);
+        final double size = tree.getSize();
+
+        // act
+        final TestRegionBSPTree copy = emptyTree();
+        copy.copy(tree);
+
+        // assert
+        Assertions.assertEquals(size, copy.getSize());
+    }
+
+    @Test
+    void testCopy_sourceLocationChangedAfterCopy() {
+        // arrange
+        tree = emptyTree();
+        tree.getRoot().insertCut(TestLine.X_AXIS);
+
+        final TestRegionBSPTree copy = emptyTree();
+        copy.copy(tree);
+
+        // act
+        tree.getRoot().getPlus().setLocation(RegionLocation.INSIDE);
+
+        // assert
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.getRoot().getPlus().getLocation());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, copy.getRoot().getPlus().getLocation());
+    }
+
+    @Test
+    void testCopy_mergeIntoCopy() {
+        // arrange
+        insertSkewedBowtie(tree);
+        final int count = tree.count();
+
+        final TestRegionBSPTree expected = emptyTree();
+        expected.copy(tree);
+
+        final TestRegionBSPTree other = emptyTree();
+        other.insert(TestLine.X_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+
+        final TestRegionBSPTree copy = emptyTree();
+        copy.copy(tree);
+
+        // act
+        expected.union(other);
+        copy.union(other);
+
+        // assert
+        Assertions.assertEquals(count, tree.count());
+
+        Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), copy.treeString(Integer.MAX_VALUE));
+        for (final TestRegionNode node : copy.nodes()) {
+            Assertions.assertSame(copy, node.getTree());
+        }
+    }
+
     @Test
     void testExtract() {
         // arrange
@@ -1375,6 +1529,16 @@ class AbstractRegionBSPTreeTest {
         PartitionTestUtils.assertPointsEqual(new TestPoint2D(0.5, 1), tree.project(new TestPoint2D(0.5, 3)));
     }
 
+    @Test
+    void testProject_cutWithoutBoundary() {
+        // arrange
+        tree.getRoot().cut(TestLine.X_AXIS);
+        tree.getRoot().getPlus().setLocation(RegionLocation.INSIDE);
+
+        // act/assert
+        Assertions.assertNull(tree.project(new TestPoint2D(1, 1)));
+    }
+
     @Test
     void testSplit_empty() {
         // arrange
@@ -1562,6 +1726,47 @@ class AbstractRegionBSPTreeTest {
         PartitionTestUtils.assertPointsEqual(end, segment.getEndPoint());
     }
 
+    @Test
+    void testDeepTree_operationsDoNotUseCallStack() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final TestRegionBSPTree deep = createDeepTree(DEEP_TREE_HEIGHT);
+            final int count = (2 * DEEP_TREE_HEIGHT) + 1;
+
+            final TestPoint2D first = new TestPoint2D(0, 1);
+            final TestPoint2D last = new TestPoint2D(DEEP_TREE_HEIGHT - 1, 1);
+            final TestPoint2D before = new TestPoint2D(-1, 1);
+            final TestPoint2D after = new TestPoint2D(DEEP_TREE_HEIGHT, 1);
+
+            // act/assert
+            Assertions.assertFalse(deep.isEmpty());
+            Assertions.assertFalse(deep.isFull());
+
+            PartitionTestUtils.assertPointLocations(deep, RegionLocation.INSIDE, before, first);
+            PartitionTestUtils.assertPointLocations(deep, RegionLocation.BOUNDARY, last);
+            PartitionTestUtils.assertPointLocations(deep, RegionLocation.OUTSIDE, after);
+
+            final TestRegionBSPTree complement = emptyTree();
+            complement.complement(deep);
+            Assertions.assertEquals(count, complement.count());
+            PartitionTestUtils.assertPointLocations(complement, RegionLocation.OUTSIDE, before, first);
+            PartitionTestUtils.assertPointLocations(complement, RegionLocation.BOUNDARY, last);
+            PartitionTestUtils.assertPointLocations(complement, RegionLocation.INSIDE, after);
+
+            complement.complement();
+            PartitionTestUtils.assertPointLocations(complement, RegionLocation.INSIDE, before, first);
+            PartitionTestUtils.assertPointLocations(complement, RegionLocation.OUTSIDE, after);
+
+            Assertions.assertFalse(deep.condense());
+            Assertions.assertEquals(count, deep.count());
+
+            deep.findNode(after).setLocation(RegionLocation.INSIDE);
+            Assertions.assertTrue(deep.condense());
+            Assertions.assertEquals(1, deep.count());
+            Assertions.assertTrue(deep.isFull());
+        });
+    }
+
     private static void assertContainsSegment(final List<TestLineSegment> boundaries, final TestPoint2D start,
             final TestPoint2D end) {
         boolean found = false;
@@ -1581,6 +1786,23 @@ class AbstractRegionBSPTreeTest {
         Assertions.assertTrue(found, "Expected to find segment start= " + start + ", end= " + end);
     }
 
+    /** Create a degenerate tree of the given height by repeatedly cutting the leaf node on the
+     * positive x side of the previous cut with a vertical line. The region is inside on the minus side
+     * of each cut, meaning that it consists of all points with x values less than {@code height - 1}.
+     * @param height height of the tree
+     * @return a new tree with the given height
+     */
+    private static TestRegionBSPTree createDeepTree(final int height) {
+        final TestRegionBSPTree result = emptyTree();
+
+        TestRegionNode node = result.getRoot();
+        for (int i = 0; i < height; ++i) {
+            node = node.cut(new TestLine(i, 0, i, 1)).getPlus();
+        }
+
+        return result;
+    }
+
     private static TestRegionBSPTree emptyTree() {
         return new TestRegionBSPTree(false);
     }
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AbstractRegionExpressionTest {
+
+    @Test
+    void testEvaluate_matchesEagerOperations() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 2, 2, count);
+        final TestRegionExpression b = box(1, 1, 3, 3, count);
+
+        // act/assert
+        checkExpression(a.union(b), eager(a, b, TestRegionBSPTree::union));
+        checkExpression(a.intersection(b), eager(a, b, TestRegionBSPTree::intersection));
+        checkExpression(a.difference(b), eager(a, b, TestRegionBSPTree::difference));
+        checkExpression(a.xor(b), eager(a, b, TestRegionBSPTree::xor));
+    }
+
+    @Test
+    void testEvaluate_emptyAndFullOperands() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 2, 2, count);
+        final TestRegionExpression empty = new TestRegionExpression(new TestRegionBSPTree(false), null, count);
+        final TestRegionExpression full = new TestRegionExpression(new TestRegionBSPTree(true), null, count);
+
+        // act/assert
+        Assertions.assertTrue(empty.isKnownEmpty());
+        Assertions.assertFalse(full.isKnownEmpty());
+
+        Assertions.assertTrue(a.intersection(empty).isKnownEmpty());
+        Assertions.assertTrue(empty.difference(a).isKnownEmpty());
+
+        checkExpression(a.union(empty), a.evaluate());
+        checkExpression(empty.xor(a), a.evaluate());
+        checkExpression(a.difference(empty), a.evaluate());
+        checkExpression(a.intersection(full), a.evaluate());
+        Assertions.assertTrue(a.union(full).evaluate().isFull());
+        Assertions.assertTrue(full.difference(full).evaluate().isEmpty());
+    }
+
+    @Test
+    void testEvaluate_memoizesSharedSubexpressions() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 2, 2, count);
+        final TestRegionExpression b = box(1, 1, 3, 3, count);
+        final TestRegionExpression c = box(1.5, 0, 2.5, 4, count);
+
+        final TestRegionExpression shared = a.union(b);
+        final TestRegionExpression expr = shared.intersection(c).union(shared.difference(c));
+
+        final TestRegionBSPTree expected = a.evaluate();
+        expected.union(b.evaluate());
+
+        count[0] = 0;
+
+        // act
+        final TestRegionBSPTree result = expr.evaluate();
+        final int firstCount = count[0];
+
+        expr.evaluate();
+        final int secondCount = count[0] - firstCount;
+
+        // assert
+        // one tree for each of the 4 distinct operations plus the returned copy
+        Assertions.assertEquals(5, firstCount);
+        Assertions.assertEquals(1, secondCount);
+
+        Assertions.assertTrue(shared.isEvaluated());
+        checkSameRegion(expected, result);
+    }
+
+    @Test
+    void testEvaluate_disjointBounds() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 1, 1, count);
+        final TestRegionExpression b = box(5, 5, 6, 6, count);
+        final TestRegionExpression touching = box(1, 0, 2, 1, count);
+
+        count[0] = 0;
+
+        // act
+        final TestRegionExpression intersection = a.intersection(b);
+        final TestRegionExpression difference = a.difference(b);
+
+        final TestRegionBSPTree intersectionResult = intersection.evaluate();
+        final TestRegionBSPTree differenceResult = difference.evaluate();
+
+        // assert
+        // the empty intersection result and one copy for each returned tree
+        Assertions.assertEquals(3, count[0]);
+
+        Assertions.assertTrue(intersection.isKnownEmpty());
+        Assertions.assertFalse(difference.isKnownEmpty());
+        Assertions.assertFalse(a.intersection(touching).isKnownEmpty());
+
+        Assertions.assertTrue(intersectionResult.isEmpty());
+        checkSameRegion(a.evaluate(), differenceResult);
+        Assertions.assertFalse(b.difference(a).union(b).isKnownEmpty());
+    }
+
+    @Test
+    void testEvaluate_operandModified() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        insertBox(tree, 0, 0, 2, 2);
+
+        final TestRegionExpression a = new TestRegionExpression(tree, new double[] {0, 0, 2, 2}, count);
+        final TestRegionExpression expr = a.union(box(1, 1, 3, 3, count));
+
+        // act
+        tree.complement();
+
+        // assert
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, expr.classify(new TestPoint2D(5, 5)));
+
+        final TestRegionBSPTree result = expr.evaluate();
+        Assertions.assertEquals(RegionLocation.INSIDE, result.classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, result.classify(new TestPoint2D(5, 5)));
+    }
+
+    @Test
+    void testEvaluate_resultModified() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression expr = box(0, 0, 2, 2, count).union(box(1, 1, 3, 3, count));
+
+        // act
+        final TestRegionBSPTree result = expr.evaluate();
+        result.complement();
+
+        // assert
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.evaluate().classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(0.5, 0.5)));
+    }
+
+    @Test
+    void testClassify_matchesEvaluatedTree() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression[] exprs = createExpressions(count);
+        final TestRegionExpression[] expectedExprs = createExpressions(count);
+
+        for (int i = 0; i < exprs.length; ++i) {
+            final TestRegionExpression expr = exprs[i];
+            final TestRegionBSPTree expected = expectedExprs[i].evaluate();
+
+            // act/assert
+            for (double y = -1; y <= 5; y += 0.25) {
+                for (double x = -1; x <= 4; x += 0.25) {
+                    final TestPoint2D pt = new TestPoint2D(x, y);
+                    Assertions.assertEquals(expected.classify(pt), expr.classify(pt), () -> "Point " + pt);
+                    Assertions.assertEquals(expected.contains(pt), expr.contains(pt), () -> "Point " + pt);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClassify_doesNotEvaluate() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 2, 2, count);
+        final TestRegionExpression b = box(1, 1, 3, 3, count);
+        final TestRegionExpression expr = a.union(b).difference(box(1.5, 0, 2.5, 4, count));
+
+        count[0] = 0;
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(2.75, 2.75)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, expr.classify(new TestPoint2D(2, 2)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, expr.classify(new TestPoint2D(0, 1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, expr.classify(new TestPoint2D(-1, 1)));
+
+        Assertions.assertEquals(0, count[0]);
+        Assertions.assertFalse(expr.isEvaluated());
+    }
+
+    @Test
+    void testClassify_coincidentBoundaries() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 1, 1, count);
+        final TestRegionExpression b = box(1, 0, 2, 1, count);
+        final TestRegionExpression union = a.union(b);
+        final TestRegionExpression xor = a.xor(box(0, 0, 1, 2, count));
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.INSIDE, union.classify(new TestPoint2D(1, 0.5)));
+        Assertions.assertTrue(union.isEvaluated());
+
+        Assertions.assertEquals(RegionLocation.BOUNDARY, xor.classify(new TestPoint2D(0.5, 1)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, xor.classify(new TestPoint2D(0, 1.5)));
+        Assertions.assertEquals(RegionLocation.INSIDE, xor.classify(new TestPoint2D(0.5, 1.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, xor.classify(new TestPoint2D(0.5, 0.5)));
+    }
+
+    @Test
+    void testClassify_deepExpression() {
+        // arrange
+        final int[] count = new int[1];
+        final TestRegionExpression a = box(0, 0, 1, 1, count);
+        final TestRegionExpression b = box(5, 5, 6, 6, count);
+
+        TestRegionExpression expr = a;
+        for (int i = 0; i < 100_000; ++i) {
+            expr = expr.union(b);
+        }
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(5.5, 5.5)));
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(new TestPoint2D(0.5, 0.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, expr.classify(new TestPoint2D(3, 3)));
+    }
+
+    private static void checkExpression(final TestRegionExpression expr, final TestRegionBSPTree expected) {
+        final TestRegionBSPTree result = expr.evaluate();
+
+        PartitionTestUtils.assertTreeStructure(result);
+        checkSameRegion(expected, result);
+    }
+
+    private static void checkSameRegion(final TestRegionBSPTree expected, final TestRegionBSPTree actual) {
+        for (double y = -1; y <= 5; y += 0.25) {
+            for (double x = -1; x <= 4; x += 0.25) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(expected.classify(pt), actual.classify(pt), () -> "Point " + pt);
+            }
+        }
+    }
+
+    private static TestRegionBSPTree eager(final TestRegionExpression a, final TestRegionExpression b,
+            final EagerOperation op) {
+        final TestRegionBSPTree result = a.evaluate();
+        op.apply(result, b.evaluate());
+        return result;
+    }
+
+    private static TestRegionExpression[] createExpressions(final int[] count) {
+        final TestRegionExpression a = box(0, 0, 2, 2, count);
+        final TestRegionExpression b = box(1, 1, 3, 3, count);
+        final TestRegionExpression c = box(1.5, 0, 2.5, 4, count);
+
+        return new TestRegionExpression[] {
+            a.union(b).difference(c),
+            a.intersection(b).xor(c),
+            a.xor(b).union(c.difference(a)),
+            a.difference(b).intersection(c.union(a))
+        };
+    }
+
+    private static TestRegionExpression box(final double minX, final double minY, final double maxX,
+            final double maxY, final int[] count) {
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        insertBox(tree, minX, minY, maxX, maxY);
+
+        return new TestRegionExpression(tree, new double[] {minX, minY, maxX, maxY}, count);
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree, final double minX, final double minY,
+            final double maxX, final double maxY) {
+        final TestPoint2D lowerLeft = new TestPoint2D(minX, minY);
+        final TestPoint2D lowerRight = new TestPoint2D(maxX, minY);
+        final TestPoint2D upperRight = new TestPoint2D(maxX, maxY);
+        final TestPoint2D upperLeft = new TestPoint2D(minX, maxY);
+
+        tree.insert(Arrays.asList(
+                new TestLineSegment(lowerLeft, lowerRight),
+                new TestLineSegment(lowerRight, upperRight),
+                new TestLineSegment(upperRight, upperLeft),
+                new TestLineSegment(upperLeft, lowerLeft)));
+    }
+
+    @FunctionalInterface
+    private interface EagerOperation {
+        void apply(TestRegionBSPTree tree, TestRegionBSPTree other);
+    }
+
+    private static final class TestRegionExpression
+        extends AbstractRegionExpression<TestPoint2D, TestRegionNode, TestRegionBSPTree, TestRegionExpression> {
+
+        private final int[] createCount;
+
+        TestRegionExpression(final TestRegionBSPTree tree, final double[] bounds, final int[] createCount) {
+            super(copyTree(tree), bounds);
+            this.createCount = createCount;
+        }
+
+        TestRegionExpression(final Operation op, final TestRegionExpression first,
+                final TestRegionExpression second) {
+            super(op, first, second);
+            this.createCount = first.createCount;
+        }
+
+        @Override
+        protected TestRegionExpression getSelf() {
+            return this;
+        }
+
+        @Override
+        protected TestRegionExpression createExpression(final Operation op, final TestRegionExpression first,
+                final TestRegionExpression second) {
+            return new TestRegionExpression(op, first, second);
+        }
+
+        @Override
+        protected TestRegionBSPTree createTree() {
+            ++createCount[0];
+            return new TestRegionBSPTree(false);
+        }
+
+        private static TestRegionBSPTree copyTree(final TestRegionBSPTree tree) {
+            final TestRegionBSPTree copy = new TestRegionBSPTree(false);
+            copy.copy(tree);
+            return copy;
+        }
+    }
+}
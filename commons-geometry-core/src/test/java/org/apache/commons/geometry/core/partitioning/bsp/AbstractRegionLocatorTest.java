@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AbstractRegionLocatorTest {
+
+    private static final List<TestPoint2D> BOX_VERTICES = Arrays.asList(
+            TestPoint2D.ZERO, new TestPoint2D(1, 0), new TestPoint2D(1, 1), new TestPoint2D(0, 1));
+
+    @Test
+    void testClassify_matchesTree() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, null);
+
+        // act/assert
+        for (double y = -1; y <= 2; y += 0.125) {
+            for (double x = -1; x <= 7; x += 0.125) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(tree.classify(pt), locator.classify(pt), () -> "Point " + pt);
+            }
+        }
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(new TestPoint2D(Double.NaN, 0)));
+        Assertions.assertSame(tree, locator.getTree());
+    }
+
+    @Test
+    void testClassify_reusesLeaf() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, null);
+
+        // act
+        Assertions.assertNull(locator.getLeaf());
+        Assertions.assertEquals(0, locator.getCellHyperplaneCount());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(new TestPoint2D(0.25, 0.25)));
+        final TestRegionNode leaf = locator.getLeaf();
+
+        Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(new TestPoint2D(0.75, 0.75)));
+
+        // assert
+        Assertions.assertNotNull(leaf);
+        Assertions.assertTrue(leaf.isLeaf());
+        Assertions.assertSame(leaf, locator.getLeaf());
+        Assertions.assertEquals(leaf.depth(), locator.getCellHyperplaneCount());
+    }
+
+    @Test
+    void testClassify_reducesCell() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, BOX_VERTICES);
+
+        locator.classify(new TestPoint2D(0.5, 0.5));
+        final int initialCount = locator.getCellHyperplaneCount();
+
+        // act
+        for (int i = 1; i < AbstractRegionLocator.CELL_REDUCTION_HIT_COUNT; ++i) {
+            locator.classify(new TestPoint2D(0.5, 0.5));
+        }
+        final int countBeforeReduction = locator.getCellHyperplaneCount();
+
+        locator.classify(new TestPoint2D(0.5, 0.5));
+
+        // assert
+        Assertions.assertEquals(5, initialCount);
+        Assertions.assertEquals(initialCount, countBeforeReduction);
+        Assertions.assertEquals(4, locator.getCellHyperplaneCount());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(new TestPoint2D(0.1, 0.9)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, locator.classify(new TestPoint2D(1, 0.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(new TestPoint2D(6, 0.5)));
+    }
+
+    @Test
+    void testClassify_noCellVertices() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, null);
+
+        // act
+        for (int i = 0; i <= AbstractRegionLocator.CELL_REDUCTION_HIT_COUNT; ++i) {
+            locator.classify(new TestPoint2D(0.5, 0.5));
+        }
+
+        // assert
+        Assertions.assertEquals(5, locator.getCellHyperplaneCount());
+    }
+
+    @Test
+    void testClassify_pointOnCut() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, null);
+
+        locator.classify(new TestPoint2D(0.5, 0.5));
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.BOUNDARY, locator.classify(new TestPoint2D(0, 0.5)));
+        Assertions.assertNull(locator.getLeaf());
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(new TestPoint2D(5, 0.5)));
+        Assertions.assertNull(locator.getLeaf());
+    }
+
+    @Test
+    void testClassify_treeModified() {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final TestRegionLocator locator = new TestRegionLocator(tree, null);
+
+        locator.classify(new TestPoint2D(0.25, 0.5));
+        final TestRegionNode leaf = locator.getLeaf();
+
+        // act
+        leaf.insertCut(new TestLine(new TestPoint2D(0.5, 0), new TestPoint2D(0.5, 1)));
+
+        // assert
+        Assertions.assertNull(locator.getLeaf());
+
+        Assertions.assertEquals(tree.classify(new TestPoint2D(0.25, 0.5)), locator.classify(new TestPoint2D(0.25, 0.5)));
+        Assertions.assertEquals(tree.classify(new TestPoint2D(0.75, 0.5)), locator.classify(new TestPoint2D(0.75, 0.5)));
+        Assertions.assertEquals(leaf.depth() + 1, locator.getCellHyperplaneCount());
+    }
+
+    /** Create a tree containing the unit square with a partition at {@code x = 5} above the square in
+     * the tree.
+     * @return a new tree
+     */
+    private static TestRegionBSPTree createTree() {
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        tree.getRoot().cut(new TestLine(new TestPoint2D(5, 0), new TestPoint2D(5, 1)));
+
+        tree.insert(Arrays.asList(
+                new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)),
+                new TestLineSegment(new TestPoint2D(1, 0), new TestPoint2D(1, 1)),
+                new TestLineSegment(new TestPoint2D(1, 1), new TestPoint2D(0, 1)),
+                new TestLineSegment(new TestPoint2D(0, 1), TestPoint2D.ZERO)));
+
+        return tree;
+    }
+
+    private static final class TestRegionLocator extends AbstractRegionLocator<TestPoint2D, TestRegionNode> {
+
+        private final Collection<TestPoint2D> cellVertices;
+
+        TestRegionLocator(final TestRegionBSPTree tree, final Collection<TestPoint2D> cellVertices) {
+            super(tree);
+            this.cellVertices = cellVertices;
+        }
+
+        @Override
+        protected Collection<TestPoint2D> getCellVertices(final TestRegionNode node) {
+            return cellVertices;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeListener.Operation;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BSPTreeMetricsTest {
+
+    private static final double TEST_EPS = 1e-15;
+
+    @Test
+    void testInitialState() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        // act/assert
+        for (final Operation operation : Operation.values()) {
+            Assertions.assertEquals(0, metrics.getCount(operation));
+            Assertions.assertEquals(0, metrics.getItemCount(operation));
+            Assertions.assertEquals(0, metrics.getNanos(operation));
+        }
+
+        Assertions.assertEquals(0, metrics.getCutBoundaryHits());
+        Assertions.assertEquals(0, metrics.getCutBoundaryMisses());
+        Assertions.assertEquals(0.0, metrics.getCutBoundaryHitRate(), TEST_EPS);
+    }
+
+    @Test
+    void testOperationCompleted() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        // act
+        metrics.operationCompleted(Operation.CONDENSE, 4, 10);
+        metrics.operationCompleted(Operation.CONDENSE, 2, 5);
+        metrics.operationCompleted(Operation.CUT, 1, 3);
+
+        // assert
+        Assertions.assertEquals(2, metrics.getCount(Operation.CONDENSE));
+        Assertions.assertEquals(6, metrics.getItemCount(Operation.CONDENSE));
+        Assertions.assertEquals(15, metrics.getNanos(Operation.CONDENSE));
+
+        Assertions.assertEquals(1, metrics.getCount(Operation.CUT));
+        Assertions.assertEquals(3, metrics.getNanos(Operation.CUT));
+
+        Assertions.assertEquals(0, metrics.getCount(Operation.MERGE));
+    }
+
+    @Test
+    void testCutBoundaryRequested() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        // act
+        metrics.cutBoundaryRequested(false);
+        metrics.cutBoundaryRequested(true);
+        metrics.cutBoundaryRequested(true);
+        metrics.cutBoundaryRequested(true);
+
+        // assert
+        Assertions.assertEquals(3, metrics.getCutBoundaryHits());
+        Assertions.assertEquals(1, metrics.getCutBoundaryMisses());
+        Assertions.assertEquals(0.75, metrics.getCutBoundaryHitRate(), TEST_EPS);
+    }
+
+    @Test
+    void testReset() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+        metrics.operationCompleted(Operation.MERGE, 1, 10);
+        metrics.cutBoundaryRequested(true);
+
+        // act
+        metrics.reset();
+
+        // assert
+        Assertions.assertEquals(0, metrics.getCount(Operation.MERGE));
+        Assertions.assertEquals(0, metrics.getNanos(Operation.MERGE));
+        Assertions.assertEquals(0, metrics.getCutBoundaryHits());
+    }
+
+    @Test
+    void testTreeOperations() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        final TestBSPTree tree = new TestBSPTree();
+        tree.setListener(metrics);
+
+        // act
+        tree.getRoot().cut(TestLine.X_AXIS);
+        tree.insert(new TestLineSegment(0, -1, 0, 1));
+
+        // assert
+        Assertions.assertSame(metrics, tree.getListener());
+
+        Assertions.assertEquals(1, metrics.getCount(Operation.CUT));
+        Assertions.assertEquals(1, metrics.getCount(Operation.INSERT));
+        Assertions.assertTrue(metrics.getNanos(Operation.CUT) >= 0);
+    }
+
+    @Test
+    void testRegionTreeOperations() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        final TestRegionBSPTree other = new TestRegionBSPTree(false);
+        other.getRoot().cut(TestLine.Y_AXIS);
+
+        tree.setListener(metrics);
+
+        // act
+        tree.union(other);
+
+        // assert
+        Assertions.assertEquals(1, metrics.getCount(Operation.MERGE));
+        Assertions.assertTrue(metrics.getCount(Operation.SPLIT_LEAF_NODE) > 0);
+        Assertions.assertTrue(metrics.getCount(Operation.SPLIT_INTERNAL_NODE) > 0);
+
+        // act
+        tree.getBoundaries();
+        tree.getBoundaries();
+
+        // assert
+        Assertions.assertEquals(tree.count() / 2, metrics.getCutBoundaryMisses());
+        Assertions.assertEquals(tree.count() / 2, metrics.getCutBoundaryHits());
+
+        // act
+        final TestRegionBSPTree condensed = new TestRegionBSPTree(false);
+        condensed.getRoot().cut(TestLine.X_AXIS);
+        condensed.getRoot().getPlus().setLocation(RegionLocation.INSIDE);
+
+        metrics.reset();
+        condensed.setListener(metrics);
+        condensed.condense();
+
+        // assert
+        Assertions.assertEquals(1, metrics.getCount(Operation.CONDENSE));
+        Assertions.assertEquals(2, metrics.getItemCount(Operation.CONDENSE));
+    }
+
+    @Test
+    void testListenerRemoved() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+
+        final TestBSPTree tree = new TestBSPTree();
+        tree.setListener(metrics);
+        tree.setListener(null);
+
+        // act
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        // assert
+        Assertions.assertNull(tree.getListener());
+        Assertions.assertEquals(0, metrics.getCount(Operation.CUT));
+    }
+
+    @Test
+    void testToString() {
+        // arrange
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+        metrics.operationCompleted(Operation.CUT, 1, 7);
+
+        // act
+        final String str = metrics.toString();
+
+        // assert
+        Assertions.assertTrue(str.startsWith("BSPTreeMetrics[CUT= (count= 1, nanos= 7)"));
+        Assertions.assertTrue(str.endsWith("cutBoundaryHitRate= 0.0]"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BSPTreeStatisticsTest {
+
+    private static final double TEST_EPS = 1e-15;
+
+    @Test
+    void testFrom_singleNode() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+
+        // act
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(tree);
+
+        // assert
+        Assertions.assertEquals(1, stats.getNodeCount());
+        Assertions.assertEquals(1, stats.getLeafCount());
+        Assertions.assertEquals(0, stats.getInternalNodeCount());
+        Assertions.assertEquals(0, stats.getInsideLeafCount());
+        Assertions.assertEquals(0, stats.getOutsideLeafCount());
+        Assertions.assertEquals(0, stats.getHeight());
+        Assertions.assertArrayEquals(new int[] {1}, stats.getLeafDepthHistogram());
+        Assertions.assertEquals(0.0, stats.getAverageQueryDepth(), TEST_EPS);
+        Assertions.assertEquals(0.0, stats.getWeightedQueryDepth(), TEST_EPS);
+        Assertions.assertEquals(0, stats.getCachedCutBoundaryCount());
+        Assertions.assertEquals(0.0, stats.getCachedCutBoundaryFraction(), TEST_EPS);
+    }
+
+    @Test
+    void testFrom_unbalancedTree() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS)
+            .getMinus().cut(TestLine.Y_AXIS)
+            .getMinus().cut(new TestLine(new TestPoint2D(-1, 1), new TestPoint2D(1, -1)));
+
+        // act
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(tree);
+
+        // assert
+        Assertions.assertEquals(tree.count(), stats.getNodeCount());
+        Assertions.assertEquals(4, stats.getLeafCount());
+        Assertions.assertEquals(3, stats.getInternalNodeCount());
+        Assertions.assertEquals(tree.height(), stats.getHeight());
+        Assertions.assertArrayEquals(new int[] {0, 1, 1, 2}, stats.getLeafDepthHistogram());
+
+        Assertions.assertEquals((1 + 2 + 3 + 3) / 4.0, stats.getAverageQueryDepth(), TEST_EPS);
+        Assertions.assertEquals((0.5 * 1) + (0.25 * 2) + (0.125 * 3) + (0.125 * 3),
+                stats.getWeightedQueryDepth(), TEST_EPS);
+    }
+
+    @Test
+    void testFrom_customLeafWeights() {
+        // arrange
+        final TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS)
+            .getMinus().cut(TestLine.Y_AXIS);
+
+        // act
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(tree, n -> n.depth() == 1 ? 3 : 1);
+        final BSPTreeStatistics zeroWeightStats = BSPTreeStatistics.from(tree, n -> 0);
+
+        // assert
+        Assertions.assertEquals(((3 * 1) + (1 * 2) + (1 * 2)) / 5.0, stats.getWeightedQueryDepth(), TEST_EPS);
+        Assertions.assertTrue(Double.isNaN(zeroWeightStats.getWeightedQueryDepth()));
+    }
+
+    @Test
+    void testFrom_regionTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        final TestRegionNode root = tree.getRoot();
+        root.cut(TestLine.X_AXIS)
+            .getMinus().cut(TestLine.Y_AXIS);
+
+        // act
+        final BSPTreeStatistics before = BSPTreeStatistics.from(tree);
+
+        root.getCutBoundary();
+
+        final BSPTreeStatistics after = BSPTreeStatistics.from(tree);
+
+        tree.getBoundaries();
+
+        final BSPTreeStatistics all = BSPTreeStatistics.from(tree);
+
+        // assert
+        Assertions.assertEquals(5, before.getNodeCount());
+        Assertions.assertEquals(1, before.getInsideLeafCount());
+        Assertions.assertEquals(2, before.getOutsideLeafCount());
+
+        Assertions.assertEquals(0, before.getCachedCutBoundaryCount());
+        Assertions.assertEquals(1, after.getCachedCutBoundaryCount());
+        Assertions.assertEquals(0.5, after.getCachedCutBoundaryFraction(), TEST_EPS);
+        Assertions.assertEquals(2, all.getCachedCutBoundaryCount());
+        Assertions.assertEquals(1.0, all.getCachedCutBoundaryFraction(), TEST_EPS);
+    }
+
+    @Test
+    void testFrom_regionTree_staleCutBoundariesNotCounted() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        tree.getRoot().cut(TestLine.X_AXIS);
+        tree.getBoundaries();
+
+        // act
+        tree.getRoot().getPlus().cut(TestLine.Y_AXIS);
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(tree);
+
+        // assert
+        Assertions.assertEquals(0, stats.getCachedCutBoundaryCount());
+    }
+
+    @Test
+    void testGetLeafDepthHistogram_returnsCopy() {
+        // arrange
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(new TestBSPTree());
+
+        // act
+        stats.getLeafDepthHistogram()[0] = 10;
+
+        // assert
+        Assertions.assertArrayEquals(new int[] {1}, stats.getLeafDepthHistogram());
+    }
+
+    @Test
+    void testToString() {
+        // arrange
+        final BSPTreeStatistics stats = BSPTreeStatistics.from(new TestBSPTree());
+
+        // act
+        final String str = stats.toString();
+
+        // assert
+        Assertions.assertTrue(str.startsWith("BSPTreeStatistics[nodeCount= 1, leafCount= 1"));
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.BSPTree.FindNodeCutRule;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompactRegionNodeStoreTest {
+
+    @Test
+    void testFrom_singleNode() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(false);
+
+        // act
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // assert
+        Assertions.assertEquals(1, store.getNodeCount());
+        Assertions.assertEquals(0, store.getHyperplaneCount());
+
+        Assertions.assertEquals(0, store.getRoot());
+        Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getParent(0));
+        Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getMinus(0));
+        Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getPlus(0));
+        Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getCutHyperplaneIndex(0));
+        Assertions.assertNull(store.getCutHyperplane(0));
+
+        Assertions.assertTrue(store.isLeaf(0));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, store.getLocation(0));
+    }
+
+    @Test
+    void testFrom_matchesTreeStructure() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+
+        // act
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // assert
+        Assertions.assertEquals(tree.count(), store.getNodeCount());
+
+        final List<TestRegionNode> nodes = new ArrayList<>();
+        tree.nodes().forEach(nodes::add);
+
+        Assertions.assertEquals(nodes.size(), store.getNodeCount());
+        for (int i = 0; i < nodes.size(); ++i) {
+            final TestRegionNode node = nodes.get(i);
+
+            Assertions.assertEquals(node.isLeaf(), store.isLeaf(i));
+            Assertions.assertEquals(node.getLocation(), store.getLocation(i));
+            Assertions.assertSame(node.getCutHyperplane(), store.getCutHyperplane(i));
+
+            if (node.getParent() == null) {
+                Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getParent(i));
+            } else {
+                Assertions.assertEquals(nodes.indexOf(node.getParent()), store.getParent(i));
+            }
+
+            if (node.isInternal()) {
+                Assertions.assertEquals(nodes.indexOf(node.getMinus()), store.getMinus(i));
+                Assertions.assertEquals(nodes.indexOf(node.getPlus()), store.getPlus(i));
+            }
+        }
+    }
+
+    @Test
+    void testFrom_sharedHyperplanesAreInterned() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+
+        final TestRegionNode root = tree.getRoot();
+        root.insertCut(TestLine.X_AXIS);
+        root.getMinus().insertCut(TestLine.Y_AXIS);
+        root.getPlus().insertCut(TestLine.Y_AXIS);
+
+        // act
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // assert
+        Assertions.assertEquals(7, store.getNodeCount());
+        Assertions.assertEquals(2, store.getHyperplaneCount());
+        Assertions.assertEquals(Arrays.asList(TestLine.X_AXIS, TestLine.Y_AXIS), store.getHyperplanes());
+
+        Assertions.assertEquals(store.getCutHyperplaneIndex(store.getMinus(0)),
+                store.getCutHyperplaneIndex(store.getPlus(0)));
+    }
+
+    @Test
+    void testGetHyperplanes_unmodifiable() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        tree.getRoot().insertCut(TestLine.X_AXIS);
+
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // act/assert
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> store.getHyperplanes().clear());
+    }
+
+    @Test
+    void testFindNode() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        tree.getRoot().insertCut(TestLine.X_AXIS);
+
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        final int minus = store.getMinus(0);
+        final int plus = store.getPlus(0);
+
+        // act/assert
+        Assertions.assertEquals(minus, store.findNode(new TestPoint2D(0, 1), FindNodeCutRule.NODE));
+        Assertions.assertEquals(plus, store.findNode(new TestPoint2D(0, -1), FindNodeCutRule.NODE));
+
+        Assertions.assertEquals(0, store.findNode(TestPoint2D.ZERO, FindNodeCutRule.NODE));
+        Assertions.assertEquals(minus, store.findNode(TestPoint2D.ZERO, FindNodeCutRule.MINUS));
+        Assertions.assertEquals(plus, store.findNode(TestPoint2D.ZERO, FindNodeCutRule.PLUS));
+    }
+
+    @Test
+    void testClassify_matchesTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // act/assert
+        for (double x = -6; x <= 6; x += 0.5) {
+            for (double y = -6; y <= 6; y += 0.5) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(tree.classify(pt), store.classify(pt), "Unexpected location for " + pt);
+            }
+        }
+    }
+
+    @Test
+    void testClassify_onCut() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree);
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.BOUNDARY, store.classify(new TestPoint2D(4, 5)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, store.classify(new TestPoint2D(-4, 0)));
+        Assertions.assertEquals(RegionLocation.INSIDE, store.classify(new TestPoint2D(0, 0)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, store.classify(new TestPoint2D(5, 0)));
+    }
+
+    @Test
+    void testClassify_NaN() {
+        // arrange
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(new TestRegionBSPTree(true));
+
+        // act/assert
+        Assertions.assertEquals(RegionLocation.OUTSIDE, store.classify(new TestPoint2D(0, Double.NaN)));
+    }
+
+    @Test
+    void testTreeClassify_useCompactNodeStore() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+
+        // act
+        tree.setUseCompactNodeStore(true);
+
+        // assert
+        Assertions.assertTrue(tree.isUseCompactNodeStore());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(3, 1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(3, -1)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, tree.classify(new TestPoint2D(2, 0)));
+    }
+
+    @Test
+    void testGetCompactNodeStore_cachedUntilModified() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        tree.setUseCompactNodeStore(true);
+
+        final CompactRegionNodeStore<TestPoint2D> initial = tree.getCompactNodeStore();
+
+        // act/assert
+        Assertions.assertSame(initial, tree.getCompactNodeStore());
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(0, 1)));
+
+        tree.getRoot().insertCut(TestLine.X_AXIS);
+
+        final CompactRegionNodeStore<TestPoint2D> afterCut = tree.getCompactNodeStore();
+        Assertions.assertNotSame(initial, afterCut);
+        Assertions.assertEquals(3, afterCut.getNodeCount());
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(0, 1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(0, -1)));
+
+        tree.complement();
+
+        Assertions.assertNotSame(afterCut, tree.getCompactNodeStore());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(0, 1)));
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(0, -1)));
+    }
+
+    @Test
+    void testFromShared_singleNode() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(true);
+
+        // act
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree, true);
+
+        // assert
+        Assertions.assertTrue(store.hasSharedSubtrees());
+        Assertions.assertEquals(1, store.getNodeCount());
+        Assertions.assertEquals(CompactRegionNodeStore.NONE, store.getParent(0));
+        Assertions.assertTrue(store.isLeaf(0));
+        Assertions.assertEquals(RegionLocation.INSIDE, store.getLocation(0));
+    }
+
+    @Test
+    void testFromShared_identicalSubtreesAreShared() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        final TestRegionNode root = tree.getRoot();
+        root.insertCut(TestLine.Y_AXIS);
+        root.getMinus().insertCut(TestLine.X_AXIS);
+        root.getPlus().insertCut(TestLine.X_AXIS);
+
+        // act
+        final CompactRegionNodeStore<TestPoint2D> unshared = CompactRegionNodeStore.from(tree, false);
+        final CompactRegionNodeStore<TestPoint2D> shared = CompactRegionNodeStore.from(tree, true);
+
+        // assert
+        Assertions.assertFalse(unshared.hasSharedSubtrees());
+        Assertions.assertEquals(7, unshared.getNodeCount());
+
+        Assertions.assertTrue(shared.hasSharedSubtrees());
+        Assertions.assertEquals(4, shared.getNodeCount());
+        Assertions.assertEquals(2, shared.getHyperplaneCount());
+
+        final int child = shared.getMinus(0);
+        Assertions.assertSame(TestLine.Y_AXIS, shared.getCutHyperplane(0));
+        Assertions.assertEquals(child, shared.getPlus(0));
+        Assertions.assertEquals(0, shared.getParent(child));
+        Assertions.assertSame(TestLine.X_AXIS, shared.getCutHyperplane(child));
+
+        final int minusLeaf = shared.getMinus(child);
+        final int plusLeaf = shared.getPlus(child);
+        Assertions.assertTrue(child < minusLeaf);
+        Assertions.assertTrue(child < plusLeaf);
+        Assertions.assertEquals(child, shared.getParent(minusLeaf));
+        Assertions.assertEquals(RegionLocation.INSIDE, shared.getLocation(minusLeaf));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, shared.getLocation(plusLeaf));
+    }
+
+    @Test
+    void testFromShared_classifyMatchesTree() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+
+        final CompactRegionNodeStore<TestPoint2D> store = CompactRegionNodeStore.from(tree, true);
+
+        // act/assert
+        Assertions.assertTrue(store.getNodeCount() < tree.count());
+
+        for (double x = -6; x <= 6; x += 0.5) {
+            for (double y = -6; y <= 6; y += 0.5) {
+                final TestPoint2D pt = new TestPoint2D(x, y);
+                Assertions.assertEquals(tree.classify(pt), store.classify(pt), "Unexpected location for " + pt);
+                Assertions.assertEquals(tree.findNode(pt, FindNodeCutRule.MINUS).getLocation(),
+                        store.getLocation(store.findNode(pt, FindNodeCutRule.MINUS)));
+            }
+        }
+
+        Assertions.assertEquals(RegionLocation.BOUNDARY, store.classify(new TestPoint2D(4, 5)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, store.classify(new TestPoint2D(-4, 0)));
+    }
+
+    @Test
+    void testTreeClassify_shareCompactNodeSubtrees() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        insertSkewedBowtie(tree);
+        tree.setUseCompactNodeStore(true);
+
+        final CompactRegionNodeStore<TestPoint2D> unshared = tree.getCompactNodeStore();
+
+        // act
+        tree.setShareCompactNodeSubtrees(true);
+
+        // assert
+        Assertions.assertTrue(tree.isShareCompactNodeSubtrees());
+
+        final CompactRegionNodeStore<TestPoint2D> shared = tree.getCompactNodeStore();
+        Assertions.assertNotSame(unshared, shared);
+        Assertions.assertTrue(shared.hasSharedSubtrees());
+        Assertions.assertSame(shared, tree.getCompactNodeStore());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(3, 1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(3, -1)));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, tree.classify(new TestPoint2D(2, 0)));
+
+        tree.setShareCompactNodeSubtrees(true);
+        Assertions.assertSame(shared, tree.getCompactNodeStore());
+
+        tree.setShareCompactNodeSubtrees(false);
+        Assertions.assertFalse(tree.getCompactNodeStore().hasSharedSubtrees());
+    }
+
+    @Test
+    void testToString() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        tree.getRoot().insertCut(TestLine.X_AXIS);
+
+        // act
+        final String str = CompactRegionNodeStore.from(tree).toString();
+
+        // assert
+        Assertions.assertEquals("CompactRegionNodeStore[nodeCount= 3, hyperplaneCount= 1, sharedSubtrees= false]", str);
+    }
+
+    private static void insertSkewedBowtie(final TestRegionBSPTree tree) {
+        tree.insert(Arrays.asList(
+                new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)),
+
+                new TestLineSegment(new TestPoint2D(4, 0), new TestPoint2D(4, 1)),
+                new TestLineSegment(new TestPoint2D(-4, 0), new TestPoint2D(-4, -1)),
+
+                new TestLineSegment(new TestPoint2D(4, 5), new TestPoint2D(-1, 0)),
+                new TestLineSegment(new TestPoint2D(-4, -5), new TestPoint2D(1, 0))));
+    }
+}
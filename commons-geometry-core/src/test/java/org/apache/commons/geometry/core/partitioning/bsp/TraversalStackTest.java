@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TraversalStackTest {
+
+    @Test
+    void testEmpty() {
+        // arrange
+        final TraversalStack<String> stack = new TraversalStack<>();
+
+        // act/assert
+        Assertions.assertTrue(stack.isEmpty());
+        Assertions.assertEquals(0, stack.size());
+
+        Assertions.assertThrows(NoSuchElementException.class, stack::peek);
+        Assertions.assertThrows(NoSuchElementException.class, stack::peekState);
+        Assertions.assertThrows(NoSuchElementException.class, () -> stack.setState(1));
+        Assertions.assertThrows(NoSuchElementException.class, stack::pop);
+    }
+
+    @Test
+    void testPushPop() {
+        // arrange
+        final TraversalStack<String> stack = new TraversalStack<>();
+
+        // act
+        stack.push("a");
+        stack.push(null, 2);
+        stack.push("c", 3);
+
+        // assert
+        Assertions.assertFalse(stack.isEmpty());
+        Assertions.assertEquals(3, stack.size());
+
+        Assertions.assertEquals("c", stack.peek());
+        Assertions.assertEquals(3, stack.peekState());
+        Assertions.assertEquals("c", stack.pop());
+
+        Assertions.assertNull(stack.peek());
+        Assertions.assertEquals(2, stack.peekState());
+        Assertions.assertNull(stack.pop());
+
+        Assertions.assertEquals("a", stack.peek());
+        Assertions.assertEquals(0, stack.peekState());
+        Assertions.assertEquals("a", stack.pop());
+
+        Assertions.assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    void testSetState() {
+        // arrange
+        final TraversalStack<String> stack = new TraversalStack<>();
+        stack.push("a", 1);
+        stack.push("b", 2);
+
+        // act
+        stack.setState(5);
+
+        // assert
+        Assertions.assertEquals(5, stack.peekState());
+        Assertions.assertEquals("b", stack.pop());
+        Assertions.assertEquals(1, stack.peekState());
+    }
+
+    @Test
+    void testGet() {
+        // arrange
+        final TraversalStack<String> stack = new TraversalStack<>();
+        stack.push("a", 1);
+        stack.push("b", 2);
+
+        // act/assert
+        Assertions.assertEquals("a", stack.get(0));
+        Assertions.assertEquals(1, stack.getState(0));
+        Assertions.assertEquals("b", stack.get(1));
+        Assertions.assertEquals(2, stack.getState(1));
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> stack.get(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> stack.get(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> stack.getState(2));
+    }
+
+    @Test
+    void testClear() {
+        // arrange
+        final TraversalStack<String> stack = new TraversalStack<>();
+        stack.push("a");
+        stack.push("b");
+
+        // act
+        stack.clear();
+
+        // assert
+        Assertions.assertTrue(stack.isEmpty());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> stack.get(0));
+
+        stack.push("c");
+        Assertions.assertEquals("c", stack.pop());
+    }
+
+    @Test
+    void testGrowth() {
+        // arrange
+        final TraversalStack<Integer> stack = new TraversalStack<>();
+        final int count = 1000;
+
+        // act
+        for (int i = 0; i < count; ++i) {
+            stack.push(i, -i);
+        }
+
+        // assert
+        Assertions.assertEquals(count, stack.size());
+
+        for (int i = count - 1; i >= 0; --i) {
+            Assertions.assertEquals(-i, stack.peekState());
+            Assertions.assertEquals(Integer.valueOf(i), stack.pop());
+        }
+
+        Assertions.assertTrue(stack.isEmpty());
+    }
+}
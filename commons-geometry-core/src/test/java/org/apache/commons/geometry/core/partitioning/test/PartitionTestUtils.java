@@ -18,6 +18,7 @@ package org.apache.commons.geometry.core.partitioning.test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.Region;
@@ -37,6 +38,8 @@ public final class PartitionTestUtils {
     public static final Precision.DoubleEquivalence PRECISION =
             Precision.doubleEquivalenceOfEpsilon(EPS);
 
+    /** Stack size used by {@link #runWithSmallStack(Runnable)}. */
+    private static final long SMALL_STACK_SIZE = 256 * 1024;
 
     private PartitionTestUtils() {}
 
@@ -151,4 +154,37 @@ public final class PartitionTestUtils {
             assertTreeStructureRecursive(tree, node.getMinus(), expectedDepth + 1);
         }
     }
+
+    /** Run the given action in a new thread with a small stack, waiting for it to complete. Any
+     * error or runtime exception thrown by the action, including assertion failures and
+     * {@link StackOverflowError}s, is rethrown in the calling thread. This is used to check that
+     * operations on very deep trees do not depend on the call stack.
+     * @param action action to run
+     */
+    public static void runWithSmallStack(final Runnable action) {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final Thread thread = new Thread(null, () -> {
+            try {
+                action.run();
+            } catch (final Throwable exc) {
+                error.set(exc);
+            }
+        }, "small-stack", SMALL_STACK_SIZE);
+
+        thread.start();
+        try {
+            thread.join();
+        } catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exc);
+        }
+
+        final Throwable thrown = error.get();
+        if (thrown instanceof Error) {
+            throw (Error) thrown;
+        } else if (thrown != null) {
+            throw (RuntimeException) thrown;
+        }
+    }
 }
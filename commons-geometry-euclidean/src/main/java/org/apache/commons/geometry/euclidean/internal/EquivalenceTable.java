@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+
+import org.apache.commons.numbers.core.Precision;
+
+/** Table mapping values to canonical representatives that are equivalent under a floating point
+ * precision context. Values are described by a fixed number of coordinates and are considered
+ * equivalent when the given equivalence predicate returns true. The predicate must only return true
+ * for values whose coordinates are each equivalent under the precision context of the table.
+ *
+ * <p>Values are indexed by the normalized weighted sum of their coordinates. Since the key of a value
+ * differs from the key of any equivalent value by no more than the coordinate tolerance, the candidates
+ * for a lookup are found by walking outward from the key of the value in sorted order until a key is reached
+ * that is not equivalent to it. This avoids the need to know the actual tolerance of the precision context.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ * @param <T> Value type
+ */
+public final class EquivalenceTable<T> {
+
+    /** Weights applied to value coordinates when computing keys. Distinct, incommensurate weights are used
+     * so that values with permuted coordinates receive different keys.
+     */
+    private static final double[] WEIGHTS = {
+        1.0,
+        0.6180339887498949,
+        0.3819660112501051,
+        0.2360679774997897,
+        0.1458980337503155,
+        0.0901699437494742
+    };
+
+    /** Values in the table indexed by key. */
+    private final NavigableMap<Double, List<T>> entries = new TreeMap<>();
+
+    /** Precision context used to compare keys. */
+    private final Precision.DoubleEquivalence precision;
+
+    /** Predicate used to determine if two values are equivalent. */
+    private final BiPredicate<T, T> equivalence;
+
+    /** Number of canonical values in the table. */
+    private int size;
+
+    /** Construct a new, empty table.
+     * @param precision precision context used to compare value coordinates
+     * @param equivalence predicate returning true if two values are equivalent
+     */
+    public EquivalenceTable(final Precision.DoubleEquivalence precision, final BiPredicate<T, T> equivalence) {
+        this.precision = precision;
+        this.equivalence = equivalence;
+    }
+
+    /** Get the number of canonical values in the table.
+     * @return the number of canonical values in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Get the canonical value equivalent to the given value. If the table does not contain an
+     * equivalent value, the given value is added to the table and returned. Values with non-finite
+     * coordinates are returned as-is and are not added to the table.
+     * @param value value to find the canonical value for
+     * @param coordinates coordinates of the value; at most 6 coordinates are supported
+     * @return the canonical value equivalent to {@code value}
+     * @throws IllegalArgumentException if more than 6 coordinates are given
+     */
+    public T intern(final T value, final double... coordinates) {
+        final double key = computeKey(coordinates);
+        if (!Double.isFinite(key)) {
+            return value;
+        }
+
+        T match = findMatch(entries.tailMap(key, true), value, key);
+        if (match == null) {
+            match = findMatch(entries.headMap(key, false).descendingMap(), value, key);
+        }
+
+        if (match != null) {
+            return match;
+        }
+
+        entries.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+        ++size;
+
+        return value;
+    }
+
+    /** Search the given map in iteration order for a value equivalent to {@code value}, stopping at the
+     * first key that is not equivalent to {@code key}.
+     * @param map map to search
+     * @param value value to find a match for
+     * @param key key of the value
+     * @return an equivalent value or null if not found
+     */
+    private T findMatch(final Map<Double, List<T>> map, final T value, final double key) {
+        for (final Map.Entry<Double, List<T>> entry : map.entrySet()) {
+            if (!precision.eq(entry.getKey(), key)) {
+                break;
+            }
+
+            for (final T candidate : entry.getValue()) {
+                if (equivalence.test(candidate, value)) {
+                    return candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /** Compute the key for the given coordinates. The key is the weighted sum of the coordinates divided by the
+     * sum of the weights, so that keys of values whose coordinates each differ by at most the tolerance
+     * also differ by at most the tolerance.
+     * @param coordinates value coordinates
+     * @return the key for the coordinates
+     * @throws IllegalArgumentException if more than 6 coordinates are given
+     */
+    private static double computeKey(final double[] coordinates) {
+        if (coordinates.length > WEIGHTS.length) {
+            throw new IllegalArgumentException("Cannot compute equivalence key: at most " + WEIGHTS.length +
+                    " coordinates are supported but found " + coordinates.length);
+        }
+
+        double sum = 0;
+        double weightSum = 0;
+        for (int i = 0; i < coordinates.length; ++i) {
+            sum += WEIGHTS[i] * coordinates[i];
+            weightSum += WEIGHTS[i];
+        }
+
+        return sum / weightSum;
+    }
+}
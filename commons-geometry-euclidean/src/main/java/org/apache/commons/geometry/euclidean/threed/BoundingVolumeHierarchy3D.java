@@ -0,0 +1,775 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
+import org.apache.commons.numbers.core.Precision;
+
+/** Immutable bounding volume hierarchy (BVH) over the boundaries of a {@link BoundarySource3D}, used to
+ * accelerate linecast operations. The boundaries are grouped into a binary tree of axis-aligned bounding
+ * boxes so that linecasts only test the boundaries in boxes intersected by the line subset, giving
+ * logarithmic rather than linear cost per linecast for typical inputs. Linecast results are the same as those
+ * returned by the default {@link BoundarySource3D#linecast(LineConvexSubset3D) linecast} methods of the
+ * boundary source.
+ *
+ * <p>The hierarchy is constructed top-down, splitting each node at the candidate position that minimizes
+ * the surface area heuristic (SAH) cost estimated over a fixed number of bins of boundary centroids. The two
+ * halves of large nodes may optionally be constructed in parallel using a {@link ForkJoinPool}. Nodes are
+ * stored in depth-first order in flat arrays of bounding box coordinates and child or boundary indices.
+ * Infinite boundaries, which have no bounding box, are stored separately and tested in every linecast.</p>
+ *
+ * <p>Instances reflect the boundaries of the source at the time of construction and can be queried
+ * concurrently by any number of threads without synchronization.</p>
+ * @see <a href="https://en.wikipedia.org/wiki/Bounding_volume_hierarchy">Bounding volume hierarchy</a>
+ */
+public final class BoundingVolumeHierarchy3D implements Linecastable3D {
+
+    /** Number of values stored for each bounding box. */
+    private static final int BOX_STRIDE = 6;
+
+    /** Maximum number of boundaries stored in a leaf node. Nodes with at most this many boundaries
+     * are not split.
+     */
+    private static final int MAX_LEAF_SIZE = 4;
+
+    /** Number of bins used to evaluate candidate split positions along each axis. */
+    private static final int BIN_COUNT = 16;
+
+    /** Cost of traversing an internal node, relative to the cost of intersecting a single boundary. */
+    private static final double TRAVERSAL_COST = 1.0;
+
+    /** Minimum number of boundaries in a node for its children to be constructed as separate parallel
+     * tasks.
+     */
+    private static final int MIN_PARALLEL_BUILD_SIZE = 4096;
+
+    /** Finite boundaries in leaf order. */
+    private final PlaneConvexSubset[] boundaries;
+
+    /** Infinite boundaries. */
+    private final PlaneConvexSubset[] infiniteBoundaries;
+
+    /** Node bounding boxes, stored as consecutive {@code (minX, minY, minZ, maxX, maxY, maxZ)} groups
+     * in node order.
+     */
+    private final double[] nodeBounds;
+
+    /** Node data, stored as two values per node. For leaf nodes, these are the index of the first
+     * boundary of the leaf in {@link #boundaries} and the (positive) boundary count. For internal nodes,
+     * these are the index of the plus child and the value {@code -1}. The minus child of an internal
+     * node always directly follows its parent.
+     */
+    private final int[] nodeData;
+
+    /** Maximum depth of any node, with the root at depth zero. */
+    private final int depth;
+
+    /** Construct a new instance from its components.
+     * @param boundaries finite boundaries in leaf order
+     * @param infiniteBoundaries infinite boundaries
+     * @param nodeBounds node bounding boxes
+     * @param nodeData node data
+     * @param depth maximum depth of any node
+     */
+    private BoundingVolumeHierarchy3D(final PlaneConvexSubset[] boundaries,
+            final PlaneConvexSubset[] infiniteBoundaries, final double[] nodeBounds, final int[] nodeData,
+            final int depth) {
+        this.boundaries = boundaries;
+        this.infiniteBoundaries = infiniteBoundaries;
+        this.nodeBounds = nodeBounds;
+        this.nodeData = nodeData;
+        this.depth = depth;
+    }
+
+    /** Get the total number of boundaries in the hierarchy, including infinite boundaries.
+     * @return the total number of boundaries in the hierarchy
+     */
+    public int getBoundaryCount() {
+        return boundaries.length + infiniteBoundaries.length;
+    }
+
+    /** Get the number of nodes in the hierarchy. This is zero if the hierarchy contains no finite
+     * boundaries.
+     * @return the number of nodes in the hierarchy
+     */
+    public int getNodeCount() {
+        return nodeData.length / 2;
+    }
+
+    /** Get the maximum depth of any node in the hierarchy, with the root node at depth zero. Zero
+     * is returned if the hierarchy contains no nodes.
+     * @return the maximum depth of any node in the hierarchy
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Get the bounding box of the finite boundaries in the hierarchy. Null is returned if
+     * the hierarchy does not contain any finite boundaries.
+     * @return the bounding box of the finite boundaries in the hierarchy or null if there are none
+     */
+    public Bounds3D getBounds() {
+        if (nodeBounds.length == 0) {
+            return null;
+        }
+        return Bounds3D.from(
+                Vector3D.of(nodeBounds[0], nodeBounds[1], nodeBounds[2]),
+                Vector3D.of(nodeBounds[3], nodeBounds[4], nodeBounds[5]));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
+        final Linecaster linecaster = new Linecaster(subset, false);
+        linecaster.linecast();
+
+        final List<LinecastPoint3D> results = linecaster.results;
+        LinecastPoint3D.sortAndFilter(results);
+
+        return results;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
+        final Linecaster linecaster = new Linecaster(subset, true);
+        linecaster.linecast();
+
+        return linecaster.closest;
+    }
+
+    /** Construct a new bounding volume hierarchy containing the boundaries of the given boundary
+     * source. The boundary source is read once; later changes to it are not reflected in the result.
+     * This method can be used with any boundary source, including {@link
+     * org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh TriangleMesh} instances.
+     * @param src boundary source
+     * @return a new bounding volume hierarchy containing the boundaries of {@code src}
+     */
+    public static BoundingVolumeHierarchy3D from(final BoundarySource3D src) {
+        return from(src, null);
+    }
+
+    /** Construct a new bounding volume hierarchy containing the boundaries of the given boundary
+     * source, constructing large subtrees in parallel using the given pool. The boundary source is read
+     * once; later changes to it are not reflected in the result. The resulting hierarchy is the same as
+     * that constructed by {@link #from(BoundarySource3D)}.
+     * @param src boundary source
+     * @param pool pool used to construct the hierarchy in parallel; if null, the hierarchy is constructed
+     *      sequentially in the calling thread
+     * @return a new bounding volume hierarchy containing the boundaries of {@code src}
+     */
+    public static BoundingVolumeHierarchy3D from(final BoundarySource3D src, final ForkJoinPool pool) {
+        final List<PlaneConvexSubset> finite = new ArrayList<>();
+        final List<PlaneConvexSubset> infinite = new ArrayList<>();
+
+        try (Stream<PlaneConvexSubset> stream = src.boundaryStream()) {
+            stream.forEach(b -> (b.isFinite() ? finite : infinite).add(b));
+        }
+
+        return new Builder(finite, pool).build(infinite);
+    }
+
+    /** Class performing a single linecast operation against the hierarchy. Nodes are visited
+     * using an explicit stack, with the child box nearest to the start of the line subset visited first.
+     */
+    private final class Linecaster {
+
+        /** Line subset to intersect with the boundaries. */
+        private final LineConvexSubset3D subset;
+
+        /** Precision context of the line. */
+        private final Precision.DoubleEquivalence precision;
+
+        /** Line origin coordinates. */
+        private final double[] origin;
+
+        /** Line direction coordinates. */
+        private final double[] dir;
+
+        /** If true, only the closest intersection is computed. */
+        private final boolean firstOnly;
+
+        /** Results of the operation when all intersections are computed. */
+        private final List<LinecastPoint3D> results = new ArrayList<>();
+
+        /** Closest intersection found so far when only the closest intersection is computed. */
+        private LinecastPoint3D closest;
+
+        /** Create a new instance for the given line subset.
+         * @param subset line subset to intersect with the boundaries
+         * @param firstOnly if true, only the closest intersection is computed
+         */
+        Linecaster(final LineConvexSubset3D subset, final boolean firstOnly) {
+            final Line3D line = subset.getLine();
+
+            this.subset = subset;
+            this.precision = line.getPrecision();
+            this.origin = line.getOrigin().toArray();
+            this.dir = line.getDirection().toArray();
+            this.firstOnly = firstOnly;
+        }
+
+        /** Perform the linecast operation.
+         */
+        void linecast() {
+            for (final PlaneConvexSubset boundary : infiniteBoundaries) {
+                addIntersection(boundary);
+            }
+
+            if (nodeData.length == 0 || Double.isNaN(entryAbscissa(0))) {
+                return;
+            }
+
+            // each internal node visited pushes at most one child, so the stack never holds
+            // more than one node per level of the hierarchy
+            final int[] stack = new int[depth + 1];
+            int size = 0;
+            stack[size++] = 0;
+
+            while (size > 0) {
+                int node = stack[--size];
+
+                // skip nodes that can no longer contain a closer intersection
+                if (firstOnly && closest != null && Double.isNaN(entryAbscissa(node))) {
+                    node = -1;
+                }
+
+                while (node >= 0) {
+                    final int first = nodeData[2 * node];
+                    final int second = nodeData[(2 * node) + 1];
+
+                    if (second > 0) {
+                        // leaf node
+                        for (int i = first; i < first + second; ++i) {
+                            addIntersection(boundaries[i]);
+                        }
+                        node = -1;
+                    } else {
+                        final int minus = node + 1;
+                        final double minusEntry = entryAbscissa(minus);
+                        final double plusEntry = entryAbscissa(first);
+
+                        final boolean minusHit = !Double.isNaN(minusEntry);
+                        final boolean plusHit = !Double.isNaN(plusEntry);
+
+                        if (minusHit && plusHit) {
+                            if (minusEntry <= plusEntry) {
+                                stack[size++] = first;
+                                node = minus;
+                            } else {
+                                stack[size++] = minus;
+                                node = first;
+                            }
+                        } else if (minusHit) {
+                            node = minus;
+                        } else if (plusHit) {
+                            node = first;
+                        } else {
+                            node = -1;
+                        }
+                    }
+                }
+            }
+        }
+
+        /** Compute the intersection of the line subset with the given boundary and add it to the results.
+         * @param boundary boundary to intersect
+         */
+        private void addIntersection(final PlaneConvexSubset boundary) {
+            final Vector3D pt = boundary.intersection(subset);
+            if (pt != null) {
+                final LinecastPoint3D linecastPt =
+                        new LinecastPoint3D(pt, boundary.getPlane().getNormal(), subset.getLine());
+
+                if (!firstOnly) {
+                    results.add(linecastPt);
+                } else if (closest == null || LinecastPoint3D.ABSCISSA_ORDER.compare(linecastPt, closest) < 0) {
+                    closest = linecastPt;
+                }
+            }
+        }
+
+        /** Return the abscissa at which the line subset enters the bounding box of the given node or NaN
+         * if the line subset does not intersect the box. When only the closest intersection is computed,
+         * the parts of the line subset beyond the closest intersection found so far are ignored. As in
+         * {@link RegionBSPTree3D}, a miss is only reported if the line subset is separated from the box
+         * by more than the precision of the line.
+         * @param node node index
+         * @return the abscissa at which the line subset enters the node bounding box or NaN if the line
+         *      subset does not intersect the box
+         */
+        private double entryAbscissa(final int node) {
+            final int offset = node * BOX_STRIDE;
+
+            // clip the abscissa range of the line subset against the slabs of the bounding box,
+            // tracking the rate at which the line leaves each constraint so that the distance
+            // between the line and the box can be estimated when the range becomes empty
+            double near = subset.getSubspaceStart();
+            double nearRate = 1.0;
+            double far = subset.getSubspaceEnd();
+            double farRate = 1.0;
+
+            if (closest != null) {
+                far = Math.min(far, closest.getAbscissa());
+            }
+
+            for (int i = 0; i < 3; ++i) {
+                final double min = nodeBounds[offset + i];
+                final double max = nodeBounds[offset + 3 + i];
+
+                if (dir[i] == 0.0) {
+                    if (precision.lt(origin[i], min) || precision.gt(origin[i], max)) {
+                        return Double.NaN;
+                    }
+                } else {
+                    final double t1 = (min - origin[i]) / dir[i];
+                    final double t2 = (max - origin[i]) / dir[i];
+                    final double rate = Math.abs(dir[i]);
+
+                    final double entry = Math.min(t1, t2);
+                    if (entry > near) {
+                        near = entry;
+                        nearRate = rate;
+                    }
+
+                    final double exit = Math.max(t1, t2);
+                    if (exit < far) {
+                        far = exit;
+                        farRate = rate;
+                    }
+                }
+            }
+
+            if (near <= far) {
+                return near;
+            }
+
+            // the range is empty; compute a lower bound for the amount by which the line subset misses
+            // the box and only report a miss if it is not within the line precision
+            final double gap = (near - far) * nearRate * farRate / (nearRate + farRate);
+            return precision.gt(gap, 0.0) ?
+                    Double.NaN :
+                    far;
+        }
+    }
+
+    /** Class used to construct bounding volume hierarchies. Boundaries are referenced by their index
+     * in the input list and are reordered during construction by permuting an index array, so that each
+     * node under construction owns a contiguous range of the array. Subtrees constructed in parallel
+     * therefore never modify the same array elements.
+     */
+    private static final class Builder {
+
+        /** Finite boundaries in input order. */
+        private final List<PlaneConvexSubset> input;
+
+        /** Boundary bounding boxes, stored in the same format as node bounding boxes. */
+        private final double[] boxes;
+
+        /** Boundary bounding box centroids, stored as consecutive {@code (x, y, z)} groups. */
+        private final double[] centroids;
+
+        /** Boundary indices; reordered during construction. */
+        private final int[] order;
+
+        /** Pool used to construct subtrees in parallel; may be null. */
+        private final ForkJoinPool pool;
+
+        /** Construct a new builder for the given finite boundaries.
+         * @param input finite boundaries
+         * @param pool pool used to construct subtrees in parallel; may be null
+         */
+        Builder(final List<PlaneConvexSubset> input, final ForkJoinPool pool) {
+            final int count = input.size();
+
+            this.input = input;
+            this.boxes = new double[count * BOX_STRIDE];
+            this.centroids = new double[count * 3];
+            this.order = new int[count];
+            this.pool = pool;
+
+            for (int i = 0; i < count; ++i) {
+                final Bounds3D bounds = input.get(i).getBounds();
+                final Vector3D min = bounds.getMin();
+                final Vector3D max = bounds.getMax();
+
+                final int offset = i * BOX_STRIDE;
+                boxes[offset] = min.getX();
+                boxes[offset + 1] = min.getY();
+                boxes[offset + 2] = min.getZ();
+                boxes[offset + 3] = max.getX();
+                boxes[offset + 4] = max.getY();
+                boxes[offset + 5] = max.getZ();
+
+                for (int j = 0; j < 3; ++j) {
+                    centroids[(i * 3) + j] = 0.5 * (boxes[offset + j] + boxes[offset + 3 + j]);
+                }
+
+                order[i] = i;
+            }
+        }
+
+        /** Construct the hierarchy.
+         * @param infinite infinite boundaries
+         * @return the constructed hierarchy
+         */
+        BoundingVolumeHierarchy3D build(final List<PlaneConvexSubset> infinite) {
+            final PlaneConvexSubset[] infiniteArr = infinite.toArray(new PlaneConvexSubset[0]);
+
+            if (order.length == 0) {
+                return new BoundingVolumeHierarchy3D(new PlaneConvexSubset[0], infiniteArr,
+                        new double[0], new int[0], 0);
+            }
+
+            final BuildNode root;
+            if (pool != null && order.length >= 2 * MIN_PARALLEL_BUILD_SIZE) {
+                root = pool.invoke(new BuildTask(0, order.length));
+            } else {
+                root = buildNode(0, order.length);
+            }
+
+            // flatten the nodes in depth-first order
+            final double[] nodeBounds = new double[root.nodeCount * BOX_STRIDE];
+            final int[] nodeData = new int[root.nodeCount * 2];
+
+            final List<BuildNode> stack = new ArrayList<>();
+            stack.add(root);
+
+            int index = 0;
+            while (!stack.isEmpty()) {
+                final BuildNode node = stack.remove(stack.size() - 1);
+
+                System.arraycopy(node.bounds, 0, nodeBounds, index * BOX_STRIDE, BOX_STRIDE);
+                if (node.minus == null) {
+                    nodeData[2 * index] = node.start;
+                    nodeData[(2 * index) + 1] = node.count;
+                } else {
+                    nodeData[2 * index] = index + 1 + node.minus.nodeCount;
+                    nodeData[(2 * index) + 1] = -1;
+
+                    stack.add(node.plus);
+                    stack.add(node.minus);
+                }
+                ++index;
+            }
+
+            final PlaneConvexSubset[] boundaries = new PlaneConvexSubset[order.length];
+            for (int i = 0; i < order.length; ++i) {
+                boundaries[i] = input.get(order[i]);
+            }
+
+            return new BoundingVolumeHierarchy3D(boundaries, infiniteArr, nodeBounds, nodeData, root.depth);
+        }
+
+        /** Construct the subtree containing the boundaries with indices in the range {@code [start, end)}
+         * of the index array.
+         * @param start start of the index range
+         * @param end end of the index range
+         * @return the root of the constructed subtree
+         */
+        BuildNode buildNode(final int start, final int end) {
+            final int mid = split(start, end);
+            if (mid < 0) {
+                return new BuildNode(computeBounds(start, end), start, end - start);
+            }
+            return new BuildNode(buildNode(start, mid), buildNode(mid, end));
+        }
+
+        /** Partition the boundaries with indices in the range {@code [start, end)} of the index array
+         * using the split that minimizes the surface area heuristic cost. The index of the first boundary
+         * in the second partition is returned, or -1 if the range should not be split.
+         * @param start start of the index range
+         * @param end end of the index range
+         * @return the start of the second partition or -1 if the range should not be split
+         */
+        private int split(final int start, final int end) {
+            final int count = end - start;
+            if (count <= MAX_LEAF_SIZE) {
+                return -1;
+            }
+
+            // compute the bounds of the boundary centroids
+            final double[] cmin = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+            final double[] cmax = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            for (int i = start; i < end; ++i) {
+                final int offset = order[i] * 3;
+                for (int j = 0; j < 3; ++j) {
+                    cmin[j] = Math.min(cmin[j], centroids[offset + j]);
+                    cmax[j] = Math.max(cmax[j], centroids[offset + j]);
+                }
+            }
+
+            final double[] parentBox = computeBounds(start, end);
+            final double parentArea = halfSurfaceArea(parentBox, 0);
+
+            double bestCost = count;
+            int bestAxis = -1;
+            int bestBin = -1;
+
+            final int[] binCounts = new int[BIN_COUNT];
+            final double[] binBoxes = new double[BIN_COUNT * BOX_STRIDE];
+            final double[] suffixArea = new double[BIN_COUNT];
+            final int[] suffixCount = new int[BIN_COUNT];
+            final double[] box = new double[BOX_STRIDE];
+
+            for (int axis = 0; axis < 3; ++axis) {
+                final double extent = cmax[axis] - cmin[axis];
+                if (!(extent > 0)) {
+                    continue;
+                }
+
+                // bin the boundaries by centroid
+                Arrays.fill(binCounts, 0);
+                for (int b = 0; b < BIN_COUNT; ++b) {
+                    setEmpty(binBoxes, b * BOX_STRIDE);
+                }
+                for (int i = start; i < end; ++i) {
+                    final int b = binIndex(order[i], axis, cmin[axis], extent);
+                    ++binCounts[b];
+                    include(binBoxes, b * BOX_STRIDE, boxes, order[i] * BOX_STRIDE);
+                }
+
+                // sweep from the right to compute the areas and counts of each suffix of bins
+                setEmpty(box, 0);
+                int n = 0;
+                for (int b = BIN_COUNT - 1; b > 0; --b) {
+                    include(box, 0, binBoxes, b * BOX_STRIDE);
+                    n += binCounts[b];
+                    suffixArea[b] = n > 0 ? halfSurfaceArea(box, 0) : 0.0;
+                    suffixCount[b] = n;
+                }
+
+                // sweep from the left to evaluate the cost of splitting after each bin
+                setEmpty(box, 0);
+                n = 0;
+                for (int b = 0; b < BIN_COUNT - 1; ++b) {
+                    include(box, 0, binBoxes, b * BOX_STRIDE);
+                    n += binCounts[b];
+
+                    final int rightCount = suffixCount[b + 1];
+                    if (n > 0 && rightCount > 0) {
+                        final double cost = TRAVERSAL_COST +
+                                ((halfSurfaceArea(box, 0) * n) + (suffixArea[b + 1] * rightCount)) / parentArea;
+                        if (cost < bestCost) {
+                            bestCost = cost;
+                            bestAxis = axis;
+                            bestBin = b;
+                        }
+                    }
+                }
+            }
+
+            if (bestAxis < 0) {
+                return -1;
+            }
+
+            // partition the index range in place
+            final double extent = cmax[bestAxis] - cmin[bestAxis];
+            int lo = start;
+            int hi = end - 1;
+            while (lo <= hi) {
+                if (binIndex(order[lo], bestAxis, cmin[bestAxis], extent) <= bestBin) {
+                    ++lo;
+                } else {
+                    final int tmp = order[lo];
+                    order[lo] = order[hi];
+                    order[hi] = tmp;
+                    --hi;
+                }
+            }
+
+            return lo;
+        }
+
+        /** Get the index of the bin containing the centroid of the given boundary.
+         * @param boundary boundary index
+         * @param axis axis index
+         * @param min minimum centroid coordinate along the axis
+         * @param extent extent of the centroid coordinates along the axis
+         * @return the index of the bin containing the centroid of the boundary
+         */
+        private int binIndex(final int boundary, final int axis, final double min, final double extent) {
+            final int b = (int) (BIN_COUNT * ((centroids[(boundary * 3) + axis] - min) / extent));
+            return Math.min(b, BIN_COUNT - 1);
+        }
+
+        /** Compute the bounding box of the boundaries with indices in the range {@code [start, end)}
+         * of the index array.
+         * @param start start of the index range
+         * @param end end of the index range
+         * @return the bounding box of the boundaries in the range
+         */
+        private double[] computeBounds(final int start, final int end) {
+            final double[] result = new double[BOX_STRIDE];
+            setEmpty(result, 0);
+            for (int i = start; i < end; ++i) {
+                include(result, 0, boxes, order[i] * BOX_STRIDE);
+            }
+            return result;
+        }
+
+        /** Set the box at the given offset to an empty box that is expanded to exactly the bounds of any box
+         * included in it.
+         * @param arr array containing the box
+         * @param offset offset of the box in the array
+         */
+        private static void setEmpty(final double[] arr, final int offset) {
+            for (int i = 0; i < 3; ++i) {
+                arr[offset + i] = Double.POSITIVE_INFINITY;
+                arr[offset + 3 + i] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        /** Expand a box to include another box.
+         * @param dst array containing the box to expand
+         * @param dstOffset offset of the box to expand
+         * @param src array containing the box to include
+         * @param srcOffset offset of the box to include
+         */
+        private static void include(final double[] dst, final int dstOffset, final double[] src,
+                final int srcOffset) {
+            for (int i = 0; i < 3; ++i) {
+                dst[dstOffset + i] = Math.min(dst[dstOffset + i], src[srcOffset + i]);
+                dst[dstOffset + 3 + i] = Math.max(dst[dstOffset + 3 + i], src[srcOffset + 3 + i]);
+            }
+        }
+
+        /** Compute half of the surface area of a box. Only ratios of surface areas are used, so
+         * the factor of two is omitted.
+         * @param arr array containing the box
+         * @param offset offset of the box in the array
+         * @return half of the surface area of the box
+         */
+        private static double halfSurfaceArea(final double[] arr, final int offset) {
+            final double dx = arr[offset + 3] - arr[offset];
+            final double dy = arr[offset + 4] - arr[offset + 1];
+            final double dz = arr[offset + 5] - arr[offset + 2];
+
+            return (dx * dy) + (dy * dz) + (dz * dx);
+        }
+
+        /** Fork/join task used to construct a subtree in parallel. Ranges smaller than twice the minimum
+         * parallel build size are constructed sequentially.
+         */
+        private final class BuildTask extends RecursiveTask<BuildNode> {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20261015L;
+
+            /** Start of the index range. */
+            private final int start;
+
+            /** End of the index range. */
+            private final int end;
+
+            /** Construct a new task for the boundaries with indices in the range {@code [start, end)}.
+             * @param start start of the index range
+             * @param end end of the index range
+             */
+            BuildTask(final int start, final int end) {
+                this.start = start;
+                this.end = end;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            protected BuildNode compute() {
+                if (end - start < 2 * MIN_PARALLEL_BUILD_SIZE) {
+                    return buildNode(start, end);
+                }
+
+                final int mid = split(start, end);
+                if (mid < 0) {
+                    return new BuildNode(computeBounds(start, end), start, end - start);
+                }
+
+                final BuildTask minusTask = new BuildTask(start, mid);
+                final BuildTask plusTask = new BuildTask(mid, end);
+                invokeAll(minusTask, plusTask);
+
+                return new BuildNode(minusTask.join(), plusTask.join());
+            }
+        }
+    }
+
+    /** Node in a hierarchy under construction.
+     */
+    private static final class BuildNode {
+
+        /** Node bounding box. */
+        private final double[] bounds;
+
+        /** Minus child; null for leaf nodes. */
+        private final BuildNode minus;
+
+        /** Plus child; null for leaf nodes. */
+        private final BuildNode plus;
+
+        /** Start of the boundary index range of a leaf node. */
+        private final int start;
+
+        /** Number of boundaries in a leaf node. */
+        private final int count;
+
+        /** Number of nodes in the subtree rooted at this node. */
+        private final int nodeCount;
+
+        /** Maximum depth of the subtree rooted at this node. */
+        private final int depth;
+
+        /** Construct a new leaf node.
+         * @param bounds node bounding box
+         * @param start start of the boundary index range
+         * @param count number of boundaries
+         */
+        BuildNode(final double[] bounds, final int start, final int count) {
+            this.bounds = bounds;
+            this.minus = null;
+            this.plus = null;
+            this.start = start;
+            this.count = count;
+            this.nodeCount = 1;
+            this.depth = 0;
+        }
+
+        /** Construct a new internal node.
+         * @param minus minus child
+         * @param plus plus child
+         */
+        BuildNode(final BuildNode minus, final BuildNode plus) {
+            this.bounds = minus.bounds.clone();
+            Builder.include(this.bounds, 0, plus.bounds, 0);
+
+            this.minus = minus;
+            this.plus = plus;
+            this.start = -1;
+            this.count = 0;
+            this.nodeCount = 1 + minus.nodeCount + plus.nodeCount;
+            this.depth = 1 + Math.max(minus.depth, plus.depth);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.List;
+
+import org.apache.commons.geometry.euclidean.internal.EquivalenceTable;
+import org.apache.commons.numbers.core.Precision;
+
+/** Class used to canonicalize planes that are equivalent under a precision context. The first plane
+ * interned from each set of {@link Plane#eq(Plane, Precision.DoubleEquivalence) equivalent} planes
+ * becomes the canonical instance for the set and is returned for all later equivalent planes.
+ *
+ * <p>Boundaries lying in the same plane frequently have separately computed, and therefore distinct,
+ * {@link Plane} instances. Inserting such boundaries into a {@link RegionBSPTree3D} after interning their
+ * planes allows the tree to recognize coplanar boundaries by identity, so that boundaries lying in the cut
+ * plane of a node are discarded without being split. See
+ * {@link RegionBSPTree3D#from(Iterable, boolean, PlaneInterner)} and
+ * {@link RegionBSPTree3D#insert(BoundarySource3D, PlaneInterner)}.</p>
+ *
+ * <p>Planes with opposite orientations are not equivalent and are interned separately.
+ * Instances of this class are not thread-safe.</p>
+ */
+public final class PlaneInterner {
+
+    /** Table containing the canonical planes. */
+    private final EquivalenceTable<Plane> table;
+
+    /** Construct a new, empty instance.
+     * @param precision precision context used to determine plane equivalence
+     */
+    public PlaneInterner(final Precision.DoubleEquivalence precision) {
+        this.table = new EquivalenceTable<>(precision, (a, b) -> a.eq(b, precision));
+    }
+
+    /** Get the number of canonical planes held by this instance.
+     * @return the number of canonical planes
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /** Get the canonical plane equivalent to the given plane. The argument becomes the canonical plane
+     * if no equivalent plane has been interned.
+     * @param plane plane to intern
+     * @return the canonical plane equivalent to {@code plane}
+     */
+    public Plane intern(final Plane plane) {
+        final Vector3D origin = plane.getOrigin();
+        final Vector3D normal = plane.getNormal();
+
+        return table.intern(plane,
+                origin.getX(), origin.getY(), origin.getZ(),
+                normal.getX(), normal.getY(), normal.getZ());
+    }
+
+    /** Return a plane convex subset equivalent to the argument that lies in the canonical plane
+     * equivalent to the plane of the argument. The argument is returned as-is if its plane is already
+     * canonical or if it is infinite.
+     * @param subset plane convex subset to intern
+     * @return a plane convex subset lying in the canonical plane
+     */
+    public PlaneConvexSubset intern(final PlaneConvexSubset subset) {
+        final Plane plane = subset.getPlane();
+        final Plane canonical = intern(plane);
+
+        if (canonical == plane || !subset.isFinite()) {
+            return subset;
+        }
+
+        final List<Vector3D> vertices = subset.getVertices();
+        return vertices.size() == 3 ?
+                new SimpleTriangle3D(canonical, vertices.get(0), vertices.get(1), vertices.get(2)) :
+                new VertexListConvexPolygon3D(canonical, vertices);
+    }
+}
@@ -91,6 +91,25 @@ public final class Planes {
         return new Plane(unitNormal, originOffset, precision);
     }
 
+    /** Build a plane from a normal and an origin offset. This is the inverse of the
+     * {@link Plane#getNormal()} and {@link Plane#getOriginOffset()} accessors and can be
+     * used to restore a plane from its stored components.
+     * @param normal normal direction to the plane
+     * @param originOffset signed distance from the plane to the origin, as returned by
+     *      {@link Plane#getOriginOffset()}
+     * @param precision precision context used to compare floating point values
+     * @return a new plane
+     * @throws IllegalArgumentException if the norm of the given normal is zero, NaN, or infinite, or
+     *      if the origin offset is NaN or infinite
+     */
+    public static Plane fromNormalAndOriginOffset(final Vector3D normal, final double originOffset,
+            final Precision.DoubleEquivalence precision) {
+        if (!Double.isFinite(originOffset)) {
+            throw new IllegalArgumentException("Invalid plane origin offset: " + originOffset);
+        }
+        return new Plane(normal.normalize(), originOffset, precision);
+    }
+
     /** Build a plane from three points.
      * <p>
      * The plane is oriented in the direction of {@code (p2-p1) ^ (p3-p1)}
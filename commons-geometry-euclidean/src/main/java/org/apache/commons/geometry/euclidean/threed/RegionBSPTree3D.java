@@ -16,23 +16,36 @@
  */
 package org.apache.commons.geometry.euclidean.threed;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
 import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.HyperplaneSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBalancedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractPartitionedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionExpression;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionLocator;
 import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
 import org.apache.commons.geometry.euclidean.threed.line.Line3D;
 import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
 import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
 import org.apache.commons.numbers.core.Precision;
 
 /** Binary space partitioning (BSP) tree representing a region in three dimensional
@@ -41,6 +54,14 @@ import org.apache.commons.numbers.core.Precision;
 public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, RegionBSPTree3D.RegionNode3D>
     implements BoundarySource3D {
 
+    /** Compiled snapshot of the region; this is computed when requested and then cached. */
+    private CompiledRegion3D compiledRegion;
+
+    /** Flag indicating whether or not the bounding boxes of node subtrees should be used to
+     * skip subtrees during linecast and projection operations.
+     */
+    private boolean useSubtreeBounds;
+
     /** Create a new, empty region. */
     public RegionBSPTree3D() {
         this(false);
@@ -75,7 +96,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     public Stream<PlaneConvexSubset> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (PlaneConvexSubset) b);
     }
 
     /** {@inheritDoc} */
@@ -84,6 +105,19 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return createBoundaryList(b -> (PlaneConvexSubset) b);
     }
 
+    /** Insert all boundaries from the given source into the tree, first canonicalizing their planes
+     * with the given interner. Boundaries lying in planes equivalent to the cut of a tree node then share
+     * the cut plane instance and are discarded at that node without being split.
+     * @param boundarySrc source of boundaries to insert
+     * @param interner object used to canonicalize boundary planes
+     * @see PlaneInterner
+     */
+    public void insert(final BoundarySource3D boundarySrc, final PlaneInterner interner) {
+        try (Stream<PlaneConvexSubset> stream = boundarySrc.boundaryStream()) {
+            stream.forEach(b -> insert(interner.intern(b)));
+        }
+    }
+
     /** Return a list of {@link ConvexVolume}s representing the same region
      * as this instance. One convex volume is returned for each interior leaf
      * node in the tree.
@@ -133,12 +167,35 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     public Vector3D project(final Vector3D pt) {
         // use our custom projector so that we can disambiguate points that are
         // actually equidistant from the target point
-        final BoundaryProjector3D projector = new BoundaryProjector3D(pt);
+        final BoundaryProjector3D projector = new BoundaryProjector3D(pt, useSubtreeBounds);
         accept(projector);
 
         return projector.getProjected();
     }
 
+    /** Return true if this instance uses the {@link RegionNode3D#getSubtreeBoundaryBounds() bounding boxes
+     * of node subtrees} to skip subtrees during linecast and projection operations.
+     * @return true if this instance uses subtree bounding boxes to skip subtrees during queries
+     * @see #setUseSubtreeBounds(boolean)
+     */
+    public boolean isUseSubtreeBounds() {
+        return useSubtreeBounds;
+    }
+
+    /** Set whether or not this instance should use the {@link RegionNode3D#getSubtreeBoundaryBounds()
+     * bounding boxes of node subtrees} to skip subtrees during linecast and projection operations. When enabled,
+     * {@link #linecast(LineConvexSubset3D) linecasts} skip subtrees whose boundaries cannot be reached by the line
+     * subset and {@link #project(Vector3D) projections} skip subtrees whose boundaries all lie farther from the
+     * target point than the closest boundary point found so far. The bounding boxes are computed lazily from the cut
+     * boundaries of the entire tree on first use and cached on each node until its subtree is modified, so this
+     * setting trades an initial computation and additional memory for faster repeated queries against large trees.
+     * Query results are not affected.
+     * @param useSubtreeBounds if true, subtree bounding boxes are used to skip subtrees during queries
+     */
+    public void setUseSubtreeBounds(final boolean useSubtreeBounds) {
+        this.useSubtreeBounds = useSubtreeBounds;
+    }
+
     /** Return the current instance.
      */
     @Override
@@ -146,10 +203,106 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return this;
     }
 
+    /** Create an immutable, compiled snapshot of the current region. The returned instance supports
+     * the query operations of this class (such as point classification, projection, and linecasting)
+     * and, unlike this class, may be safely shared between threads without synchronization. Subsequent
+     * modifications of this tree are not reflected in the returned instance. The snapshot is cached and
+     * returned by subsequent calls until this tree is next modified.
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion3D compile() {
+        if (compiledRegion == null) {
+            compiledRegion = new CompiledRegion3D(this, false);
+        }
+        return compiledRegion;
+    }
+
+    /** Create an immutable, compiled snapshot of the current region, optionally storing structurally
+     * identical subtrees of this tree only once. Sharing subtrees reduces the size of the snapshot for
+     * trees that repeat the same sequence of cuts in different regions, such as those produced by boolean
+     * operations on partitioned regions, and allows the snapshot to replace this tree for classification,
+     * projection, and linecasting at a lower memory cost. If {@code shareSubtrees} is false, the result is
+     * the same as that of {@link #compile()}. Otherwise, a new instance is created on each call.
+     * @param shareSubtrees if true, structurally identical subtrees are stored only once in the snapshot
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion3D compile(final boolean shareSubtrees) {
+        return shareSubtrees ?
+                new CompiledRegion3D(this, true) :
+                compile();
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y, z)} coordinate triples in {@code xyz},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * The points are classified using the {@link #compile() compiled snapshot} of this tree, which is created
+     * on the first call following a modification of the tree and then reused.
+     * @param xyz array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xyz}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xyz} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see CompiledRegion3D#classify(double[], int, int, RegionLocation[])
+     */
+    public void classify(final double[] xyz, final int offset, final int count, final RegionLocation[] out) {
+        compile().classify(xyz, offset, count, out);
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y, z)} coordinate triples in {@code xyz},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * Large batches are split into ranges that are classified in parallel using the given pool.
+     * @param xyz array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xyz}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @param pool pool used to classify the points in parallel; if null, the points are classified
+     *      sequentially in the calling thread
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xyz} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see CompiledRegion3D#classify(double[], int, int, RegionLocation[], ForkJoinPool)
+     */
+    public void classify(final double[] xyz, final int offset, final int count, final RegionLocation[] out,
+            final ForkJoinPool pool) {
+        compile().classify(xyz, offset, count, out, pool);
+    }
+
+    /** Create a new {@link RegionLocator3D} for classifying sequences of nearby points against this region.
+     * The locator remembers the leaf node and convex cell containing the last point and only descends from
+     * the root of the tree when a point leaves that cell.
+     * @return a new locator for this region
+     */
+    public RegionLocator3D locator() {
+        return new RegionLocator3D(this);
+    }
+
+    /** Create a new {@link RegionExpression3D} operand containing a copy of this region. The
+     * expression can be combined with other expressions to build a lazily evaluated CSG expression graph.
+     * Later modifications to this tree do not affect the returned expression.
+     * @return a new expression operand containing a copy of this region
+     */
+    public RegionExpression3D expression() {
+        return new RegionExpression3D(copy(), getRegionBounds(this));
+    }
+
+    /** Create a new {@link TransformedRegion3D} representing this region transformed by the given affine
+     * transform. Unlike {@link #transform(org.apache.commons.geometry.core.Transform) transform}, this tree is
+     * not modified and the cost of creating the view is independent of the size of the tree. Queries on the
+     * view are performed by mapping their arguments into the coordinate frame of this tree. The view reflects
+     * any later modifications to this tree.
+     * @param transform affine transform to apply
+     * @return a transformed view of this region
+     * @throws IllegalStateException if the transform is not invertible
+     */
+    public TransformedRegion3D transformedView(final AffineTransformMatrix3D transform) {
+        return new TransformedRegion3D(this, transform);
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, false);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, false, useSubtreeBounds);
         accept(visitor);
 
         return visitor.getResults();
@@ -158,7 +311,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, true);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, true, useSubtreeBounds);
         accept(visitor);
 
         return visitor.getFirstResult();
@@ -167,17 +320,31 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Vector3D> computeRegionSizeProperties() {
-        // handle simple cases
-        if (isFull()) {
-            return new RegionSizeProperties<>(Double.POSITIVE_INFINITY, null);
-        } else if (isEmpty()) {
-            return new RegionSizeProperties<>(0, null);
-        }
+        // size sums are cached per subtree, so only the subtrees modified since
+        // the last computation are visited here
+        return getRoot().getSubtreeSizeSums().getRegionSizeProperties();
+    }
 
-        final RegionSizePropertiesVisitor visitor = new RegionSizePropertiesVisitor();
-        accept(visitor);
+    /** {@inheritDoc}
+     *
+     * <p>This implementation builds the new tree from the current region boundaries using a
+     * {@link BalancedRegionBuilder3D} with default settings. Independent sections of the new tree are constructed
+     * in parallel if a {@link #getParallelMergePool() parallel merge pool} is configured.</p>
+     */
+    @Override
+    protected RegionBSPTree3D buildOptimizedTree() {
+        return balancedRegionBuilder()
+                .setParallelism(getParallelMergePool())
+                .insertBoundaries(getBoundaries())
+                .build();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void invalidate() {
+        super.invalidate();
 
-        return visitor.getRegionSizeProperties();
+        compiledRegion = null;
     }
 
     /** {@inheritDoc} */
@@ -224,6 +391,95 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return tree;
     }
 
+    /** Construct a new tree from the given boundaries, canonicalizing the boundary planes with the given
+     * interner before insertion. This produces the same region as {@link #from(Iterable, boolean)} but avoids
+     * redundant splitting of boundaries lying in equivalent planes, which is common for input containing
+     * many coplanar facets.
+     * @param boundaries boundaries to construct the tree from
+     * @param full if true, the initial tree will contain the entire space
+     * @param interner object used to canonicalize boundary planes
+     * @return a new tree instance constructed from the given boundaries
+     * @see PlaneInterner
+     */
+    public static RegionBSPTree3D from(final Iterable<? extends PlaneConvexSubset> boundaries, final boolean full,
+            final PlaneInterner interner) {
+        final RegionBSPTree3D tree = new RegionBSPTree3D(full);
+        for (final PlaneConvexSubset boundary : boundaries) {
+            tree.insert(interner.intern(boundary));
+        }
+
+        return tree;
+    }
+
+    /** Return a new tree containing the union of all of the given regions. This is equivalent to computing
+     * the union of the regions one at a time but is much faster for large numbers of inputs since the regions
+     * are combined pairwise in a balanced order, with regions with nearby bounding boxes combined first. None of
+     * the arguments are modified.
+     * @param trees regions to compute the union of
+     * @return a new tree containing the union of the given regions; the result is empty if no regions are given
+     */
+    public static RegionBSPTree3D unionAll(final Collection<? extends RegionBSPTree3D> trees) {
+        return unionAll(trees, null);
+    }
+
+    /** Return a new tree containing the union of all of the given regions, performing independent merge
+     * operations in parallel using the given pool. The result is identical to that of
+     * {@link #unionAll(Collection)}. None of the arguments are modified.
+     * @param trees regions to compute the union of
+     * @param pool pool used to perform merges in parallel; if null, merges are performed sequentially
+     *      in the calling thread
+     * @return a new tree containing the union of the given regions; the result is empty if no regions are given
+     */
+    public static RegionBSPTree3D unionAll(final Collection<? extends RegionBSPTree3D> trees, final ForkJoinPool pool) {
+        return unionAll(trees, RegionBSPTree3D::empty, RegionBSPTree3D::getRegionBounds, pool);
+    }
+
+    /** Return a new tree containing the intersection of all of the given regions. The regions are combined
+     * pairwise in a balanced order. If the bounding boxes of the bounded input regions do not have a common
+     * intersection, an empty tree is returned without performing any merge operations. None of the arguments
+     * are modified.
+     * @param trees regions to compute the intersection of
+     * @return a new tree containing the intersection of the given regions; the result is full if no regions
+     *      are given
+     */
+    public static RegionBSPTree3D intersectionAll(final Collection<? extends RegionBSPTree3D> trees) {
+        return intersectionAll(trees, null);
+    }
+
+    /** Return a new tree containing the intersection of all of the given regions, performing independent merge
+     * operations in parallel using the given pool. The result is identical to that of
+     * {@link #intersectionAll(Collection)}. None of the arguments are modified.
+     * @param trees regions to compute the intersection of
+     * @param pool pool used to perform merges in parallel; if null, merges are performed sequentially
+     *      in the calling thread
+     * @return a new tree containing the intersection of the given regions; the result is full if no regions
+     *      are given
+     */
+    public static RegionBSPTree3D intersectionAll(final Collection<? extends RegionBSPTree3D> trees,
+            final ForkJoinPool pool) {
+        return intersectionAll(trees, RegionBSPTree3D::empty, RegionBSPTree3D::getRegionBounds, pool);
+    }
+
+    /** Get the bounding box of the given region as an array containing the minimum coordinate values followed by
+     * the maximum coordinate values. Null is returned if the region is not bounded.
+     * @param tree region to get the bounding box for
+     * @return the bounding box of the region or null if the region is not bounded
+     */
+    private static double[] getRegionBounds(final RegionBSPTree3D tree) {
+        final Bounds3D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        if (bounds == null || !Double.isFinite(tree.getSize())) {
+            return null;
+        }
+
+        final double[] min = bounds.getMin().toArray();
+        final double[] max = bounds.getMax().toArray();
+
+        final double[] result = Arrays.copyOf(min, min.length + max.length);
+        System.arraycopy(max, 0, result, min.length, max.length);
+
+        return result;
+    }
+
     /** Create a new {@link PartitionedRegionBuilder3D} instance which can be used to build balanced
      * BSP trees from region boundaries.
      * @return a new {@link PartitionedRegionBuilder3D} instance
@@ -232,9 +488,24 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return new PartitionedRegionBuilder3D();
     }
 
+    /** Create a new {@link BalancedRegionBuilder3D} instance which can be used to build balanced
+     * BSP trees from a complete set of region boundaries without manually specifying partitions.
+     * @return a new {@link BalancedRegionBuilder3D} instance
+     */
+    public static BalancedRegionBuilder3D balancedRegionBuilder() {
+        return new BalancedRegionBuilder3D();
+    }
+
     /** BSP tree node for three dimensional Euclidean space.
      */
     public static final class RegionNode3D extends AbstractRegionBSPTree.AbstractRegionNode<Vector3D, RegionNode3D> {
+
+        /** Size property sums for the subtree rooted at this node; null if not yet computed. */
+        private SubtreeSizeSums subtreeSizeSums;
+
+        /** Bounding box of the region boundaries in the subtree rooted at this node; null if not yet computed. */
+        private SubtreeBounds subtreeBounds;
+
         /** Simple constructor.
          * @param tree the owning tree instance
          */
@@ -269,6 +540,398 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         protected RegionNode3D getSelf() {
             return this;
         }
+
+        /** Get the axis-aligned bounding box of the region boundaries lying on the cuts of the subtree rooted
+         * at this node. Null is returned if the subtree does not contain any region boundaries or if any of
+         * them are infinite. Values for internal nodes are computed lazily from the
+         * {@link #getCutBoundary() cut boundaries} in the subtree and cached until the subtree is modified.
+         * @return the bounding box of the region boundaries in the subtree rooted at this node, or null if
+         *      the subtree contains no boundaries or infinite boundaries
+         * @see RegionBSPTree3D#setUseSubtreeBounds(boolean)
+         */
+        public Bounds3D getSubtreeBoundaryBounds() {
+            return getSubtreeBounds().getBounds();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean clearSubtreeProperties() {
+            final boolean cached = subtreeSizeSums != null || subtreeBounds != null;
+
+            subtreeSizeSums = null;
+            subtreeBounds = null;
+
+            return cached;
+        }
+
+        /** Get the bounds of the region boundaries in the subtree rooted at this node. Values for internal
+         * nodes are computed lazily and cached until the subtree is modified.
+         * @return the bounds of the region boundaries in the subtree rooted at this node
+         */
+        private SubtreeBounds getSubtreeBounds() {
+            if (isLeaf()) {
+                return SubtreeBounds.EMPTY;
+            }
+
+            if (subtreeBounds == null) {
+                computeSubtreeValues(this, n -> n.subtreeBounds != null,
+                    n -> n.subtreeBounds = SubtreeBounds.forInternalNode(n,
+                            n.getMinus().getSubtreeBounds(),
+                            n.getPlus().getSubtreeBounds()));
+            }
+
+            return subtreeBounds;
+        }
+
+        /** Get the size property sums for the subtree rooted at this node. Values for internal
+         * nodes are computed lazily and cached until the subtree is modified.
+         * @return the size property sums for the subtree rooted at this node
+         */
+        private SubtreeSizeSums getSubtreeSizeSums() {
+            if (isLeaf()) {
+                return isInside() ?
+                        SubtreeSizeSums.INSIDE_LEAF :
+                        SubtreeSizeSums.OUTSIDE_LEAF;
+            }
+
+            if (subtreeSizeSums == null) {
+                computeSubtreeValues(this, n -> n.subtreeSizeSums != null,
+                    n -> n.subtreeSizeSums = SubtreeSizeSums.forInternalNode(n,
+                            n.getMinus().getSubtreeSizeSums(),
+                            n.getPlus().getSubtreeSizeSums()));
+            }
+
+            return subtreeSizeSums;
+        }
+
+        /** Compute the cached subtree values of the uncached internal nodes in the subtree rooted at the given
+         * node. Nodes are visited iteratively in post-order so that the values of both children are available
+         * when the value of a node is computed and so that trees of arbitrary depth can be processed.
+         * @param root root of the subtree
+         * @param cached predicate returning true if the value of an internal node is already cached
+         * @param compute function computing and caching the value of an internal node from the values
+         *      of its children
+         */
+        private static void computeSubtreeValues(final RegionNode3D root, final Predicate<RegionNode3D> cached,
+                final Consumer<RegionNode3D> compute) {
+            final Deque<RegionNode3D> stack = new ArrayDeque<>();
+            stack.push(root);
+
+            while (!stack.isEmpty()) {
+                final RegionNode3D node = stack.peek();
+                final RegionNode3D minus = node.getMinus();
+                final RegionNode3D plus = node.getPlus();
+
+                final boolean minusDone = minus.isLeaf() || cached.test(minus);
+                final boolean plusDone = plus.isLeaf() || cached.test(plus);
+
+                if (minusDone && plusDone) {
+                    compute.accept(node);
+                    stack.pop();
+                } else {
+                    if (!plusDone) {
+                        stack.push(plus);
+                    }
+                    if (!minusDone) {
+                        stack.push(minus);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Class used to classify sequences of spatially coherent points, such as points along a scanline, against
+     * a {@link RegionBSPTree3D}. Instances are created with {@link RegionBSPTree3D#locator()} and are not
+     * thread-safe.
+     * @see AbstractRegionLocator
+     */
+    public static final class RegionLocator3D extends AbstractRegionLocator<Vector3D, RegionNode3D> {
+
+        /** Construct a new instance for the given tree.
+         * @param tree tree to classify points against
+         */
+        private RegionLocator3D(final RegionBSPTree3D tree) {
+            super(tree);
+        }
+
+        /** {@inheritDoc}
+         *
+         * <p>This implementation returns the vertices of the boundaries of the
+         * {@link RegionNode3D#getNodeRegion() node region}.</p>
+         */
+        @Override
+        protected Collection<Vector3D> getCellVertices(final RegionNode3D node) {
+            final ConvexVolume cell = node.getNodeRegion();
+            if (cell == null || !cell.isFinite()) {
+                return null;
+            }
+
+            final List<Vector3D> vertices = new ArrayList<>();
+            for (final PlaneConvexSubset boundary : cell.getBoundaries()) {
+                vertices.addAll(boundary.getVertices());
+            }
+            return vertices;
+        }
+    }
+
+    /** Class representing a {@link RegionBSPTree3D} transformed by an affine transform without modifying
+     * the tree. The transform and its inverse are stored and queries are answered by mapping points and lines
+     * into the coordinate frame of the tree and mapping the results back. Views are created with
+     * {@link RegionBSPTree3D#transformedView(AffineTransformMatrix3D)} and can be further transformed in
+     * constant time with {@link #transform(AffineTransformMatrix3D)}, which makes them suitable for placing
+     * many instances of the same large region in a scene.
+     *
+     * <p>Classification, size, centroid, and linecast queries are supported directly for all invertible
+     * transforms. Projection and boundary size are supported directly for similarity transforms, i.e.
+     * transforms composed of rotations, reflections, translations, and uniform scaling, which includes all
+     * rigid transforms. For other transforms, these queries are answered using a transformed copy of the tree
+     * that is created on first use and cached until the tree is modified.</p>
+     *
+     * <p>Instances are not thread-safe.</p>
+     */
+    public static final class TransformedRegion3D implements Region<Vector3D>, Linecastable3D {
+
+        /** Relative tolerance used to determine if the linear part of a transform is a similarity. */
+        private static final double SIMILARITY_TOLERANCE = 1e-12;
+
+        /** Underlying tree. */
+        private final RegionBSPTree3D tree;
+
+        /** Transform from the tree frame to the view frame. */
+        private final AffineTransformMatrix3D transform;
+
+        /** Transform from the view frame to the tree frame. */
+        private final AffineTransformMatrix3D inverse;
+
+        /** Transform used to map normals from the tree frame to the view frame. */
+        private final AffineTransformMatrix3D normalTransform;
+
+        /** Uniform scale factor of the transform if it is a similarity; NaN otherwise. */
+        private final double similarityScale;
+
+        /** Transformed copy of the tree used for queries not supported directly; null if not yet created. */
+        private RegionBSPTree3D transformedTree;
+
+        /** Version of the tree at the time that {@link #transformedTree} was created. */
+        private int transformedTreeVersion;
+
+        /** Construct a new view of the given tree.
+         * @param tree underlying tree
+         * @param transform transform from the tree frame to the view frame
+         * @throws IllegalStateException if the transform is not invertible
+         */
+        private TransformedRegion3D(final RegionBSPTree3D tree, final AffineTransformMatrix3D transform) {
+            this.tree = tree;
+            this.transform = transform;
+            this.inverse = transform.inverse();
+            this.normalTransform = transform.normalTransform();
+            this.similarityScale = computeSimilarityScale(transform);
+        }
+
+        /** Get the underlying tree.
+         * @return the underlying tree
+         */
+        public RegionBSPTree3D getTree() {
+            return tree;
+        }
+
+        /** Get the transform from the frame of the underlying tree to the frame of this view.
+         * @return the transform of this view
+         */
+        public AffineTransformMatrix3D getTransform() {
+            return transform;
+        }
+
+        /** Return a new view of the underlying tree with the given transform applied after the transform of
+         * this instance. The tree is not modified.
+         * @param t transform to apply
+         * @return a new view with the combined transform
+         * @throws IllegalStateException if the combined transform is not invertible
+         */
+        public TransformedRegion3D transform(final AffineTransformMatrix3D t) {
+            return new TransformedRegion3D(tree, transform.premultiply(t));
+        }
+
+        /** Return a new tree containing the region represented by this view.
+         * @return a new tree containing the transformed region
+         */
+        public RegionBSPTree3D toTree() {
+            final RegionBSPTree3D result = tree.copy();
+            result.transform(transform);
+
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isFull() {
+            return tree.isFull();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isEmpty() {
+            return tree.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSize() {
+            return tree.getSize() * Math.abs(transform.determinant());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getBoundarySize() {
+            if (Double.isNaN(similarityScale)) {
+                return getTransformedTree().getBoundarySize();
+            }
+            return tree.getBoundarySize() * similarityScale * similarityScale;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getCentroid() {
+            final Vector3D centroid = tree.getCentroid();
+            return centroid != null ?
+                    transform.apply(centroid) :
+                    null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionLocation classify(final Vector3D pt) {
+            return tree.classify(inverse.apply(pt));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D project(final Vector3D pt) {
+            if (Double.isNaN(similarityScale)) {
+                return getTransformedTree().project(pt);
+            }
+
+            final Vector3D projected = tree.project(inverse.apply(pt));
+            return projected != null ?
+                    transform.apply(projected) :
+                    null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
+            final List<LinecastPoint3D> results = tree.linecast(subset.transform(inverse));
+
+            final Line3D line = subset.getLine();
+            final List<LinecastPoint3D> transformed = new ArrayList<>(results.size());
+            for (final LinecastPoint3D result : results) {
+                transformed.add(transformLinecastPoint(result, line));
+            }
+            return transformed;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
+            final LinecastPoint3D result = tree.linecastFirst(subset.transform(inverse));
+            return result != null ?
+                    transformLinecastPoint(result, subset.getLine()) :
+                    null;
+        }
+
+        /** Map a linecast point from the tree frame to the view frame.
+         * @param pt linecast point in the tree frame
+         * @param line line in the view frame
+         * @return the linecast point in the view frame
+         */
+        private LinecastPoint3D transformLinecastPoint(final LinecastPoint3D pt, final Line3D line) {
+            return new LinecastPoint3D(
+                    transform.apply(pt.getPoint()),
+                    normalTransform.applyVector(pt.getNormal()),
+                    line);
+        }
+
+        /** Get a transformed copy of the tree, creating it if the tree has been modified since the
+         * last copy was created.
+         * @return a transformed copy of the tree
+         */
+        private RegionBSPTree3D getTransformedTree() {
+            final int version = tree.getVersion();
+            if (transformedTree == null || transformedTreeVersion != version) {
+                transformedTree = toTree();
+                transformedTreeVersion = version;
+            }
+            return transformedTree;
+        }
+
+        /** Compute the uniform scale factor of the given transform if its linear part is a similarity,
+         * meaning that its columns are mutually orthogonal and have the same length.
+         * @param transform transform to examine
+         * @return the uniform scale factor of the transform or NaN if it is not a similarity
+         */
+        private static double computeSimilarityScale(final AffineTransformMatrix3D transform) {
+            final double[] m = transform.toArray();
+            final Vector3D u = Vector3D.of(m[0], m[4], m[8]);
+            final Vector3D v = Vector3D.of(m[1], m[5], m[9]);
+            final Vector3D w = Vector3D.of(m[2], m[6], m[10]);
+
+            final double sq = u.normSq();
+            final double tol = SIMILARITY_TOLERANCE * sq;
+            if (Math.abs(v.normSq() - sq) > tol ||
+                    Math.abs(w.normSq() - sq) > tol ||
+                    Math.abs(u.dot(v)) > tol ||
+                    Math.abs(u.dot(w)) > tol ||
+                    Math.abs(v.dot(w)) > tol) {
+                return Double.NaN;
+            }
+
+            return Math.sqrt(sq);
+        }
+    }
+
+    /** Class representing a lazily evaluated CSG expression over {@link RegionBSPTree3D} instances. Operand
+     * expressions are created with {@link RegionBSPTree3D#expression()}.
+     * @see AbstractRegionExpression
+     */
+    public static final class RegionExpression3D
+        extends AbstractRegionExpression<Vector3D, RegionNode3D, RegionBSPTree3D, RegionExpression3D> {
+
+        /** Construct a new operand expression.
+         * @param tree operand tree
+         * @param bounds bounding box of the operand tree; may be null
+         */
+        private RegionExpression3D(final RegionBSPTree3D tree, final double[] bounds) {
+            super(tree, bounds);
+        }
+
+        /** Construct a new expression combining the given operands.
+         * @param op operation combining the operands
+         * @param first first operand
+         * @param second second operand
+         */
+        private RegionExpression3D(final Operation op, final RegionExpression3D first,
+                final RegionExpression3D second) {
+            super(op, first, second);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected RegionExpression3D getSelf() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected RegionExpression3D createExpression(final Operation op, final RegionExpression3D firstOperand,
+                final RegionExpression3D secondOperand) {
+            return new RegionExpression3D(op, firstOperand, secondOperand);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected RegionBSPTree3D createTree() {
+            return RegionBSPTree3D.empty();
+        }
     }
 
     /** Class used to build regions in Euclidean 3D space by inserting boundaries into a BSP
@@ -302,7 +965,8 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
      * This ensures that partitioning cuts are always located higher up the tree than boundary cuts.</p>
      *
      * <p>After all boundaries are inserted, the {@link PartitionedRegionBuilder3D#build() build} method is used
-     * to perform final processing and return the computed tree.</p>
+     * to perform final processing and return the computed tree. Boundaries may be inserted in parallel by
+     * setting a fork/join pool with {@link PartitionedRegionBuilder3D#setParallelism(ForkJoinPool) setParallelism}.</p>
      */
     public static final class PartitionedRegionBuilder3D
         extends AbstractPartitionedRegionBuilder<Vector3D, RegionNode3D> {
@@ -394,6 +1058,20 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
             }
         }
 
+        /** Set the fork/join pool used to insert boundaries in parallel. If not null, boundaries are collected
+         * as they are inserted and are added to the tree when {@link #build()} is called. Boundaries lying in
+         * different partition leaf nodes are then inserted concurrently. The represented region is the same
+         * as when boundaries are inserted sequentially. If null (the default), each boundary is inserted
+         * into the tree immediately.
+         * @param pool fork/join pool to use; may be null
+         * @return this instance
+         */
+        public PartitionedRegionBuilder3D setParallelism(final ForkJoinPool pool) {
+            setParallelismInternal(pool);
+
+            return this;
+        }
+
         /** Insert a region boundary.
          * @param boundary region boundary to insert
          * @return this instance
@@ -436,14 +1114,205 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         }
     }
 
+    /** Class used to build balanced regions in Euclidean 3D space from a complete set of region boundaries.
+     * In contrast to {@link PartitionedRegionBuilder3D}, partitions do not need to be specified by the caller.
+     * Instead, all boundaries are collected and, when the region is built, the boundaries are recursively divided
+     * by axis-aligned partition planes passing through the median boundary centroid until each section contains at
+     * most {@link #setMaxCellBoundaries(int) a configured number} of boundaries. The boundaries in each section are
+     * then inserted in an order chosen by a cost heuristic that favors boundaries that split few other boundaries and
+     * divide the remaining boundaries evenly. Sections are independent of each other and may be constructed in
+     * parallel by {@link #setParallelism(ForkJoinPool) providing a fork/join pool}.
+     *
+     * <p>As with {@link PartitionedRegionBuilder3D}, this class only produces accurate results when the inserted
+     * boundaries define the entire surface of the region.</p>
+     * @see AbstractBalancedRegionBuilder
+     */
+    public static final class BalancedRegionBuilder3D
+        extends AbstractBalancedRegionBuilder<Vector3D, RegionNode3D> {
+
+        /** Construct a new builder instance.
+         */
+        private BalancedRegionBuilder3D() {
+            super(RegionBSPTree3D.empty());
+        }
+
+        /** Set the maximum number of boundaries that may be present in a section of the tree before
+         * partitioning stops. Smaller values produce more partitions. The default value is {@code 16}.
+         * @param max maximum number of boundaries in a section
+         * @return this instance
+         * @throws IllegalArgumentException if {@code max} is less than 1
+         */
+        public BalancedRegionBuilder3D setMaxCellBoundaries(final int max) {
+            setMaxCellBoundariesInternal(max);
+
+            return this;
+        }
+
+        /** Set the number of candidate boundaries evaluated when choosing the next boundary to insert into
+         * a section of the tree. Larger values produce better trees at the cost of increased construction
+         * time. The default value is {@code 8}.
+         * @param sampleSize number of candidate boundaries to evaluate
+         * @return this instance
+         * @throws IllegalArgumentException if {@code sampleSize} is less than 1
+         */
+        public BalancedRegionBuilder3D setSplitterSampleSize(final int sampleSize) {
+            setSplitterSampleSizeInternal(sampleSize);
+
+            return this;
+        }
+
+        /** Set the weight applied to the number of split boundaries when choosing cuts. Larger values
+         * favor cuts that produce fewer boundary fragments over cuts that produce balanced trees. The default
+         * value is {@code 4}.
+         * @param weight split weight
+         * @return this instance
+         * @throws IllegalArgumentException if {@code weight} is negative or not finite
+         */
+        public BalancedRegionBuilder3D setSplitWeight(final double weight) {
+            setSplitWeightInternal(weight);
+
+            return this;
+        }
+
+        /** Set the fork/join pool used to construct independent sections of the tree in parallel. If null
+         * (the default), the tree is constructed sequentially. The structure of the constructed tree is the
+         * same in either case.
+         * @param pool fork/join pool to use; may be null
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D setParallelism(final ForkJoinPool pool) {
+            setParallelismInternal(pool);
+
+            return this;
+        }
+
+        /** Add a region boundary.
+         * @param boundary region boundary to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundary(final PlaneConvexSubset boundary) {
+            addBoundaryInternal(boundary);
+
+            return this;
+        }
+
+        /** Add a collection of region boundaries.
+         * @param boundaries boundaries to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundaries(final Iterable<? extends PlaneConvexSubset> boundaries) {
+            for (final PlaneConvexSubset boundary : boundaries) {
+                addBoundaryInternal(boundary);
+            }
+
+            return this;
+        }
+
+        /** Add all boundaries from the given source.
+         * @param boundarySrc source of boundaries to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundaries(final BoundarySource3D boundarySrc) {
+            try (Stream<PlaneConvexSubset> stream = boundarySrc.boundaryStream()) {
+                stream.forEach(this::addBoundaryInternal);
+            }
+
+            return this;
+        }
+
+        /** Build and return the region BSP tree.
+         * @return the region BSP tree
+         */
+        public RegionBSPTree3D build() {
+            return (RegionBSPTree3D) buildInternal();
+        }
+
+        /** {@inheritDoc}
+         *
+         * <p>This implementation returns the three axis-aligned planes passing through the
+         * point formed from the median coordinates of the finite boundary centroids.</p>
+         */
+        @Override
+        protected List<Plane> getPartitionCandidates(
+                final List<? extends HyperplaneConvexSubset<Vector3D>> nodeBoundaries) {
+            final int count = nodeBoundaries.size();
+            final double[] xs = new double[count];
+            final double[] ys = new double[count];
+            final double[] zs = new double[count];
+
+            int n = 0;
+            for (final HyperplaneConvexSubset<Vector3D> boundary : nodeBoundaries) {
+                final Vector3D centroid = boundary.getCentroid();
+                if (centroid != null) {
+                    xs[n] = centroid.getX();
+                    ys[n] = centroid.getY();
+                    zs[n] = centroid.getZ();
+                    ++n;
+                }
+            }
+
+            final List<Plane> candidates = new ArrayList<>(3);
+            if (n > 1) {
+                final Precision.DoubleEquivalence precision =
+                        ((PlaneConvexSubset) nodeBoundaries.get(0)).getPlane().getPrecision();
+                final Vector3D median = Vector3D.of(median(xs, n), median(ys, n), median(zs, n));
+
+                candidates.add(Planes.fromPointAndNormal(median, Vector3D.Unit.PLUS_X, precision));
+                candidates.add(Planes.fromPointAndNormal(median, Vector3D.Unit.PLUS_Y, precision));
+                candidates.add(Planes.fromPointAndNormal(median, Vector3D.Unit.PLUS_Z, precision));
+            }
+
+            return candidates;
+        }
+
+        /** Compute the median of the first {@code n} values in the given array. The array is sorted
+         * as a side effect.
+         * @param values values array
+         * @param n number of values to use
+         * @return the median value
+         */
+        private static double median(final double[] values, final int n) {
+            Arrays.sort(values, 0, n);
+
+            return values[n / 2];
+        }
+    }
+
     /** Class used to project points onto the 3D region boundary.
      */
     private static final class BoundaryProjector3D extends BoundaryProjector<Vector3D, RegionNode3D> {
+
+        /** If true, subtrees are skipped when their bounds lie farther from the target point than
+         * the closest boundary point found so far.
+         */
+        private final boolean useSubtreeBounds;
+
         /** Simple constructor.
          * @param point the point to project onto the region's boundary
+         * @param useSubtreeBounds if true, subtree bounds are used to skip subtrees that cannot contain
+         *      the closest boundary point
          */
-        private BoundaryProjector3D(final Vector3D point) {
+        private BoundaryProjector3D(final Vector3D point, final boolean useSubtreeBounds) {
             super(point);
+
+            this.useSubtreeBounds = useSubtreeBounds;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Order visitOrder(final RegionNode3D node) {
+            if (useSubtreeBounds) {
+                final double minDist = getMinDistance();
+                final double maxDist = minDist < 0.0 ?
+                        Double.POSITIVE_INFINITY :
+                        minDist;
+
+                if (!node.getSubtreeBounds().isWithinDistance(getTarget(), maxDist)) {
+                    return Order.NONE;
+                }
+            }
+
+            return super.visitOrder(node);
         }
 
         /** {@inheritDoc} */
@@ -455,7 +1324,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         }
     }
 
-    /** Visitor for computing geometric properties for 3D BSP tree instances.
+    /** Class containing the size-related property sums for a subtree of a 3D BSP tree.
      *  The volume of the region is computed using the equation
      *  <code>V = (1/3)*&Sigma;<sub>F</sub>[(C<sub>F</sub>&sdot;N<sub>F</sub>)*area(F)]</code>,
      *  where <code>F</code> represents each face in the region, <code>C<sub>F</sub></code>
@@ -467,9 +1336,26 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
      *  of each pyramid is calculated using the fact that it is located 3/4 of the way along the
      *  line from the apex to the base. The region centroid then becomes the volume-weighted
      *  average of these pyramid centers.
+     *
+     *  <p>Since the region boundaries lying on a node cut depend only on the subtree rooted at that
+     *  node, the sums for a subtree are computed from the boundary contributions of the subtree root
+     *  cut and the sums of its two child subtrees. Instances are cached on the subtree root node and
+     *  only recomputed when the subtree is modified.</p>
      *  @see <a href="https://en.wikipedia.org/wiki/Polyhedron#Volume">Polyhedron#Volume</a>
      */
-    private static final class RegionSizePropertiesVisitor implements BSPTreeVisitor<Vector3D, RegionNode3D> {
+    private static final class SubtreeSizeSums {
+
+        /** Sums for a leaf node with an inside location. */
+        private static final SubtreeSizeSums INSIDE_LEAF = new SubtreeSizeSums(true, false);
+
+        /** Sums for a leaf node with an outside location. */
+        private static final SubtreeSizeSums OUTSIDE_LEAF = new SubtreeSizeSums(false, true);
+
+        /** True if the subtree contains a node with an inside location. */
+        private boolean hasInside;
+
+        /** True if the subtree contains a node with an outside location. */
+        private boolean hasOutside;
 
         /** Accumulator for boundary volume contributions. */
         private double volumeSum;
@@ -483,28 +1369,57 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         /** Centroid contribution z coordinate accumulator. */
         private double sumZ;
 
-        /** {@inheritDoc} */
-        @Override
-        public Result visit(final RegionNode3D node) {
-            if (node.isInternal()) {
-                final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
+        /** Construct a new instance with zero-valued sums.
+         * @param hasInside true if the subtree contains an inside node
+         * @param hasOutside true if the subtree contains an outside node
+         */
+        private SubtreeSizeSums(final boolean hasInside, final boolean hasOutside) {
+            this.hasInside = hasInside;
+            this.hasOutside = hasOutside;
+        }
 
-                for (final HyperplaneConvexSubset<Vector3D> outsideFacing : boundary.getOutsideFacing()) {
-                    addBoundaryContribution(outsideFacing, false);
-                }
+        /** Compute the sums for the subtree rooted at the given internal node.
+         * @param node internal node
+         * @param minus sums for the minus child subtree
+         * @param plus sums for the plus child subtree
+         * @return the sums for the subtree rooted at {@code node}
+         */
+        static SubtreeSizeSums forInternalNode(final RegionNode3D node, final SubtreeSizeSums minus,
+                final SubtreeSizeSums plus) {
+            // include the location of the internal node itself in the location flags to match
+            // the behavior of isFull() and isEmpty()
+            final RegionLocation loc = node.getLocation();
+            final SubtreeSizeSums result = new SubtreeSizeSums(
+                    loc == RegionLocation.INSIDE || minus.hasInside || plus.hasInside,
+                    loc == RegionLocation.OUTSIDE || minus.hasOutside || plus.hasOutside);
+
+            result.add(minus);
+            result.add(plus);
 
-                for (final HyperplaneConvexSubset<Vector3D> insideFacing : boundary.getInsideFacing()) {
-                    addBoundaryContribution(insideFacing, true);
-                }
+            final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
+
+            for (final HyperplaneConvexSubset<Vector3D> outsideFacing : boundary.getOutsideFacing()) {
+                result.addBoundaryContribution(outsideFacing, false);
             }
 
-            return Result.CONTINUE;
+            for (final HyperplaneConvexSubset<Vector3D> insideFacing : boundary.getInsideFacing()) {
+                result.addBoundaryContribution(insideFacing, true);
+            }
+
+            return result;
         }
 
-        /** Return the computed size properties for the visited region.
-         * @return the computed size properties for the visited region.
+        /** Return the size properties for a region whose root subtree has these sums.
+         * @return the region size properties
          */
-        public RegionSizeProperties<Vector3D> getRegionSizeProperties() {
+        RegionSizeProperties<Vector3D> getRegionSizeProperties() {
+            // handle simple cases
+            if (!hasOutside) {
+                return new RegionSizeProperties<>(Double.POSITIVE_INFINITY, null);
+            } else if (!hasInside) {
+                return new RegionSizeProperties<>(0, null);
+            }
+
             double size = Double.POSITIVE_INFINITY;
             Vector3D centroid = null;
 
@@ -527,6 +1442,17 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
             return new RegionSizeProperties<>(size, centroid);
         }
 
+        /** Add the sums from the given instance to this instance.
+         * @param other instance to add
+         */
+        private void add(final SubtreeSizeSums other) {
+            volumeSum += other.volumeSum;
+
+            sumX += other.sumX;
+            sumY += other.sumY;
+            sumZ += other.sumZ;
+        }
+
         /** Add the contribution of the given node cut boundary. If {@code reverse} is true,
          * the volume of the contribution is reversed before being added to the total.
          * @param boundary node cut boundary
@@ -558,6 +1484,174 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         }
     }
 
+    /** Class containing the axis-aligned bounding box of the region boundaries in a subtree of a 3D BSP
+     * tree. Instances are cached on the subtree root node and used to skip entire subtrees during linecast
+     * and projection operations.
+     */
+    private static final class SubtreeBounds {
+
+        /** Instance for subtrees that do not contain any region boundaries. */
+        private static final SubtreeBounds EMPTY = new SubtreeBounds(null, false);
+
+        /** Instance for subtrees containing at least one infinite region boundary. */
+        private static final SubtreeBounds INFINITE = new SubtreeBounds(null, true);
+
+        /** Bounding box of the subtree boundaries; null if the boundaries are empty or infinite. */
+        private final Bounds3D bounds;
+
+        /** True if the subtree contains at least one infinite boundary. */
+        private final boolean infinite;
+
+        /** Simple constructor.
+         * @param bounds bounding box of the subtree boundaries
+         * @param infinite true if the subtree contains at least one infinite boundary
+         */
+        private SubtreeBounds(final Bounds3D bounds, final boolean infinite) {
+            this.bounds = bounds;
+            this.infinite = infinite;
+        }
+
+        /** Get the bounding box of the subtree boundaries.
+         * @return the bounding box of the subtree boundaries or null if the boundaries are
+         *      empty or infinite
+         */
+        Bounds3D getBounds() {
+            return bounds;
+        }
+
+        /** Return true if a point of the given line subset with an abscissa less than or equal to
+         * {@code maxAbscissa} may lie on a boundary in the subtree. False is only returned if all such points
+         * are separated from the bounding box by more than the precision of the line.
+         * @param subset line subset to test
+         * @param maxAbscissa the maximum abscissa of the line subset points of interest
+         * @return true if the line subset may intersect a boundary in the subtree
+         */
+        boolean intersects(final LineConvexSubset3D subset, final double maxAbscissa) {
+            if (bounds == null) {
+                return infinite;
+            }
+
+            final Line3D line = subset.getLine();
+            final Precision.DoubleEquivalence precision = line.getPrecision();
+
+            final double[] origin = line.getOrigin().toArray();
+            final double[] dir = line.getDirection().toArray();
+            final double[] min = bounds.getMin().toArray();
+            final double[] max = bounds.getMax().toArray();
+
+            // clip the abscissa range of the line subset against the slabs of the bounding box,
+            // tracking the rate at which the line leaves each constraint so that the distance
+            // between the line and the box can be estimated when the range becomes empty
+            double near = subset.getSubspaceStart();
+            double nearRate = 1.0;
+            double far = Math.min(subset.getSubspaceEnd(), maxAbscissa);
+            double farRate = 1.0;
+
+            for (int i = 0; i < origin.length; ++i) {
+                if (dir[i] == 0.0) {
+                    if (precision.lt(origin[i], min[i]) || precision.gt(origin[i], max[i])) {
+                        return false;
+                    }
+                } else {
+                    final double t1 = (min[i] - origin[i]) / dir[i];
+                    final double t2 = (max[i] - origin[i]) / dir[i];
+                    final double rate = Math.abs(dir[i]);
+
+                    final double entry = Math.min(t1, t2);
+                    if (entry > near) {
+                        near = entry;
+                        nearRate = rate;
+                    }
+
+                    final double exit = Math.max(t1, t2);
+                    if (exit < far) {
+                        far = exit;
+                        farRate = rate;
+                    }
+                }
+            }
+
+            if (near <= far) {
+                return true;
+            }
+
+            // the range is empty; compute a lower bound for the amount by which the line subset misses
+            // the box and only report a miss if it is not within the line precision
+            final double gap = (near - far) * nearRate * farRate / (nearRate + farRate);
+            return !precision.gt(gap, 0.0);
+        }
+
+        /** Return true if a boundary in the subtree may lie within the given distance of a point.
+         * @param pt point to test
+         * @param distance the maximum distance from the point
+         * @return true if a boundary in the subtree may lie within {@code distance} of {@code pt}
+         */
+        boolean isWithinDistance(final Vector3D pt, final double distance) {
+            if (bounds == null) {
+                return infinite;
+            }
+
+            final Vector3D min = bounds.getMin();
+            final Vector3D max = bounds.getMax();
+
+            final double dx = Math.max(0.0, Math.max(min.getX() - pt.getX(), pt.getX() - max.getX()));
+            final double dy = Math.max(0.0, Math.max(min.getY() - pt.getY(), pt.getY() - max.getY()));
+            final double dz = Math.max(0.0, Math.max(min.getZ() - pt.getZ(), pt.getZ() - max.getZ()));
+
+            return Vectors.norm(dx, dy, dz) <= distance;
+        }
+
+        /** Compute the bounds for the subtree rooted at the given internal node.
+         * @param node the subtree root node
+         * @param minus the bounds of the minus subtree of {@code node}
+         * @param plus the bounds of the plus subtree of {@code node}
+         * @return the bounds for the subtree rooted at {@code node}
+         */
+        static SubtreeBounds forInternalNode(final RegionNode3D node, final SubtreeBounds minus,
+                final SubtreeBounds plus) {
+            if (minus.infinite || plus.infinite) {
+                return INFINITE;
+            }
+
+            final Bounds3D.Builder builder = Bounds3D.builder();
+            if (minus.bounds != null) {
+                builder.add(minus.bounds);
+            }
+            if (plus.bounds != null) {
+                builder.add(plus.bounds);
+            }
+
+            final RegionCutBoundary<Vector3D> cutBoundary = node.getCutBoundary();
+            if (!addBounds(builder, cutBoundary.getInsideFacing()) ||
+                    !addBounds(builder, cutBoundary.getOutsideFacing())) {
+                return INFINITE;
+            }
+
+            return builder.hasBounds() ?
+                    new SubtreeBounds(builder.build(), false) :
+                    EMPTY;
+        }
+
+        /** Add the bounds of the given boundaries to {@code builder}.
+         * @param builder builder to add the bounds to
+         * @param boundaries boundaries to add
+         * @return false if any of the boundaries are infinite
+         */
+        private static boolean addBounds(final Bounds3D.Builder builder,
+                final List<HyperplaneConvexSubset<Vector3D>> boundaries) {
+            for (final HyperplaneConvexSubset<Vector3D> boundary : boundaries) {
+                final Bounds3D boundaryBounds = ((PlaneConvexSubset) boundary).getBounds();
+                if (boundaryBounds == null) {
+                    return false;
+                }
+
+                builder.add(boundaryBounds);
+            }
+
+            return true;
+        }
+    }
+
     /** BSP tree visitor that performs a linecast operation against the boundaries of the visited tree.
      */
     private static final class LinecastVisitor implements BSPTreeVisitor<Vector3D, RegionNode3D> {
@@ -570,6 +1664,9 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
          */
         private final boolean firstOnly;
 
+        /** If true, subtrees are skipped when their bounds cannot be reached by the line subset. */
+        private final boolean useSubtreeBounds;
+
         /** The minimum abscissa found during the search. */
         private double minAbscissa = Double.POSITIVE_INFINITY;
 
@@ -580,10 +1677,14 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
          * @param linecastSubset line subset to intersect with the BSP tree region boundary
          * @param firstOnly if true, the visitor will stop visiting the tree once the first
          *      linecast point is determined
+         * @param useSubtreeBounds if true, subtree bounds are used to skip subtrees that
+         *      cannot be reached by the line subset
          */
-        LinecastVisitor(final LineConvexSubset3D linecastSubset, final boolean firstOnly) {
+        LinecastVisitor(final LineConvexSubset3D linecastSubset, final boolean firstOnly,
+                final boolean useSubtreeBounds) {
             this.linecastSubset = linecastSubset;
             this.firstOnly = firstOnly;
+            this.useSubtreeBounds = useSubtreeBounds;
         }
 
         /** Get the first {@link org.apache.commons.geometry.euclidean.twod.LinecastPoint2D}
@@ -611,6 +1712,18 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         /** {@inheritDoc} */
         @Override
         public Order visitOrder(final RegionNode3D internalNode) {
+            if (useSubtreeBounds) {
+                // when searching for the first point only, intersections beyond the closest one
+                // found so far are not needed
+                final double maxAbscissa = firstOnly ?
+                        minAbscissa :
+                        Double.POSITIVE_INFINITY;
+
+                if (!internalNode.getSubtreeBounds().intersects(linecastSubset, maxAbscissa)) {
+                    return Order.NONE;
+                }
+            }
+
             final Plane cut = (Plane) internalNode.getCutHyperplane();
             final Line3D line = linecastSubset.getLine();
 
@@ -0,0 +1,843 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.geometry.core.Transform;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
+import org.apache.commons.geometry.euclidean.threed.AffineTransformMatrix3D;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.PlaneConvexSubset;
+import org.apache.commons.geometry.euclidean.threed.Planes;
+import org.apache.commons.geometry.euclidean.threed.Triangle3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.numbers.core.Precision;
+
+/** {@link TriangleMesh} implementation that stores its data in primitive arrays. Vertex coordinates are
+ * stored as consecutive {@code (x, y, z)} groups in a single {@code double[]}, {@code float[]}, or
+ * {@link DoubleBuffer}, and face vertex indices as consecutive triples in a single {@code int[]}. No
+ * objects are stored per vertex or face, making this class suitable for very large meshes.
+ *
+ * <p>{@link Vector3D}, {@link TriangleMesh.Face}, and {@link Triangle3D} instances are only created when
+ * requested. The faces returned by {@link #getFace(int)} and {@link #faces()} are lightweight views that
+ * only hold the face index. Callers that need to visit every face without any allocation can use a
+ * {@link FaceCursor}, which is a single mutable face object that is moved from face to face and provides
+ * direct access to the face vertex indices and coordinates.</p>
+ *
+ * <p>As with {@link SimpleTriangleMesh}, this class does not enforce that the vertices referenced by a
+ * face are unique or that they define a triangle with non-zero size.</p>
+ *
+ * <p>The arrays and buffers passed to the factory methods of this class are used directly, without
+ * copying, and must not be modified after the mesh is created. Under this condition, instances of this
+ * class are immutable.</p>
+ */
+public final class CompactTriangleMesh implements TriangleMesh {
+
+    /** Vertex coordinates. */
+    private final CoordinateStore coordinates;
+
+    /** Face vertex indices, stored as consecutive triples. */
+    private final int[] faceIndices;
+
+    /** The bounds of the mesh; null if the mesh has no vertices. */
+    private final Bounds3D bounds;
+
+    /** Object used for floating point comparisons. */
+    private final Precision.DoubleEquivalence precision;
+
+    /** Construct a new instance from its components. No validation is performed on the input.
+     * @param coordinates vertex coordinates
+     * @param faceIndices face vertex indices
+     * @param bounds mesh bounds
+     * @param precision precision context used when creating face polygons
+     */
+    private CompactTriangleMesh(final CoordinateStore coordinates, final int[] faceIndices, final Bounds3D bounds,
+            final Precision.DoubleEquivalence precision) {
+        this.coordinates = coordinates;
+        this.faceIndices = faceIndices;
+        this.bounds = bounds;
+        this.precision = precision;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Vector3D> vertices() {
+        return getVertices();
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The returned list is an unmodifiable view of the mesh vertex coordinates. Each call to
+     * {@link List#get(int)} creates a new {@link Vector3D} instance.</p>
+     */
+    @Override
+    public List<Vector3D> getVertices() {
+        return new VertexList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getVertexCount() {
+        return coordinates.size() / 3;
+    }
+
+    /** Get the coordinate at index {@code dim} of the vertex with the given index.
+     * @param vertexIndex vertex index
+     * @param dim coordinate index: 0 for x, 1 for y, and 2 for z
+     * @return the coordinate value
+     * @throws IndexOutOfBoundsException if the vertex index or coordinate index is out of bounds
+     */
+    public double getVertexCoordinate(final int vertexIndex, final int dim) {
+        checkIndex(vertexIndex, getVertexCount());
+        checkIndex(dim, 3);
+
+        return coordinates.get((vertexIndex * 3) + dim);
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>Each face returned by the iterator is a lightweight view holding only the face index.</p>
+     * @see #cursor()
+     */
+    @Override
+    public Iterable<TriangleMesh.Face> faces() {
+        return FaceIterator::new;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<TriangleMesh.Face> getFaces() {
+        return new FaceList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getFaceCount() {
+        return faceIndices.length / 3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TriangleMesh.Face getFace(final int index) {
+        checkIndex(index, getFaceCount());
+        return new CompactTriangleFace(index);
+    }
+
+    /** Return a new cursor for visiting the faces of the mesh without allocating a face object per face.
+     * The cursor is initially positioned before the first face.
+     * @return a new face cursor
+     */
+    public FaceCursor cursor() {
+        return new FaceCursor();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Bounds3D getBounds() {
+        return bounds;
+    }
+
+    /** Get the precision context for the mesh. This context is used during construction of
+     * face {@link Triangle3D} instances.
+     * @return the precision context for the mesh
+     */
+    public Precision.DoubleEquivalence getPrecision() {
+        return precision;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Stream<PlaneConvexSubset> boundaryStream() {
+        return IntStream.range(0, getFaceCount())
+                .mapToObj(this::createTriangle);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Stream<Triangle3D> triangleStream() {
+        return IntStream.range(0, getFaceCount())
+                .mapToObj(this::createTriangle);
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The returned mesh shares the face index array of this instance. Its vertex coordinates are
+     * stored in a new {@code float[]} if the coordinates of this instance are stored as floats and in a new
+     * {@code double[]} otherwise. If {@code transform} is an {@link AffineTransformMatrix3D}, no objects
+     * are created per vertex.</p>
+     */
+    @Override
+    public CompactTriangleMesh transform(final Transform<Vector3D> transform) {
+        final CoordinateStore tCoordinates = coordinates.createEmptyCopy();
+        final int size = coordinates.size();
+
+        if (transform instanceof AffineTransformMatrix3D) {
+            final AffineTransformMatrix3D matrix = (AffineTransformMatrix3D) transform;
+            for (int i = 0; i < size; i += 3) {
+                final double x = coordinates.get(i);
+                final double y = coordinates.get(i + 1);
+                final double z = coordinates.get(i + 2);
+
+                tCoordinates.set(i, matrix.applyX(x, y, z));
+                tCoordinates.set(i + 1, matrix.applyY(x, y, z));
+                tCoordinates.set(i + 2, matrix.applyZ(x, y, z));
+            }
+        } else {
+            for (int i = 0; i < size; i += 3) {
+                final Vector3D t = transform.apply(Vector3D.of(
+                        coordinates.get(i), coordinates.get(i + 1), coordinates.get(i + 2)));
+
+                tCoordinates.set(i, t.getX());
+                tCoordinates.set(i + 1, t.getY());
+                tCoordinates.set(i + 2, t.getZ());
+            }
+        }
+
+        return new CompactTriangleMesh(tCoordinates, faceIndices, computeBounds(tCoordinates), precision);
+    }
+
+    /** Return this instance if the given precision context is equal to the current precision context.
+     * Otherwise, create a new mesh with the given precision context but the same vertices, faces, and
+     * bounds.
+     * @param meshPrecision precision context to use when generating face polygons
+     * @return a mesh instance with the given precision context and the same mesh structure as the current
+     *      instance
+     */
+    @Override
+    public CompactTriangleMesh toTriangleMesh(final Precision.DoubleEquivalence meshPrecision) {
+        if (this.precision.equals(meshPrecision)) {
+            return this;
+        }
+
+        return new CompactTriangleMesh(coordinates, faceIndices, bounds, meshPrecision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append("[vertexCount= ")
+            .append(getVertexCount())
+            .append(", faceCount= ")
+            .append(getFaceCount())
+            .append(", bounds= ")
+            .append(getBounds())
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Create a triangle for the face with the given index.
+     * @param face face index
+     * @return a triangle for the face
+     */
+    private Triangle3D createTriangle(final int face) {
+        return Planes.triangleFromVertices(
+                getFaceVertex(face, 0),
+                getFaceVertex(face, 1),
+                getFaceVertex(face, 2),
+                precision);
+    }
+
+    /** Get a vertex of a face.
+     * @param face face index
+     * @param n index of the vertex in the face, from 0 to 2
+     * @return the face vertex
+     */
+    private Vector3D getFaceVertex(final int face, final int n) {
+        final int offset = faceIndices[(face * 3) + n] * 3;
+        return Vector3D.of(coordinates.get(offset), coordinates.get(offset + 1), coordinates.get(offset + 2));
+    }
+
+    /** Return true if the vertices of the given face define a triangle with non-zero size.
+     * @param face face index
+     * @return true if the vertices of the face define a triangle with non-zero size
+     */
+    private boolean definesPolygon(final int face) {
+        final int o1 = faceIndices[face * 3] * 3;
+        final int o2 = faceIndices[(face * 3) + 1] * 3;
+        final int o3 = faceIndices[(face * 3) + 2] * 3;
+
+        final double x1 = coordinates.get(o1);
+        final double y1 = coordinates.get(o1 + 1);
+        final double z1 = coordinates.get(o1 + 2);
+
+        final double ux = coordinates.get(o2) - x1;
+        final double uy = coordinates.get(o2 + 1) - y1;
+        final double uz = coordinates.get(o2 + 2) - z1;
+
+        final double vx = coordinates.get(o3) - x1;
+        final double vy = coordinates.get(o3 + 1) - y1;
+        final double vz = coordinates.get(o3 + 2) - z1;
+
+        final double cx = (uy * vz) - (uz * vy);
+        final double cy = (uz * vx) - (ux * vz);
+        final double cz = (ux * vy) - (uy * vx);
+
+        return !precision.eqZero(Vectors.norm(cx, cy, cz));
+    }
+
+    /** Construct a new mesh from the given vertex coordinates and face vertex indices. The arrays are used
+     * directly and must not be modified after the mesh is created.
+     * @param coordinates vertex coordinates, stored as consecutive {@code (x, y, z)} groups
+     * @param faceIndices face vertex indices, stored as consecutive triples
+     * @param precision precision context used when creating face polygons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the length of either array is not a multiple of 3 or if any face
+     *      vertex index is not a valid vertex index
+     */
+    public static CompactTriangleMesh of(final double[] coordinates, final int[] faceIndices,
+            final Precision.DoubleEquivalence precision) {
+        return create(new DoubleArrayStore(coordinates), faceIndices, precision);
+    }
+
+    /** Construct a new mesh from the given single precision vertex coordinates and face vertex indices,
+     * halving the memory used for vertex coordinates compared to {@link #of(double[], int[],
+     * Precision.DoubleEquivalence)}. The arrays are used directly and must not be modified after the
+     * mesh is created.
+     * @param coordinates vertex coordinates, stored as consecutive {@code (x, y, z)} groups
+     * @param faceIndices face vertex indices, stored as consecutive triples
+     * @param precision precision context used when creating face polygons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the length of either array is not a multiple of 3 or if any face
+     *      vertex index is not a valid vertex index
+     */
+    public static CompactTriangleMesh of(final float[] coordinates, final int[] faceIndices,
+            final Precision.DoubleEquivalence precision) {
+        return create(new FloatArrayStore(coordinates), faceIndices, precision);
+    }
+
+    /** Construct a new mesh from the vertex coordinates between the position and the limit of the
+     * given buffer and the given face vertex indices. The buffer may be a direct buffer, in which case
+     * the vertex coordinates are stored outside of the Java heap. The position of the buffer is not
+     * modified. The buffer content and the index array are used directly and must not be modified after
+     * the mesh is created.
+     * @param coordinates buffer containing vertex coordinates, stored as consecutive {@code (x, y, z)}
+     *      groups
+     * @param faceIndices face vertex indices, stored as consecutive triples
+     * @param precision precision context used when creating face polygons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the number of coordinates or the length of the index array
+     *      is not a multiple of 3 or if any face vertex index is not a valid vertex index
+     */
+    public static CompactTriangleMesh of(final DoubleBuffer coordinates, final int[] faceIndices,
+            final Precision.DoubleEquivalence precision) {
+        return create(new DoubleBufferStore(coordinates.slice()), faceIndices, precision);
+    }
+
+    /** Construct a new mesh containing the same vertices and faces as the given mesh, stored in
+     * newly allocated arrays.
+     * @param mesh mesh to copy
+     * @param precision precision context used when creating face polygons
+     * @return a new mesh instance containing the vertices and faces of {@code mesh}
+     */
+    public static CompactTriangleMesh from(final TriangleMesh mesh, final Precision.DoubleEquivalence precision) {
+        final double[] coordinates = new double[mesh.getVertexCount() * 3];
+        int i = 0;
+        for (final Vector3D vertex : mesh.vertices()) {
+            coordinates[i++] = vertex.getX();
+            coordinates[i++] = vertex.getY();
+            coordinates[i++] = vertex.getZ();
+        }
+
+        final int[] faceIndices = new int[mesh.getFaceCount() * 3];
+        int j = 0;
+        for (final TriangleMesh.Face face : mesh.faces()) {
+            final int[] indices = face.getVertexIndices();
+            faceIndices[j++] = indices[0];
+            faceIndices[j++] = indices[1];
+            faceIndices[j++] = indices[2];
+        }
+
+        return of(coordinates, faceIndices, precision);
+    }
+
+    /** Validate the input and construct a new mesh instance.
+     * @param coordinates vertex coordinates
+     * @param faceIndices face vertex indices
+     * @param precision precision context used when creating face polygons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the number of coordinates or the length of the index array
+     *      is not a multiple of 3 or if any face vertex index is not a valid vertex index
+     */
+    private static CompactTriangleMesh create(final CoordinateStore coordinates, final int[] faceIndices,
+            final Precision.DoubleEquivalence precision) {
+        Objects.requireNonNull(precision, "Precision context must not be null");
+
+        if (coordinates.size() % 3 != 0) {
+            throw new IllegalArgumentException("Vertex coordinate count must be a multiple of 3; found " +
+                    coordinates.size());
+        }
+        if (faceIndices.length % 3 != 0) {
+            throw new IllegalArgumentException("Face index count must be a multiple of 3; found " +
+                    faceIndices.length);
+        }
+
+        final int vertexCount = coordinates.size() / 3;
+        for (final int idx : faceIndices) {
+            if (idx < 0 || idx >= vertexCount) {
+                throw new IllegalArgumentException("Invalid vertex index: " + idx);
+            }
+        }
+
+        return new CompactTriangleMesh(coordinates, faceIndices, computeBounds(coordinates), precision);
+    }
+
+    /** Compute the bounds of the given vertex coordinates.
+     * @param coordinates vertex coordinates
+     * @return the bounds of the coordinates or null if there are no vertices
+     */
+    private static Bounds3D computeBounds(final CoordinateStore coordinates) {
+        final int size = coordinates.size();
+        if (size == 0) {
+            return null;
+        }
+
+        final double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        final double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+        for (int i = 0; i < size; i += 3) {
+            for (int j = 0; j < 3; ++j) {
+                final double value = coordinates.get(i + j);
+                min[j] = Math.min(min[j], value);
+                max[j] = Math.max(max[j], value);
+            }
+        }
+
+        return Bounds3D.from(Vector3D.of(min), Vector3D.of(max));
+    }
+
+    /** Check that {@code index} is in the range {@code [0, size)}.
+     * @param index index to check
+     * @param size size of the indexed range
+     * @return the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private static int checkIndex(final int index, final int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+
+    /** Base class for faces of a compact mesh. All values are computed from the mesh arrays using the
+     * face index.
+     */
+    private abstract class AbstractCompactFace implements TriangleMesh.Face {
+
+        /** {@inheritDoc} */
+        @Override
+        public int[] getVertexIndices() {
+            final int offset = getIndex() * 3;
+            return Arrays.copyOfRange(faceIndices, offset, offset + 3);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<Vector3D> getVertices() {
+            return Arrays.asList(
+                    getPoint1(),
+                    getPoint2(),
+                    getPoint3());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint1() {
+            return getFaceVertex(getIndex(), 0);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint2() {
+            return getFaceVertex(getIndex(), 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint3() {
+            return getFaceVertex(getIndex(), 2);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean definesPolygon() {
+            return CompactTriangleMesh.this.definesPolygon(getIndex());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Triangle3D getPolygon() {
+            return createTriangle(getIndex());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(getClass().getSimpleName())
+                .append("[index= ")
+                .append(getIndex())
+                .append(", vertexIndices= ")
+                .append(Arrays.toString(getVertexIndices()))
+                .append(", vertices= ")
+                .append(getVertices())
+                .append(']');
+
+            return sb.toString();
+        }
+    }
+
+    /** Face view holding only the face index.
+     */
+    private final class CompactTriangleFace extends AbstractCompactFace {
+
+        /** The index of the face in the mesh. */
+        private final int index;
+
+        /** Construct a new instance for the face with the given index.
+         * @param index face index
+         */
+        CompactTriangleFace(final int index) {
+            this.index = index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getIndex() {
+            return index;
+        }
+    }
+
+    /** Flyweight face object that can be moved from face to face of the mesh. The vertex indices and
+     * coordinates of the current face can be read without creating any objects. The methods inherited from
+     * {@link TriangleMesh.Face} are also supported and refer to the current face, but references to the
+     * cursor must not be retained as face objects since the cursor changes when it is moved.
+     * Instances are not thread-safe.
+     *
+     * <p>Typical usage:</p>
+     * <pre>
+     * CompactTriangleMesh.FaceCursor cursor = mesh.cursor();
+     * while (cursor.next()) {
+     *     double x1 = cursor.getX(0);
+     *     // ...
+     * }
+     * </pre>
+     */
+    public final class FaceCursor extends AbstractCompactFace {
+
+        /** The index of the current face; -1 if the cursor is positioned before the first face. */
+        private int index = -1;
+
+        /** Private constructor; instances are created with {@link CompactTriangleMesh#cursor()}.
+         */
+        private FaceCursor() {
+            // nothing to do
+        }
+
+        /** Move the cursor to the next face. False is returned, and the cursor is positioned after the
+         * last face, if there are no more faces.
+         * @return true if the cursor was moved to a face; false if there are no more faces
+         */
+        public boolean next() {
+            if (index < getFaceCount()) {
+                ++index;
+            }
+            return index < getFaceCount();
+        }
+
+        /** Move the cursor to the face with the given index.
+         * @param faceIndex face index
+         * @return this instance
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public FaceCursor moveTo(final int faceIndex) {
+            this.index = checkIndex(faceIndex, getFaceCount());
+            return this;
+        }
+
+        /** Get the index of the current face.
+         * @return the index of the current face
+         * @throws IllegalStateException if the cursor is not positioned on a face
+         */
+        @Override
+        public int getIndex() {
+            if (index < 0 || index >= getFaceCount()) {
+                throw new IllegalStateException("Face cursor is not positioned on a face");
+            }
+            return index;
+        }
+
+        /** Get the vertex index of the {@code n}th vertex of the current face.
+         * @param n index of the vertex in the face, from 0 to 2
+         * @return the vertex index
+         * @throws IndexOutOfBoundsException if {@code n} is not in the range {@code [0, 2]}
+         * @throws IllegalStateException if the cursor is not positioned on a face
+         */
+        public int getVertexIndex(final int n) {
+            return faceIndices[(getIndex() * 3) + checkIndex(n, 3)];
+        }
+
+        /** Get the x coordinate of the {@code n}th vertex of the current face.
+         * @param n index of the vertex in the face, from 0 to 2
+         * @return the x coordinate of the vertex
+         * @throws IndexOutOfBoundsException if {@code n} is not in the range {@code [0, 2]}
+         * @throws IllegalStateException if the cursor is not positioned on a face
+         */
+        public double getX(final int n) {
+            return coordinates.get(getVertexIndex(n) * 3);
+        }
+
+        /** Get the y coordinate of the {@code n}th vertex of the current face.
+         * @param n index of the vertex in the face, from 0 to 2
+         * @return the y coordinate of the vertex
+         * @throws IndexOutOfBoundsException if {@code n} is not in the range {@code [0, 2]}
+         * @throws IllegalStateException if the cursor is not positioned on a face
+         */
+        public double getY(final int n) {
+            return coordinates.get((getVertexIndex(n) * 3) + 1);
+        }
+
+        /** Get the z coordinate of the {@code n}th vertex of the current face.
+         * @param n index of the vertex in the face, from 0 to 2
+         * @return the z coordinate of the vertex
+         * @throws IndexOutOfBoundsException if {@code n} is not in the range {@code [0, 2]}
+         * @throws IllegalStateException if the cursor is not positioned on a face
+         */
+        public double getZ(final int n) {
+            return coordinates.get((getVertexIndex(n) * 3) + 2);
+        }
+    }
+
+    /** Iterator over lightweight views of the mesh faces.
+     */
+    private final class FaceIterator implements Iterator<TriangleMesh.Face> {
+
+        /** The index of the next face. */
+        private int index;
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return index < getFaceCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TriangleMesh.Face next() {
+            if (hasNext()) {
+                return new CompactTriangleFace(index++);
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    /** Unmodifiable list view of the mesh vertices.
+     */
+    private final class VertexList extends AbstractList<Vector3D> implements RandomAccess {
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D get(final int index) {
+            checkIndex(index, size());
+
+            final int offset = index * 3;
+            return Vector3D.of(coordinates.get(offset), coordinates.get(offset + 1), coordinates.get(offset + 2));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return getVertexCount();
+        }
+    }
+
+    /** Unmodifiable list view of the mesh faces.
+     */
+    private final class FaceList extends AbstractList<TriangleMesh.Face> implements RandomAccess {
+
+        /** {@inheritDoc} */
+        @Override
+        public TriangleMesh.Face get(final int index) {
+            return getFace(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return getFaceCount();
+        }
+    }
+
+    /** Interface for primitive storage of vertex coordinates.
+     */
+    private interface CoordinateStore {
+
+        /** Get the number of stored values.
+         * @return the number of stored values
+         */
+        int size();
+
+        /** Get the value at the given index.
+         * @param index value index
+         * @return the value at the given index
+         */
+        double get(int index);
+
+        /** Set the value at the given index. This is only called on stores created with
+         * {@link #createEmptyCopy()}.
+         * @param index value index
+         * @param value value to set
+         */
+        void set(int index, double value);
+
+        /** Create a new, zero-filled, heap-based store with the same size and value precision as this
+         * instance.
+         * @return a new store with the same size as this instance
+         */
+        CoordinateStore createEmptyCopy();
+    }
+
+    /** Coordinate store backed by a {@code double[]}.
+     */
+    private static final class DoubleArrayStore implements CoordinateStore {
+
+        /** Coordinate values. */
+        private final double[] values;
+
+        /** Construct a new instance backed by the given array.
+         * @param values coordinate values
+         */
+        DoubleArrayStore(final double[] values) {
+            this.values = values;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(final int index) {
+            return values[index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(final int index, final double value) {
+            values[index] = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CoordinateStore createEmptyCopy() {
+            return new DoubleArrayStore(new double[values.length]);
+        }
+    }
+
+    /** Coordinate store backed by a {@code float[]}.
+     */
+    private static final class FloatArrayStore implements CoordinateStore {
+
+        /** Coordinate values. */
+        private final float[] values;
+
+        /** Construct a new instance backed by the given array.
+         * @param values coordinate values
+         */
+        FloatArrayStore(final float[] values) {
+            this.values = values;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(final int index) {
+            return values[index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(final int index, final double value) {
+            values[index] = (float) value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CoordinateStore createEmptyCopy() {
+            return new FloatArrayStore(new float[values.length]);
+        }
+    }
+
+    /** Coordinate store backed by a {@link DoubleBuffer}. Only absolute buffer operations are used so
+     * that instances can be read concurrently.
+     */
+    private static final class DoubleBufferStore implements CoordinateStore {
+
+        /** Coordinate values, starting at index zero. */
+        private final DoubleBuffer values;
+
+        /** Construct a new instance backed by the given buffer.
+         * @param values coordinate values, starting at index zero
+         */
+        DoubleBufferStore(final DoubleBuffer values) {
+            this.values = values;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return values.limit();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get(final int index) {
+            return values.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(final int index, final double value) {
+            values.put(index, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CoordinateStore createEmptyCopy() {
+            return new DoubleArrayStore(new double[values.limit()]);
+        }
+    }
+}
@@ -0,0 +1,914 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.numbers.core.Precision;
+
+/** Class for simplifying triangle meshes using quadric error edge collapse, as described by Garland and
+ * Heckbert in "Surface Simplification Using Quadric Error Metrics". Simplification can be used to create
+ * lower level of detail versions of large meshes before expensive operations such as tree construction,
+ * linecasting, or output.
+ *
+ * <p>Each vertex is associated with a quadric representing the sum of the squared distances to the planes
+ * of the faces originally containing it. Edges are collapsed into single vertices in order of increasing
+ * error, where the error of a collapse is the square root of the quadric sum of both edge vertices
+ * evaluated at the position of the new vertex. Since this value is at least as large as the distance from
+ * the new vertex to any of the accumulated planes, the maximum error is given in model units and bounds
+ * the distance of every vertex of the simplified mesh from the planes of the original faces around it.
+ * Mesh boundaries are preserved by adding planes perpendicular to the boundary faces to the quadrics of
+ * boundary vertices.</p>
+ *
+ * <p>Collapses that would change the topology of the mesh, such as collapses joining two boundaries or
+ * closing holes, and collapses that would flip the orientation of faces are rejected. Vertices that are
+ * {@link TriangleMeshTopology#isManifoldVertex(int) non-manifold} are never moved or removed. Since
+ * adjacency is determined from the face vertex indices, equivalent vertices should be shared between faces
+ * in the input mesh.</p>
+ *
+ * <p>All data is stored in primitive arrays and the collapse queue is a binary heap, making this class
+ * suitable for meshes with very large numbers of faces.</p>
+ */
+public final class QuadricMeshSimplifier {
+
+    /** Number of values stored for each symmetric 4x4 quadric matrix. */
+    private static final int QUADRIC_STRIDE = 10;
+
+    /** Minimum cosine of the angle between the normals of a face before and after a collapse. Collapses
+     * producing larger angles are rejected.
+     */
+    private static final double MIN_NORMAL_COSINE = 0.2;
+
+    /** Relative determinant value below which quadric matrices are considered singular. */
+    private static final double SINGULAR_THRESHOLD = 1e-10;
+
+    /** Error message used when the maximum error is invalid. */
+    private static final String INVALID_MAX_ERROR_MESSAGE =
+            "Maximum error must be finite and greater than or equal to zero; was {0}";
+
+    /** Error message used when the target face count is invalid. */
+    private static final String INVALID_TARGET_FACE_COUNT_MESSAGE =
+            "Target face count must be greater than or equal to zero; was {0}";
+
+    /** Vertex coordinates. */
+    private final double[] positions;
+
+    /** Vertex quadrics. */
+    private final double[] quadrics;
+
+    /** Face vertex indices. */
+    private final int[] faces;
+
+    /** Flags indicating removed faces. */
+    private final boolean[] faceRemoved;
+
+    /** Flags indicating removed vertices. */
+    private final boolean[] vertexRemoved;
+
+    /** Flags indicating vertices that cannot be moved or removed. */
+    private final boolean[] vertexLocked;
+
+    /** Flags indicating boundary vertices. */
+    private final boolean[] vertexBoundary;
+
+    /** Modification count of each vertex; used to detect outdated heap entries. */
+    private final int[] vertexStamps;
+
+    /** Start of the face references of each vertex in {@link #refFaces}. */
+    private final int[] refStarts;
+
+    /** Number of face references of each vertex. */
+    private final int[] refCounts;
+
+    /** Face references of all vertices. References to removed faces are skipped. */
+    private int[] refFaces;
+
+    /** Number of values used in {@link #refFaces}. */
+    private int refSize;
+
+    /** Per-vertex marks used for neighbor set computations. */
+    private final int[] marks;
+
+    /** Current mark value. */
+    private int currentMark;
+
+    /** Quadric of the edge evaluated by the last call to {@link #computeCollapse(int, int)}. */
+    private final double[] collapseQuadric = new double[QUADRIC_STRIDE];
+
+    /** Array used to store face normals before a collapse. */
+    private final double[] normalBefore = new double[3];
+
+    /** Array used to store face normals after a collapse. */
+    private final double[] normalAfter = new double[3];
+
+    /** Queue of collapse candidates. */
+    private final CollapseHeap heap = new CollapseHeap();
+
+    /** Maximum allowed squared error. */
+    private final double maxErrorSq;
+
+    /** Number of faces not removed. */
+    private int faceCount;
+
+    /** Position of the vertex created by the last call to {@link #computeCollapse(int, int)}. */
+    private double collapseX;
+
+    /** Position of the vertex created by the last call to {@link #computeCollapse(int, int)}. */
+    private double collapseY;
+
+    /** Position of the vertex created by the last call to {@link #computeCollapse(int, int)}. */
+    private double collapseZ;
+
+    /** Construct a new instance for simplifying the given mesh.
+     * @param mesh mesh to simplify
+     * @param maxError maximum collapse error
+     */
+    private QuadricMeshSimplifier(final TriangleMesh mesh, final double maxError) {
+        this.maxErrorSq = maxError * maxError;
+
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+        final int vertexCount = topo.getVertexCount();
+        final int halfEdgeCount = topo.getHalfEdgeCount();
+
+        positions = new double[3 * vertexCount];
+        if (mesh instanceof CompactTriangleMesh) {
+            final CompactTriangleMesh compact = (CompactTriangleMesh) mesh;
+            for (int i = 0; i < positions.length; ++i) {
+                positions[i] = compact.getVertexCoordinate(i / 3, i % 3);
+            }
+        } else {
+            int i = 0;
+            for (final Vector3D vertex : mesh.vertices()) {
+                positions[i++] = vertex.getX();
+                positions[i++] = vertex.getY();
+                positions[i++] = vertex.getZ();
+            }
+        }
+
+        faces = new int[halfEdgeCount];
+        for (int h = 0; h < halfEdgeCount; ++h) {
+            faces[h] = topo.getStartVertex(h);
+        }
+        faceCount = topo.getFaceCount();
+        faceRemoved = new boolean[faceCount];
+
+        vertexRemoved = new boolean[vertexCount];
+        vertexLocked = new boolean[vertexCount];
+        vertexBoundary = new boolean[vertexCount];
+        vertexStamps = new int[vertexCount];
+        marks = new int[vertexCount];
+
+        refStarts = new int[vertexCount];
+        refCounts = new int[vertexCount];
+        refFaces = new int[halfEdgeCount];
+        for (int v = 0; v < vertexCount; ++v) {
+            vertexLocked[v] = !topo.isManifoldVertex(v);
+            vertexBoundary[v] = topo.isBoundaryVertex(v);
+
+            refStarts[v] = refSize;
+            for (final int h : topo.getVertexHalfEdges(v)) {
+                refFaces[refSize++] = h / 3;
+            }
+            refCounts[v] = refSize - refStarts[v];
+        }
+
+        quadrics = new double[QUADRIC_STRIDE * vertexCount];
+        initializeQuadrics(topo);
+
+        // add the initial collapse candidates; each manifold edge is added once
+        for (int h = 0; h < halfEdgeCount; ++h) {
+            final int twin = topo.getTwin(h);
+            if (twin > h || twin == TriangleMeshTopology.BOUNDARY) {
+                addCandidate(faces[h], topo.getEndVertex(h));
+            }
+        }
+    }
+
+    /** Simplify the given mesh by collapsing edges with errors less than or equal to {@code maxError}.
+     * Vertices not used by any face are not included in the result.
+     * @param mesh mesh to simplify
+     * @param maxError maximum error of each collapse, in model units
+     * @param precision precision context for the returned mesh
+     * @return the simplified mesh
+     * @throws IllegalArgumentException if {@code maxError} is negative or not finite
+     */
+    public static CompactTriangleMesh simplify(final TriangleMesh mesh, final double maxError,
+            final Precision.DoubleEquivalence precision) {
+        return simplify(mesh, maxError, 0, precision);
+    }
+
+    /** Simplify the given mesh by collapsing edges with errors less than or equal to {@code maxError}
+     * until the number of faces is less than or equal to {@code targetFaceCount}. Edges are collapsed in
+     * order of increasing error, so the result is the best approximation found with the requested number
+     * of faces. Fewer faces than requested are removed if no further edges can be collapsed within the
+     * error bound. Vertices not used by any face are not included in the result.
+     * @param mesh mesh to simplify
+     * @param maxError maximum error of each collapse, in model units
+     * @param targetFaceCount number of faces at which simplification stops
+     * @param precision precision context for the returned mesh
+     * @return the simplified mesh
+     * @throws IllegalArgumentException if {@code maxError} is negative or not finite or
+     *      {@code targetFaceCount} is negative
+     */
+    public static CompactTriangleMesh simplify(final TriangleMesh mesh, final double maxError,
+            final int targetFaceCount, final Precision.DoubleEquivalence precision) {
+        if (!Double.isFinite(maxError) || maxError < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(INVALID_MAX_ERROR_MESSAGE, maxError));
+        }
+        if (targetFaceCount < 0) {
+            throw new IllegalArgumentException(
+                    MessageFormat.format(INVALID_TARGET_FACE_COUNT_MESSAGE, targetFaceCount));
+        }
+
+        final QuadricMeshSimplifier simplifier = new QuadricMeshSimplifier(mesh, maxError);
+        simplifier.collapseEdges(targetFaceCount);
+        return simplifier.createMesh(precision);
+    }
+
+    /** Initialize the vertex quadrics using the face planes and the boundary constraint planes.
+     * @param topo mesh topology
+     */
+    private void initializeQuadrics(final TriangleMeshTopology topo) {
+        final double[] normal = new double[3];
+
+        for (int f = 0; f < faceRemoved.length; ++f) {
+            final int offset = 3 * f;
+            if (!computeFaceNormal(faces[offset], faces[offset + 1], faces[offset + 2], -1, normal)) {
+                continue;
+            }
+
+            final double nx = normal[0];
+            final double ny = normal[1];
+            final double nz = normal[2];
+
+            final int p0 = 3 * faces[offset];
+            final double d = -((nx * positions[p0]) + (ny * positions[p0 + 1]) + (nz * positions[p0 + 2]));
+
+            for (int i = 0; i < 3; ++i) {
+                final int h = offset + i;
+                addPlane(faces[h], nx, ny, nz, d);
+
+                if (topo.getTwin(h) == TriangleMeshTopology.BOUNDARY) {
+                    addBoundaryPlane(faces[h], topo.getEndVertex(h), nx, ny, nz);
+                }
+            }
+        }
+    }
+
+    /** Add a plane perpendicular to the face with the given normal and containing the boundary edge
+     * between the given vertices to the quadrics of both vertices.
+     * @param a edge start vertex
+     * @param b edge end vertex
+     * @param nx face normal x value
+     * @param ny face normal y value
+     * @param nz face normal z value
+     */
+    private void addBoundaryPlane(final int a, final int b, final double nx, final double ny, final double nz) {
+        final int pa = 3 * a;
+        final int pb = 3 * b;
+
+        final double ex = positions[pb] - positions[pa];
+        final double ey = positions[pb + 1] - positions[pa + 1];
+        final double ez = positions[pb + 2] - positions[pa + 2];
+
+        double mx = (ey * nz) - (ez * ny);
+        double my = (ez * nx) - (ex * nz);
+        double mz = (ex * ny) - (ey * nx);
+
+        final double norm = Math.sqrt((mx * mx) + (my * my) + (mz * mz));
+        if (norm > 0 && Double.isFinite(norm)) {
+            mx /= norm;
+            my /= norm;
+            mz /= norm;
+
+            final double d = -((mx * positions[pa]) + (my * positions[pa + 1]) + (mz * positions[pa + 2]));
+
+            addPlane(a, mx, my, mz, d);
+            addPlane(b, mx, my, mz, d);
+        }
+    }
+
+    /** Add the quadric of the plane with the given unit normal and offset to the quadric of a vertex.
+     * @param v vertex index
+     * @param a plane normal x value
+     * @param b plane normal y value
+     * @param c plane normal z value
+     * @param d plane offset
+     */
+    private void addPlane(final int v, final double a, final double b, final double c, final double d) {
+        final int q = QUADRIC_STRIDE * v;
+        quadrics[q] += a * a;
+        quadrics[q + 1] += a * b;
+        quadrics[q + 2] += a * c;
+        quadrics[q + 3] += a * d;
+        quadrics[q + 4] += b * b;
+        quadrics[q + 5] += b * c;
+        quadrics[q + 6] += b * d;
+        quadrics[q + 7] += c * c;
+        quadrics[q + 8] += c * d;
+        quadrics[q + 9] += d * d;
+    }
+
+    /** Collapse edges in order of increasing error until the heap is empty or the face count is less than
+     * or equal to the target.
+     * @param targetFaceCount target face count
+     */
+    private void collapseEdges(final int targetFaceCount) {
+        while (faceCount > targetFaceCount && !heap.isEmpty()) {
+            final int a = heap.peekA();
+            final int b = heap.peekB();
+            final boolean current = heap.peekStampA() == vertexStamps[a] &&
+                    heap.peekStampB() == vertexStamps[b];
+            heap.pop();
+
+            if (current && !vertexRemoved[a] && !vertexRemoved[b]) {
+                computeCollapse(a, b);
+                if (canCollapse(a, b)) {
+                    collapse(a, b);
+                }
+            }
+        }
+    }
+
+    /** Add the edge between the given vertices to the heap if the error of its collapse is within
+     * the maximum error.
+     * @param a first vertex
+     * @param b second vertex
+     */
+    private void addCandidate(final int a, final int b) {
+        if (!vertexLocked[a] && !vertexLocked[b]) {
+            final double error = computeCollapse(a, b);
+            if (error <= maxErrorSq) {
+                heap.push(error, a, b, vertexStamps[a], vertexStamps[b]);
+            }
+        }
+    }
+
+    /** Compute the position of the vertex resulting from collapsing the edge between the given vertices,
+     * storing it in the {@code collapse} fields, and return its squared error.
+     * @param a first vertex
+     * @param b second vertex
+     * @return the squared error of the collapse
+     */
+    private double computeCollapse(final int a, final int b) {
+        final int qa = QUADRIC_STRIDE * a;
+        final int qb = QUADRIC_STRIDE * b;
+
+        final double[] q = collapseQuadric;
+        for (int i = 0; i < QUADRIC_STRIDE; ++i) {
+            q[i] = quadrics[qa + i] + quadrics[qb + i];
+        }
+
+        final int pa = 3 * a;
+        final int pb = 3 * b;
+
+        final double ax = positions[pa];
+        final double ay = positions[pa + 1];
+        final double az = positions[pa + 2];
+        final double bx = positions[pb];
+        final double by = positions[pb + 1];
+        final double bz = positions[pb + 2];
+
+        // start with the best of the edge end and mid points
+        double best = setBestCollapse(q, ax, ay, az, Double.POSITIVE_INFINITY);
+        best = setBestCollapse(q, bx, by, bz, best);
+        best = setBestCollapse(q, 0.5 * (ax + bx), 0.5 * (ay + by), 0.5 * (az + bz), best);
+
+        // solve for the position minimizing the quadric
+        final double c00 = (q[4] * q[7]) - (q[5] * q[5]);
+        final double c01 = (q[2] * q[5]) - (q[1] * q[7]);
+        final double c02 = (q[1] * q[5]) - (q[2] * q[4]);
+        final double det = (q[0] * c00) + (q[1] * c01) + (q[2] * c02);
+
+        final double trace = q[0] + q[4] + q[7];
+        if (Math.abs(det) > SINGULAR_THRESHOLD * trace * trace * trace) {
+            final double c11 = (q[0] * q[7]) - (q[2] * q[2]);
+            final double c12 = (q[1] * q[2]) - (q[0] * q[5]);
+            final double c22 = (q[0] * q[4]) - (q[1] * q[1]);
+
+            final double x = -((c00 * q[3]) + (c01 * q[6]) + (c02 * q[8])) / det;
+            final double y = -((c01 * q[3]) + (c11 * q[6]) + (c12 * q[8])) / det;
+            final double z = -((c02 * q[3]) + (c12 * q[6]) + (c22 * q[8])) / det;
+
+            // only use the optimal position if it lies near the edge
+            final double ex = bx - ax;
+            final double ey = by - ay;
+            final double ez = bz - az;
+            final double dx = x - (0.5 * (ax + bx));
+            final double dy = y - (0.5 * (ay + by));
+            final double dz = z - (0.5 * (az + bz));
+            if ((dx * dx) + (dy * dy) + (dz * dz) <= (ex * ex) + (ey * ey) + (ez * ez)) {
+                best = setBestCollapse(q, x, y, z, best);
+            }
+        }
+
+        return best;
+    }
+
+    /** Set the collapse position to the given point if its error is lower than the current best error.
+     * @param q quadric
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @param currentBest current best error
+     * @return the new best error
+     */
+    private double setBestCollapse(final double[] q, final double x, final double y, final double z,
+            final double currentBest) {
+        final double error = evaluate(q, x, y, z);
+        if (error < currentBest) {
+            collapseX = x;
+            collapseY = y;
+            collapseZ = z;
+            return error;
+        }
+        return currentBest;
+    }
+
+    /** Return true if the edge between the given vertices can be collapsed to the position computed by
+     * the last call to {@link #computeCollapse(int, int)} without changing the mesh topology or flipping
+     * faces.
+     * @param a first vertex
+     * @param b second vertex
+     * @return true if the edge can be collapsed
+     */
+    private boolean canCollapse(final int a, final int b) {
+        // count the faces shared by the vertices and mark the neighbors of a
+        final int mark = ++currentMark;
+        int sharedFaces = 0;
+
+        final int aEnd = refStarts[a] + refCounts[a];
+        for (int i = refStarts[a]; i < aEnd; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f]) {
+                if (faceContains(f, b)) {
+                    ++sharedFaces;
+                }
+                for (int j = 3 * f; j < (3 * f) + 3; ++j) {
+                    marks[faces[j]] = mark;
+                }
+            }
+        }
+
+        if (sharedFaces == 0 || sharedFaces > 2 ||
+                (sharedFaces == 2 && vertexBoundary[a] && vertexBoundary[b])) {
+            return false;
+        }
+
+        // the vertices must not have common neighbors other than the ones of the shared faces
+        int commonNeighbors = 0;
+        final int bEnd = refStarts[b] + refCounts[b];
+        for (int i = refStarts[b]; i < bEnd; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f]) {
+                for (int j = 3 * f; j < (3 * f) + 3; ++j) {
+                    final int v = faces[j];
+                    if (v != a && v != b && marks[v] == mark) {
+                        ++commonNeighbors;
+                        marks[v] = 0;
+                    }
+                }
+            }
+        }
+
+        if (commonNeighbors != sharedFaces || createsDuplicateFace(a, b)) {
+            return false;
+        }
+
+        return !causesFlip(a, b) && !causesFlip(b, a);
+    }
+
+    /** Return true if replacing vertex {@code b} with vertex {@code a} in the faces of {@code b} would
+     * create a face connecting the same vertices as an existing face of {@code a}. This occurs, for example,
+     * when collapsing an edge of a tetrahedron.
+     * @param a vertex to keep
+     * @param b vertex to remove
+     * @return true if the collapse would create a duplicate face
+     */
+    private boolean createsDuplicateFace(final int a, final int b) {
+        final int bEnd = refStarts[b] + refCounts[b];
+        for (int i = refStarts[b]; i < bEnd; ++i) {
+            final int bFace = refFaces[i];
+            if (!faceRemoved[bFace] && !faceContains(bFace, a)) {
+                final int offset = 3 * bFace;
+                final int bIdx = faces[offset] == b ? 0 : (faces[offset + 1] == b ? 1 : 2);
+                final int x = faces[offset + ((bIdx + 1) % 3)];
+                final int y = faces[offset + ((bIdx + 2) % 3)];
+
+                final int aEnd = refStarts[a] + refCounts[a];
+                for (int j = refStarts[a]; j < aEnd; ++j) {
+                    final int aFace = refFaces[j];
+                    if (!faceRemoved[aFace] && faceContains(aFace, x) && faceContains(aFace, y)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Return true if moving vertex {@code v} to the collapse position flips or degenerates any of its
+     * faces not containing {@code other}.
+     * @param v vertex to move
+     * @param other other edge vertex
+     * @return true if the move flips or degenerates a face
+     */
+    private boolean causesFlip(final int v, final int other) {
+        final double[] before = normalBefore;
+        final double[] after = normalAfter;
+
+        final int end = refStarts[v] + refCounts[v];
+        for (int i = refStarts[v]; i < end; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f] && !faceContains(f, other)) {
+                final int offset = 3 * f;
+                final int v0 = faces[offset];
+                final int v1 = faces[offset + 1];
+                final int v2 = faces[offset + 2];
+
+                if (computeFaceNormal(v0, v1, v2, -1, before)) {
+                    if (!computeFaceNormal(v0, v1, v2, v, after)) {
+                        return true;
+                    }
+
+                    final double dot = (before[0] * after[0]) + (before[1] * after[1]) + (before[2] * after[2]);
+                    if (dot < MIN_NORMAL_COSINE) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Collapse vertex {@code b} into vertex {@code a}, moving {@code a} to the collapse position.
+     * @param a vertex to keep
+     * @param b vertex to remove
+     */
+    private void collapse(final int a, final int b) {
+        final int pa = 3 * a;
+        positions[pa] = collapseX;
+        positions[pa + 1] = collapseY;
+        positions[pa + 2] = collapseZ;
+
+        final int qa = QUADRIC_STRIDE * a;
+        final int qb = QUADRIC_STRIDE * b;
+        for (int i = 0; i < QUADRIC_STRIDE; ++i) {
+            quadrics[qa + i] += quadrics[qb + i];
+        }
+
+        vertexRemoved[b] = true;
+        vertexBoundary[a] |= vertexBoundary[b];
+        ++vertexStamps[a];
+        ++vertexStamps[b];
+
+        // remove the shared faces and update the faces of b
+        final int aStart = refStarts[a];
+        final int aEnd = aStart + refCounts[a];
+        for (int i = aStart; i < aEnd; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f] && faceContains(f, b)) {
+                faceRemoved[f] = true;
+                --faceCount;
+            }
+        }
+
+        final int bStart = refStarts[b];
+        final int bEnd = bStart + refCounts[b];
+        for (int i = bStart; i < bEnd; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f]) {
+                for (int j = 3 * f; j < (3 * f) + 3; ++j) {
+                    if (faces[j] == b) {
+                        faces[j] = a;
+                    }
+                }
+            }
+        }
+
+        // append the combined face references of a to the reference list
+        ensureRefCapacity(refCounts[a] + refCounts[b]);
+
+        final int newStart = refSize;
+        appendLiveRefs(refStarts[a], refStarts[a] + refCounts[a]);
+        appendLiveRefs(refStarts[b], refStarts[b] + refCounts[b]);
+
+        refStarts[a] = newStart;
+        refCounts[a] = refSize - newStart;
+        refCounts[b] = 0;
+
+        // add new collapse candidates for the edges of a
+        final int mark = ++currentMark;
+        marks[a] = mark;
+        for (int i = newStart; i < refSize; ++i) {
+            final int f = refFaces[i];
+            for (int j = 3 * f; j < (3 * f) + 3; ++j) {
+                final int v = faces[j];
+                if (marks[v] != mark) {
+                    marks[v] = mark;
+                    addCandidate(a, v);
+                }
+            }
+        }
+    }
+
+    /** Append the references to faces that are not removed in the given range of the reference list to
+     * the end of the reference list. The list must have sufficient capacity.
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     */
+    private void appendLiveRefs(final int start, final int end) {
+        for (int i = start; i < end; ++i) {
+            final int f = refFaces[i];
+            if (!faceRemoved[f]) {
+                refFaces[refSize++] = f;
+            }
+        }
+    }
+
+    /** Ensure that the reference list can hold the given number of additional values, either by removing
+     * references to removed faces or by enlarging the list.
+     * @param count number of additional values
+     */
+    private void ensureRefCapacity(final int count) {
+        if (refSize + count <= refFaces.length) {
+            return;
+        }
+
+        // compact the references of all vertices into a new array
+        int liveCount = 0;
+        for (int v = 0; v < refCounts.length; ++v) {
+            liveCount += refCounts[v];
+        }
+
+        final int[] newRefs = new int[Math.max(refFaces.length, 2 * (liveCount + count))];
+        int size = 0;
+        for (int v = 0; v < refCounts.length; ++v) {
+            final int start = refStarts[v];
+            final int end = start + refCounts[v];
+
+            refStarts[v] = size;
+            for (int i = start; i < end; ++i) {
+                final int f = refFaces[i];
+                if (!faceRemoved[f]) {
+                    newRefs[size++] = f;
+                }
+            }
+            refCounts[v] = size - refStarts[v];
+        }
+
+        refFaces = newRefs;
+        refSize = size;
+    }
+
+    /** Create a mesh from the faces that have not been removed.
+     * @param precision precision context for the mesh
+     * @return the simplified mesh
+     */
+    private CompactTriangleMesh createMesh(final Precision.DoubleEquivalence precision) {
+        final int[] vertexMap = new int[vertexRemoved.length];
+        Arrays.fill(vertexMap, -1);
+
+        final int[] resultFaces = new int[3 * faceCount];
+        int vertexCount = 0;
+        int i = 0;
+        for (int f = 0; f < faceRemoved.length; ++f) {
+            if (!faceRemoved[f]) {
+                for (int j = 3 * f; j < (3 * f) + 3; ++j) {
+                    final int v = faces[j];
+                    if (vertexMap[v] < 0) {
+                        vertexMap[v] = vertexCount++;
+                    }
+                    resultFaces[i++] = vertexMap[v];
+                }
+            }
+        }
+
+        final double[] resultPositions = new double[3 * vertexCount];
+        for (int v = 0; v < vertexMap.length; ++v) {
+            final int mapped = vertexMap[v];
+            if (mapped > -1) {
+                System.arraycopy(positions, 3 * v, resultPositions, 3 * mapped, 3);
+            }
+        }
+
+        return CompactTriangleMesh.of(resultPositions, resultFaces, precision);
+    }
+
+    /** Return true if the given face contains the given vertex.
+     * @param f face index
+     * @param v vertex index
+     * @return true if the face contains the vertex
+     */
+    private boolean faceContains(final int f, final int v) {
+        final int offset = 3 * f;
+        return faces[offset] == v || faces[offset + 1] == v || faces[offset + 2] == v;
+    }
+
+    /** Compute the unit normal of the triangle with the given vertices, storing it in {@code result}.
+     * If {@code moved} is one of the triangle vertices, the collapse position is used in place of its
+     * position.
+     * @param v0 first vertex
+     * @param v1 second vertex
+     * @param v2 third vertex
+     * @param moved vertex to replace with the collapse position, or -1
+     * @param result array receiving the normal
+     * @return true if the triangle has a well-defined normal
+     */
+    private boolean computeFaceNormal(final int v0, final int v1, final int v2, final int moved,
+            final double[] result) {
+        final double x0 = v0 == moved ? collapseX : positions[3 * v0];
+        final double y0 = v0 == moved ? collapseY : positions[(3 * v0) + 1];
+        final double z0 = v0 == moved ? collapseZ : positions[(3 * v0) + 2];
+        final double x1 = v1 == moved ? collapseX : positions[3 * v1];
+        final double y1 = v1 == moved ? collapseY : positions[(3 * v1) + 1];
+        final double z1 = v1 == moved ? collapseZ : positions[(3 * v1) + 2];
+        final double x2 = v2 == moved ? collapseX : positions[3 * v2];
+        final double y2 = v2 == moved ? collapseY : positions[(3 * v2) + 1];
+        final double z2 = v2 == moved ? collapseZ : positions[(3 * v2) + 2];
+
+        final double ux = x1 - x0;
+        final double uy = y1 - y0;
+        final double uz = z1 - z0;
+        final double vx = x2 - x0;
+        final double vy = y2 - y0;
+        final double vz = z2 - z0;
+
+        final double nx = (uy * vz) - (uz * vy);
+        final double ny = (uz * vx) - (ux * vz);
+        final double nz = (ux * vy) - (uy * vx);
+
+        final double norm = Math.sqrt((nx * nx) + (ny * ny) + (nz * nz));
+        if (norm == 0 || !Double.isFinite(norm)) {
+            return false;
+        }
+
+        result[0] = nx / norm;
+        result[1] = ny / norm;
+        result[2] = nz / norm;
+        return true;
+    }
+
+    /** Evaluate the given quadric at the given point. Negative values caused by floating point
+     * errors are returned as zero.
+     * @param q quadric
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return the value of the quadric at the point
+     */
+    private static double evaluate(final double[] q, final double x, final double y, final double z) {
+        final double value = (q[0] * x * x) + (2 * q[1] * x * y) + (2 * q[2] * x * z) + (2 * q[3] * x) +
+                (q[4] * y * y) + (2 * q[5] * y * z) + (2 * q[6] * y) +
+                (q[7] * z * z) + (2 * q[8] * z) +
+                q[9];
+        return Math.max(0, value);
+    }
+
+    /** Binary min-heap of edge collapse candidates, stored in primitive arrays.
+     */
+    private static final class CollapseHeap {
+
+        /** Initial capacity of the heap. */
+        private static final int INITIAL_CAPACITY = 64;
+
+        /** Collapse errors. */
+        private double[] errors = new double[INITIAL_CAPACITY];
+
+        /** Values stored for each entry: first vertex, second vertex, and their modification counts
+         * at the time the entry was added.
+         */
+        private int[] values = new int[4 * INITIAL_CAPACITY];
+
+        /** Number of entries. */
+        private int size;
+
+        /** Return true if the heap is empty.
+         * @return true if the heap is empty
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /** Get the first vertex of the entry with the lowest error.
+         * @return the first vertex of the entry with the lowest error
+         */
+        int peekA() {
+            return values[0];
+        }
+
+        /** Get the second vertex of the entry with the lowest error.
+         * @return the second vertex of the entry with the lowest error
+         */
+        int peekB() {
+            return values[1];
+        }
+
+        /** Get the modification count of the first vertex of the entry with the lowest error.
+         * @return the modification count of the first vertex of the entry with the lowest error
+         */
+        int peekStampA() {
+            return values[2];
+        }
+
+        /** Get the modification count of the second vertex of the entry with the lowest error.
+         * @return the modification count of the second vertex of the entry with the lowest error
+         */
+        int peekStampB() {
+            return values[3];
+        }
+
+        /** Add an entry to the heap.
+         * @param error collapse error
+         * @param a first vertex
+         * @param b second vertex
+         * @param stampA modification count of the first vertex
+         * @param stampB modification count of the second vertex
+         */
+        void push(final double error, final int a, final int b, final int stampA, final int stampB) {
+            if (size == errors.length) {
+                errors = Arrays.copyOf(errors, 2 * size);
+                values = Arrays.copyOf(values, 8 * size);
+            }
+
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) / 2;
+                if (errors[parent] <= error) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+
+            errors[i] = error;
+            final int offset = 4 * i;
+            values[offset] = a;
+            values[offset + 1] = b;
+            values[offset + 2] = stampA;
+            values[offset + 3] = stampB;
+        }
+
+        /** Remove the entry with the lowest error.
+         */
+        void pop() {
+            --size;
+            if (size == 0) {
+                return;
+            }
+
+            final double error = errors[size];
+            final int last = 4 * size;
+            final int a = values[last];
+            final int b = values[last + 1];
+            final int stampA = values[last + 2];
+            final int stampB = values[last + 3];
+
+            int i = 0;
+            int child = 1;
+            while (child < size) {
+                if (child + 1 < size && errors[child + 1] < errors[child]) {
+                    ++child;
+                }
+                if (error <= errors[child]) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+                child = (2 * i) + 1;
+            }
+
+            errors[i] = error;
+            final int offset = 4 * i;
+            values[offset] = a;
+            values[offset + 1] = b;
+            values[offset + 2] = stampA;
+            values[offset + 3] = stampB;
+        }
+
+        /** Move the entry at index {@code from} to index {@code to}.
+         * @param from source index
+         * @param to target index
+         */
+        private void move(final int from, final int to) {
+            errors[to] = errors[from];
+            System.arraycopy(values, 4 * from, values, 4 * to, 4);
+        }
+    }
+}
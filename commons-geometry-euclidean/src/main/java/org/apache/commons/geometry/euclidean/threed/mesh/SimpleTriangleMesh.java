@@ -20,13 +20,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -415,8 +412,8 @@ public final class SimpleTriangleMesh implements TriangleMesh {
         /** List of vertices. */
         private final ArrayList<Vector3D> vertices = new ArrayList<>();
 
-        /** Map of vertices to their first occurrence in the vertex list. */
-        private Map<Vector3D, Integer> vertexIndexMap;
+        /** Spatial hash grid used to find the first occurrence of equivalent vertices in the vertex list. */
+        private VertexHashGrid vertexGrid;
 
         /** List of face vertex indices. */
         private final ArrayList<int[]> faces = new ArrayList<>();
@@ -452,15 +449,18 @@ public final class SimpleTriangleMesh implements TriangleMesh {
          * @see #addVertex(Vector3D)
          */
         public int useVertex(final Vector3D vertex) {
-            final int nextIdx = vertices.size();
-            final int actualIdx = addToVertexIndexMap(vertex, nextIdx, getVertexIndexMap());
+            validateCanModify();
 
-            // add to the vertex list if not already present
-            if (actualIdx == nextIdx) {
-                addToVertexList(vertex);
+            final VertexHashGrid grid = getVertexGrid();
+            final int existingIdx = grid.find(vertex);
+            if (existingIdx > -1) {
+                return existingIdx;
             }
 
-            return actualIdx;
+            final int idx = addToVertexList(vertex);
+            grid.add(idx);
+
+            return idx;
         }
 
         /** Add a vertex directly to the vertex list, returning the index of the added vertex.
@@ -474,9 +474,9 @@ public final class SimpleTriangleMesh implements TriangleMesh {
         public int addVertex(final Vector3D vertex) {
             final int idx = addToVertexList(vertex);
 
-            if (vertexIndexMap != null) {
-                // add to the map in order to keep it in sync
-                addToVertexIndexMap(vertex, idx, vertexIndexMap);
+            if (vertexGrid != null) {
+                // add to the grid in order to keep it in sync
+                addToVertexGrid(idx, vertexGrid);
             }
 
             return idx;
@@ -631,6 +631,38 @@ public final class SimpleTriangleMesh implements TriangleMesh {
                     );
         }
 
+        /** Add all faces of the given builder to this instance. The vertices of {@code other} are added
+         * to this instance as if by {@link #useVertex(Vector3D)}, meaning that they are combined with
+         * equivalent vertices already present in this instance, and the face vertex indices are remapped
+         * accordingly. Vertices of {@code other} not used by any face are also added. The other builder is
+         * not modified. This method can be used to combine builders populated independently, for example
+         * by different threads.
+         * @param other builder to merge into this instance
+         * @return this instance
+         * @throws IllegalArgumentException if {@code other} is this instance
+         */
+        public Builder merge(final Builder other) {
+            if (other == this) {
+                throw new IllegalArgumentException("Cannot merge builder with itself");
+            }
+            validateCanModify();
+
+            final int otherVertexCount = other.vertices.size();
+            ensureVertexCapacity(vertices.size() + otherVertexCount);
+            ensureFaceCapacity(faces.size() + other.faces.size());
+
+            final int[] indexMap = new int[otherVertexCount];
+            for (int i = 0; i < otherVertexCount; ++i) {
+                indexMap[i] = useVertex(other.vertices.get(i));
+            }
+
+            for (final int[] face : other.faces) {
+                faces.add(new int[] {indexMap[face[0]], indexMap[face[1]], indexMap[face[2]]});
+            }
+
+            return this;
+        }
+
         /** Ensure that this instance has enough capacity to store at least {@code numFaces}
          * number of faces without reallocating space. This can be used to help improve performance
          * and memory usage when creating meshes with large numbers of faces.
@@ -669,40 +701,31 @@ public final class SimpleTriangleMesh implements TriangleMesh {
                     precision);
         }
 
-        /** Get the vertex index map, creating and initializing it if needed.
-         * @return the vertex index map
+        /** Get the vertex grid, creating and initializing it if needed.
+         * @return the vertex grid
          */
-        private Map<Vector3D, Integer> getVertexIndexMap() {
-            if (vertexIndexMap == null) {
-                vertexIndexMap = new TreeMap<>(new FuzzyVectorComparator(precision));
+        private VertexHashGrid getVertexGrid() {
+            if (vertexGrid == null) {
+                vertexGrid = new VertexHashGrid(vertices, precision);
 
-                // populate the index map
+                // populate the grid
                 final int size = vertices.size();
                 for (int i = 0; i < size; ++i) {
-                    addToVertexIndexMap(vertices.get(i), i, vertexIndexMap);
+                    addToVertexGrid(i, vertexGrid);
                 }
             }
-            return vertexIndexMap;
+            return vertexGrid;
         }
 
-        /** Add a vertex to the given vertex index map. The vertex is inserted and mapped to {@code targetidx}
-         *  if an equivalent vertex does not already exist. The index now associated with the given vertex
-         *  or its equivalent is returned.
-         * @param vertex vertex to add
-         * @param targetIdx the index to associate with the vertex if no equivalent vertex has already been
-         *      mapped
-         * @param map vertex index map
-         * @return the index now associated with the given vertex or its equivalent
+        /** Register the vertex at the given index in the vertex list with the given grid if an
+         * equivalent vertex is not already registered.
+         * @param idx index of the vertex in the vertex list
+         * @param grid vertex grid
          */
-        private int addToVertexIndexMap(final Vector3D vertex, final int targetIdx,
-                final Map<? super Vector3D, Integer> map) {
-            validateCanModify();
-
-            final Integer actualIdx = map.putIfAbsent(vertex, targetIdx);
-
-            return actualIdx != null ?
-                    actualIdx :
-                    targetIdx;
+        private void addToVertexGrid(final int idx, final VertexHashGrid grid) {
+            if (grid.find(vertices.get(idx)) < 0) {
+                grid.add(idx);
+            }
         }
 
         /** Append the given vertex to the end of the vertex list. The index of the vertex is returned.
@@ -743,35 +766,4 @@ public final class SimpleTriangleMesh implements TriangleMesh {
             }
         }
     }
-
-    /** Comparator used to sort vectors using non-strict ("fuzzy") comparisons.
-     * Vectors are considered equal if their values in all coordinate dimensions
-     * are equivalent as evaluated by the precision context.
-     */
-    private static final class FuzzyVectorComparator implements Comparator<Vector3D> {
-        /** Precision context to determine floating-point equality. */
-        private final Precision.DoubleEquivalence precision;
-
-        /** Construct a new instance that uses the given precision context for
-         * floating point comparisons.
-         * @param precision precision context used for floating point comparisons
-         */
-        FuzzyVectorComparator(final Precision.DoubleEquivalence precision) {
-            this.precision = precision;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public int compare(final Vector3D a, final Vector3D b) {
-            int result = precision.compare(a.getX(), b.getX());
-            if (result == 0) {
-                result = precision.compare(a.getY(), b.getY());
-                if (result == 0) {
-                    result = precision.compare(a.getZ(), b.getZ());
-                }
-            }
-
-            return result;
-        }
-    }
 }
@@ -0,0 +1,769 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.util.Arrays;
+
+/** Class providing constant time adjacency queries for the faces, edges, and vertices of a
+ * {@link TriangleMesh}. Instances are created from a mesh in linear time and store all of their
+ * data in primitive arrays.
+ *
+ * <p>The topology is represented using half-edges. Each face contains three half-edges, directed
+ * according to the face vertex order. The half-edges of face {@code f} have the indices {@code 3f},
+ * {@code 3f + 1}, and {@code 3f + 2}, with half-edge {@code 3f + n} starting at vertex {@code n} of the
+ * face and ending at vertex {@code (n + 1) % 3}. The twin of a half-edge is the half-edge in the
+ * adjacent face that connects the same vertices in the opposite direction. Half-edges without an
+ * adjacent face are {@link #BOUNDARY boundary} half-edges. Half-edges of edges that are shared by more
+ * than two faces, shared by two faces with inconsistent orientations, or that start and end at the same
+ * vertex are {@link #NON_MANIFOLD non-manifold} half-edges.</p>
+ *
+ * <p>Adjacency is determined purely from the face vertex indices; vertex coordinates are not
+ * examined. Meshes in which equivalent vertices are not shared between faces should be constructed
+ * with vertex deduplication, for example with {@link SimpleTriangleMesh.Builder#useVertex(
+ * org.apache.commons.geometry.euclidean.threed.Vector3D)}, before creating a topology.</p>
+ *
+ * <p>Instances of this class are immutable.</p>
+ */
+public final class TriangleMeshTopology {
+
+    /** Twin value indicating a half-edge without an adjacent face. */
+    public static final int BOUNDARY = -1;
+
+    /** Twin value indicating a half-edge of a non-manifold edge. */
+    public static final int NON_MANIFOLD = -2;
+
+    /** Number of vertices in the mesh. */
+    private final int vertexCount;
+
+    /** Start vertex of each half-edge; this is equal to the face vertex indices of the mesh. */
+    private final int[] halfEdgeVertices;
+
+    /** Twin of each half-edge, or {@link #BOUNDARY} or {@link #NON_MANIFOLD}. */
+    private final int[] twins;
+
+    /** Offsets into {@link #vertexHalfEdges} for each vertex; contains {@code vertexCount + 1} values. */
+    private final int[] vertexOffsets;
+
+    /** Half-edges grouped by start vertex. */
+    private final int[] vertexHalfEdges;
+
+    /** Connected component index of each face. */
+    private final int[] faceComponents;
+
+    /** Number of connected components. */
+    private final int componentCount;
+
+    /** Offsets into {@link #boundaryLoopVertices} for each boundary loop. */
+    private final int[] boundaryLoopOffsets;
+
+    /** Vertices of all boundary loops. */
+    private final int[] boundaryLoopVertices;
+
+    /** Number of boundary half-edges. */
+    private final int boundaryHalfEdgeCount;
+
+    /** Number of non-manifold half-edges. */
+    private final int nonManifoldHalfEdgeCount;
+
+    /** Number of non-manifold vertices. */
+    private final int nonManifoldVertexCount;
+
+    /** Construct a new instance from the mesh vertex count and face vertex indices.
+     * @param vertexCount number of vertices in the mesh
+     * @param halfEdgeVertices face vertex indices of the mesh
+     */
+    private TriangleMeshTopology(final int vertexCount, final int[] halfEdgeVertices) {
+        this.vertexCount = vertexCount;
+        this.halfEdgeVertices = halfEdgeVertices;
+
+        final int halfEdgeCount = halfEdgeVertices.length;
+
+        // group the half-edges by start vertex
+        vertexOffsets = new int[vertexCount + 1];
+        for (final int v : halfEdgeVertices) {
+            ++vertexOffsets[v + 1];
+        }
+        for (int v = 0; v < vertexCount; ++v) {
+            vertexOffsets[v + 1] += vertexOffsets[v];
+        }
+
+        vertexHalfEdges = new int[halfEdgeCount];
+        final int[] insertPositions = Arrays.copyOf(vertexOffsets, vertexCount);
+        for (int h = 0; h < halfEdgeCount; ++h) {
+            vertexHalfEdges[insertPositions[halfEdgeVertices[h]]++] = h;
+        }
+
+        // match half-edges and determine the edge-connected components
+        twins = new int[halfEdgeCount];
+        final int[] componentParents = new int[halfEdgeCount / 3];
+        for (int f = 0; f < componentParents.length; ++f) {
+            componentParents[f] = f;
+        }
+
+        new EdgeMatcher(componentParents).match();
+
+        int boundaryCount = 0;
+        int nonManifoldCount = 0;
+        for (final int twin : twins) {
+            if (twin == BOUNDARY) {
+                ++boundaryCount;
+            } else if (twin == NON_MANIFOLD) {
+                ++nonManifoldCount;
+            }
+        }
+        boundaryHalfEdgeCount = boundaryCount;
+        nonManifoldHalfEdgeCount = nonManifoldCount;
+
+        int nonManifoldVertices = 0;
+        for (int v = 0; v < vertexCount; ++v) {
+            if (!computeVertexManifold(v)) {
+                ++nonManifoldVertices;
+            }
+        }
+        nonManifoldVertexCount = nonManifoldVertices;
+
+        faceComponents = componentParents;
+        componentCount = assignComponents(faceComponents);
+
+        // trace the boundary loops
+        final int[] loopOffsets = new int[boundaryCount + 1];
+        final int[] loopVertices = new int[boundaryCount];
+        int loopCount = 0;
+        int loopVertexCount = 0;
+
+        final boolean[] visited = new boolean[halfEdgeCount];
+        for (int h = 0; h < halfEdgeCount; ++h) {
+            if (twins[h] == BOUNDARY && !visited[h]) {
+                int current = h;
+                while (current > -1 && !visited[current]) {
+                    visited[current] = true;
+                    loopVertices[loopVertexCount++] = halfEdgeVertices[current];
+
+                    current = getNextBoundaryHalfEdge(current);
+                }
+
+                loopOffsets[++loopCount] = loopVertexCount;
+            }
+        }
+
+        boundaryLoopOffsets = Arrays.copyOf(loopOffsets, loopCount + 1);
+        boundaryLoopVertices = loopVertices;
+    }
+
+    /** Get the number of vertices in the mesh.
+     * @return the number of vertices in the mesh
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /** Get the number of faces in the mesh.
+     * @return the number of faces in the mesh
+     */
+    public int getFaceCount() {
+        return halfEdgeVertices.length / 3;
+    }
+
+    /** Get the number of half-edges in the mesh. This is equal to three times the number of faces.
+     * @return the number of half-edges in the mesh
+     */
+    public int getHalfEdgeCount() {
+        return halfEdgeVertices.length;
+    }
+
+    /** Get the index of half-edge {@code n} of the given face. The returned half-edge starts at
+     * vertex {@code n} of the face.
+     * @param faceIndex face index
+     * @param n half-edge number; must be 0, 1, or 2
+     * @return the index of half-edge {@code n} of the face
+     * @throws IndexOutOfBoundsException if the face index or {@code n} is out of bounds
+     */
+    public int getHalfEdge(final int faceIndex, final int n) {
+        checkIndex(faceIndex, getFaceCount());
+        checkIndex(n, 3);
+
+        return (3 * faceIndex) + n;
+    }
+
+    /** Get the index of the face containing the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the index of the face containing the half-edge
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getFace(final int halfEdge) {
+        return checkHalfEdge(halfEdge) / 3;
+    }
+
+    /** Get the next half-edge in the face containing the given half-edge. The returned half-edge starts
+     * at the end vertex of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the next half-edge in the face
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getNext(final int halfEdge) {
+        return next(checkHalfEdge(halfEdge));
+    }
+
+    /** Get the previous half-edge in the face containing the given half-edge. The returned half-edge
+     * ends at the start vertex of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the previous half-edge in the face
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getPrevious(final int halfEdge) {
+        return previous(checkHalfEdge(halfEdge));
+    }
+
+    /** Get the index of the start vertex of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the index of the start vertex of the half-edge
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getStartVertex(final int halfEdge) {
+        return halfEdgeVertices[checkHalfEdge(halfEdge)];
+    }
+
+    /** Get the index of the end vertex of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the index of the end vertex of the half-edge
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getEndVertex(final int halfEdge) {
+        return halfEdgeVertices[next(checkHalfEdge(halfEdge))];
+    }
+
+    /** Get the twin of the given half-edge, ie the half-edge in the adjacent face connecting the same
+     * vertices in the opposite direction. {@link #BOUNDARY} is returned if the half-edge has no adjacent
+     * face and {@link #NON_MANIFOLD} is returned if the half-edge belongs to a non-manifold edge.
+     * @param halfEdge half-edge index
+     * @return the twin of the half-edge, {@link #BOUNDARY}, or {@link #NON_MANIFOLD}
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    public int getTwin(final int halfEdge) {
+        return twins[checkHalfEdge(halfEdge)];
+    }
+
+    /** Get the index of the face adjacent to the given face across its half-edge {@code n}, or -1 if
+     * there is no such face or the edge is non-manifold.
+     * @param faceIndex face index
+     * @param n half-edge number; must be 0, 1, or 2
+     * @return the index of the adjacent face or -1 if the face does not have a unique adjacent face
+     *      across the edge
+     * @throws IndexOutOfBoundsException if the face index or {@code n} is out of bounds
+     */
+    public int getAdjacentFace(final int faceIndex, final int n) {
+        final int twin = twins[getHalfEdge(faceIndex, n)];
+        return twin > -1 ?
+                twin / 3 :
+                -1;
+    }
+
+    /** Get the number of half-edges starting at the given vertex. This is equal to the number of face
+     * corners at the vertex.
+     * @param vertexIndex vertex index
+     * @return the number of half-edges starting at the vertex
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public int getVertexDegree(final int vertexIndex) {
+        checkIndex(vertexIndex, vertexCount);
+        return vertexOffsets[vertexIndex + 1] - vertexOffsets[vertexIndex];
+    }
+
+    /** Get the half-edges starting at the given vertex.
+     * @param vertexIndex vertex index
+     * @return the half-edges starting at the vertex
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public int[] getVertexHalfEdges(final int vertexIndex) {
+        checkIndex(vertexIndex, vertexCount);
+        return Arrays.copyOfRange(vertexHalfEdges, vertexOffsets[vertexIndex], vertexOffsets[vertexIndex + 1]);
+    }
+
+    /** Get the indices of the faces containing the given vertex.
+     * @param vertexIndex vertex index
+     * @return the indices of the faces containing the vertex
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public int[] getVertexFaces(final int vertexIndex) {
+        final int[] result = getVertexHalfEdges(vertexIndex);
+        for (int i = 0; i < result.length; ++i) {
+            result[i] /= 3;
+        }
+        return result;
+    }
+
+    /** Get the one-ring of the given vertex, ie the vertices connected to it by an edge. The
+     * returned vertex indices are unique and in ascending order.
+     * @param vertexIndex vertex index
+     * @return the indices of the vertices connected to the vertex by an edge
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public int[] getVertexNeighbors(final int vertexIndex) {
+        checkIndex(vertexIndex, vertexCount);
+
+        final int start = vertexOffsets[vertexIndex];
+        final int end = vertexOffsets[vertexIndex + 1];
+
+        final int[] neighbors = new int[2 * (end - start)];
+        int count = 0;
+        for (int i = start; i < end; ++i) {
+            final int h = vertexHalfEdges[i];
+            neighbors[count++] = halfEdgeVertices[next(h)];
+            neighbors[count++] = halfEdgeVertices[previous(h)];
+        }
+
+        Arrays.sort(neighbors);
+
+        int uniqueCount = 0;
+        for (int i = 0; i < count; ++i) {
+            final int neighbor = neighbors[i];
+            if (neighbor != vertexIndex && (uniqueCount == 0 || neighbors[uniqueCount - 1] != neighbor)) {
+                neighbors[uniqueCount++] = neighbor;
+            }
+        }
+
+        return Arrays.copyOf(neighbors, uniqueCount);
+    }
+
+    /** Return true if the given vertex is a manifold vertex. This is the case if the vertex is not
+     * part of a non-manifold edge and the faces containing it form a single fan of faces connected
+     * through their edges. Vertices not used by any face are considered manifold.
+     * @param vertexIndex vertex index
+     * @return true if the vertex is a manifold vertex
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public boolean isManifoldVertex(final int vertexIndex) {
+        checkIndex(vertexIndex, vertexCount);
+        return computeVertexManifold(vertexIndex);
+    }
+
+    /** Return true if the given vertex lies on the mesh boundary, ie if it is the start vertex of a
+     * boundary half-edge.
+     * @param vertexIndex vertex index
+     * @return true if the vertex lies on the mesh boundary
+     * @throws IndexOutOfBoundsException if the vertex index is out of bounds
+     */
+    public boolean isBoundaryVertex(final int vertexIndex) {
+        checkIndex(vertexIndex, vertexCount);
+
+        final int end = vertexOffsets[vertexIndex + 1];
+        for (int i = vertexOffsets[vertexIndex]; i < end; ++i) {
+            if (twins[vertexHalfEdges[i]] == BOUNDARY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Get the number of boundary half-edges in the mesh.
+     * @return the number of boundary half-edges in the mesh
+     */
+    public int getBoundaryHalfEdgeCount() {
+        return boundaryHalfEdgeCount;
+    }
+
+    /** Get the number of non-manifold half-edges in the mesh.
+     * @return the number of non-manifold half-edges in the mesh
+     */
+    public int getNonManifoldHalfEdgeCount() {
+        return nonManifoldHalfEdgeCount;
+    }
+
+    /** Get the number of non-manifold vertices in the mesh.
+     * @return the number of non-manifold vertices in the mesh
+     * @see #isManifoldVertex(int)
+     */
+    public int getNonManifoldVertexCount() {
+        return nonManifoldVertexCount;
+    }
+
+    /** Get the number of boundary loops in the mesh.
+     * @return the number of boundary loops in the mesh
+     * @see #getBoundaryLoop(int)
+     */
+    public int getBoundaryLoopCount() {
+        return boundaryLoopOffsets.length - 1;
+    }
+
+    /** Get the vertices of the boundary loop with the given index, in the order of the boundary
+     * half-edges. Each boundary half-edge belongs to exactly one loop. Loops are traced by rotating
+     * around the end vertex of each boundary half-edge to the next boundary half-edge. If a
+     * non-manifold edge is encountered during this rotation, the loop is ended, meaning that the loops
+     * of non-manifold meshes may not be closed.
+     * @param loopIndex boundary loop index
+     * @return the vertices of the boundary loop
+     * @throws IndexOutOfBoundsException if the loop index is out of bounds
+     */
+    public int[] getBoundaryLoop(final int loopIndex) {
+        checkIndex(loopIndex, getBoundaryLoopCount());
+        return Arrays.copyOfRange(boundaryLoopVertices,
+                boundaryLoopOffsets[loopIndex], boundaryLoopOffsets[loopIndex + 1]);
+    }
+
+    /** Get the number of connected components in the mesh. Faces belong to the same component if they
+     * are connected through shared edges; faces sharing only vertices are not considered connected.
+     * @return the number of connected components in the mesh
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /** Get the index of the connected component containing the given face. Components are numbered
+     * in order of their lowest face index.
+     * @param faceIndex face index
+     * @return the index of the connected component containing the face
+     * @throws IndexOutOfBoundsException if the face index is out of bounds
+     */
+    public int getFaceComponent(final int faceIndex) {
+        return faceComponents[checkIndex(faceIndex, getFaceCount())];
+    }
+
+    /** Return true if the mesh is manifold, meaning that all of its edges and vertices are manifold.
+     * @return true if the mesh is manifold
+     * @see #getNonManifoldHalfEdgeCount()
+     * @see #getNonManifoldVertexCount()
+     */
+    public boolean isManifold() {
+        return nonManifoldHalfEdgeCount == 0 && nonManifoldVertexCount == 0;
+    }
+
+    /** Return true if the mesh is closed, meaning that every half-edge has a twin. Closed meshes are
+     * suitable for conversion to regions.
+     * @return true if the mesh is closed
+     */
+    public boolean isClosed() {
+        return boundaryHalfEdgeCount == 0 && nonManifoldHalfEdgeCount == 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[vertexCount= ")
+                .append(vertexCount)
+                .append(", faceCount= ")
+                .append(getFaceCount())
+                .append(", boundaryHalfEdgeCount= ")
+                .append(boundaryHalfEdgeCount)
+                .append(", nonManifoldHalfEdgeCount= ")
+                .append(nonManifoldHalfEdgeCount)
+                .append(", componentCount= ")
+                .append(componentCount)
+                .append(']')
+                .toString();
+    }
+
+    /** Compute whether or not the given vertex is manifold. The faces around the vertex are visited by
+     * rotating through the twins of the half-edges starting and ending at the vertex. The vertex is
+     * manifold if all faces are reached from its first half-edge.
+     * @param v vertex index
+     * @return true if the vertex is manifold
+     */
+    private boolean computeVertexManifold(final int v) {
+        final int start = vertexOffsets[v];
+        final int degree = vertexOffsets[v + 1] - start;
+        if (degree == 0) {
+            return true;
+        }
+
+        for (int i = start; i < start + degree; ++i) {
+            final int h = vertexHalfEdges[i];
+            if (twins[h] == NON_MANIFOLD || twins[previous(h)] == NON_MANIFOLD) {
+                return false;
+            }
+        }
+
+        final int first = vertexHalfEdges[start];
+        int visited = 1;
+
+        // rotate in one direction until returning to the first half-edge or reaching the boundary
+        int twin = twins[previous(first)];
+        while (twin > -1 && twin != first && visited <= degree) {
+            ++visited;
+            twin = twins[previous(twin)];
+        }
+
+        if (twin == BOUNDARY) {
+            // rotate in the other direction
+            twin = twins[first];
+            while (twin > -1 && visited <= degree) {
+                ++visited;
+                twin = twins[next(twin)];
+            }
+        }
+
+        return visited == degree;
+    }
+
+    /** Get the boundary half-edge following the given boundary half-edge, or -1 if it cannot be
+     * determined because a non-manifold edge is encountered.
+     * @param halfEdge boundary half-edge
+     * @return the next boundary half-edge or -1
+     */
+    private int getNextBoundaryHalfEdge(final int halfEdge) {
+        final int v = halfEdgeVertices[next(halfEdge)];
+        final int degree = vertexOffsets[v + 1] - vertexOffsets[v];
+
+        int candidate = next(halfEdge);
+        for (int i = 0; i < degree; ++i) {
+            final int twin = twins[candidate];
+            if (twin == BOUNDARY) {
+                return candidate;
+            } else if (twin == NON_MANIFOLD) {
+                break;
+            }
+            candidate = next(twin);
+        }
+        return -1;
+    }
+
+    /** Throw an exception if the given half-edge index is out of bounds.
+     * @param halfEdge half-edge index
+     * @return the half-edge index
+     * @throws IndexOutOfBoundsException if the half-edge index is out of bounds
+     */
+    private int checkHalfEdge(final int halfEdge) {
+        return checkIndex(halfEdge, halfEdgeVertices.length);
+    }
+
+    /** Construct a new instance representing the topology of the given mesh.
+     * @param mesh mesh
+     * @return a new topology instance for the mesh
+     */
+    public static TriangleMeshTopology from(final TriangleMesh mesh) {
+        final int faceCount = mesh.getFaceCount();
+        final int[] faceVertices = new int[3 * faceCount];
+
+        if (mesh instanceof CompactTriangleMesh) {
+            final CompactTriangleMesh.FaceCursor cursor = ((CompactTriangleMesh) mesh).cursor();
+            int i = 0;
+            while (cursor.next()) {
+                faceVertices[i++] = cursor.getVertexIndex(0);
+                faceVertices[i++] = cursor.getVertexIndex(1);
+                faceVertices[i++] = cursor.getVertexIndex(2);
+            }
+        } else {
+            int i = 0;
+            for (final TriangleMesh.Face face : mesh.faces()) {
+                final int[] indices = face.getVertexIndices();
+                faceVertices[i++] = indices[0];
+                faceVertices[i++] = indices[1];
+                faceVertices[i++] = indices[2];
+            }
+        }
+
+        return new TriangleMeshTopology(mesh.getVertexCount(), faceVertices);
+    }
+
+    /** Get the next half-edge in the face of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the next half-edge in the face
+     */
+    private static int next(final int halfEdge) {
+        return halfEdge % 3 == 2 ?
+                halfEdge - 2 :
+                halfEdge + 1;
+    }
+
+    /** Get the previous half-edge in the face of the given half-edge.
+     * @param halfEdge half-edge index
+     * @return the previous half-edge in the face
+     */
+    private static int previous(final int halfEdge) {
+        return halfEdge % 3 == 0 ?
+                halfEdge + 2 :
+                halfEdge - 1;
+    }
+
+    /** Replace the union-find parents in the given array with component indices numbered in order of
+     * the lowest face index of each component.
+     * @param parents union-find parent of each face; overwritten with the component indices
+     * @return the number of components
+     */
+    private static int assignComponents(final int[] parents) {
+        int count = 0;
+        for (int f = 0; f < parents.length; ++f) {
+            final int root = find(parents, f);
+            if (root == f) {
+                parents[f] = -(++count);
+            } else {
+                // the root has a lower index and has therefore already been assigned
+                parents[f] = parents[root];
+            }
+        }
+
+        // convert the negative component markers into indices
+        for (int f = 0; f < parents.length; ++f) {
+            parents[f] = -parents[f] - 1;
+        }
+        return count;
+    }
+
+    /** Find the union-find root of the given face. Parents of visited faces are updated to shorten
+     * future searches.
+     * @param parents union-find parent of each face; values less than zero are component markers
+     *      and are treated as roots
+     * @param face face index
+     * @return the root of the face
+     */
+    private static int find(final int[] parents, final int face) {
+        int current = face;
+        while (parents[current] > -1 && parents[current] != current) {
+            final int parent = parents[current];
+            final int grandparent = parents[parent];
+            if (grandparent > -1) {
+                parents[current] = grandparent;
+            }
+            current = parent;
+        }
+        return current;
+    }
+
+    /** Join the union-find trees of the given faces. The root with the lower index becomes the root
+     * of the joined tree.
+     * @param parents union-find parent of each face
+     * @param a first face
+     * @param b second face
+     */
+    private static void union(final int[] parents, final int a, final int b) {
+        final int rootA = find(parents, a);
+        final int rootB = find(parents, b);
+        if (rootA < rootB) {
+            parents[rootB] = rootA;
+        } else if (rootB < rootA) {
+            parents[rootA] = rootB;
+        }
+    }
+
+    /** Throw an exception if the given index is out of bounds.
+     * @param index index
+     * @param size exclusive upper bound of the index
+     * @return the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private static int checkIndex(final int index, final int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+
+    /** Class that matches the half-edges of the mesh using an open addressing hash table keyed
+     * on the undirected vertex pair of each half-edge.
+     */
+    private final class EdgeMatcher {
+
+        /** Marker for empty table slots and chain ends. */
+        private static final int NONE = -1;
+
+        /** Union-find parent of each face. */
+        private final int[] componentParents;
+
+        /** Undirected edge key of each table slot. */
+        private final long[] keys;
+
+        /** First half-edge of the chain of each table slot. */
+        private final int[] heads;
+
+        /** Next half-edge in the chain of each half-edge. */
+        private final int[] chains;
+
+        /** Number of bits used for table indices. */
+        private final int bits;
+
+        /** Construct a new instance.
+         * @param componentParents union-find parent of each face; updated as edges are matched
+         */
+        EdgeMatcher(final int[] componentParents) {
+            this.componentParents = componentParents;
+
+            final int halfEdgeCount = halfEdgeVertices.length;
+            // use a table size of at least 1.5 times the maximum number of keys
+            bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(halfEdgeCount + (halfEdgeCount / 2)));
+
+            keys = new long[1 << bits];
+            heads = new int[1 << bits];
+            Arrays.fill(heads, NONE);
+            chains = new int[halfEdgeCount];
+        }
+
+        /** Match all half-edges, setting their twin values and joining the components of adjacent faces.
+         */
+        void match() {
+            for (int h = 0; h < chains.length; ++h) {
+                final int a = halfEdgeVertices[h];
+                final int b = halfEdgeVertices[next(h)];
+
+                if (a == b) {
+                    twins[h] = NON_MANIFOLD;
+                    chains[h] = NONE;
+                } else {
+                    final long key = (((long) Math.min(a, b)) << 32) | Math.max(a, b);
+
+                    final int slot = findSlot(key);
+                    keys[slot] = key;
+                    chains[h] = heads[slot];
+                    heads[slot] = h;
+                }
+            }
+
+            for (final int head : heads) {
+                if (head != NONE) {
+                    matchChain(head);
+                }
+            }
+        }
+
+        /** Set the twin values of the half-edges in the chain starting with the given half-edge. All
+         * half-edges in a chain connect the same pair of vertices.
+         * @param head first half-edge of the chain
+         */
+        private void matchChain(final int head) {
+            final int second = chains[head];
+            if (second == NONE) {
+                twins[head] = BOUNDARY;
+            } else if (chains[second] == NONE &&
+                    halfEdgeVertices[head] == halfEdgeVertices[next(second)]) {
+                twins[head] = second;
+                twins[second] = head;
+
+                union(componentParents, head / 3, second / 3);
+            } else {
+                for (int h = head; h != NONE; h = chains[h]) {
+                    twins[h] = NON_MANIFOLD;
+
+                    union(componentParents, head / 3, h / 3);
+                }
+            }
+        }
+
+        /** Find the table slot containing the given key or the empty slot where it should be inserted.
+         * @param key undirected edge key
+         * @return the table slot for the key
+         */
+        private int findSlot(final long key) {
+            final int mask = heads.length - 1;
+
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+            while (heads[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
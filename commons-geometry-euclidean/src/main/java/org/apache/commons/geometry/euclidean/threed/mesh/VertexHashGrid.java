@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.numbers.core.Precision;
+
+/** Spatial hash used to find previously registered vertices equivalent to a given vertex. Vertices are
+ * equivalent if all of their coordinates are equivalent according to the configured precision context.
+ * Registered vertices are referenced by their index in a vertex list owned by the caller.
+ *
+ * <p>Space is divided into cubic cells with an edge length of at least four times the largest coordinate
+ * difference considered equivalent. Equivalent coordinates therefore lie either in the same cell or in the
+ * neighboring cell on the side of the cell nearest to the coordinate, so that each lookup examines exactly
+ * 8 cells. Cells are identified by their integer coordinates, which are hashed into a table of chains of
+ * registered vertices, giving expected constant time lookups.</p>
+ *
+ * <p>The largest equivalent coordinate difference is determined from the precision context by finding the
+ * smallest power of two that is not equivalent to zero. Since precision contexts also consider adjacent
+ * floating point values to be equivalent, the cell size is increased, and the table rebuilt, when vertices
+ * with coordinates whose ulp exceeds this value are registered. Precision contexts whose tolerance
+ * increases with the magnitude of the compared values in other ways are not supported; equivalent vertices
+ * may not be found for such contexts.</p>
+ */
+final class VertexHashGrid {
+
+    /** Multiplier used to convert the coordinate tolerance to a cell size. */
+    private static final double CELL_SIZE_FACTOR = 4.0;
+
+    /** Initial size of the hash table. */
+    private static final int INITIAL_TABLE_SIZE = 16;
+
+    /** Load factor at which the hash table is enlarged. */
+    private static final double MAX_LOAD = 0.75;
+
+    /** Marker value for empty table entries and chain ends. */
+    private static final int NONE = -1;
+
+    /** Vertex list containing the registered vertices. */
+    private final List<Vector3D> vertices;
+
+    /** Precision context used to determine vertex equivalence. */
+    private final Precision.DoubleEquivalence precision;
+
+    /** Upper bound for the coordinate differences considered equivalent by the precision context,
+     * not taking the ulps of the coordinates into account.
+     */
+    private final double epsilonBound;
+
+    /** Upper bound for the coordinate differences considered equivalent for all registered vertices. */
+    private double tolerance;
+
+    /** Edge length of the cells. */
+    private double cellSize;
+
+    /** Hash table containing the index of the first entry of each chain. */
+    private int[] table;
+
+    /** Vertex index of each entry. */
+    private int[] entryVertices;
+
+    /** Index of the next entry in the chain of each entry. */
+    private int[] entryNext;
+
+    /** Number of entries. */
+    private int size;
+
+    /** Construct a new, empty instance.
+     * @param vertices vertex list containing the vertices to be registered
+     * @param precision precision context used to determine vertex equivalence
+     */
+    VertexHashGrid(final List<Vector3D> vertices, final Precision.DoubleEquivalence precision) {
+        this.vertices = vertices;
+        this.precision = precision;
+        this.epsilonBound = computeEpsilonBound(precision);
+        this.tolerance = epsilonBound;
+        this.cellSize = CELL_SIZE_FACTOR * tolerance;
+
+        this.table = new int[INITIAL_TABLE_SIZE];
+        Arrays.fill(table, NONE);
+
+        this.entryVertices = new int[INITIAL_TABLE_SIZE];
+        this.entryNext = new int[INITIAL_TABLE_SIZE];
+    }
+
+    /** Get the number of registered vertices.
+     * @return the number of registered vertices
+     */
+    int size() {
+        return size;
+    }
+
+    /** Return the smallest index of a registered vertex equivalent to the given vertex, or -1
+     * if no such vertex has been registered.
+     * @param vertex vertex to find
+     * @return the smallest index of a registered vertex equivalent to {@code vertex} or -1
+     *      if there is none
+     */
+    int find(final Vector3D vertex) {
+        final double x = vertex.getX();
+        final double y = vertex.getY();
+        final double z = vertex.getZ();
+
+        final double sx = x / cellSize;
+        final double sy = y / cellSize;
+        final double sz = z / cellSize;
+
+        final long cx = (long) Math.floor(sx);
+        final long cy = (long) Math.floor(sy);
+        final long cz = (long) Math.floor(sz);
+
+        // equivalent coordinates lie in this cell or the neighboring cell nearest to the coordinate
+        final long nx = neighbor(sx, cx);
+        final long ny = neighbor(sy, cy);
+        final long nz = neighbor(sz, cz);
+
+        int result = NONE;
+        for (int i = 0; i < 8; ++i) {
+            final long kx = (i & 1) == 0 ? cx : nx;
+            final long ky = (i & 2) == 0 ? cy : ny;
+            final long kz = (i & 4) == 0 ? cz : nz;
+
+            for (int e = table[hash(kx, ky, kz)]; e != NONE; e = entryNext[e]) {
+                final int idx = entryVertices[e];
+                if ((result == NONE || idx < result) && equivalent(vertices.get(idx), x, y, z)) {
+                    result = idx;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /** Register the vertex with the given index in the vertex list. No check is made for
+     * equivalent vertices.
+     * @param index index of the vertex in the vertex list
+     */
+    void add(final int index) {
+        final Vector3D vertex = vertices.get(index);
+        final double vertexTolerance = computeTolerance(vertex);
+
+        if (vertexTolerance > tolerance) {
+            // increase the cell size by at least a factor of two to limit the number of rebuilds
+            tolerance = Math.max(vertexTolerance, 2 * tolerance);
+            cellSize = CELL_SIZE_FACTOR * tolerance;
+            rebuild(table.length);
+        } else if (size + 1 > MAX_LOAD * table.length) {
+            rebuild(table.length * 2);
+        }
+
+        if (size == entryVertices.length) {
+            entryVertices = Arrays.copyOf(entryVertices, size * 2);
+            entryNext = Arrays.copyOf(entryNext, size * 2);
+        }
+
+        entryVertices[size] = index;
+        insertEntry(size, vertex);
+        ++size;
+    }
+
+    /** Return true if the given vertex is equivalent to the point with the given coordinates.
+     * @param vertex vertex
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return true if the vertex is equivalent to the point
+     */
+    private boolean equivalent(final Vector3D vertex, final double x, final double y, final double z) {
+        return precision.eq(vertex.getX(), x) &&
+                precision.eq(vertex.getY(), y) &&
+                precision.eq(vertex.getZ(), z);
+    }
+
+    /** Rebuild the hash table with the given size using the current cell size.
+     * @param tableSize new table size
+     */
+    private void rebuild(final int tableSize) {
+        table = new int[tableSize];
+        Arrays.fill(table, NONE);
+
+        for (int e = 0; e < size; ++e) {
+            insertEntry(e, vertices.get(entryVertices[e]));
+        }
+    }
+
+    /** Insert the given entry into the chain of the cell containing the given vertex.
+     * @param entry entry index
+     * @param vertex vertex of the entry
+     */
+    private void insertEntry(final int entry, final Vector3D vertex) {
+        final int h = hash(
+                (long) Math.floor(vertex.getX() / cellSize),
+                (long) Math.floor(vertex.getY() / cellSize),
+                (long) Math.floor(vertex.getZ() / cellSize));
+
+        entryNext[entry] = table[h];
+        table[h] = entry;
+    }
+
+    /** Compute the hash table index of the cell with the given integer coordinates.
+     * @param cx cell x coordinate
+     * @param cy cell y coordinate
+     * @param cz cell z coordinate
+     * @return the hash table index of the cell
+     */
+    private int hash(final long cx, final long cy, final long cz) {
+        long h = (cx * 0x9E3779B97F4A7C15L) + (cy * 0xC2B2AE3D27D4EB4FL) + (cz * 0x165667B19E3779F9L);
+        h ^= h >>> 32;
+        h ^= h >>> 16;
+        return (int) h & (table.length - 1);
+    }
+
+    /** Compute the upper bound for the coordinate differences considered equivalent for the given vertex.
+     * @param vertex vertex
+     * @return the coordinate tolerance for the vertex
+     */
+    private double computeTolerance(final Vector3D vertex) {
+        final double max = Math.max(finiteAbs(vertex.getX()),
+                Math.max(finiteAbs(vertex.getY()), finiteAbs(vertex.getZ())));
+        return Math.max(epsilonBound, Math.ulp(max));
+    }
+
+    /** Return the absolute value of the argument if it is finite and zero otherwise.
+     * @param value value
+     * @return the absolute value of the argument if finite; otherwise zero
+     */
+    private static double finiteAbs(final double value) {
+        final double abs = Math.abs(value);
+        return Double.isFinite(abs) ? abs : 0;
+    }
+
+    /** Get the coordinate of the neighboring cell nearest to a scaled coordinate.
+     * @param scaled coordinate divided by the cell size
+     * @param cell coordinate of the cell containing the scaled coordinate
+     * @return the coordinate of the neighboring cell nearest to the scaled coordinate
+     */
+    private static long neighbor(final double scaled, final long cell) {
+        return scaled - cell < 0.5 ?
+                cell - 1 :
+                cell + 1;
+    }
+
+    /** Compute an upper bound for the differences from zero considered equivalent to zero by the given
+     * precision context. The returned value is the smallest power of two that is not equivalent to zero.
+     * @param precision precision context
+     * @return an upper bound for the differences from zero considered equivalent to zero
+     */
+    private static double computeEpsilonBound(final Precision.DoubleEquivalence precision) {
+        double bound = Double.MIN_VALUE;
+        while (bound < Double.MAX_VALUE && precision.eq(0.0, bound)) {
+            bound *= 2;
+        }
+        return bound;
+    }
+}
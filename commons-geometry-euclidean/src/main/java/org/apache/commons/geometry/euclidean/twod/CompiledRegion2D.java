@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractCompiledRegion;
+import org.apache.commons.geometry.core.partitioning.bsp.CompactRegionNodeStore;
+import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
+import org.apache.commons.numbers.arrays.LinearCombination;
+import org.apache.commons.numbers.core.Precision;
+
+/** Immutable, compiled snapshot of a {@link RegionBSPTree2D}. Cut lines are stored as flat arrays of
+ * line coefficients, the tree structure as arrays of child node indices, and node locations as an array of
+ * location codes. All values that are lazily computed by {@link RegionBSPTree2D} are computed when the
+ * instance is created, meaning that instances can be queried concurrently by any number of threads
+ * without synchronization.
+ *
+ * <p>Instances are created with {@link RegionBSPTree2D#compile()} or {@link RegionBSPTree2D#compile(boolean)}
+ * and represent the region as it existed at that time.</p>
+ */
+public final class CompiledRegion2D extends AbstractCompiledRegion<Vector2D> implements Linecastable2D {
+
+    /** Number of coefficients stored for each line. */
+    private static final int LINE_STRIDE = 3;
+
+    /** Line coefficients, stored as consecutive {@code (directionX, directionY, originOffset)}
+     * groups in hyperplane table order.
+     */
+    private final double[] lineCoefficients;
+
+    /** Precision contexts for each line in hyperplane table order. */
+    private final Precision.DoubleEquivalence[] linePrecisions;
+
+    /** Construct a new instance from the current state of the given tree.
+     * @param tree tree to compile
+     * @param shareSubtrees if true, structurally identical subtrees of the tree are stored only once
+     */
+    CompiledRegion2D(final RegionBSPTree2D tree, final boolean shareSubtrees) {
+        super(tree, shareSubtrees);
+
+        final List<Hyperplane<Vector2D>> hyperplanes = getNodeStore().getHyperplanes();
+        final int count = hyperplanes.size();
+
+        this.lineCoefficients = new double[count * LINE_STRIDE];
+        this.linePrecisions = new Precision.DoubleEquivalence[count];
+
+        for (int i = 0; i < count; ++i) {
+            final Line line = (Line) hyperplanes.get(i);
+            final Vector2D direction = line.getDirection();
+
+            final int offset = i * LINE_STRIDE;
+            lineCoefficients[offset] = direction.getX();
+            lineCoefficients[offset + 1] = direction.getY();
+            lineCoefficients[offset + 2] = line.getOriginOffset();
+
+            linePrecisions[i] = line.getPrecision();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<LinecastPoint2D> linecast(final LineConvexSubset subset) {
+        final Linecaster linecaster = new Linecaster(subset, false);
+        linecaster.linecastRecursive(getNodeStore().getRoot(), 0);
+
+        return linecaster.getResults();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LinecastPoint2D linecastFirst(final LineConvexSubset subset) {
+        final Linecaster linecaster = new Linecaster(subset, true);
+        linecaster.linecastRecursive(getNodeStore().getRoot(), 0);
+
+        final List<LinecastPoint2D> results = linecaster.getResults();
+        return results.isEmpty() ?
+                null :
+                results.get(0);
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y)} coordinate pairs in {@code xy},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * No objects are allocated per point. The result for each point is the same as that returned by
+     * {@link #classify(org.apache.commons.geometry.core.Point) classify(Vector2D.of(x, y))}.
+     * @param xy array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xy}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xy} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     */
+    public void classify(final double[] xy, final int offset, final int count, final RegionLocation[] out) {
+        classify(xy, offset, count, out, null);
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y)} coordinate pairs in {@code xy},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * Large batches are split into ranges that are classified in parallel using the given pool.
+     * @param xy array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xy}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @param pool pool used to classify the points in parallel; if null, the points are classified
+     *      sequentially in the calling thread
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xy} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see #classify(double[], int, int, RegionLocation[])
+     */
+    public void classify(final double[] xy, final int offset, final int count, final RegionLocation[] out,
+            final ForkJoinPool pool) {
+        classifyCoordinates(xy, offset, count, 2, out, pool);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected HyperplaneLocation classifyCut(final int hyperplaneIndex, final Vector2D pt) {
+        return classifyOffset(hyperplaneIndex, offset(hyperplaneIndex, pt.getX(), pt.getY()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected HyperplaneLocation classifyCut(final int hyperplaneIndex, final double[] coords, final int offset) {
+        return classifyOffset(hyperplaneIndex, offset(hyperplaneIndex, coords[offset], coords[offset + 1]));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double offset(final int hyperplaneIndex, final Vector2D pt) {
+        return offset(hyperplaneIndex, pt.getX(), pt.getY());
+    }
+
+    /** Compute the offset of the point with the given coordinates from the cut line with the given index.
+     * @param hyperplaneIndex index of the line in the hyperplane table
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @return the offset of the point from the line
+     */
+    private double offset(final int hyperplaneIndex, final double x, final double y) {
+        final int offset = hyperplaneIndex * LINE_STRIDE;
+        return lineCoefficients[offset + 2] -
+                LinearCombination.value(
+                    lineCoefficients[offset], y,
+                    -lineCoefficients[offset + 1], x);
+    }
+
+    /** Classify an offset from the cut line with the given index using the precision context of the line.
+     * @param hyperplaneIndex index of the line in the hyperplane table
+     * @param offset offset from the line
+     * @return the location corresponding to the offset
+     */
+    private HyperplaneLocation classifyOffset(final int hyperplaneIndex, final double offset) {
+        final double cmp = linePrecisions[hyperplaneIndex].signum(offset);
+        if (cmp > 0) {
+            return HyperplaneLocation.PLUS;
+        } else if (cmp < 0) {
+            return HyperplaneLocation.MINUS;
+        }
+        return HyperplaneLocation.ON;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Vector2D disambiguateClosestPoint(final Vector2D target, final Vector2D a, final Vector2D b) {
+        // return the point with the smallest coordinate values
+        final int cmp = Vector2D.COORDINATE_ASCENDING_ORDER.compare(a, b);
+        return cmp < 0 ? a : b;
+    }
+
+    /** Class performing a single linecast operation against the compiled region. This follows
+     * the same algorithm as the linecast operation in {@link RegionBSPTree2D}.
+     */
+    private final class Linecaster {
+
+        /** The line subset to intersect with the region boundaries. */
+        private final LineConvexSubset linecastSubset;
+
+        /** If true, the operation will stop once the first linecast point is determined. */
+        private final boolean firstOnly;
+
+        /** The minimum abscissa found during the search. */
+        private double minAbscissa = Double.POSITIVE_INFINITY;
+
+        /** List of results from the linecast operation. */
+        private final List<LinecastPoint2D> results = new ArrayList<>();
+
+        /** Create a new instance with the given intersecting line convex subset.
+         * @param linecastSubset line subset to intersect with the region boundary
+         * @param firstOnly if true, the operation will stop once the first linecast
+         *      point is determined
+         */
+        Linecaster(final LineConvexSubset linecastSubset, final boolean firstOnly) {
+            this.linecastSubset = linecastSubset;
+            this.firstOnly = firstOnly;
+        }
+
+        /** Get a list containing the sorted and filtered results of the linecast operation.
+         * @return list of sorted and filtered results from the linecast operation
+         */
+        List<LinecastPoint2D> getResults() {
+            LinecastPoint2D.sortAndFilter(results);
+
+            return results;
+        }
+
+        /** Recursively perform the linecast operation on the subtree rooted at the given node,
+         * visiting the side of each cut nearest to the start of the line first.
+         * @param node node id
+         * @param position position of the node in the source tree
+         * @return true if the operation should continue
+         */
+        boolean linecastRecursive(final int node, final int position) {
+            final CompactRegionNodeStore<Vector2D> store = getNodeStore();
+            if (store.isLeaf(node)) {
+                return true;
+            }
+
+            final int offset = store.getCutHyperplaneIndex(node) * LINE_STRIDE;
+            final Vector2D direction = linecastSubset.getLine().getDirection();
+
+            // dot product of the linecast direction and the cut offset direction
+            final boolean plusIsNear = LinearCombination.value(
+                    direction.getX(), lineCoefficients[offset + 1],
+                    direction.getY(), -lineCoefficients[offset]) < 0;
+
+            final int minusPosition = getMinusPosition(position);
+            final int plusPosition = getPlusPosition(node, position);
+
+            final boolean nearResult = plusIsNear ?
+                    linecastRecursive(store.getPlus(node), plusPosition) :
+                    linecastRecursive(store.getMinus(node), minusPosition);
+            if (!nearResult || !visitInternalNode(node, position)) {
+                return false;
+            }
+
+            return plusIsNear ?
+                    linecastRecursive(store.getMinus(node), minusPosition) :
+                    linecastRecursive(store.getPlus(node), plusPosition);
+        }
+
+        /** Check the cut of the given internal node for intersections with the linecast line.
+         * @param node internal node id
+         * @param position position of the node in the source tree
+         * @return true if the operation should continue
+         */
+        private boolean visitInternalNode(final int node, final int position) {
+            final Line line = linecastSubset.getLine();
+            final Line cut = (Line) getNodeStore().getCutHyperplane(node);
+            final Vector2D pt = cut.intersection(line);
+
+            if (pt != null) {
+                if (firstOnly && !results.isEmpty() &&
+                        line.getPrecision().compare(minAbscissa, line.abscissa(pt)) < 0) {
+                    // we have results and we are now sure that no other intersection points will be
+                    // found that are closer or at the same position on the intersecting line.
+                    return false;
+                } else if (linecastSubset.contains(pt)) {
+                    final LinecastPoint2D potentialResult = computeLinecastPoint(pt, cut, node, position);
+                    if (potentialResult != null) {
+                        results.add(potentialResult);
+
+                        minAbscissa = Math.min(minAbscissa, potentialResult.getAbscissa());
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        /** Compute the linecast point for the given intersection point and node, returning null
+         * if the point does not actually lie on the region boundary.
+         * @param pt intersection point
+         * @param cut node cut line
+         * @param node node id
+         * @param position position of the node in the source tree
+         * @return a new linecast point instance or null if the intersection point does not lie
+         *      on the region boundary
+         */
+        private LinecastPoint2D computeLinecastPoint(final Vector2D pt, final Line cut, final int node,
+                final int position) {
+            final RegionCutBoundary<Vector2D> boundary = getCutBoundary(node, position);
+
+            if (boundary.containsInsideFacing(pt)) {
+                return new LinecastPoint2D(pt, cut.getOffsetDirection().negate(), linecastSubset.getLine());
+            } else if (boundary.containsOutsideFacing(pt)) {
+                return new LinecastPoint2D(pt, cut.getOffsetDirection(), linecastSubset.getLine());
+            }
+
+            return null;
+        }
+    }
+}
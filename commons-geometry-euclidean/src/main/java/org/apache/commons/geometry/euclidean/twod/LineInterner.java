@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import org.apache.commons.geometry.euclidean.internal.EquivalenceTable;
+import org.apache.commons.numbers.core.Precision;
+
+/** Class used to canonicalize lines that are equivalent under a precision context. Lines are considered
+ * equivalent when their origins and their direction vectors are equivalent. The first line interned from each
+ * set of equivalent lines becomes the canonical instance for the set and is returned for all later equivalent
+ * lines. Unlike {@link Line#eq(Line, Precision.DoubleEquivalence)}, which compares line angles, comparing
+ * direction vectors treats lines with directions just above and just below the positive x-axis as equivalent.
+ *
+ * <p>Inserting boundaries into a {@link RegionBSPTree2D} after interning their lines allows the tree to
+ * recognize collinear boundaries by identity, so that boundaries lying in the cut line of a node are
+ * discarded without being split. See {@link RegionBSPTree2D#from(Iterable, boolean, LineInterner)} and
+ * {@link RegionBSPTree2D#insert(BoundarySource2D, LineInterner)}.</p>
+ *
+ * <p>Lines with opposite orientations are not equivalent and are interned separately.
+ * Instances of this class are not thread-safe.</p>
+ */
+public final class LineInterner {
+
+    /** Table containing the canonical lines. */
+    private final EquivalenceTable<Line> table;
+
+    /** Construct a new, empty instance.
+     * @param precision precision context used to determine line equivalence
+     */
+    public LineInterner(final Precision.DoubleEquivalence precision) {
+        this.table = new EquivalenceTable<>(precision, (a, b) ->
+            a.getOrigin().eq(b.getOrigin(), precision) && a.getDirection().eq(b.getDirection(), precision));
+    }
+
+    /** Get the number of canonical lines held by this instance.
+     * @return the number of canonical lines
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /** Get the canonical line equivalent to the given line. The argument becomes the canonical line
+     * if no equivalent line has been interned.
+     * @param line line to intern
+     * @return the canonical line equivalent to {@code line}
+     */
+    public Line intern(final Line line) {
+        final Vector2D origin = line.getOrigin();
+        final Vector2D direction = line.getDirection();
+
+        return table.intern(line, origin.getX(), origin.getY(), direction.getX(), direction.getY());
+    }
+
+    /** Return a line convex subset equivalent to the argument that lies on the canonical line
+     * equivalent to the line of the argument. The argument is returned as-is if its line is already
+     * canonical.
+     * @param subset line convex subset to intern
+     * @return a line convex subset lying on the canonical line
+     */
+    public LineConvexSubset intern(final LineConvexSubset subset) {
+        final Line line = subset.getLine();
+        final Line canonical = intern(line);
+
+        if (canonical == line) {
+            return subset;
+        }
+
+        final Vector2D start = subset.getStartPoint();
+        final Vector2D end = subset.getEndPoint();
+
+        if (start != null && end != null) {
+            return Lines.segmentFromPoints(canonical, start, end);
+        } else if (start != null) {
+            return Lines.rayFromPoint(canonical, start);
+        } else if (end != null) {
+            return Lines.reverseRayFromPoint(canonical, end);
+        }
+        return Lines.span(canonical);
+    }
+}
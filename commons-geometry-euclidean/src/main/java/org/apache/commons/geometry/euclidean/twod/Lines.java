@@ -63,6 +63,29 @@ public final class Lines {
         return new Line(normalizedDir, originOffset, precision);
     }
 
+    /** Create a line from a direction and an origin offset. This is the inverse of the
+     * {@link Line#getDirection()} and {@link Line#getOriginOffset()} accessors and can be
+     * used to restore a line from its stored components.
+     * @param dir the direction of the line
+     * @param originOffset signed distance from the origin to the line, as returned by
+     *      {@link Line#getOriginOffset()}
+     * @param precision precision context used to compare floating point values
+     * @return new line with the given direction and origin offset
+     * @throws IllegalArgumentException If {@code dir} has zero length, as evaluated by the
+     *      given precision context, or if the origin offset is NaN or infinite
+     */
+    public static Line fromDirectionAndOriginOffset(final Vector2D dir, final double originOffset,
+            final Precision.DoubleEquivalence precision) {
+        if (dir.isZero(precision)) {
+            throw new IllegalArgumentException("Line direction cannot be zero");
+        }
+        if (!Double.isFinite(originOffset)) {
+            throw new IllegalArgumentException("Invalid line origin offset: " + originOffset);
+        }
+
+        return new Line(dir.normalize(), originOffset, precision);
+    }
+
     /** Create a line from a point lying on the line and an angle relative to the abscissa (x) axis. Note that the
      * line does not need to intersect the x-axis; the given angle is simply relative to it.
      * @param pt point belonging to the line
@@ -16,20 +16,32 @@
  */
 package org.apache.commons.geometry.euclidean.twod;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBalancedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractPartitionedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionLocator;
 import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
 import org.apache.commons.geometry.euclidean.twod.path.InteriorAngleLinePathConnector;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
 import org.apache.commons.numbers.core.Precision;
@@ -43,6 +55,14 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** List of line subset paths comprising the region boundary. */
     private List<LinePath> boundaryPaths;
 
+    /** Compiled snapshot of the region; this is computed when requested and then cached. */
+    private CompiledRegion2D compiledRegion;
+
+    /** Flag indicating whether or not the bounding boxes of node subtrees should be used to
+     * skip subtrees during linecast and projection operations.
+     */
+    private boolean useSubtreeBounds;
+
     /** Create a new, empty region.
      */
     public RegionBSPTree2D() {
@@ -78,7 +98,7 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** {@inheritDoc} */
     @Override
     public Stream<LineConvexSubset> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (LineConvexSubset) b);
     }
 
     /** {@inheritDoc} */
@@ -87,6 +107,19 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return createBoundaryList(b -> (LineConvexSubset) b);
     }
 
+    /** Insert all boundaries from the given source into the tree, first canonicalizing their lines
+     * with the given interner. Boundaries lying in lines equivalent to the cut of a tree node then share
+     * the cut line instance and are discarded at that node without being split.
+     * @param boundarySrc source of boundaries to insert
+     * @param interner object used to canonicalize boundary lines
+     * @see LineInterner
+     */
+    public void insert(final BoundarySource2D boundarySrc, final LineInterner interner) {
+        try (Stream<LineConvexSubset> stream = boundarySrc.boundaryStream()) {
+            stream.forEach(b -> insert(interner.intern(b)));
+        }
+    }
+
     /** Get the boundary of the region as a list of connected line subset paths.
      * The line subset are oriented such that their minus (left) side lies on the
      * interior of the region.
@@ -155,12 +188,35 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     public Vector2D project(final Vector2D pt) {
         // use our custom projector so that we can disambiguate points that are
         // actually equidistant from the target point
-        final BoundaryProjector2D projector = new BoundaryProjector2D(pt);
+        final BoundaryProjector2D projector = new BoundaryProjector2D(pt, useSubtreeBounds);
         accept(projector);
 
         return projector.getProjected();
     }
 
+    /** Return true if this instance uses the {@link RegionNode2D#getSubtreeBoundaryBounds() bounding boxes
+     * of node subtrees} to skip subtrees during linecast and projection operations.
+     * @return true if this instance uses subtree bounding boxes to skip subtrees during queries
+     * @see #setUseSubtreeBounds(boolean)
+     */
+    public boolean isUseSubtreeBounds() {
+        return useSubtreeBounds;
+    }
+
+    /** Set whether or not this instance should use the {@link RegionNode2D#getSubtreeBoundaryBounds()
+     * bounding boxes of node subtrees} to skip subtrees during linecast and projection operations. When enabled,
+     * {@link #linecast(LineConvexSubset) linecasts} skip subtrees whose boundaries cannot be reached by the line
+     * subset and {@link #project(Vector2D) projections} skip subtrees whose boundaries all lie farther from the
+     * target point than the closest boundary point found so far. The bounding boxes are computed lazily from the cut
+     * boundaries of the entire tree on first use and cached on each node until its subtree is modified, so this
+     * setting trades an initial computation and additional memory for faster repeated queries against large trees.
+     * Query results are not affected.
+     * @param useSubtreeBounds if true, subtree bounding boxes are used to skip subtrees during queries
+     */
+    public void setUseSubtreeBounds(final boolean useSubtreeBounds) {
+        this.useSubtreeBounds = useSubtreeBounds;
+    }
+
     /** Return the current instance.
      */
     @Override
@@ -168,10 +224,97 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return this;
     }
 
+    /** Create an immutable, compiled snapshot of the current region. The returned instance supports
+     * the query operations of this class (such as point classification, projection, and linecasting)
+     * and, unlike this class, may be safely shared between threads without synchronization. Subsequent
+     * modifications of this tree are not reflected in the returned instance. The snapshot is cached and
+     * returned by subsequent calls until this tree is next modified.
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion2D compile() {
+        if (compiledRegion == null) {
+            compiledRegion = new CompiledRegion2D(this, false);
+        }
+        return compiledRegion;
+    }
+
+    /** Create an immutable, compiled snapshot of the current region, optionally storing structurally
+     * identical subtrees of this tree only once. Sharing subtrees reduces the size of the snapshot for
+     * trees that repeat the same sequence of cuts in different regions, such as those produced by boolean
+     * operations on partitioned regions, and allows the snapshot to replace this tree for classification,
+     * projection, and linecasting at a lower memory cost. If {@code shareSubtrees} is false, the result is
+     * the same as that of {@link #compile()}. Otherwise, a new instance is created on each call.
+     * @param shareSubtrees if true, structurally identical subtrees are stored only once in the snapshot
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion2D compile(final boolean shareSubtrees) {
+        return shareSubtrees ?
+                new CompiledRegion2D(this, true) :
+                compile();
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y)} coordinate pairs in {@code xy},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * The points are classified using the {@link #compile() compiled snapshot} of this tree, which is created
+     * on the first call following a modification of the tree and then reused.
+     * @param xy array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xy}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xy} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see CompiledRegion2D#classify(double[], int, int, RegionLocation[])
+     */
+    public void classify(final double[] xy, final int offset, final int count, final RegionLocation[] out) {
+        compile().classify(xy, offset, count, out);
+    }
+
+    /** Classify a batch of points given as consecutive {@code (x, y)} coordinate pairs in {@code xy},
+     * starting at index {@code offset}, storing the location of the {@code i}th point in {@code out[i]}.
+     * Large batches are split into ranges that are classified in parallel using the given pool.
+     * @param xy array containing point coordinates
+     * @param offset index of the x coordinate of the first point in {@code xy}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @param pool pool used to classify the points in parallel; if null, the points are classified
+     *      sequentially in the calling thread
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code xy} does not contain {@code count} points starting at
+     *      {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see CompiledRegion2D#classify(double[], int, int, RegionLocation[], ForkJoinPool)
+     */
+    public void classify(final double[] xy, final int offset, final int count, final RegionLocation[] out,
+            final ForkJoinPool pool) {
+        compile().classify(xy, offset, count, out, pool);
+    }
+
+    /** Create a new {@link RegionLocator2D} for classifying sequences of nearby points against this region.
+     * The locator remembers the leaf node and convex cell containing the last point and only descends from
+     * the root of the tree when a point leaves that cell.
+     * @return a new locator for this region
+     */
+    public RegionLocator2D locator() {
+        return new RegionLocator2D(this);
+    }
+
+    /** Create a new {@link TransformedRegion2D} representing this region transformed by the given affine
+     * transform. Unlike {@link #transform(org.apache.commons.geometry.core.Transform) transform}, this tree is
+     * not modified and the cost of creating the view is independent of the size of the tree. Queries on the
+     * view are performed by mapping their arguments into the coordinate frame of this tree. The view reflects
+     * any later modifications to this tree.
+     * @param transform affine transform to apply
+     * @return a transformed view of this region
+     * @throws IllegalStateException if the transform is not invertible
+     */
+    public TransformedRegion2D transformedView(final AffineTransformMatrix2D transform) {
+        return new TransformedRegion2D(this, transform);
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<LinecastPoint2D> linecast(final LineConvexSubset subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, false);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, false, useSubtreeBounds);
         accept(visitor);
 
         return visitor.getResults();
@@ -180,7 +323,7 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** {@inheritDoc} */
     @Override
     public LinecastPoint2D linecastFirst(final LineConvexSubset subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, true);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, true, useSubtreeBounds);
         accept(visitor);
 
         return visitor.getFirstResult();
@@ -257,12 +400,27 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return new RegionSizeProperties<>(size, centroid);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>This implementation builds the new tree from the current region boundaries using a
+     * {@link BalancedRegionBuilder2D} with default settings. Independent sections of the new tree are constructed
+     * in parallel if a {@link #getParallelMergePool() parallel merge pool} is configured.</p>
+     */
+    @Override
+    protected RegionBSPTree2D buildOptimizedTree() {
+        return balancedRegionBuilder()
+                .setParallelism(getParallelMergePool())
+                .insertBoundaries(getBoundaries())
+                .build();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void invalidate() {
         super.invalidate();
 
         boundaryPaths = null;
+        compiledRegion = null;
     }
 
     /** {@inheritDoc} */
@@ -309,6 +467,95 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return tree;
     }
 
+    /** Construct a new tree from the given boundaries, canonicalizing the boundary lines with the given
+     * interner before insertion. This produces the same region as {@link #from(Iterable, boolean)} but avoids
+     * redundant splitting of boundaries lying in equivalent lines, which is common for input containing
+     * many collinear facets.
+     * @param boundaries boundaries to construct the tree from
+     * @param full if true, the initial tree will contain the entire space
+     * @param interner object used to canonicalize boundary lines
+     * @return a new tree instance constructed from the given boundaries
+     * @see LineInterner
+     */
+    public static RegionBSPTree2D from(final Iterable<? extends LineConvexSubset> boundaries, final boolean full,
+            final LineInterner interner) {
+        final RegionBSPTree2D tree = new RegionBSPTree2D(full);
+        for (final LineConvexSubset boundary : boundaries) {
+            tree.insert(interner.intern(boundary));
+        }
+
+        return tree;
+    }
+
+    /** Return a new tree containing the union of all of the given regions. This is equivalent to computing
+     * the union of the regions one at a time but is much faster for large numbers of inputs since the regions
+     * are combined pairwise in a balanced order, with regions with nearby bounding boxes combined first. None of
+     * the arguments are modified.
+     * @param trees regions to compute the union of
+     * @return a new tree containing the union of the given regions; the result is empty if no regions are given
+     */
+    public static RegionBSPTree2D unionAll(final Collection<? extends RegionBSPTree2D> trees) {
+        return unionAll(trees, null);
+    }
+
+    /** Return a new tree containing the union of all of the given regions, performing independent merge
+     * operations in parallel using the given pool. The result is identical to that of
+     * {@link #unionAll(Collection)}. None of the arguments are modified.
+     * @param trees regions to compute the union of
+     * @param pool pool used to perform merges in parallel; if null, merges are performed sequentially
+     *      in the calling thread
+     * @return a new tree containing the union of the given regions; the result is empty if no regions are given
+     */
+    public static RegionBSPTree2D unionAll(final Collection<? extends RegionBSPTree2D> trees, final ForkJoinPool pool) {
+        return unionAll(trees, RegionBSPTree2D::empty, RegionBSPTree2D::getRegionBounds, pool);
+    }
+
+    /** Return a new tree containing the intersection of all of the given regions. The regions are combined
+     * pairwise in a balanced order. If the bounding boxes of the bounded input regions do not have a common
+     * intersection, an empty tree is returned without performing any merge operations. None of the arguments
+     * are modified.
+     * @param trees regions to compute the intersection of
+     * @return a new tree containing the intersection of the given regions; the result is full if no regions
+     *      are given
+     */
+    public static RegionBSPTree2D intersectionAll(final Collection<? extends RegionBSPTree2D> trees) {
+        return intersectionAll(trees, null);
+    }
+
+    /** Return a new tree containing the intersection of all of the given regions, performing independent merge
+     * operations in parallel using the given pool. The result is identical to that of
+     * {@link #intersectionAll(Collection)}. None of the arguments are modified.
+     * @param trees regions to compute the intersection of
+     * @param pool pool used to perform merges in parallel; if null, merges are performed sequentially
+     *      in the calling thread
+     * @return a new tree containing the intersection of the given regions; the result is full if no regions
+     *      are given
+     */
+    public static RegionBSPTree2D intersectionAll(final Collection<? extends RegionBSPTree2D> trees,
+            final ForkJoinPool pool) {
+        return intersectionAll(trees, RegionBSPTree2D::empty, RegionBSPTree2D::getRegionBounds, pool);
+    }
+
+    /** Get the bounding box of the given region as an array containing the minimum coordinate values followed by
+     * the maximum coordinate values. Null is returned if the region is not bounded.
+     * @param tree region to get the bounding box for
+     * @return the bounding box of the region or null if the region is not bounded
+     */
+    private static double[] getRegionBounds(final RegionBSPTree2D tree) {
+        final Bounds2D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        if (bounds == null || !Double.isFinite(tree.getSize())) {
+            return null;
+        }
+
+        final double[] min = bounds.getMin().toArray();
+        final double[] max = bounds.getMax().toArray();
+
+        final double[] result = Arrays.copyOf(min, min.length + max.length);
+        System.arraycopy(max, 0, result, min.length, max.length);
+
+        return result;
+    }
+
     /** Create a new {@link PartitionedRegionBuilder2D} instance which can be used to build balanced
      * BSP trees from region boundaries.
      * @return a new {@link PartitionedRegionBuilder2D} instance
@@ -317,9 +564,21 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return new PartitionedRegionBuilder2D();
     }
 
+    /** Create a new {@link BalancedRegionBuilder2D} instance which can be used to build balanced
+     * BSP trees from a complete set of region boundaries without manually specifying partitions.
+     * @return a new {@link BalancedRegionBuilder2D} instance
+     */
+    public static BalancedRegionBuilder2D balancedRegionBuilder() {
+        return new BalancedRegionBuilder2D();
+    }
+
     /** BSP tree node for two dimensional Euclidean space.
      */
     public static final class RegionNode2D extends AbstractRegionBSPTree.AbstractRegionNode<Vector2D, RegionNode2D> {
+
+        /** Bounding box of the region boundaries in the subtree rooted at this node; null if not yet computed. */
+        private SubtreeBounds subtreeBounds;
+
         /** Simple constructor.
          * @param tree the owning tree instance
          */
@@ -349,11 +608,325 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
             return area;
         }
 
+        /** Get the axis-aligned bounding box of the region boundaries lying on the cuts of the subtree rooted
+         * at this node. Null is returned if the subtree does not contain any region boundaries or if any of
+         * them are infinite. Values for internal nodes are computed lazily from the
+         * {@link #getCutBoundary() cut boundaries} in the subtree and cached until the subtree is modified.
+         * @return the bounding box of the region boundaries in the subtree rooted at this node, or null if
+         *      the subtree contains no boundaries or infinite boundaries
+         * @see RegionBSPTree2D#setUseSubtreeBounds(boolean)
+         */
+        public Bounds2D getSubtreeBoundaryBounds() {
+            return getSubtreeBounds().getBounds();
+        }
+
         /** {@inheritDoc} */
         @Override
         protected RegionNode2D getSelf() {
             return this;
         }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean clearSubtreeProperties() {
+            if (subtreeBounds != null) {
+                subtreeBounds = null;
+                return true;
+            }
+            return false;
+        }
+
+        /** Get the bounds of the region boundaries in the subtree rooted at this node. Values for internal
+         * nodes are computed lazily and cached until the subtree is modified.
+         * @return the bounds of the region boundaries in the subtree rooted at this node
+         */
+        private SubtreeBounds getSubtreeBounds() {
+            if (isLeaf()) {
+                return SubtreeBounds.EMPTY;
+            }
+
+            if (subtreeBounds == null) {
+                computeSubtreeValues(this, n -> n.subtreeBounds != null,
+                    n -> n.subtreeBounds = SubtreeBounds.forInternalNode(n,
+                            n.getMinus().getSubtreeBounds(),
+                            n.getPlus().getSubtreeBounds()));
+            }
+
+            return subtreeBounds;
+        }
+
+        /** Compute the cached subtree values of the uncached internal nodes in the subtree rooted at the given
+         * node. Nodes are visited iteratively in post-order so that the values of both children are available
+         * when the value of a node is computed and so that trees of arbitrary depth can be processed.
+         * @param root root of the subtree
+         * @param cached predicate returning true if the value of an internal node is already cached
+         * @param compute function computing and caching the value of an internal node from the values
+         *      of its children
+         */
+        private static void computeSubtreeValues(final RegionNode2D root, final Predicate<RegionNode2D> cached,
+                final Consumer<RegionNode2D> compute) {
+            final Deque<RegionNode2D> stack = new ArrayDeque<>();
+            stack.push(root);
+
+            while (!stack.isEmpty()) {
+                final RegionNode2D node = stack.peek();
+                final RegionNode2D minus = node.getMinus();
+                final RegionNode2D plus = node.getPlus();
+
+                final boolean minusDone = minus.isLeaf() || cached.test(minus);
+                final boolean plusDone = plus.isLeaf() || cached.test(plus);
+
+                if (minusDone && plusDone) {
+                    compute.accept(node);
+                    stack.pop();
+                } else {
+                    if (!plusDone) {
+                        stack.push(plus);
+                    }
+                    if (!minusDone) {
+                        stack.push(minus);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Class used to classify sequences of spatially coherent points, such as points along a scanline, against
+     * a {@link RegionBSPTree2D}. Instances are created with {@link RegionBSPTree2D#locator()} and are not
+     * thread-safe.
+     * @see AbstractRegionLocator
+     */
+    public static final class RegionLocator2D extends AbstractRegionLocator<Vector2D, RegionNode2D> {
+
+        /** Construct a new instance for the given tree.
+         * @param tree tree to classify points against
+         */
+        private RegionLocator2D(final RegionBSPTree2D tree) {
+            super(tree);
+        }
+
+        /** {@inheritDoc}
+         *
+         * <p>This implementation returns the vertices of the {@link RegionNode2D#getNodeRegion() node region}.</p>
+         */
+        @Override
+        protected Collection<Vector2D> getCellVertices(final RegionNode2D node) {
+            final ConvexArea cell = node.getNodeRegion();
+            return cell != null && cell.isFinite() ?
+                    cell.getVertices() :
+                    null;
+        }
+    }
+
+    /** Class representing a {@link RegionBSPTree2D} transformed by an affine transform without modifying
+     * the tree. The transform and its inverse are stored and queries are answered by mapping points and lines
+     * into the coordinate frame of the tree and mapping the results back. Views are created with
+     * {@link RegionBSPTree2D#transformedView(AffineTransformMatrix2D)} and can be further transformed in
+     * constant time with {@link #transform(AffineTransformMatrix2D)}, which makes them suitable for placing
+     * many instances of the same large region in a scene.
+     *
+     * <p>Classification, size, centroid, and linecast queries are supported directly for all invertible
+     * transforms. Projection and boundary size are supported directly for similarity transforms, i.e.
+     * transforms composed of rotations, reflections, translations, and uniform scaling, which includes all
+     * rigid transforms. For other transforms, these queries are answered using a transformed copy of the tree
+     * that is created on first use and cached until the tree is modified.</p>
+     *
+     * <p>Instances are not thread-safe.</p>
+     */
+    public static final class TransformedRegion2D implements Region<Vector2D>, Linecastable2D {
+
+        /** Relative tolerance used to determine if the linear part of a transform is a similarity. */
+        private static final double SIMILARITY_TOLERANCE = 1e-12;
+
+        /** Underlying tree. */
+        private final RegionBSPTree2D tree;
+
+        /** Transform from the tree frame to the view frame. */
+        private final AffineTransformMatrix2D transform;
+
+        /** Transform from the view frame to the tree frame. */
+        private final AffineTransformMatrix2D inverse;
+
+        /** Transform used to map normals from the tree frame to the view frame. */
+        private final AffineTransformMatrix2D normalTransform;
+
+        /** Uniform scale factor of the transform if it is a similarity; NaN otherwise. */
+        private final double similarityScale;
+
+        /** Transformed copy of the tree used for queries not supported directly; null if not yet created. */
+        private RegionBSPTree2D transformedTree;
+
+        /** Version of the tree at the time that {@link #transformedTree} was created. */
+        private int transformedTreeVersion;
+
+        /** Construct a new view of the given tree.
+         * @param tree underlying tree
+         * @param transform transform from the tree frame to the view frame
+         * @throws IllegalStateException if the transform is not invertible
+         */
+        private TransformedRegion2D(final RegionBSPTree2D tree, final AffineTransformMatrix2D transform) {
+            this.tree = tree;
+            this.transform = transform;
+            this.inverse = transform.inverse();
+            this.normalTransform = transform.normalTransform();
+            this.similarityScale = computeSimilarityScale(transform);
+        }
+
+        /** Get the underlying tree.
+         * @return the underlying tree
+         */
+        public RegionBSPTree2D getTree() {
+            return tree;
+        }
+
+        /** Get the transform from the frame of the underlying tree to the frame of this view.
+         * @return the transform of this view
+         */
+        public AffineTransformMatrix2D getTransform() {
+            return transform;
+        }
+
+        /** Return a new view of the underlying tree with the given transform applied after the transform of
+         * this instance. The tree is not modified.
+         * @param t transform to apply
+         * @return a new view with the combined transform
+         * @throws IllegalStateException if the combined transform is not invertible
+         */
+        public TransformedRegion2D transform(final AffineTransformMatrix2D t) {
+            return new TransformedRegion2D(tree, transform.premultiply(t));
+        }
+
+        /** Return a new tree containing the region represented by this view.
+         * @return a new tree containing the transformed region
+         */
+        public RegionBSPTree2D toTree() {
+            final RegionBSPTree2D result = tree.copy();
+            result.transform(transform);
+
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isFull() {
+            return tree.isFull();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isEmpty() {
+            return tree.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSize() {
+            return tree.getSize() * Math.abs(transform.determinant());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getBoundarySize() {
+            if (Double.isNaN(similarityScale)) {
+                return getTransformedTree().getBoundarySize();
+            }
+            return tree.getBoundarySize() * similarityScale;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector2D getCentroid() {
+            final Vector2D centroid = tree.getCentroid();
+            return centroid != null ?
+                    transform.apply(centroid) :
+                    null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionLocation classify(final Vector2D pt) {
+            return tree.classify(inverse.apply(pt));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector2D project(final Vector2D pt) {
+            if (Double.isNaN(similarityScale)) {
+                return getTransformedTree().project(pt);
+            }
+
+            final Vector2D projected = tree.project(inverse.apply(pt));
+            return projected != null ?
+                    transform.apply(projected) :
+                    null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<LinecastPoint2D> linecast(final LineConvexSubset subset) {
+            final List<LinecastPoint2D> results = tree.linecast(subset.transform(inverse));
+
+            final Line line = subset.getLine();
+            final List<LinecastPoint2D> transformed = new ArrayList<>(results.size());
+            for (final LinecastPoint2D result : results) {
+                transformed.add(transformLinecastPoint(result, line));
+            }
+            return transformed;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LinecastPoint2D linecastFirst(final LineConvexSubset subset) {
+            final LinecastPoint2D result = tree.linecastFirst(subset.transform(inverse));
+            return result != null ?
+                    transformLinecastPoint(result, subset.getLine()) :
+                    null;
+        }
+
+        /** Map a linecast point from the tree frame to the view frame.
+         * @param pt linecast point in the tree frame
+         * @param line line in the view frame
+         * @return the linecast point in the view frame
+         */
+        private LinecastPoint2D transformLinecastPoint(final LinecastPoint2D pt, final Line line) {
+            return new LinecastPoint2D(
+                    transform.apply(pt.getPoint()),
+                    normalTransform.applyVector(pt.getNormal()),
+                    line);
+        }
+
+        /** Get a transformed copy of the tree, creating it if the tree has been modified since the
+         * last copy was created.
+         * @return a transformed copy of the tree
+         */
+        private RegionBSPTree2D getTransformedTree() {
+            final int version = tree.getVersion();
+            if (transformedTree == null || transformedTreeVersion != version) {
+                transformedTree = toTree();
+                transformedTreeVersion = version;
+            }
+            return transformedTree;
+        }
+
+        /** Compute the uniform scale factor of the given transform if its linear part is a similarity,
+         * meaning that its columns are mutually orthogonal and have the same length.
+         * @param transform transform to examine
+         * @return the uniform scale factor of the transform or NaN if it is not a similarity
+         */
+        private static double computeSimilarityScale(final AffineTransformMatrix2D transform) {
+            final double[] m = transform.toArray();
+            final Vector2D u = Vector2D.of(m[0], m[3]);
+            final Vector2D v = Vector2D.of(m[1], m[4]);
+
+            final double sq = u.normSq();
+            final double tol = SIMILARITY_TOLERANCE * sq;
+            if (Math.abs(v.normSq() - sq) > tol ||
+                    Math.abs(u.dot(v)) > tol) {
+                return Double.NaN;
+            }
+
+            return Math.sqrt(sq);
+        }
     }
 
     /** Class used to build regions in Euclidean 2D space by inserting boundaries into a BSP
@@ -387,7 +960,8 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
      * This ensures that partitioning cuts are always located higher up the tree than boundary cuts.</p>
      *
      * <p>After all boundaries are inserted, the {@link PartitionedRegionBuilder2D#build() build} method is used
-     * to perform final processing and return the computed tree.</p>
+     * to perform final processing and return the computed tree. Boundaries may be inserted in parallel by
+     * setting a fork/join pool with {@link PartitionedRegionBuilder2D#setParallelism(ForkJoinPool) setParallelism}.</p>
      */
     public static final class PartitionedRegionBuilder2D
         extends AbstractPartitionedRegionBuilder<Vector2D, RegionNode2D> {
@@ -478,6 +1052,20 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
             }
         }
 
+        /** Set the fork/join pool used to insert boundaries in parallel. If not null, boundaries are collected
+         * as they are inserted and are added to the tree when {@link #build()} is called. Boundaries lying in
+         * different partition leaf nodes are then inserted concurrently. The represented region is the same
+         * as when boundaries are inserted sequentially. If null (the default), each boundary is inserted
+         * into the tree immediately.
+         * @param pool fork/join pool to use; may be null
+         * @return this instance
+         */
+        public PartitionedRegionBuilder2D setParallelism(final ForkJoinPool pool) {
+            setParallelismInternal(pool);
+
+            return this;
+        }
+
         /** Insert a region boundary.
          * @param boundary region boundary to insert
          * @return this instance
@@ -520,14 +1108,202 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         }
     }
 
+    /** Class used to build balanced regions in Euclidean 2D space from a complete set of region boundaries.
+     * In contrast to {@link PartitionedRegionBuilder2D}, partitions do not need to be specified by the caller.
+     * Instead, all boundaries are collected and, when the region is built, the boundaries are recursively divided
+     * by axis-aligned partition lines passing through the median boundary centroid until each section contains at
+     * most {@link #setMaxCellBoundaries(int) a configured number} of boundaries. The boundaries in each section are
+     * then inserted in an order chosen by a cost heuristic that favors boundaries that split few other boundaries and
+     * divide the remaining boundaries evenly. Sections are independent of each other and may be constructed in
+     * parallel by {@link #setParallelism(ForkJoinPool) providing a fork/join pool}.
+     *
+     * <p>As with {@link PartitionedRegionBuilder2D}, this class only produces accurate results when the inserted
+     * boundaries define the entire boundary of the region.</p>
+     * @see AbstractBalancedRegionBuilder
+     */
+    public static final class BalancedRegionBuilder2D
+        extends AbstractBalancedRegionBuilder<Vector2D, RegionNode2D> {
+
+        /** Construct a new builder instance.
+         */
+        private BalancedRegionBuilder2D() {
+            super(RegionBSPTree2D.empty());
+        }
+
+        /** Set the maximum number of boundaries that may be present in a section of the tree before
+         * partitioning stops. Smaller values produce more partitions. The default value is {@code 16}.
+         * @param max maximum number of boundaries in a section
+         * @return this instance
+         * @throws IllegalArgumentException if {@code max} is less than 1
+         */
+        public BalancedRegionBuilder2D setMaxCellBoundaries(final int max) {
+            setMaxCellBoundariesInternal(max);
+
+            return this;
+        }
+
+        /** Set the number of candidate boundaries evaluated when choosing the next boundary to insert into
+         * a section of the tree. Larger values produce better trees at the cost of increased construction
+         * time. The default value is {@code 8}.
+         * @param sampleSize number of candidate boundaries to evaluate
+         * @return this instance
+         * @throws IllegalArgumentException if {@code sampleSize} is less than 1
+         */
+        public BalancedRegionBuilder2D setSplitterSampleSize(final int sampleSize) {
+            setSplitterSampleSizeInternal(sampleSize);
+
+            return this;
+        }
+
+        /** Set the weight applied to the number of split boundaries when choosing cuts. Larger values
+         * favor cuts that produce fewer boundary fragments over cuts that produce balanced trees. The default
+         * value is {@code 4}.
+         * @param weight split weight
+         * @return this instance
+         * @throws IllegalArgumentException if {@code weight} is negative or not finite
+         */
+        public BalancedRegionBuilder2D setSplitWeight(final double weight) {
+            setSplitWeightInternal(weight);
+
+            return this;
+        }
+
+        /** Set the fork/join pool used to construct independent sections of the tree in parallel. If null
+         * (the default), the tree is constructed sequentially. The structure of the constructed tree is the
+         * same in either case.
+         * @param pool fork/join pool to use; may be null
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D setParallelism(final ForkJoinPool pool) {
+            setParallelismInternal(pool);
+
+            return this;
+        }
+
+        /** Add a region boundary.
+         * @param boundary region boundary to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundary(final LineConvexSubset boundary) {
+            addBoundaryInternal(boundary);
+
+            return this;
+        }
+
+        /** Add a collection of region boundaries.
+         * @param boundaries boundaries to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundaries(final Iterable<? extends LineConvexSubset> boundaries) {
+            for (final LineConvexSubset boundary : boundaries) {
+                addBoundaryInternal(boundary);
+            }
+
+            return this;
+        }
+
+        /** Add all boundaries from the given source.
+         * @param boundarySrc source of boundaries to add
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundaries(final BoundarySource2D boundarySrc) {
+            try (Stream<LineConvexSubset> stream = boundarySrc.boundaryStream()) {
+                stream.forEach(this::addBoundaryInternal);
+            }
+
+            return this;
+        }
+
+        /** Build and return the region BSP tree.
+         * @return the region BSP tree
+         */
+        public RegionBSPTree2D build() {
+            return (RegionBSPTree2D) buildInternal();
+        }
+
+        /** {@inheritDoc}
+         *
+         * <p>This implementation returns the two axis-aligned lines passing through the
+         * point formed from the median coordinates of the finite boundary centroids.</p>
+         */
+        @Override
+        protected List<Line> getPartitionCandidates(
+                final List<? extends HyperplaneConvexSubset<Vector2D>> nodeBoundaries) {
+            final int count = nodeBoundaries.size();
+            final double[] xs = new double[count];
+            final double[] ys = new double[count];
+
+            int n = 0;
+            for (final HyperplaneConvexSubset<Vector2D> boundary : nodeBoundaries) {
+                final Vector2D centroid = boundary.getCentroid();
+                if (centroid != null) {
+                    xs[n] = centroid.getX();
+                    ys[n] = centroid.getY();
+                    ++n;
+                }
+            }
+
+            final List<Line> candidates = new ArrayList<>(2);
+            if (n > 1) {
+                final Precision.DoubleEquivalence precision =
+                        ((LineConvexSubset) nodeBoundaries.get(0)).getPrecision();
+                final Vector2D median = Vector2D.of(median(xs, n), median(ys, n));
+
+                candidates.add(Lines.fromPointAndDirection(median, Vector2D.Unit.PLUS_X, precision));
+                candidates.add(Lines.fromPointAndDirection(median, Vector2D.Unit.PLUS_Y, precision));
+            }
+
+            return candidates;
+        }
+
+        /** Compute the median of the first {@code n} values in the given array. The array is sorted
+         * as a side effect.
+         * @param values values array
+         * @param n number of values to use
+         * @return the median value
+         */
+        private static double median(final double[] values, final int n) {
+            Arrays.sort(values, 0, n);
+
+            return values[n / 2];
+        }
+    }
+
     /** Class used to project points onto the 2D region boundary.
      */
     private static final class BoundaryProjector2D extends BoundaryProjector<Vector2D, RegionNode2D> {
+
+        /** If true, subtrees are skipped when their bounds lie farther from the target point than
+         * the closest boundary point found so far.
+         */
+        private final boolean useSubtreeBounds;
+
         /** Simple constructor.
          * @param point the point to project onto the region's boundary
+         * @param useSubtreeBounds if true, subtree bounds are used to skip subtrees that cannot contain
+         *      the closest boundary point
          */
-        BoundaryProjector2D(final Vector2D point) {
+        BoundaryProjector2D(final Vector2D point, final boolean useSubtreeBounds) {
             super(point);
+
+            this.useSubtreeBounds = useSubtreeBounds;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Order visitOrder(final RegionNode2D node) {
+            if (useSubtreeBounds) {
+                final double minDist = getMinDistance();
+                final double maxDist = minDist < 0.0 ?
+                        Double.POSITIVE_INFINITY :
+                        minDist;
+
+                if (!node.getSubtreeBounds().isWithinDistance(getTarget(), maxDist)) {
+                    return Order.NONE;
+                }
+            }
+
+            return super.visitOrder(node);
         }
 
         /** {@inheritDoc} */
@@ -539,6 +1315,174 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         }
     }
 
+    /** Class containing the axis-aligned bounding box of the region boundaries in a subtree of a 2D BSP
+     * tree. Instances are cached on the subtree root node and used to skip entire subtrees during linecast
+     * and projection operations.
+     */
+    private static final class SubtreeBounds {
+
+        /** Instance for subtrees that do not contain any region boundaries. */
+        private static final SubtreeBounds EMPTY = new SubtreeBounds(null, false);
+
+        /** Instance for subtrees containing at least one infinite region boundary. */
+        private static final SubtreeBounds INFINITE = new SubtreeBounds(null, true);
+
+        /** Bounding box of the subtree boundaries; null if the boundaries are empty or infinite. */
+        private final Bounds2D bounds;
+
+        /** True if the subtree contains at least one infinite boundary. */
+        private final boolean infinite;
+
+        /** Simple constructor.
+         * @param bounds bounding box of the subtree boundaries
+         * @param infinite true if the subtree contains at least one infinite boundary
+         */
+        private SubtreeBounds(final Bounds2D bounds, final boolean infinite) {
+            this.bounds = bounds;
+            this.infinite = infinite;
+        }
+
+        /** Get the bounding box of the subtree boundaries.
+         * @return the bounding box of the subtree boundaries or null if the boundaries are
+         *      empty or infinite
+         */
+        Bounds2D getBounds() {
+            return bounds;
+        }
+
+        /** Return true if a point of the given line subset with an abscissa less than or equal to
+         * {@code maxAbscissa} may lie on a boundary in the subtree. False is only returned if all such points
+         * are separated from the bounding box by more than the precision of the line.
+         * @param subset line subset to test
+         * @param maxAbscissa the maximum abscissa of the line subset points of interest
+         * @return true if the line subset may intersect a boundary in the subtree
+         */
+        boolean intersects(final LineConvexSubset subset, final double maxAbscissa) {
+            if (bounds == null) {
+                return infinite;
+            }
+
+            final Line line = subset.getLine();
+            final Precision.DoubleEquivalence precision = line.getPrecision();
+
+            final double[] origin = line.getOrigin().toArray();
+            final double[] dir = line.getDirection().toArray();
+            final double[] min = bounds.getMin().toArray();
+            final double[] max = bounds.getMax().toArray();
+
+            // clip the abscissa range of the line subset against the slabs of the bounding box,
+            // tracking the rate at which the line leaves each constraint so that the distance
+            // between the line and the box can be estimated when the range becomes empty
+            double near = subset.getSubspaceStart();
+            double nearRate = 1.0;
+            double far = Math.min(subset.getSubspaceEnd(), maxAbscissa);
+            double farRate = 1.0;
+
+            for (int i = 0; i < origin.length; ++i) {
+                if (dir[i] == 0.0) {
+                    if (precision.lt(origin[i], min[i]) || precision.gt(origin[i], max[i])) {
+                        return false;
+                    }
+                } else {
+                    final double t1 = (min[i] - origin[i]) / dir[i];
+                    final double t2 = (max[i] - origin[i]) / dir[i];
+                    final double rate = Math.abs(dir[i]);
+
+                    final double entry = Math.min(t1, t2);
+                    if (entry > near) {
+                        near = entry;
+                        nearRate = rate;
+                    }
+
+                    final double exit = Math.max(t1, t2);
+                    if (exit < far) {
+                        far = exit;
+                        farRate = rate;
+                    }
+                }
+            }
+
+            if (near <= far) {
+                return true;
+            }
+
+            // the range is empty; compute a lower bound for the amount by which the line subset misses
+            // the box and only report a miss if it is not within the line precision
+            final double gap = (near - far) * nearRate * farRate / (nearRate + farRate);
+            return !precision.gt(gap, 0.0);
+        }
+
+        /** Return true if a boundary in the subtree may lie within the given distance of a point.
+         * @param pt point to test
+         * @param distance the maximum distance from the point
+         * @return true if a boundary in the subtree may lie within {@code distance} of {@code pt}
+         */
+        boolean isWithinDistance(final Vector2D pt, final double distance) {
+            if (bounds == null) {
+                return infinite;
+            }
+
+            final Vector2D min = bounds.getMin();
+            final Vector2D max = bounds.getMax();
+
+            final double dx = Math.max(0.0, Math.max(min.getX() - pt.getX(), pt.getX() - max.getX()));
+            final double dy = Math.max(0.0, Math.max(min.getY() - pt.getY(), pt.getY() - max.getY()));
+
+            return Vectors.norm(dx, dy) <= distance;
+        }
+
+        /** Compute the bounds for the subtree rooted at the given internal node.
+         * @param node the subtree root node
+         * @param minus the bounds of the minus subtree of {@code node}
+         * @param plus the bounds of the plus subtree of {@code node}
+         * @return the bounds for the subtree rooted at {@code node}
+         */
+        static SubtreeBounds forInternalNode(final RegionNode2D node, final SubtreeBounds minus,
+                final SubtreeBounds plus) {
+            if (minus.infinite || plus.infinite) {
+                return INFINITE;
+            }
+
+            final Bounds2D.Builder builder = Bounds2D.builder();
+            if (minus.bounds != null) {
+                builder.add(minus.bounds);
+            }
+            if (plus.bounds != null) {
+                builder.add(plus.bounds);
+            }
+
+            final RegionCutBoundary<Vector2D> cutBoundary = node.getCutBoundary();
+            if (!addBounds(builder, cutBoundary.getInsideFacing()) ||
+                    !addBounds(builder, cutBoundary.getOutsideFacing())) {
+                return INFINITE;
+            }
+
+            return builder.hasBounds() ?
+                    new SubtreeBounds(builder.build(), false) :
+                    EMPTY;
+        }
+
+        /** Add the bounds of the given boundaries to {@code builder}.
+         * @param builder builder to add the bounds to
+         * @param boundaries boundaries to add
+         * @return false if any of the boundaries are infinite
+         */
+        private static boolean addBounds(final Bounds2D.Builder builder,
+                final List<HyperplaneConvexSubset<Vector2D>> boundaries) {
+            for (final HyperplaneConvexSubset<Vector2D> boundary : boundaries) {
+                if (!boundary.isFinite()) {
+                    return false;
+                }
+
+                final LineConvexSubset lineSubset = (LineConvexSubset) boundary;
+                builder.add(lineSubset.getStartPoint())
+                    .add(lineSubset.getEndPoint());
+            }
+
+            return true;
+        }
+    }
+
     /** BSP tree visitor that performs a linecast operation against the boundaries of the visited tree.
      */
     private static final class LinecastVisitor implements BSPTreeVisitor<Vector2D, RegionNode2D> {
@@ -551,6 +1495,9 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
          */
         private final boolean firstOnly;
 
+        /** If true, subtrees are skipped when their bounds cannot be reached by the line subset. */
+        private final boolean useSubtreeBounds;
+
         /** The minimum abscissa found during the search. */
         private double minAbscissa = Double.POSITIVE_INFINITY;
 
@@ -561,10 +1508,14 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
          * @param linecastSubset line subset to intersect with the BSP tree region boundary
          * @param firstOnly if true, the visitor will stop visiting the tree once the first
          *      linecast point is determined
+         * @param useSubtreeBounds if true, subtree bounds are used to skip subtrees that
+         *      cannot be reached by the line subset
          */
-        LinecastVisitor(final LineConvexSubset linecastSubset, final boolean firstOnly) {
+        LinecastVisitor(final LineConvexSubset linecastSubset, final boolean firstOnly,
+                final boolean useSubtreeBounds) {
             this.linecastSubset = linecastSubset;
             this.firstOnly = firstOnly;
+            this.useSubtreeBounds = useSubtreeBounds;
         }
 
         /** Get the first {@link LinecastPoint2D} resulting from the linecast operation.
@@ -591,6 +1542,18 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         /** {@inheritDoc} */
         @Override
         public Order visitOrder(final RegionNode2D internalNode) {
+            if (useSubtreeBounds) {
+                // when searching for the first point only, intersections beyond the closest one
+                // found so far are not needed
+                final double maxAbscissa = firstOnly ?
+                        minAbscissa :
+                        Double.POSITIVE_INFINITY;
+
+                if (!internalNode.getSubtreeBounds().intersects(linecastSubset, maxAbscissa)) {
+                    return Order.NONE;
+                }
+            }
+
             final Line cut = (Line) internalNode.getCutHyperplane();
             final Line line = linecastSubset.getLine();
 
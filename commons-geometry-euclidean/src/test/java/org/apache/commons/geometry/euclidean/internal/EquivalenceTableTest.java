@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EquivalenceTableTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testIntern() {
+        // arrange
+        final EquivalenceTable<Vector2D> table = createTable();
+
+        final Vector2D a = Vector2D.of(1, 2);
+        final Vector2D b = Vector2D.of(2, 1);
+        final Vector2D c = Vector2D.of(1 + 1e-11, 2 - 1e-11);
+        final Vector2D d = Vector2D.of(1 + 1e-9, 2);
+
+        // act/assert
+        Assertions.assertSame(a, intern(table, a));
+        Assertions.assertSame(b, intern(table, b));
+        Assertions.assertSame(a, intern(table, c));
+        Assertions.assertSame(d, intern(table, d));
+        Assertions.assertSame(d, intern(table, Vector2D.of(1 + 1e-9, 2)));
+
+        Assertions.assertEquals(3, table.size());
+    }
+
+    @Test
+    void testIntern_sameKey() {
+        // arrange
+        final EquivalenceTable<Vector2D> table = createTable();
+
+        // act
+        for (int i = 0; i < 10; ++i) {
+            intern(table, Vector2D.of(i, -i));
+        }
+
+        // assert
+        Assertions.assertEquals(10, table.size());
+        for (int i = 0; i < 10; ++i) {
+            Assertions.assertEquals(Vector2D.of(i, -i), intern(table, Vector2D.of(i + 1e-12, -i)));
+        }
+        Assertions.assertEquals(10, table.size());
+    }
+
+    @Test
+    void testIntern_nonFinite() {
+        // arrange
+        final EquivalenceTable<Vector2D> table = createTable();
+        final Vector2D nan = Vector2D.NaN;
+
+        // act/assert
+        Assertions.assertSame(nan, intern(table, nan));
+        Assertions.assertEquals(0, table.size());
+    }
+
+    @Test
+    void testIntern_tooManyCoordinates() {
+        // arrange
+        final EquivalenceTable<Vector2D> table = createTable();
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(() -> table.intern(Vector2D.ZERO, 1, 2, 3, 4, 5, 6, 7),
+                IllegalArgumentException.class,
+                "Cannot compute equivalence key: at most 6 coordinates are supported but found 7");
+    }
+
+    private static EquivalenceTable<Vector2D> createTable() {
+        return new EquivalenceTable<>(TEST_PRECISION, (a, b) -> a.eq(b, TEST_PRECISION));
+    }
+
+    private static Vector2D intern(final EquivalenceTable<Vector2D> table, final Vector2D v) {
+        return table.intern(v, v.getX(), v.getY());
+    }
+}
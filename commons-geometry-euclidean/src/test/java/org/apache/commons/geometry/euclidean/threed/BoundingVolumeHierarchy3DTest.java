@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BoundingVolumeHierarchy3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testFrom_empty() {
+        // arrange
+        final BoundarySource3D src = BoundarySource3D.of();
+
+        // act
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(src);
+
+        // assert
+        Assertions.assertEquals(0, bvh.getBoundaryCount());
+        Assertions.assertEquals(0, bvh.getNodeCount());
+        Assertions.assertEquals(0, bvh.getDepth());
+        Assertions.assertNull(bvh.getBounds());
+
+        final Line3D line = Lines3D.fromPointAndDirection(Vector3D.ZERO, Vector3D.Unit.PLUS_X, TEST_PRECISION);
+        Assertions.assertEquals(0, bvh.linecast(line).size());
+        Assertions.assertNull(bvh.linecastFirst(line));
+    }
+
+    @Test
+    void testFrom_singleLeaf() {
+        // arrange
+        final BoundarySource3D src = BoundarySource3D.of(
+                Planes.triangleFromVertices(Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0), TEST_PRECISION),
+                Planes.triangleFromVertices(Vector3D.of(0, 0, 1), Vector3D.of(0, 1, 1), Vector3D.of(1, 0, 1),
+                        TEST_PRECISION));
+
+        // act
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(src);
+
+        // assert
+        Assertions.assertEquals(2, bvh.getBoundaryCount());
+        Assertions.assertEquals(1, bvh.getNodeCount());
+        Assertions.assertEquals(0, bvh.getDepth());
+
+        final Bounds3D bounds = bvh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), TEST_EPS);
+
+        final Line3D line = Lines3D.fromPointAndDirection(Vector3D.of(0.25, 0.25, 2), Vector3D.Unit.MINUS_Z,
+                TEST_PRECISION);
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(0.25, 0.25, 1), Vector3D.Unit.MINUS_Z)
+            .and(Vector3D.of(0.25, 0.25, 0), Vector3D.Unit.PLUS_Z)
+            .whenGiven(line);
+    }
+
+    @Test
+    void testFrom_infiniteBoundaries() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries = new ArrayList<>(createSubdividedCubeBoundaries(4));
+        boundaries.add(Planes.fromPointAndNormal(Vector3D.of(0, 0, 3), Vector3D.Unit.PLUS_Z, TEST_PRECISION).span());
+
+        final BoundarySource3D src = BoundarySource3D.of(boundaries);
+
+        // act
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(src);
+
+        // assert
+        Assertions.assertEquals(97, bvh.getBoundaryCount());
+
+        final Bounds3D bounds = bvh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), TEST_EPS);
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(0.3, 0.6, 0), Vector3D.Unit.MINUS_Z)
+            .and(Vector3D.of(0.3, 0.6, 1), Vector3D.Unit.PLUS_Z)
+            .and(Vector3D.of(0.3, 0.6, 3), Vector3D.Unit.PLUS_Z)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(0.3, 0.6, -1), Vector3D.Unit.PLUS_Z,
+                    TEST_PRECISION));
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(5, 0, 3), Vector3D.Unit.PLUS_Z)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(5, 0, 0), Vector3D.Unit.PLUS_Z,
+                    TEST_PRECISION));
+    }
+
+    @Test
+    void testFrom_triangleMesh() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.of(1, 2, 3), 2, TEST_PRECISION).toTriangleMesh(3);
+
+        // act
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(mesh);
+
+        // assert
+        Assertions.assertEquals(mesh.getFaceCount(), bvh.getBoundaryCount());
+        Assertions.assertTrue(bvh.getNodeCount() > 1);
+        Assertions.assertTrue(bvh.getDepth() < mesh.getFaceCount() / 4);
+
+        final Bounds3D bounds = bvh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-1, 0, 1), bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(3, 4, 5), bounds.getMax(), TEST_EPS);
+
+        checkMatchesLinearScan(bvh, mesh, Vector3D.of(1, 2, 3), 3, 200, 1L);
+    }
+
+    @Test
+    void testLinecast_edgesAndCorners() {
+        // arrange
+        final BoundarySource3D src = BoundarySource3D.of(createSubdividedCubeBoundaries(4));
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(src);
+
+        final List<LineConvexSubset3D> subsets = Arrays.asList(
+                // along a face
+                Lines3D.fromPointAndDirection(Vector3D.ZERO, Vector3D.of(0, 1, 1), TEST_PRECISION).span(),
+                // along internal edges of the face subdivisions
+                Lines3D.fromPointAndDirection(Vector3D.of(0.25, 0.5, 0), Vector3D.of(1, 1, 0), TEST_PRECISION)
+                    .span(),
+                Lines3D.segmentFromPoints(Vector3D.of(-1, 0.5, 0.5), Vector3D.of(2, 0.5, 0.5), TEST_PRECISION),
+                // through corners
+                Lines3D.fromPointAndDirection(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).span(),
+                Lines3D.fromPointAndDirection(Vector3D.of(1, 1, 1), Vector3D.of(1, -1, -1), TEST_PRECISION)
+                    .span(),
+                // rays and segments starting and ending on boundaries
+                Lines3D.rayFromPointAndDirection(Vector3D.of(0.5, 0.5, 0.5), Vector3D.Unit.PLUS_X, TEST_PRECISION),
+                Lines3D.segmentFromPoints(Vector3D.of(1, 0.5, 0.5), Vector3D.of(0, 0.5, 0.5), TEST_PRECISION),
+                Lines3D.segmentFromPoints(Vector3D.of(0.25, 1, 0), Vector3D.of(0.75, 1, 0), TEST_PRECISION),
+                // just outside of the box within the precision
+                Lines3D.fromPointAndDirection(Vector3D.of(1 + 1e-11, 0.5, 0.5), Vector3D.Unit.PLUS_Y,
+                        TEST_PRECISION).span(),
+                // misses
+                Lines3D.fromPointAndDirection(Vector3D.of(0, 4, 4), Vector3D.Unit.MINUS_X, TEST_PRECISION).span(),
+                Lines3D.segmentFromPoints(Vector3D.of(2, 0.5, 0.5), Vector3D.of(3, 0.5, 0.5), TEST_PRECISION));
+
+        // act/assert
+        for (final LineConvexSubset3D subset : subsets) {
+            checkLinecast(bvh, src, subset);
+        }
+    }
+
+    @Test
+    void testLinecast_matchesLinearScan() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries = new ArrayList<>();
+        final Random rnd = new Random(2L);
+        for (int i = 0; i < 500; ++i) {
+            final Vector3D p1 = Vector3D.of(rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble()).multiply(10);
+            final Vector3D p2 = p1.add(Vector3D.of(rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble()));
+            final Vector3D p3 = p1.add(Vector3D.of(rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble()));
+            boundaries.add(Planes.triangleFromVertices(p1, p2, p3, TEST_PRECISION));
+        }
+        final BoundarySource3D src = BoundarySource3D.of(boundaries);
+
+        // act
+        final BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(src);
+
+        // assert
+        Assertions.assertEquals(500, bvh.getBoundaryCount());
+        checkMatchesLinearScan(bvh, src, Vector3D.of(5, 5, 5), 10, 300, 3L);
+    }
+
+    @Test
+    void testFrom_parallel() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(5);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // act
+            final BoundingVolumeHierarchy3D sequential = BoundingVolumeHierarchy3D.from(mesh);
+            final BoundingVolumeHierarchy3D parallel = BoundingVolumeHierarchy3D.from(mesh, pool);
+
+            // assert
+            Assertions.assertEquals(8192, parallel.getBoundaryCount());
+            Assertions.assertEquals(sequential.getNodeCount(), parallel.getNodeCount());
+            Assertions.assertEquals(sequential.getDepth(), parallel.getDepth());
+
+            checkMatchesLinearScan(parallel, mesh, Vector3D.ZERO, 1.5, 20, 4L);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Check that linecasts against the given hierarchy with random lines and line subsets passing through a
+     * cube return the same results as linecasts against the boundary source.
+     * @param bvh hierarchy to test
+     * @param src boundary source that the hierarchy was constructed from
+     * @param center center of the cube containing the points defining the lines
+     * @param size edge length of the cube containing the points defining the lines
+     * @param count number of lines to test
+     * @param seed random seed
+     */
+    private static void checkMatchesLinearScan(final BoundingVolumeHierarchy3D bvh, final BoundarySource3D src,
+            final Vector3D center, final double size, final int count, final long seed) {
+        final Random rnd = new Random(seed);
+        final Vector3D corner = center.subtract(Vector3D.of(0.5, 0.5, 0.5).multiply(size));
+
+        for (int i = 0; i < count; ++i) {
+            final Vector3D p1 = corner.add(Vector3D.of(rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble())
+                    .multiply(size));
+            final Vector3D p2 = corner.add(Vector3D.of(rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble())
+                    .multiply(size));
+            final Line3D line = Lines3D.fromPoints(p1, p2, TEST_PRECISION);
+
+            checkLinecast(bvh, src, line.span());
+            checkLinecast(bvh, src, line.segment(p1, p2));
+            checkLinecast(bvh, src, line.rayFrom(p1));
+            checkLinecast(bvh, src, line.reverseRayTo(p2));
+        }
+    }
+
+    /** Check that a linecast against the given hierarchy returns the same results as a linecast against
+     * the boundary source.
+     * @param bvh hierarchy to test
+     * @param src boundary source that the hierarchy was constructed from
+     * @param subset line subset to test
+     */
+    private static void checkLinecast(final BoundingVolumeHierarchy3D bvh, final BoundarySource3D src,
+            final LineConvexSubset3D subset) {
+        final List<LinecastPoint3D> expected = src.linecast(subset);
+        final List<LinecastPoint3D> actual = bvh.linecast(subset);
+
+        Assertions.assertEquals(expected, actual, () -> "Linecast of " + subset);
+        Assertions.assertEquals(src.linecastFirst(subset), bvh.linecastFirst(subset),
+                () -> "First linecast point of " + subset);
+    }
+
+    /** Create the boundaries of the unit cube, with each face divided into {@code n x n} squares.
+     * @param n number of subdivisions along each face edge
+     * @return the boundaries of the subdivided unit cube
+     */
+    private static List<PlaneConvexSubset> createSubdividedCubeBoundaries(final int n) {
+        final List<PlaneConvexSubset> boundaries = new ArrayList<>();
+        final double step = 1.0 / n;
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final double u0 = i * step;
+                final double u1 = (i + 1) * step;
+                final double v0 = j * step;
+                final double v1 = (j + 1) * step;
+
+                // -z and +z
+                addSquare(boundaries, Vector3D.of(u0, v0, 0), Vector3D.of(u0, v1, 0),
+                        Vector3D.of(u1, v1, 0), Vector3D.of(u1, v0, 0));
+                addSquare(boundaries, Vector3D.of(u0, v0, 1), Vector3D.of(u1, v0, 1),
+                        Vector3D.of(u1, v1, 1), Vector3D.of(u0, v1, 1));
+
+                // -y and +y
+                addSquare(boundaries, Vector3D.of(u0, 0, v0), Vector3D.of(u1, 0, v0),
+                        Vector3D.of(u1, 0, v1), Vector3D.of(u0, 0, v1));
+                addSquare(boundaries, Vector3D.of(u0, 1, v0), Vector3D.of(u0, 1, v1),
+                        Vector3D.of(u1, 1, v1), Vector3D.of(u1, 1, v0));
+
+                // -x and +x
+                addSquare(boundaries, Vector3D.of(0, u0, v0), Vector3D.of(0, u0, v1),
+                        Vector3D.of(0, u1, v1), Vector3D.of(0, u1, v0));
+                addSquare(boundaries, Vector3D.of(1, u0, v0), Vector3D.of(1, u1, v0),
+                        Vector3D.of(1, u1, v1), Vector3D.of(1, u0, v1));
+            }
+        }
+
+        return boundaries;
+    }
+
+    /** Add a square with the given vertices to a list of boundaries.
+     * @param boundaries list of boundaries
+     * @param a first vertex
+     * @param b second vertex
+     * @param c third vertex
+     * @param d fourth vertex
+     */
+    private static void addSquare(final List<PlaneConvexSubset> boundaries, final Vector3D a, final Vector3D b,
+            final Vector3D c, final Vector3D d) {
+        boundaries.add(Planes.convexPolygonFromVertices(Arrays.asList(a, b, c, d), TEST_PRECISION));
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompiledRegion3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testCompile_emptyAndFull() {
+        // act
+        final CompiledRegion3D empty = RegionBSPTree3D.empty().compile();
+        final CompiledRegion3D full = RegionBSPTree3D.full().compile();
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertEquals(0, empty.getSize());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, empty.classify(Vector3D.ZERO));
+        Assertions.assertNull(empty.project(Vector3D.ZERO));
+
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertTrue(full.isInfinite());
+        Assertions.assertEquals(RegionLocation.INSIDE, full.classify(Vector3D.ZERO));
+        Assertions.assertNull(full.linecastFirst(Lines3D.fromPoints(Vector3D.ZERO, Vector3D.Unit.PLUS_X,
+                TEST_PRECISION)));
+    }
+
+    @Test
+    void testCompile_properties() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion3D compiled = tree.compile();
+
+        // assert
+        Assertions.assertEquals(tree.getSize(), compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(tree.getBoundarySize(), compiled.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(tree.getCentroid(), compiled.getCentroid(), TEST_EPS);
+
+        Assertions.assertFalse(compiled.isEmpty());
+        Assertions.assertFalse(compiled.isFull());
+        Assertions.assertEquals(tree.count(), compiled.getNodeStore().getNodeCount());
+    }
+
+    @Test
+    void testClassify_matchesTree() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion3D compiled = tree.compile();
+
+        // assert
+        for (final Vector3D pt : createGrid()) {
+            Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+            Assertions.assertEquals(tree.contains(pt), compiled.contains(pt), () -> "Point " + pt);
+        }
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(Vector3D.NaN));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, compiled.classify(Vector3D.ZERO));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(Vector3D.of(-0.5, 0, 0)));
+    }
+
+    @Test
+    void testProject_matchesTree() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.from(
+                Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2).getBoundaries());
+
+        // act
+        final CompiledRegion3D compiled = tree.compile();
+
+        // assert
+        for (final Vector3D pt : createGrid()) {
+            EuclideanTestUtils.assertCoordinatesEqual(tree.project(pt), compiled.project(pt), TEST_EPS);
+        }
+    }
+
+    @Test
+    void testProject_nonConvex() {
+        // arrange
+        final CompiledRegion3D compiled = createNonConvexRegion().compile();
+
+        // act/assert
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, compiled.project(Vector3D.of(-0.25, 0, 0)),
+                TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-0.5, 0.5, 0),
+                compiled.project(Vector3D.of(-0.5, 0.25, 0)), TEST_EPS);
+    }
+
+    @Test
+    void testLinecast() {
+        // arrange
+        final CompiledRegion3D compiled = Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1),
+                TEST_PRECISION).toTree().compile();
+
+        final Vector3D corner = Vector3D.of(1, 1, 1);
+
+        // act/assert
+        LinecastChecker3D.with(compiled)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0, 5, 5), Vector3D.of(1, 6, 6), TEST_PRECISION));
+
+        LinecastChecker3D.with(compiled)
+            .expect(Vector3D.ZERO, Vector3D.Unit.MINUS_X)
+            .and(Vector3D.ZERO, Vector3D.Unit.MINUS_Y)
+            .and(Vector3D.ZERO, Vector3D.Unit.MINUS_Z)
+            .and(corner, Vector3D.Unit.PLUS_Z)
+            .and(corner, Vector3D.Unit.PLUS_Y)
+            .and(corner, Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPoints(Vector3D.ZERO, corner, TEST_PRECISION));
+
+        LinecastChecker3D.with(compiled)
+            .expect(corner, Vector3D.Unit.PLUS_Z)
+            .and(corner, Vector3D.Unit.PLUS_Y)
+            .and(corner, Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(0.5, 0.5, 0.5), corner, TEST_PRECISION));
+    }
+
+    @Test
+    void testLinecast_matchesTree() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion3D compiled = tree.compile();
+
+        // assert
+        for (final Line3D line : createLines()) {
+            Assertions.assertEquals(tree.linecast(line), compiled.linecast(line), () -> "Line " + line);
+            Assertions.assertEquals(tree.linecastFirst(line), compiled.linecastFirst(line), () -> "Line " + line);
+        }
+    }
+
+    @Test
+    void testCompile_sharedSubtrees() {
+        // arrange
+        final int columns = 8;
+        final RegionBSPTree3D tree = createBeams(columns);
+
+        // act
+        final CompiledRegion3D compiled = tree.compile(true);
+
+        // assert
+        Assertions.assertNotSame(tree.compile(), compiled);
+        Assertions.assertNotSame(compiled, tree.compile(true));
+        Assertions.assertSame(tree.compile(), tree.compile(false));
+
+        // the tree contains one column cut and a copy of the beam subtree for each column; the
+        // compiled region contains the column cuts and a single copy of the beam subtree
+        Assertions.assertEquals((10 * columns) + 3, tree.count());
+        Assertions.assertEquals(columns + 7, compiled.getNodeStore().getNodeCount());
+
+        Assertions.assertEquals(tree.getSize(), compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(tree.getBoundarySize(), compiled.getBoundarySize(), TEST_EPS);
+    }
+
+    @Test
+    void testSharedSubtrees_matchesTree() {
+        // arrange
+        final int columns = 4;
+        final RegionBSPTree3D tree = createBeams(columns);
+
+        // act
+        final CompiledRegion3D compiled = tree.compile(true);
+
+        // assert
+        for (double x = -0.5; x <= columns + 0.5; x += 0.25) {
+            for (double y = -0.5; y <= 1.5; y += 0.25) {
+                for (double z = -0.5; z <= 1.5; z += 0.5) {
+                    final Vector3D pt = Vector3D.of(x, y, z);
+                    Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+                    EuclideanTestUtils.assertCoordinatesEqual(tree.project(pt), compiled.project(pt), TEST_EPS);
+
+                    if (z == 0.5) {
+                        final Line3D line = Lines3D.fromPointAndDirection(pt, Vector3D.of(1, 0.1, 0.2),
+                                TEST_PRECISION);
+                        Assertions.assertEquals(tree.linecast(line), compiled.linecast(line),
+                                () -> "Line " + line);
+                        Assertions.assertEquals(tree.linecastFirst(line), compiled.linecastFirst(line),
+                                () -> "Line " + line);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCompile_unaffectedByTreeModification() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+        final double size = tree.getSize();
+
+        final CompiledRegion3D compiled = tree.compile();
+
+        // act
+        tree.complement();
+
+        // assert
+        Assertions.assertEquals(size, compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(RegionLocation.INSIDE, compiled.classify(Vector3D.of(0, 0, 0.9)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(Vector3D.of(0, 0, 0.9)));
+    }
+
+    @Test
+    void testClassify_batch() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+        final CompiledRegion3D compiled = tree.compile();
+
+        final List<Vector3D> pts = createGrid();
+        pts.add(Vector3D.NaN);
+
+        final int offset = 2;
+        final double[] xyz = toCoordinateArray(pts, offset);
+        final RegionLocation[] out = new RegionLocation[pts.size()];
+
+        // act
+        compiled.classify(xyz, offset, pts.size(), out);
+
+        // assert
+        for (int i = 0; i < pts.size(); ++i) {
+            final Vector3D pt = pts.get(i);
+            Assertions.assertEquals(tree.classify(pt), out[i], () -> "Point " + pt);
+        }
+    }
+
+    @Test
+    void testClassify_batch_parallel() {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+        final CompiledRegion3D compiled = tree.compile();
+
+        final List<Vector3D> pts = new ArrayList<>();
+        while (pts.size() < 20_000) {
+            pts.addAll(createGrid());
+        }
+
+        final double[] xyz = toCoordinateArray(pts, 0);
+        final RegionLocation[] expected = new RegionLocation[pts.size()];
+        final RegionLocation[] out = new RegionLocation[pts.size()];
+
+        compiled.classify(xyz, 0, pts.size(), expected);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act
+            compiled.classify(xyz, 0, pts.size(), out, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // assert
+        Assertions.assertArrayEquals(expected, out);
+    }
+
+    @Test
+    void testClassify_batch_invalidArgs() {
+        // arrange
+        final CompiledRegion3D compiled = createNonConvexRegion().compile();
+        final double[] xyz = new double[6];
+
+        // act/assert
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> compiled.classify(xyz, 0, -1, new RegionLocation[2]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> compiled.classify(xyz, 1, 2, new RegionLocation[2]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> compiled.classify(xyz, -1, 1, new RegionLocation[2]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> compiled.classify(xyz, 0, 2, new RegionLocation[1]));
+    }
+
+    @Test
+    void testConcurrentQueries() throws InterruptedException, ExecutionException {
+        // arrange
+        final RegionBSPTree3D tree = createNonConvexRegion();
+        final CompiledRegion3D compiled = tree.compile();
+
+        final List<Vector3D> pts = createGrid();
+        final List<RegionLocation> expectedLocations = new ArrayList<>();
+        for (final Vector3D pt : pts) {
+            expectedLocations.add(tree.classify(pt));
+        }
+
+        final List<Line3D> lines = createLines();
+        final List<LinecastPoint3D> expectedLinecasts = new ArrayList<>();
+        for (final Line3D line : lines) {
+            expectedLinecasts.add(tree.linecastFirst(line));
+        }
+
+        final int threadCount = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            // act
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; ++t) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < pts.size(); ++i) {
+                        if (compiled.classify(pts.get(i)) != expectedLocations.get(i)) {
+                            return false;
+                        }
+                    }
+                    for (int i = 0; i < lines.size(); ++i) {
+                        if (!Objects.equals(compiled.linecastFirst(lines.get(i)), expectedLinecasts.get(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            // assert
+            for (final Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** Create a non-convex test region consisting of a sphere with a cube removed from it.
+     * @return non-convex test region
+     */
+    private static RegionBSPTree3D createNonConvexRegion() {
+        final RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        tree.difference(Parallelepiped.axisAligned(Vector3D.of(-1, -0.5, -0.5), Vector3D.of(0, 0.5, 0.5),
+                TEST_PRECISION).toTree());
+
+        return tree;
+    }
+
+    /** Create a region consisting of {@code columns} unit cubes lined up along the x axis. Each cube is
+     * represented by an identical subtree using the same plane instances.
+     * @param columns number of cubes
+     * @return region containing repeated subtrees
+     */
+    private static RegionBSPTree3D createBeams(final int columns) {
+        final Plane[] beam = {
+            Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Y, TEST_PRECISION),
+            Planes.fromPointAndNormal(Vector3D.of(0, 1, 0), Vector3D.Unit.PLUS_Y, TEST_PRECISION),
+            Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Z, TEST_PRECISION),
+            Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.Unit.PLUS_Z, TEST_PRECISION)
+        };
+
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        RegionBSPTree3D.RegionNode3D node = tree.getRoot();
+
+        node.insertCut(Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_X, TEST_PRECISION));
+        node = node.getMinus();
+
+        for (int i = 1; i <= columns; ++i) {
+            node.insertCut(Planes.fromPointAndNormal(Vector3D.of(i, 0, 0), Vector3D.Unit.PLUS_X, TEST_PRECISION));
+
+            RegionBSPTree3D.RegionNode3D beamNode = node.getMinus();
+            for (final Plane plane : beam) {
+                beamNode.insertCut(plane);
+                beamNode = beamNode.getMinus();
+            }
+
+            node = node.getPlus();
+        }
+
+        return tree;
+    }
+
+    /** Create a grid of test points, some of which lie directly on the boundaries of the
+     * test region.
+     * @return list of test points
+     */
+    private static List<Vector3D> createGrid() {
+        final List<Vector3D> pts = new ArrayList<>();
+        for (double x = -1.5; x <= 1.5; x += 0.25) {
+            for (double y = -1.5; y <= 1.5; y += 0.25) {
+                for (double z = -1.5; z <= 1.5; z += 0.5) {
+                    pts.add(Vector3D.of(x, y, z));
+                }
+            }
+        }
+        return pts;
+    }
+
+    /** Create a set of test lines intersecting the test region.
+     * @return list of test lines
+     */
+    private static List<Line3D> createLines() {
+        final List<Line3D> lines = new ArrayList<>();
+        for (final Vector3D pt : createGrid()) {
+            if (pt.getZ() == 0) {
+                lines.add(Lines3D.fromPointAndDirection(pt, Vector3D.of(1, 0.1, 0.2), TEST_PRECISION));
+                lines.add(Lines3D.fromPointAndDirection(pt, Vector3D.of(-0.3, 1, -0.1), TEST_PRECISION));
+            }
+        }
+        return lines;
+    }
+
+    /** Copy the coordinates of the given points into a flat array, starting at {@code offset}.
+     * @param pts points to copy
+     * @param offset index of the first coordinate in the returned array
+     * @return flat coordinate array
+     */
+    private static double[] toCoordinateArray(final List<Vector3D> pts, final int offset) {
+        final double[] xyz = new double[offset + (3 * pts.size())];
+        int i = offset;
+        for (final Vector3D pt : pts) {
+            xyz[i++] = pt.getX();
+            xyz[i++] = pt.getY();
+            xyz[i++] = pt.getZ();
+        }
+        return xyz;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PlaneInternerTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testIntern_plane() {
+        // arrange
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+
+        final Plane a = Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+        final Plane b = Planes.fromPointAndNormal(Vector3D.of(5, -3, 1 + 1e-12), Vector3D.of(1e-12, 0, 1),
+                TEST_PRECISION);
+        final Plane reversed = a.reverse();
+        final Plane other = Planes.fromPointAndNormal(Vector3D.of(0, 0, 1.1), Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertSame(a, interner.intern(a));
+        Assertions.assertSame(a, interner.intern(b));
+        Assertions.assertSame(reversed, interner.intern(reversed));
+        Assertions.assertSame(other, interner.intern(other));
+        Assertions.assertSame(a, interner.intern(a));
+
+        Assertions.assertEquals(3, interner.size());
+    }
+
+    @Test
+    void testIntern_plane_sameOffset() {
+        // arrange
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+        final Random rnd = new Random(1L);
+
+        final List<Plane> planes = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            final Vector3D normal = Vector3D.of(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5);
+            planes.add(Planes.fromNormal(normal, TEST_PRECISION).translate(normal.normalize()));
+        }
+
+        // act
+        for (final Plane plane : planes) {
+            Assertions.assertSame(plane, interner.intern(plane));
+        }
+
+        // assert
+        Assertions.assertEquals(planes.size(), interner.size());
+        for (final Plane plane : planes) {
+            final Plane equivalent = plane.translate(Vector3D.of(1e-12, -1e-12, 1e-12));
+            Assertions.assertSame(plane, interner.intern(equivalent));
+        }
+        Assertions.assertEquals(planes.size(), interner.size());
+    }
+
+    @Test
+    void testIntern_nonFinitePlane() {
+        // arrange
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+        final Plane plane = Planes.fromPointAndNormal(Vector3D.of(0, 0, Double.POSITIVE_INFINITY),
+                Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertSame(plane, interner.intern(plane));
+        Assertions.assertEquals(0, interner.size());
+    }
+
+    @Test
+    void testIntern_subset() {
+        // arrange
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+
+        final Triangle3D first = Planes.triangleFromVertices(
+                Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0), TEST_PRECISION);
+        final Triangle3D second = Planes.triangleFromVertices(
+                Vector3D.of(1, 0, 1e-12), Vector3D.of(1, 1, 0), Vector3D.of(0, 1, -1e-12), TEST_PRECISION);
+        final ConvexPolygon3D quad = Planes.convexPolygonFromVertices(Arrays.asList(
+                Vector3D.of(2, 0, 0), Vector3D.of(3, 0, 0), Vector3D.of(3, 1, 1e-12), Vector3D.of(2, 1, 0)),
+                TEST_PRECISION);
+
+        // act
+        final PlaneConvexSubset firstResult = interner.intern(first);
+        final PlaneConvexSubset secondResult = interner.intern(second);
+        final PlaneConvexSubset quadResult = interner.intern(quad);
+
+        // assert
+        Assertions.assertSame(first, firstResult);
+
+        Assertions.assertNotSame(second.getPlane(), first.getPlane());
+        Assertions.assertSame(first.getPlane(), secondResult.getPlane());
+        Assertions.assertTrue(secondResult instanceof Triangle3D);
+        Assertions.assertEquals(second.getVertices(), secondResult.getVertices());
+
+        Assertions.assertSame(first.getPlane(), quadResult.getPlane());
+        Assertions.assertEquals(quad.getVertices(), quadResult.getVertices());
+        Assertions.assertEquals(1, quadResult.getSize(), TEST_EPS);
+
+        Assertions.assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testIntern_infiniteSubset() {
+        // arrange
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+
+        final Plane plane = Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+        final Plane equivalent = Planes.fromPointAndNormal(Vector3D.of(0, 0, 1e-12), Vector3D.Unit.PLUS_Z,
+                TEST_PRECISION);
+        interner.intern(plane);
+
+        final PlaneConvexSubset span = equivalent.span();
+
+        // act
+        final PlaneConvexSubset result = interner.intern(span);
+
+        // assert
+        Assertions.assertSame(span, result);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.Unit.PLUS_Z, result.getPlane().getNormal(), TEST_EPS);
+    }
+}
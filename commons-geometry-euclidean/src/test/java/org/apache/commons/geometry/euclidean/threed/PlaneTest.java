@@ -57,6 +57,32 @@ class PlaneTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> Planes.fromNormal(Vector3D.ZERO, TEST_PRECISION));
     }
 
+    @Test
+    void testFromNormalAndOriginOffset() {
+        // arrange
+        final Plane plane = Planes.fromPointAndNormal(Vector3D.of(1, 2, 3), Vector3D.of(1, -1, 2), TEST_PRECISION);
+
+        // act
+        final Plane result = Planes.fromNormalAndOriginOffset(plane.getNormal(), plane.getOriginOffset(),
+                TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(plane, result);
+        checkPlane(Planes.fromNormalAndOriginOffset(Vector3D.of(0, 0, 5), -3, TEST_PRECISION),
+                Vector3D.of(0, 0, 3), Vector3D.Unit.PLUS_Z);
+    }
+
+    @Test
+    void testFromNormalAndOriginOffset_illegalArguments() {
+        // act/assert
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Planes.fromNormalAndOriginOffset(Vector3D.ZERO, 1, TEST_PRECISION));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Planes.fromNormalAndOriginOffset(Vector3D.Unit.PLUS_X, Double.NaN, TEST_PRECISION));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Planes.fromNormalAndOriginOffset(Vector3D.Unit.PLUS_X, Double.POSITIVE_INFINITY, TEST_PRECISION));
+    }
+
     @Test
     void testFromPointAndNormal() {
         // arrange
@@ -20,22 +20,35 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.SplitLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionLocator;
+import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeMetrics;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
+import org.apache.commons.geometry.core.partitioning.bsp.RegionOptimizationResult;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.BalancedRegionBuilder3D;
 import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.PartitionedRegionBuilder3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionLocator3D;
 import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.TransformedRegion3D;
 import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
 import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
 import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
 import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.rotation.QuaternionRotation;
 import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
 import org.apache.commons.numbers.core.Precision;
 import org.junit.jupiter.api.Assertions;
@@ -181,6 +194,70 @@ class RegionBSPTree3DTest {
         }
     }
 
+    @Test
+    void testPartitionedRegionBuilder_parallel() {
+        // arrange
+        final RegionBSPTree3D src = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        src.union(Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).toTree());
+        src.difference(createSphere(Vector3D.of(-0.5, -0.5, -0.5), 0.3, 4, 8));
+
+        final List<PlaneConvexSubset> boundaries = src.getBoundaries();
+        final Bounds3D bounds = Bounds3D.from(Vector3D.of(-2, -2, -2), Vector3D.of(2, 2, 2));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int level = 0; level <= 3; ++level) {
+                // act
+                final RegionBSPTree3D sequential = RegionBSPTree3D.partitionedRegionBuilder()
+                        .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                        .insertBoundaries(boundaries)
+                        .build();
+
+                final RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                        .setParallelism(pool)
+                        .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                        .insertBoundaries(boundaries)
+                        .build();
+
+                // assert
+                checkBalancedRegion(sequential, parallel);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPartitionedRegionBuilder_parallel_sameStructure() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries = createSphere(Vector3D.of(0.1, 0.2, 0.3), 1.0, 8, 16)
+                .getBoundaries();
+        final Bounds3D bounds = Bounds3D.from(Vector3D.of(-1.5, -1.5, -1.5), Vector3D.of(1.5, 1.5, 1.5));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act
+            final RegionBSPTree3D sequential = RegionBSPTree3D.partitionedRegionBuilder()
+                    .insertAxisAlignedGrid(bounds, 2, TEST_PRECISION)
+                    .insertBoundaries(boundaries)
+                    .build();
+
+            final RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                    .insertAxisAlignedGrid(bounds, 2, TEST_PRECISION)
+                    .setParallelism(pool)
+                    .insertBoundaries(boundaries)
+                    .build();
+
+            // assert
+            // no boundaries lie on partitions, so the boundaries are inserted into each partition
+            // leaf in the same order as in the sequential case
+            Assertions.assertEquals(sequential.treeString(Integer.MAX_VALUE), parallel.treeString(Integer.MAX_VALUE));
+            checkBalancedRegion(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
      * constructed with the given boundary source.
      * @param bounds
@@ -330,6 +407,28 @@ class RegionBSPTree3DTest {
         Assertions.assertEquals(0, facets.size());
     }
 
+    @Test
+    void testBoundaryStream_parallel() {
+        // arrange
+        final RegionBSPTree3D tree = Sphere.from(Vector3D.of(1, 2, 3), 2, TEST_PRECISION).toTree(3);
+        final List<PlaneConvexSubset> expected = tree.getBoundaries();
+
+        // act
+        final List<PlaneConvexSubset> facets = tree.boundaryStream()
+                .parallel()
+                .collect(Collectors.toList());
+
+        // assert
+        Assertions.assertEquals(expected.size(), facets.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            EuclideanTestUtils.assertCoordinatesEqual(expected.get(i).getCentroid(), facets.get(i).getCentroid(), TEST_EPS);
+            Assertions.assertEquals(expected.get(i).getPlane().getNormal(), facets.get(i).getPlane().getNormal());
+        }
+
+        Assertions.assertEquals(tree.getBoundarySize(),
+                tree.boundaryStream().parallel().mapToDouble(PlaneConvexSubset::getSize).sum(), TEST_EPS);
+    }
+
     @Test
     void testTriangleStream_noBoundaries() {
         // arrange
@@ -615,6 +714,45 @@ class RegionBSPTree3DTest {
         Assertions.assertTrue(RegionBSPTree3D.from(Collections.emptyList(), false).isEmpty());
     }
 
+    @Test
+    void testFrom_boundaries_interner() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries = createSubdividedCubeBoundaries(6);
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+
+        // act
+        final RegionBSPTree3D standard = RegionBSPTree3D.from(boundaries);
+        final RegionBSPTree3D interned = RegionBSPTree3D.from(boundaries, false, interner);
+
+        // assert
+        Assertions.assertEquals(6, interner.size());
+        Assertions.assertEquals(6, countDistinctCutPlanes(interned));
+        Assertions.assertTrue(interned.count() <= standard.count());
+
+        Assertions.assertEquals(1, interned.getSize(), TEST_EPS);
+        Assertions.assertEquals(6, interned.getBoundarySize(), TEST_EPS);
+        checkBalancedRegion(standard, interned);
+    }
+
+    @Test
+    void testInsert_boundarySource_interner() {
+        // arrange
+        final BoundarySource3D src = BoundarySource3D.of(createSubdividedCubeBoundaries(4));
+        final PlaneInterner interner = new PlaneInterner(TEST_PRECISION);
+
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+
+        // act
+        tree.insert(src, interner);
+
+        // assert
+        Assertions.assertEquals(6, interner.size());
+        Assertions.assertEquals(6, countDistinctCutPlanes(tree));
+        Assertions.assertEquals(1, tree.getSize(), TEST_EPS);
+        Assertions.assertEquals(6, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector3D.of(0.5, 0.5, 0.5));
+    }
+
     @Test
     void testFromConvexVolume_full() {
         // arrange
@@ -1297,6 +1435,288 @@ class RegionBSPTree3DTest {
                 Vector3D.of(1.5, 2.5, 3.5));
     }
 
+    @Test
+    void testClassify_useCompactNodeStore() {
+        // arrange
+        final RegionBSPTree3D tree = createSphere(Vector3D.of(1, 2, 3), 1.0, 8, 16);
+        tree.difference(createRect(Vector3D.of(1, 2, 3), Vector3D.of(3, 4, 5)));
+
+        final RegionBSPTree3D compact = tree.copy();
+
+        // act
+        compact.setUseCompactNodeStore(true);
+
+        // assert
+        Assertions.assertEquals(tree.count(), compact.getCompactNodeStore().getNodeCount());
+
+        final double step = 0.1;
+        for (double x = -0.5; x <= 2.5; x += step) {
+            for (double y = 0.5; y <= 3.5; y += step) {
+                for (double z = 1.5; z <= 4.5; z += step) {
+                    final Vector3D pt = Vector3D.of(x, y, z);
+                    Assertions.assertEquals(tree.classify(pt), compact.classify(pt), "Unexpected location for " + pt);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClassify_batch() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        final double[] xyz = {
+            0.5, 0.5, 0.5,
+            1, 0.5, 0.5,
+            2, 0.5, 0.5
+        };
+        final RegionLocation[] out = new RegionLocation[3];
+
+        // act
+        tree.classify(xyz, 0, 3, out);
+
+        // assert
+        Assertions.assertArrayEquals(new RegionLocation[] {
+            RegionLocation.INSIDE, RegionLocation.BOUNDARY, RegionLocation.OUTSIDE
+        }, out);
+
+        final CompiledRegion3D compiled = tree.compile();
+        Assertions.assertSame(compiled, tree.compile());
+
+        tree.complement();
+        Assertions.assertNotSame(compiled, tree.compile());
+
+        tree.classify(xyz, 0, 3, out);
+        Assertions.assertArrayEquals(new RegionLocation[] {
+            RegionLocation.OUTSIDE, RegionLocation.BOUNDARY, RegionLocation.INSIDE
+        }, out);
+    }
+
+    @Test
+    void testLocator_matchesClassify() {
+        // arrange
+        final RegionBSPTree3D tree = createSphere(Vector3D.of(1, 2, 3), 1.0, 8, 16);
+        tree.difference(createRect(Vector3D.of(1, 2, 3), Vector3D.of(3, 4, 5)));
+
+        final RegionLocator3D locator = tree.locator();
+
+        // act/assert
+        final double step = 0.1;
+        for (double z = 1.5; z <= 4.5; z += step) {
+            for (double y = 0.5; y <= 3.5; y += step) {
+                for (double x = -0.5; x <= 2.5; x += step) {
+                    final Vector3D pt = Vector3D.of(x, y, z);
+                    Assertions.assertEquals(tree.classify(pt), locator.classify(pt), "Unexpected location for " + pt);
+                }
+            }
+        }
+
+        Assertions.assertEquals(RegionLocation.BOUNDARY, locator.classify(Vector3D.of(1, 2.5, 3.5)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector3D.NaN));
+    }
+
+    @Test
+    void testLocator_reducesCell() {
+        // arrange
+        // the cuts of the far box are above the sphere in the tree but do not bound the sphere cells
+        final RegionBSPTree3D tree = createRect(Vector3D.of(5, 5, 5), Vector3D.of(6, 6, 6));
+        tree.union(createSphere(Vector3D.of(1, 2, 3), 1.0, 8, 16));
+
+        final RegionLocator3D locator = tree.locator();
+
+        final Vector3D pt = Vector3D.of(1.05, 2.1, 3.02);
+        locator.classify(pt);
+
+        final RegionNode3D leaf = locator.getLeaf();
+
+        // act
+        for (int i = 0; i < AbstractRegionLocator.CELL_REDUCTION_HIT_COUNT; ++i) {
+            Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(pt));
+        }
+
+        // assert
+        Assertions.assertSame(leaf, locator.getLeaf());
+        Assertions.assertTrue(locator.getCellHyperplaneCount() < leaf.depth());
+        Assertions.assertTrue(locator.getCellHyperplaneCount() >= leaf.getNodeRegion().getBoundaries().size());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(Vector3D.of(1.1, 2.1, 3.1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector3D.of(3, 2, 3)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector3D.of(-3, 2, 3)));
+    }
+
+    @Test
+    void testTransformedView_rigid() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(2, 1, 1));
+        tree.difference(createSphere(Vector3D.of(2, 1, 1), 0.5, 4, 8));
+        final int count = tree.count();
+
+        final AffineTransformMatrix3D transform = AffineTransformMatrix3D.createRotation(Vector3D.of(1, 0, 0),
+                QuaternionRotation.fromAxisAngle(Vector3D.of(1, 1, 0), 0.7))
+                .translate(Vector3D.of(3, -2, 5));
+
+        // act
+        final TransformedRegion3D view = tree.transformedView(transform);
+
+        // assert
+        Assertions.assertEquals(count, tree.count());
+        Assertions.assertSame(tree, view.getTree());
+        Assertions.assertSame(transform, view.getTransform());
+
+        checkTransformedView(view, view.toTree());
+    }
+
+    @Test
+    void testTransformedView_nonUniformScale() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(2, 1, 1));
+        tree.difference(createSphere(Vector3D.of(2, 1, 1), 0.5, 4, 8));
+
+        final AffineTransformMatrix3D transform = AffineTransformMatrix3D.createScale(2, 0.5, 3)
+                .rotate(QuaternionRotation.fromAxisAngle(Vector3D.Unit.PLUS_Z, 0.3))
+                .translate(1, 2, 3);
+
+        // act
+        final TransformedRegion3D view = tree.transformedView(transform);
+
+        // assert
+        checkTransformedView(view, view.toTree());
+        Assertions.assertEquals(tree.getSize() * 3, view.getSize(), TEST_EPS);
+    }
+
+    @Test
+    void testTransformedView_reflectionAndComposition() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(2, 1, 1));
+
+        final AffineTransformMatrix3D first = AffineTransformMatrix3D.createScale(-1, 1, 1);
+        final AffineTransformMatrix3D second = AffineTransformMatrix3D.createTranslation(Vector3D.of(0, 0, 4))
+                .scale(2);
+
+        // act
+        final TransformedRegion3D view = tree.transformedView(first).transform(second);
+
+        // assert
+        final RegionBSPTree3D expected = tree.copy();
+        expected.transform(first);
+        expected.transform(second);
+
+        checkTransformedView(view, expected);
+        Assertions.assertEquals(16, view.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-2, 1, 9), view.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    void testTransformedView_treeModified() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        final TransformedRegion3D view = tree.transformedView(AffineTransformMatrix3D.createScale(1, 2, 3));
+
+        Assertions.assertEquals(22, view.getBoundarySize(), TEST_EPS);
+
+        // act
+        tree.union(createRect(Vector3D.of(1, 0, 0), Vector3D.of(2, 1, 1)));
+
+        // assert
+        Assertions.assertEquals(12, view.getSize(), TEST_EPS);
+        Assertions.assertEquals(32, view.getBoundarySize(), TEST_EPS);
+        Assertions.assertEquals(RegionLocation.INSIDE, view.classify(Vector3D.of(1.5, 1, 1.5)));
+    }
+
+    @Test
+    void testTransformedView_emptyAndFull() {
+        // arrange
+        final AffineTransformMatrix3D transform = AffineTransformMatrix3D.createTranslation(Vector3D.of(1, 2, 3));
+
+        // act
+        final TransformedRegion3D empty = RegionBSPTree3D.empty().transformedView(transform);
+        final TransformedRegion3D full = RegionBSPTree3D.full().transformedView(transform);
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertFalse(empty.isFull());
+        Assertions.assertNull(empty.getCentroid());
+        Assertions.assertNull(empty.project(Vector3D.ZERO));
+        Assertions.assertNull(empty.linecastFirst(Lines3D.fromPoints(Vector3D.ZERO, Vector3D.Unit.PLUS_X,
+                TEST_PRECISION)));
+
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertEquals(RegionLocation.INSIDE, full.classify(Vector3D.ZERO));
+    }
+
+    @Test
+    void testTransformedView_notInvertible() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.full();
+
+        // act/assert
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> tree.transformedView(AffineTransformMatrix3D.createScale(1, 0, 1)));
+    }
+
+    @Test
+    void testSize_incrementalUpdates() {
+        // arrange
+        final RegionBSPTree3D sphere = createSphere(Vector3D.of(1, 2, 3), 1.0, 8, 16);
+        final List<PlaneConvexSubset> boundaries = sphere.getBoundaries();
+
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+
+        // act/assert
+        for (final PlaneConvexSubset boundary : boundaries) {
+            tree.insert(boundary);
+
+            checkSizeMatchesFreshCopy(tree);
+        }
+
+        tree.union(createRect(Vector3D.of(1, 2, 3), Vector3D.of(3, 4, 5)));
+        checkSizeMatchesFreshCopy(tree);
+
+        tree.complement();
+        checkSizeMatchesFreshCopy(tree);
+
+        tree.complement();
+        tree.transform(AffineTransformMatrix3D.createTranslation(Vector3D.of(-1, 0, 0)));
+        checkSizeMatchesFreshCopy(tree);
+
+        tree.transform(AffineTransformMatrix3D.createScale(-1, 1, 1));
+        checkSizeMatchesFreshCopy(tree);
+
+        for (final RegionNode3D node : tree.nodes()) {
+            if (node.isLeaf() && node.isOutside()) {
+                node.setLocation(RegionLocation.INSIDE);
+                break;
+            }
+        }
+        checkSizeMatchesFreshCopy(tree);
+    }
+
+    @Test
+    void testSize_deepTree() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final int height = 10_000;
+            final RegionBSPTree3D tree = createDeepTree(height);
+
+            // act/assert
+            Assertions.assertEquals(1, tree.getSize(), TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(height + 0.5, 0.5, 0.5), tree.getCentroid(),
+                    TEST_EPS);
+        });
+    }
+
+    private static void checkSizeMatchesFreshCopy(final RegionBSPTree3D tree) {
+        final RegionBSPTree3D copy = tree.copy();
+
+        Assertions.assertEquals(copy.getSize(), tree.getSize(), TEST_EPS);
+
+        final Vector3D expectedCentroid = copy.getCentroid();
+        if (expectedCentroid == null) {
+            Assertions.assertNull(tree.getCentroid());
+        } else {
+            EuclideanTestUtils.assertCoordinatesEqual(expectedCentroid, tree.getCentroid(), TEST_EPS);
+        }
+    }
+
     @Test
     void testProjectToBoundary() {
         // arrange
@@ -1322,12 +1742,646 @@ class RegionBSPTree3DTest {
         checkProject(tree, Vector3D.of(2, 2, 2), Vector3D.of(1, 1, 1));
     }
 
+    @Test
+    void testGetSubtreeBoundaryBounds() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+
+        // act/assert
+        Assertions.assertNull(RegionBSPTree3D.empty().getRoot().getSubtreeBoundaryBounds());
+        Assertions.assertNull(tree.getRoot().getMinus().getMinus().getMinus().getMinus().getMinus().getMinus()
+                .getSubtreeBoundaryBounds());
+
+        final Bounds3D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), TEST_EPS);
+
+        Assertions.assertNull(tree.getRoot().getPlus().getSubtreeBoundaryBounds());
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_updatedAfterModification() {
+        // arrange
+        final RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        tree.getRoot().getSubtreeBoundaryBounds();
+
+        // act
+        tree.union(createRect(Vector3D.of(2, 2, 2), Vector3D.of(3, 3, 3)));
+
+        // assert
+        final Bounds3D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(3, 3, 3), bounds.getMax(), TEST_EPS);
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_infiniteBoundaries() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.insert(Planes.fromNormal(Vector3D.Unit.PLUS_X, TEST_PRECISION).span());
+        tree.insert(Planes.convexPolygonFromVertices(Arrays.asList(
+                Vector3D.of(-2, 0, 0), Vector3D.of(-1, 0, 0), Vector3D.of(-1, 1, 0)), TEST_PRECISION));
+
+        // act/assert
+        Assertions.assertNull(tree.getRoot().getSubtreeBoundaryBounds());
+        Assertions.assertNull(tree.getRoot().getMinus().getSubtreeBoundaryBounds());
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_deepTree() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final int height = 10_000;
+            final RegionBSPTree3D tree = createDeepTree(height);
+
+            // act
+            final Bounds3D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+
+            // assert
+            EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(height, 0, 0), bounds.getMin(), TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(height + 1, 1, 1), bounds.getMax(), TEST_EPS);
+
+            Assertions.assertEquals(bounds, tree.getBounds());
+        });
+    }
+
+    @Test
+    void testUseSubtreeBounds() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+
+        // act/assert
+        Assertions.assertFalse(tree.isUseSubtreeBounds());
+
+        tree.setUseSubtreeBounds(true);
+        Assertions.assertTrue(tree.isUseSubtreeBounds());
+
+        tree.setUseSubtreeBounds(false);
+        Assertions.assertFalse(tree.isUseSubtreeBounds());
+    }
+
+    @Test
+    void testUseSubtreeBounds_queryResultsUnchanged() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < 4; ++i) {
+            final Vector3D min = Vector3D.of(1.5 * i, 0.5 * i, 0);
+            tree.union(Parallelepiped.axisAligned(min, min.add(Vector3D.of(1, 1, 1)), TEST_PRECISION).toTree());
+            tree.difference(createSphere(min, 0.4, 3, 4));
+        }
+
+        final RegionBSPTree3D bounded = tree.copy();
+        bounded.setUseSubtreeBounds(true);
+
+        // act/assert
+        for (double x = -1; x <= 6; x += 0.35) {
+            for (double y = -1; y <= 3; y += 0.45) {
+                final Vector3D pt = Vector3D.of(x, y, 0.3);
+                Assertions.assertEquals(tree.project(pt), bounded.project(pt));
+
+                final Line3D line = Lines3D.fromPointAndDirection(pt, Vector3D.of(1, 0.2 * y, 0.1), TEST_PRECISION);
+                Assertions.assertEquals(tree.linecast(line), bounded.linecast(line));
+                Assertions.assertEquals(tree.linecastFirst(line), bounded.linecastFirst(line));
+
+                final LineConvexSubset3D ray = line.rayFrom(pt);
+                Assertions.assertEquals(tree.linecast(ray), bounded.linecast(ray));
+                Assertions.assertEquals(tree.linecastFirst(ray), bounded.linecastFirst(ray));
+
+                final LineConvexSubset3D segment = line.segment(0, 1);
+                Assertions.assertEquals(tree.linecast(segment), bounded.linecast(segment));
+            }
+        }
+    }
+
+    @Test
+    void testUseSubtreeBounds_skipsSubtrees() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < 8; ++i) {
+            tree.union(createSphere(Vector3D.of(3 * i, 0, 0), 1, 4, 8));
+        }
+
+        final RegionBSPTree3D bounded = tree.copy();
+        bounded.setUseSubtreeBounds(true);
+        bounded.project(Vector3D.ZERO);
+
+        final BSPTreeMetrics metrics = new BSPTreeMetrics();
+        final BSPTreeMetrics boundedMetrics = new BSPTreeMetrics();
+
+        tree.setListener(metrics);
+        bounded.setListener(boundedMetrics);
+
+        final Vector3D pt = Vector3D.of(21, 0, 2);
+        final Line3D line = Lines3D.fromPointAndDirection(Vector3D.of(21, -5, 0), Vector3D.Unit.PLUS_Y, TEST_PRECISION);
+
+        // act
+        final Vector3D projected = bounded.project(pt);
+        final List<LinecastPoint3D> linecastPts = bounded.linecast(line);
+
+        // assert
+        Assertions.assertEquals(tree.project(pt), projected);
+        Assertions.assertEquals(tree.linecast(line), linecastPts);
+
+        Assertions.assertFalse(linecastPts.isEmpty());
+        Assertions.assertTrue(boundedMetrics.getCutBoundaryHits() + boundedMetrics.getCutBoundaryMisses() <
+                metrics.getCutBoundaryHits() + metrics.getCutBoundaryMisses());
+    }
+
+    @Test
+    void testUseSubtreeBounds_linesNearBoundaryEdges() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.union(createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1)));
+        tree.union(createRect(Vector3D.of(2, 0, 0), Vector3D.of(3, 1, 1)));
+        tree.union(createRect(Vector3D.of(0, 2, 0), Vector3D.of(1, 3, 1)));
+
+        final RegionBSPTree3D bounded = tree.copy();
+        bounded.setUseSubtreeBounds(true);
+
+        final double delta = 0.1 * TEST_EPS;
+        final Vector3D[] pts = {
+            Vector3D.of(1 + delta, 1 + delta, 1 + delta),
+            Vector3D.of(3 + delta, -delta, 1),
+            Vector3D.of(-delta, 3 + delta, -delta)
+        };
+        final Vector3D[] dirs = {
+            Vector3D.Unit.PLUS_X,
+            Vector3D.Unit.MINUS_Y,
+            Vector3D.Unit.PLUS_Z,
+            Vector3D.of(1, 1, 0)
+        };
+
+        // act/assert
+        for (final Vector3D pt : pts) {
+            for (final Vector3D dir : dirs) {
+                final Line3D line = Lines3D.fromPointAndDirection(pt, dir, TEST_PRECISION);
+
+                final List<LinecastPoint3D> expected = tree.linecast(line);
+                Assertions.assertFalse(expected.isEmpty());
+                Assertions.assertEquals(expected, bounded.linecast(line));
+
+                final LineConvexSubset3D ray = line.rayFrom(pt);
+                Assertions.assertEquals(tree.linecast(ray), bounded.linecast(ray));
+                Assertions.assertEquals(tree.linecastFirst(ray), bounded.linecastFirst(ray));
+            }
+        }
+
+        checkProject(bounded, Vector3D.of(4, 2, 2), Vector3D.of(3, 1, 1));
+        checkProject(bounded, Vector3D.of(0.5, 0.5, 0.4), Vector3D.of(0.5, 0.5, 0));
+    }
+
     private void checkProject(final RegionBSPTree3D tree, final Vector3D toProject, final Vector3D expectedPoint) {
         final Vector3D proj = tree.project(toProject);
 
         EuclideanTestUtils.assertCoordinatesEqual(expectedPoint, proj, TEST_EPS);
     }
 
+    @Test
+    void testBalancedRegionBuilder_empty() {
+        // act
+        final RegionBSPTree3D tree = RegionBSPTree3D.balancedRegionBuilder().build();
+
+        // assert
+        Assertions.assertTrue(tree.isEmpty());
+        Assertions.assertEquals(1, tree.count());
+    }
+
+    @Test
+    void testBalancedRegionBuilder_sphere() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries =
+                createSphere(Vector3D.of(1, 2, 3), 1.0, 16, 32).getBoundaries();
+        final RegionBSPTree3D standard = RegionBSPTree3D.from(boundaries);
+
+        // act
+        final RegionBSPTree3D balanced = RegionBSPTree3D.balancedRegionBuilder()
+                .insertBoundaries(boundaries)
+                .build();
+
+        // assert
+        Assertions.assertTrue(balanced.height() * 4 < standard.height(),
+                () -> "Expected balanced tree height " + balanced.height() +
+                    " to be much less than standard height " + standard.height());
+
+        checkBalancedRegion(standard, balanced);
+    }
+
+    @Test
+    void testBalancedRegionBuilder_nonConvex() {
+        // arrange
+        final RegionBSPTree3D src = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        src.union(Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).toTree());
+
+        final RegionBSPTree3D standard = RegionBSPTree3D.from(src.getBoundaries());
+
+        // act/assert
+        for (int max = 1; max <= 4; ++max) {
+            checkBalancedRegion(standard, RegionBSPTree3D.balancedRegionBuilder()
+                    .setMaxCellBoundaries(max)
+                    .setSplitterSampleSize(max)
+                    .insertBoundaries(src)
+                    .build());
+        }
+    }
+
+    @Test
+    void testBalancedRegionBuilder_parallel() {
+        // arrange
+        final List<PlaneConvexSubset> boundaries =
+                createSphere(Vector3D.ZERO, 2.0, 16, 32).getBoundaries();
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act
+            final RegionBSPTree3D sequential = RegionBSPTree3D.balancedRegionBuilder()
+                    .insertBoundaries(boundaries)
+                    .build();
+            final RegionBSPTree3D parallel = RegionBSPTree3D.balancedRegionBuilder()
+                    .setParallelism(pool)
+                    .insertBoundaries(boundaries)
+                    .build();
+
+            // assert
+            assertSameStructure(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBalancedRegionBuilder_invalidArgs() {
+        // arrange
+        final BalancedRegionBuilder3D builder = RegionBSPTree3D.balancedRegionBuilder();
+
+        // act/assert
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.setMaxCellBoundaries(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.setSplitterSampleSize(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.setSplitWeight(-1));
+    }
+
+    @Test
+    void testOptimize() {
+        // arrange
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < 8; ++i) {
+            final Vector3D min = Vector3D.of(0.25 * i, 0.1 * i, 0);
+            tree.union(Parallelepiped.axisAligned(min, min.add(Vector3D.of(1, 1, 1)), TEST_PRECISION).toTree());
+            tree.difference(createSphere(min, 0.2, 3, 4));
+        }
+
+        final RegionBSPTree3D original = tree.copy();
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertTrue(result.isApplied());
+        Assertions.assertEquals(original.count(), result.getNodeCountBefore());
+        Assertions.assertEquals(original.height(), result.getHeightBefore());
+        Assertions.assertEquals(tree.count(), result.getNodeCountAfter());
+        Assertions.assertEquals(tree.height(), result.getHeightAfter());
+        Assertions.assertTrue(result.getNodeCountAfter() < result.getNodeCountBefore() ||
+                result.getHeightAfter() < result.getHeightBefore());
+
+        checkBalancedRegion(original, tree);
+    }
+
+    @Test
+    void testOptimize_noImprovement() {
+        // arrange
+        final RegionBSPTree3D tree = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        final String str = tree.treeString(Integer.MAX_VALUE);
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertFalse(result.isApplied());
+        Assertions.assertEquals(result.getNodeCountBefore(), result.getNodeCountAfter());
+        Assertions.assertEquals(result.getHeightBefore(), result.getHeightAfter());
+        Assertions.assertEquals(str, tree.treeString(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testUnionAll() {
+        // arrange
+        final List<RegionBSPTree3D> trees = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                for (int k = 0; k < 3; ++k) {
+                    final Vector3D min = Vector3D.of(i, j, k);
+                    trees.add(createRect(min, min.add(Vector3D.of(0.8, 0.8, 0.8))));
+                }
+            }
+        }
+
+        final RegionBSPTree3D expected = RegionBSPTree3D.empty();
+        trees.forEach(expected::union);
+
+        // act
+        final RegionBSPTree3D result = RegionBSPTree3D.unionAll(trees);
+
+        // assert
+        checkBalancedRegion(expected, result);
+        Assertions.assertEquals(27 * 0.8 * 0.8 * 0.8, result.getSize(), TEST_EPS);
+        Assertions.assertTrue(result.height() <= expected.height());
+    }
+
+    @Test
+    void testUnionAll_parallel() {
+        // arrange
+        final List<RegionBSPTree3D> trees = new ArrayList<>();
+        for (int i = 0; i < 6; ++i) {
+            trees.add(createSphere(Vector3D.of(0.5 * i, 0, 0), 1.0, 4, 8));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act
+            final RegionBSPTree3D sequential = RegionBSPTree3D.unionAll(trees);
+            final RegionBSPTree3D parallel = RegionBSPTree3D.unionAll(trees, pool);
+
+            // assert
+            Assertions.assertEquals(sequential.treeString(Integer.MAX_VALUE), parallel.treeString(Integer.MAX_VALUE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testIntersectionAll() {
+        // arrange
+        final List<RegionBSPTree3D> trees = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            trees.add(createSphere(Vector3D.of(0.1 * i, -0.05 * i, 0.02 * i), 1.0, 4, 8));
+        }
+
+        final RegionBSPTree3D expected = RegionBSPTree3D.full();
+        trees.forEach(expected::intersection);
+
+        // act
+        final RegionBSPTree3D result = RegionBSPTree3D.intersectionAll(trees);
+
+        // assert
+        Assertions.assertFalse(result.isEmpty());
+        checkBalancedRegion(expected, result);
+    }
+
+    @Test
+    void testIntersectionAll_disjointBounds() {
+        // arrange
+        final RegionBSPTree3D a = createRect(Vector3D.ZERO, Vector3D.of(2, 2, 2));
+        final RegionBSPTree3D b = createRect(Vector3D.of(1, 1, 1), Vector3D.of(3, 3, 3));
+        final RegionBSPTree3D c = createRect(Vector3D.of(0, 0, 2.5), Vector3D.of(1, 1, 4));
+
+        // act
+        final RegionBSPTree3D result = RegionBSPTree3D.intersectionAll(Arrays.asList(a, b, c));
+
+        // assert
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(1, result.count());
+    }
+
+    @Test
+    void testUnionAll_intersectionAll_specialCases() {
+        // arrange
+        final RegionBSPTree3D cube = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+
+        // act/assert
+        Assertions.assertTrue(RegionBSPTree3D.unionAll(Collections.emptyList()).isEmpty());
+        Assertions.assertTrue(RegionBSPTree3D.unionAll(Arrays.asList(cube, RegionBSPTree3D.full())).isFull());
+        checkBalancedRegion(cube, RegionBSPTree3D.unionAll(Arrays.asList(RegionBSPTree3D.empty(), cube)));
+
+        Assertions.assertTrue(RegionBSPTree3D.intersectionAll(Collections.emptyList()).isFull());
+        Assertions.assertTrue(RegionBSPTree3D.intersectionAll(Arrays.asList(cube, RegionBSPTree3D.empty()))
+                .isEmpty());
+        checkBalancedRegion(cube, RegionBSPTree3D.intersectionAll(Arrays.asList(RegionBSPTree3D.full(), cube)));
+    }
+
+    @Test
+    void testExpression_evaluate() {
+        // arrange
+        final RegionBSPTree3D cube = createRect(Vector3D.ZERO, Vector3D.of(2, 2, 2));
+        final RegionBSPTree3D sphere = createSphere(Vector3D.of(2, 2, 2), 1.0, 4, 8);
+        final RegionBSPTree3D rect = createRect(Vector3D.of(0.5, 0.5, -1), Vector3D.of(1, 1, 3));
+
+        final RegionBSPTree3D expected = cube.copy();
+        expected.union(sphere);
+        expected.difference(rect);
+
+        // act
+        final RegionBSPTree3D result = cube.expression()
+                .union(sphere.expression())
+                .difference(rect.expression())
+                .evaluate();
+
+        // assert
+        checkBalancedRegion(expected, result);
+    }
+
+    @Test
+    void testExpression_disjointBounds() {
+        // arrange
+        final RegionBSPTree3D cube = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        final RegionBSPTree3D far = createRect(Vector3D.of(5, 5, 5), Vector3D.of(6, 6, 6));
+
+        // act
+        final RegionBSPTree3D.RegionExpression3D intersection = cube.expression().intersection(far.expression());
+        final RegionBSPTree3D.RegionExpression3D difference = cube.expression().difference(far.expression());
+
+        // assert
+        Assertions.assertTrue(intersection.isKnownEmpty());
+        Assertions.assertTrue(intersection.evaluate().isEmpty());
+
+        Assertions.assertFalse(difference.isKnownEmpty());
+        Assertions.assertTrue(difference.isEvaluated());
+        checkBalancedRegion(cube, difference.evaluate());
+    }
+
+    @Test
+    void testExpression_classify() {
+        // arrange
+        final RegionBSPTree3D.RegionExpression3D cube = createRect(Vector3D.ZERO, Vector3D.of(2, 2, 2)).expression();
+        final RegionBSPTree3D.RegionExpression3D sphere =
+                createSphere(Vector3D.of(2, 2, 2), 1.0, 4, 8).expression();
+        final RegionBSPTree3D.RegionExpression3D expr = cube.union(sphere)
+                .difference(createRect(Vector3D.of(0.5, 0.5, -1), Vector3D.of(1, 1, 3)).expression());
+
+        final RegionBSPTree3D expected = expr.evaluate();
+        final RegionBSPTree3D.RegionExpression3D unevaluated = cube.union(sphere)
+                .difference(createRect(Vector3D.of(0.5, 0.5, -1), Vector3D.of(1, 1, 3)).expression());
+
+        // act/assert
+        for (double x = -0.5; x <= 3.5; x += 0.3) {
+            for (double y = -0.5; y <= 3.5; y += 0.3) {
+                for (double z = -0.5; z <= 3.5; z += 0.3) {
+                    final Vector3D pt = Vector3D.of(x, y, z);
+                    Assertions.assertEquals(expected.classify(pt), unevaluated.classify(pt), () -> "Point " + pt);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testExpression_treeModified() {
+        // arrange
+        final RegionBSPTree3D cube = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        final RegionBSPTree3D.RegionExpression3D expr = cube.expression();
+
+        // act
+        cube.complement();
+
+        // assert
+        Assertions.assertEquals(RegionLocation.INSIDE, expr.classify(Vector3D.of(0.5, 0.5, 0.5)));
+        Assertions.assertEquals(1, expr.evaluate().getSize(), TEST_EPS);
+    }
+
+    /** Check that a transformed view answers queries in the same way as the given materialized tree.
+     * @param view view to check
+     * @param expected tree containing the expected region
+     */
+    private static void checkTransformedView(final TransformedRegion3D view, final RegionBSPTree3D expected) {
+        Assertions.assertEquals(expected.getSize(), view.getSize(), TEST_EPS);
+        Assertions.assertEquals(expected.getBoundarySize(), view.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), view.getCentroid(), TEST_EPS);
+
+        final Bounds3D bounds = expected.getBounds();
+        final Vector3D min = bounds.getMin().subtract(Vector3D.of(1, 1, 1));
+        final Vector3D diag = bounds.getDiagonal().add(Vector3D.of(2, 2, 2));
+
+        final int steps = 7;
+        for (int i = 0; i <= steps; ++i) {
+            for (int j = 0; j <= steps; ++j) {
+                for (int k = 0; k <= steps; ++k) {
+                    final Vector3D pt = min.add(Vector3D.of(
+                            diag.getX() * i / steps, diag.getY() * j / steps, diag.getZ() * k / steps));
+
+                    Assertions.assertEquals(expected.classify(pt), view.classify(pt), () -> "Point " + pt);
+
+                    // compare projection distances since points equidistant from several boundaries
+                    // may be projected onto any of them
+                    final Vector3D projected = view.project(pt);
+                    Assertions.assertEquals(expected.project(pt).distance(pt), projected.distance(pt), TEST_EPS);
+                    Assertions.assertEquals(RegionLocation.BOUNDARY, expected.classify(projected));
+                }
+            }
+
+            final Vector3D start = min.add(Vector3D.of(diag.getX() * i / steps, 0, 0));
+            final Line3D line = Lines3D.fromPoints(start, start.add(Vector3D.of(0.1, 0.7, 0.6)), TEST_PRECISION);
+
+            final List<LinecastPoint3D> expectedPts = expected.linecast(line);
+            final List<LinecastPoint3D> actualPts = view.linecast(line);
+            Assertions.assertEquals(expectedPts.size(), actualPts.size());
+            for (int p = 0; p < expectedPts.size(); ++p) {
+                Assertions.assertTrue(expectedPts.get(p).eq(actualPts.get(p), TEST_PRECISION));
+            }
+
+            final LinecastPoint3D expectedFirst = expected.linecastFirst(line);
+            final LinecastPoint3D actualFirst = view.linecastFirst(line);
+            if (expectedFirst == null) {
+                Assertions.assertNull(actualFirst);
+            } else {
+                Assertions.assertTrue(expectedFirst.eq(actualFirst, TEST_PRECISION));
+            }
+        }
+    }
+
+    /** Check that a balanced BSP tree represents the same region as a tree constructed
+     * with the standard insertion algorithm.
+     * @param standard tree constructed with the standard algorithm
+     * @param balanced balanced tree
+     */
+    private static void checkBalancedRegion(final RegionBSPTree3D standard, final RegionBSPTree3D balanced) {
+        Assertions.assertEquals(standard.getSize(), balanced.getSize(), TEST_EPS);
+        Assertions.assertEquals(standard.getBoundarySize(), balanced.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), balanced.getCentroid(), TEST_EPS);
+
+        final RegionBSPTree3D diff = RegionBSPTree3D.empty();
+        diff.xor(balanced, standard);
+        Assertions.assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    void testBoolean_parallelMerge() {
+        // arrange
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final RegionBSPTree3D a = createSphere(Vector3D.of(0.5, 0.5, 0.5), 1.0, 8, 16);
+            final RegionBSPTree3D b = createSphere(Vector3D.of(1, 1, 1), 1.0, 8, 16);
+
+            final RegionBSPTree3D sequential = RegionBSPTree3D.empty();
+            final RegionBSPTree3D parallel = RegionBSPTree3D.empty();
+            parallel.setParallelMerge(pool, 16);
+
+            // act/assert
+            sequential.union(a, b);
+            parallel.union(a, b);
+            assertSameStructure(sequential, parallel);
+
+            sequential.intersection(a, b);
+            parallel.intersection(a, b);
+            assertSameStructure(sequential, parallel);
+
+            sequential.difference(a, b);
+            parallel.difference(a, b);
+            assertSameStructure(sequential, parallel);
+
+            sequential.xor(a, b);
+            parallel.xor(a, b);
+            assertSameStructure(sequential, parallel);
+
+            Assertions.assertEquals(sequential.getSize(), parallel.getSize(), TEST_EPS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBoolean_parallelMergeInPlace() {
+        // arrange
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // the box cuts do not intersect the sphere, so the sphere subtree is reused and complemented
+            // in place by the merges
+            final RegionBSPTree3D a = createRect(Vector3D.of(-2, -2, -2), Vector3D.of(2, 2, 2));
+            final RegionBSPTree3D b = createSphere(Vector3D.ZERO, 1.0, 8, 16);
+
+            final RegionBSPTree3D expectedDiff = RegionBSPTree3D.empty();
+            expectedDiff.difference(a, b);
+
+            final RegionBSPTree3D expectedXor = RegionBSPTree3D.empty();
+            expectedXor.xor(a, b);
+
+            final RegionBSPTree3D diff = b.copy();
+            diff.setParallelMerge(pool, 1);
+
+            final RegionBSPTree3D xor = b.copy();
+            xor.setParallelMerge(pool, 1);
+
+            // compute values cached on the nodes reused by the merges
+            Assertions.assertEquals(b.getSize(), diff.getSize(), TEST_EPS);
+            Assertions.assertEquals(b.getSize(), xor.getSize(), TEST_EPS);
+
+            // act
+            diff.difference(a, diff);
+            xor.xor(a, xor);
+
+            // assert
+            assertSameStructure(expectedDiff, diff);
+            Assertions.assertEquals(expectedDiff.getSize(), diff.getSize(), TEST_EPS);
+
+            assertSameStructure(expectedXor, xor);
+            Assertions.assertEquals(expectedXor.getSize(), xor.getSize(), TEST_EPS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertSameStructure(final RegionBSPTree3D expected, final RegionBSPTree3D actual) {
+        Assertions.assertEquals(expected.count(), actual.count());
+        Assertions.assertEquals(expected.treeString(Integer.MAX_VALUE), actual.treeString(Integer.MAX_VALUE));
+    }
+
     @Test
     void testBoolean_union() throws IOException {
         // arrange
@@ -1873,6 +2927,90 @@ class RegionBSPTree3DTest {
         return boundaries;
     }
 
+    /** Create the boundaries of the unit cube with each face divided into a grid of triangles. The
+     * vertices are displaced from the faces by amounts well below the test tolerance so that the triangles
+     * in each face lie in distinct but equivalent planes.
+     * @param n number of grid cells along each face edge
+     * @return the boundaries of the subdivided cube
+     */
+    private static List<PlaneConvexSubset> createSubdividedCubeBoundaries(final int n) {
+        final List<PlaneConvexSubset> boundaries = new ArrayList<>();
+        final Vector3D center = Vector3D.of(0.5, 0.5, 0.5);
+        final double step = 1.0 / n;
+
+        int noiseIdx = 0;
+        for (int axis = 0; axis < 3; ++axis) {
+            for (int side = 0; side < 2; ++side) {
+                final Vector3D[][] grid = new Vector3D[n + 1][n + 1];
+                for (int i = 0; i <= n; ++i) {
+                    for (int j = 0; j <= n; ++j) {
+                        final double[] coords = new double[3];
+                        coords[axis] = side + (((noiseIdx++ % 3) - 1) * 1e-13);
+                        coords[(axis + 1) % 3] = i * step;
+                        coords[(axis + 2) % 3] = j * step;
+                        grid[i][j] = Vector3D.of(coords);
+                    }
+                }
+
+                for (int i = 0; i < n; ++i) {
+                    for (int j = 0; j < n; ++j) {
+                        addOutwardTriangle(boundaries, center, grid[i][j], grid[i + 1][j], grid[i + 1][j + 1]);
+                        addOutwardTriangle(boundaries, center, grid[i][j], grid[i + 1][j + 1], grid[i][j + 1]);
+                    }
+                }
+            }
+        }
+
+        return boundaries;
+    }
+
+    private static void addOutwardTriangle(final List<PlaneConvexSubset> boundaries, final Vector3D center,
+            final Vector3D p1, final Vector3D p2, final Vector3D p3) {
+        final Triangle3D tri = Planes.triangleFromVertices(p1, p2, p3, TEST_PRECISION);
+        boundaries.add(tri.getPlane().offset(center) < 0 ?
+                tri :
+                Planes.triangleFromVertices(p1, p3, p2, TEST_PRECISION));
+    }
+
+    private static int countDistinctCutPlanes(final RegionBSPTree3D tree) {
+        final Set<Object> planes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final RegionNode3D node : tree.nodes()) {
+            if (node.isInternal()) {
+                planes.add(node.getCutHyperplane());
+            }
+        }
+        return planes.size();
+    }
+
+    /** Create a tree with a height greater than the given value representing the unit cube with its
+     * minimum corner at {@code (height, 0, 0)}. The tree is created by repeatedly cutting the leaf node on the
+     * positive x side of the previous cut with a plane orthogonal to the x axis and then cutting the final
+     * leaf node with the remaining sides of the cube.
+     * @param height number of cuts preceding the cube
+     * @return a new deep tree
+     */
+    private static RegionBSPTree3D createDeepTree(final int height) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.full();
+
+        RegionNode3D node = tree.getRoot();
+        for (int i = 1; i <= height; ++i) {
+            node = node.cut(Planes.fromPointAndNormal(Vector3D.of(i, 0, 0), Vector3D.Unit.PLUS_X, TEST_PRECISION),
+                    RegionCutRule.PLUS_INSIDE).getPlus();
+        }
+
+        node = node.cut(Planes.fromPointAndNormal(Vector3D.of(height + 1, 0, 0), Vector3D.Unit.PLUS_X,
+                TEST_PRECISION)).getMinus();
+        node = node.cut(Planes.fromPointAndNormal(Vector3D.of(0, 1, 0), Vector3D.Unit.PLUS_Y, TEST_PRECISION))
+                .getMinus();
+        node = node.cut(Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Y, TEST_PRECISION))
+                .getMinus();
+        node = node.cut(Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.Unit.PLUS_Z, TEST_PRECISION))
+                .getMinus();
+        node.cut(Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Z, TEST_PRECISION));
+
+        return tree;
+    }
+
     private static RegionBSPTree3D createRect(final Vector3D a, final Vector3D b) {
         return createRect(a, b, TEST_PRECISION);
     }
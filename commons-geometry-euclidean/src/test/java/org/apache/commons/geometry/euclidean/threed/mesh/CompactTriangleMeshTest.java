@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.AffineTransformMatrix3D;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D;
+import org.apache.commons.geometry.euclidean.threed.Triangle3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.rotation.QuaternionRotation;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompactTriangleMeshTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    private static final double[] COORDINATES = {
+        0, 0, 0,
+        1, 1, 0,
+        1, 1, 1,
+        0, 0, 1
+    };
+
+    private static final int[] FACE_INDICES = {
+        0, 1, 2,
+        0, 2, 3
+    };
+
+    @Test
+    void testOf_doubleArray() {
+        // act
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // assert
+        checkMesh(mesh);
+        Assertions.assertSame(TEST_PRECISION, mesh.getPrecision());
+    }
+
+    @Test
+    void testOf_floatArray() {
+        // arrange
+        final float[] coordinates = new float[COORDINATES.length];
+        for (int i = 0; i < coordinates.length; ++i) {
+            coordinates[i] = (float) COORDINATES[i];
+        }
+
+        // act
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(coordinates, FACE_INDICES, TEST_PRECISION);
+
+        // assert
+        checkMesh(mesh);
+    }
+
+    @Test
+    void testOf_directBuffer() {
+        // arrange
+        final DoubleBuffer buffer = ByteBuffer.allocateDirect((COORDINATES.length + 2) * Double.BYTES)
+                .asDoubleBuffer();
+        buffer.put(-1);
+        buffer.put(COORDINATES);
+        buffer.put(-1);
+
+        buffer.position(1);
+        buffer.limit(COORDINATES.length + 1);
+
+        // act
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(buffer, FACE_INDICES, TEST_PRECISION);
+
+        // assert
+        checkMesh(mesh);
+        Assertions.assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void testOf_empty() {
+        // act
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(new double[0], new int[0], TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(0, mesh.getVertexCount());
+        Assertions.assertEquals(0, mesh.getVertices().size());
+        Assertions.assertEquals(0, mesh.getFaceCount());
+        Assertions.assertEquals(0, mesh.getFaces().size());
+        Assertions.assertFalse(mesh.faces().iterator().hasNext());
+        Assertions.assertFalse(mesh.cursor().next());
+        Assertions.assertEquals(0, mesh.triangleStream().count());
+        Assertions.assertNull(mesh.getBounds());
+    }
+
+    @Test
+    void testOf_invalidInput() {
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> CompactTriangleMesh.of(new double[] {0, 1}, new int[0], TEST_PRECISION),
+            IllegalArgumentException.class, "Vertex coordinate count must be a multiple of 3; found 2");
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> CompactTriangleMesh.of(COORDINATES, new int[] {0, 1, 2, 3}, TEST_PRECISION),
+            IllegalArgumentException.class, "Face index count must be a multiple of 3; found 4");
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> CompactTriangleMesh.of(COORDINATES, new int[] {0, 1, 4}, TEST_PRECISION),
+            IllegalArgumentException.class, "Invalid vertex index: 4");
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> CompactTriangleMesh.of(COORDINATES, new int[] {-1, 1, 2}, TEST_PRECISION),
+            IllegalArgumentException.class, "Invalid vertex index: -1");
+        Assertions.assertThrows(NullPointerException.class,
+            () -> CompactTriangleMesh.of(COORDINATES, FACE_INDICES, null));
+    }
+
+    @Test
+    void testFrom_triangleMesh() {
+        // arrange
+        final SimpleTriangleMesh src = SimpleTriangleMesh.from(
+                Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION);
+
+        // act
+        final CompactTriangleMesh mesh = CompactTriangleMesh.from(src, TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(src.getVertices(), mesh.getVertices());
+        Assertions.assertEquals(src.getFaceCount(), mesh.getFaceCount());
+        for (int i = 0; i < src.getFaceCount(); ++i) {
+            Assertions.assertArrayEquals(src.getFace(i).getVertexIndices(), mesh.getFace(i).getVertexIndices());
+        }
+
+        final RegionBSPTree3D tree = mesh.toTree();
+        Assertions.assertEquals(1, tree.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, tree.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    void testGetVertexCoordinate() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertEquals(1, mesh.getVertexCoordinate(1, 0), TEST_EPS);
+        Assertions.assertEquals(1, mesh.getVertexCoordinate(1, 1), TEST_EPS);
+        Assertions.assertEquals(0, mesh.getVertexCoordinate(1, 2), TEST_EPS);
+        Assertions.assertEquals(1, mesh.getVertexCoordinate(3, 2), TEST_EPS);
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mesh.getVertexCoordinate(4, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mesh.getVertexCoordinate(0, 3));
+    }
+
+    @Test
+    void testFaces_iterator() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        final Iterator<TriangleMesh.Face> it = mesh.faces().iterator();
+
+        // assert
+        Assertions.assertEquals(0, it.next().getIndex());
+        Assertions.assertEquals(1, it.next().getIndex());
+        Assertions.assertFalse(it.hasNext());
+        Assertions.assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void testCursor() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        final CompactTriangleMesh.FaceCursor cursor = mesh.cursor();
+
+        // assert
+        Assertions.assertThrows(IllegalStateException.class, cursor::getIndex);
+
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(0, cursor.getIndex());
+        Assertions.assertEquals(0, cursor.getVertexIndex(0));
+        Assertions.assertEquals(1, cursor.getVertexIndex(1));
+        Assertions.assertEquals(2, cursor.getVertexIndex(2));
+        Assertions.assertEquals(1, cursor.getX(1), TEST_EPS);
+        Assertions.assertEquals(1, cursor.getY(2), TEST_EPS);
+        Assertions.assertEquals(1, cursor.getZ(2), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 0), cursor.getPoint2(), TEST_EPS);
+        Assertions.assertTrue(cursor.definesPolygon());
+
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(1, cursor.getIndex());
+        Assertions.assertArrayEquals(new int[] {0, 2, 3}, cursor.getVertexIndices());
+        Assertions.assertEquals(1, cursor.getZ(2), TEST_EPS);
+        Assertions.assertEquals(0, cursor.getX(2), TEST_EPS);
+
+        Assertions.assertFalse(cursor.next());
+        Assertions.assertFalse(cursor.next());
+        Assertions.assertThrows(IllegalStateException.class, cursor::getIndex);
+
+        Assertions.assertSame(cursor, cursor.moveTo(0));
+        Assertions.assertEquals(0, cursor.getIndex());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.getVertexIndex(3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(2));
+    }
+
+    @Test
+    void testFace_doesNotDefineTriangle() {
+        // arrange
+        final double[] coordinates = {
+            0, 0, 0,
+            1, 1, 0,
+            2, 2, 0
+        };
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(coordinates, new int[] {0, 1, 2, 0, 0, 1},
+                TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertFalse(mesh.getFace(0).definesPolygon());
+        Assertions.assertFalse(mesh.getFace(1).definesPolygon());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mesh.getFace(0).getPolygon());
+    }
+
+    @Test
+    void testToTriangleMesh() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+        final Precision.DoubleEquivalence otherPrecision = Precision.doubleEquivalenceOfEpsilon(1e-5);
+
+        // act
+        final CompactTriangleMesh same = mesh.toTriangleMesh(TEST_PRECISION);
+        final CompactTriangleMesh other = mesh.toTriangleMesh(otherPrecision);
+
+        // assert
+        Assertions.assertSame(mesh, same);
+        Assertions.assertSame(otherPrecision, other.getPrecision());
+        Assertions.assertEquals(mesh.getVertices(), other.getVertices());
+        Assertions.assertEquals(mesh.getBounds(), other.getBounds());
+    }
+
+    @Test
+    void testTransform() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        final AffineTransformMatrix3D matrix = AffineTransformMatrix3D.createScale(1, 2, 3)
+                .translate(Vector3D.of(-1, 0, 1));
+        final QuaternionRotation rotation = QuaternionRotation.fromAxisAngle(Vector3D.Unit.PLUS_Z, 0.5);
+
+        // act
+        final CompactTriangleMesh matrixResult = mesh.transform(matrix);
+        final CompactTriangleMesh rotationResult = mesh.transform(rotation);
+
+        // assert
+        Assertions.assertEquals(mesh.getFaceCount(), matrixResult.getFaceCount());
+        for (int i = 0; i < mesh.getVertexCount(); ++i) {
+            final Vector3D vertex = mesh.getVertices().get(i);
+            EuclideanTestUtils.assertCoordinatesEqual(matrix.apply(vertex), matrixResult.getVertices().get(i),
+                    TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(rotation.apply(vertex), rotationResult.getVertices().get(i),
+                    TEST_EPS);
+        }
+
+        final Bounds3D bounds = matrixResult.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-1, 0, 1), bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(0, 2, 4), bounds.getMax(), TEST_EPS);
+
+        Assertions.assertEquals(0, mesh.getVertexCoordinate(3, 0), TEST_EPS);
+    }
+
+    @Test
+    void testTransform_float() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(new float[] {0.1f, 0.2f, 0.3f},
+                new int[0], TEST_PRECISION);
+
+        // act
+        final CompactTriangleMesh result = mesh.transform(AffineTransformMatrix3D.createScale(3));
+
+        // assert
+        Assertions.assertEquals((float) (3 * 0.1f), result.getVertexCoordinate(0, 0));
+        Assertions.assertEquals((float) (3 * 0.2f), result.getVertexCoordinate(0, 1));
+        Assertions.assertEquals((float) (3 * 0.3f), result.getVertexCoordinate(0, 2));
+    }
+
+    @Test
+    void testToString() {
+        // arrange
+        final CompactTriangleMesh mesh = CompactTriangleMesh.of(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertEquals("CompactTriangleMesh[vertexCount= 4, faceCount= 2, bounds= " + mesh.getBounds() + "]",
+                mesh.toString());
+        GeometryTestUtils.assertContains("[index= 1, vertexIndices= [0, 2, 3], vertices= [(0.0, 0.0, 0.0)",
+                mesh.getFace(1).toString());
+    }
+
+    /** Check that the given mesh contains the vertices and faces defined by {@link #COORDINATES} and
+     * {@link #FACE_INDICES}.
+     * @param mesh mesh to check
+     */
+    private static void checkMesh(final CompactTriangleMesh mesh) {
+        final List<Vector3D> vertices = Arrays.asList(
+                Vector3D.ZERO,
+                Vector3D.of(1, 1, 0),
+                Vector3D.of(1, 1, 1),
+                Vector3D.of(0, 0, 1));
+
+        Assertions.assertEquals(4, mesh.getVertexCount());
+        Assertions.assertEquals(vertices, mesh.getVertices());
+
+        final List<Vector3D> iterated = new ArrayList<>();
+        mesh.vertices().forEach(iterated::add);
+        Assertions.assertEquals(vertices, iterated);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mesh.getVertices().add(Vector3D.ZERO));
+
+        final Bounds3D bounds = mesh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), TEST_EPS);
+
+        Assertions.assertEquals(2, mesh.getFaceCount());
+        final List<TriangleMesh.Face> faces = mesh.getFaces();
+        Assertions.assertEquals(2, faces.size());
+
+        final TriangleMesh.Face first = faces.get(0);
+        Assertions.assertEquals(0, first.getIndex());
+        Assertions.assertArrayEquals(new int[] {0, 1, 2}, first.getVertexIndices());
+        Assertions.assertEquals(vertices.subList(0, 3), first.getVertices());
+        Assertions.assertTrue(first.definesPolygon());
+
+        final TriangleMesh.Face second = mesh.getFace(1);
+        Assertions.assertEquals(1, second.getIndex());
+        Assertions.assertEquals(vertices.get(0), second.getPoint1());
+        Assertions.assertEquals(vertices.get(2), second.getPoint2());
+        Assertions.assertEquals(vertices.get(3), second.getPoint3());
+
+        final Triangle3D triangle = second.getPolygon();
+        Assertions.assertEquals(Arrays.asList(vertices.get(0), vertices.get(2), vertices.get(3)),
+                triangle.getVertices());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mesh.getFace(2));
+
+        final List<Triangle3D> triangles = mesh.triangleStream().collect(Collectors.toList());
+        Assertions.assertEquals(2, triangles.size());
+        Assertions.assertEquals(first.getVertices(), triangles.get(0).getVertices());
+        Assertions.assertEquals(2, mesh.boundaryStream().count());
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QuadricMeshSimplifierTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testSimplify_empty() {
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(
+                SimpleTriangleMesh.builder(TEST_PRECISION).build(), 1, TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(0, result.getVertexCount());
+        Assertions.assertEquals(0, result.getFaceCount());
+    }
+
+    @Test
+    void testSimplify_flatGrid() {
+        // arrange
+        final int n = 10;
+        final SimpleTriangleMesh mesh = createGrid(n);
+
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(mesh, 1e-6, TEST_PRECISION);
+
+        // assert
+        Assertions.assertTrue(result.getFaceCount() < 2 * n);
+
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(result);
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertEquals(1, topo.getComponentCount());
+        Assertions.assertEquals(1, topo.getBoundaryLoopCount());
+
+        // the vertices remain on the plane and the outline is preserved
+        for (final Vector3D vertex : result.vertices()) {
+            Assertions.assertEquals(0, vertex.getZ(), TEST_EPS);
+        }
+
+        final Bounds3D bounds = result.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 0), bounds.getMax(), TEST_EPS);
+
+        Assertions.assertEquals(1.0, computeArea(result), TEST_EPS);
+    }
+
+    @Test
+    void testSimplify_zeroError() {
+        // arrange
+        final TriangleMesh sphere = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(3);
+        final SimpleTriangleMesh cube = SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION),
+                TEST_PRECISION);
+
+        // act
+        final CompactTriangleMesh sphereResult = QuadricMeshSimplifier.simplify(sphere, 0, TEST_PRECISION);
+        final CompactTriangleMesh cubeResult = QuadricMeshSimplifier.simplify(cube, 0, TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(sphere.getFaceCount(), sphereResult.getFaceCount());
+        Assertions.assertEquals(sphere.getVertexCount(), sphereResult.getVertexCount());
+
+        Assertions.assertEquals(12, cubeResult.getFaceCount());
+        Assertions.assertEquals(1.0, cubeResult.toTree().getSize(), TEST_EPS);
+    }
+
+    @Test
+    void testSimplify_sphere() {
+        // arrange
+        final double maxError = 0.05;
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(4);
+
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(mesh, maxError, TEST_PRECISION);
+
+        // assert
+        Assertions.assertTrue(result.getFaceCount() < mesh.getFaceCount() / 2);
+
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(result);
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+        Assertions.assertEquals(1, topo.getComponentCount());
+
+        for (final Vector3D vertex : result.vertices()) {
+            Assertions.assertEquals(1, vertex.norm(), maxError);
+        }
+
+        final double expectedSize = computeVolume(mesh);
+        Assertions.assertEquals(expectedSize, computeVolume(result), 0.05 * expectedSize);
+    }
+
+    @Test
+    void testSimplify_targetFaceCount() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(4);
+
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(mesh, 1, 100, TEST_PRECISION);
+
+        // assert
+        Assertions.assertTrue(result.getFaceCount() <= 100);
+        Assertions.assertTrue(result.getFaceCount() >= 98);
+
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(result);
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+
+        final double expectedSize = computeVolume(mesh);
+        Assertions.assertEquals(expectedSize, computeVolume(result), 0.1 * expectedSize);
+    }
+
+    @Test
+    void testSimplify_closedMeshIsNotCollapsedPastTetrahedron() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(2);
+
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(mesh, 10, TEST_PRECISION);
+
+        // assert
+        Assertions.assertTrue(result.getFaceCount() >= 4);
+
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(result);
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+        Assertions.assertTrue(computeVolume(result) > 0);
+    }
+
+    @Test
+    void testSimplify_nonManifoldVerticesAreNotMoved() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addVertices(new Vector3D[] {
+                    Vector3D.ZERO,
+                    Vector3D.of(1, 0, 0),
+                    Vector3D.of(0.5, 1, 0),
+                    Vector3D.of(0.5, -1, 0),
+                    Vector3D.of(0.5, 0, 1)
+                })
+                .addFaces(new int[][] {
+                    {0, 1, 2},
+                    {1, 0, 3},
+                    {0, 1, 4}
+                })
+                .build();
+
+        // act
+        final CompactTriangleMesh result = QuadricMeshSimplifier.simplify(mesh, 10, TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(3, result.getFaceCount());
+        Assertions.assertEquals(mesh.getVertices(), result.getVertices());
+    }
+
+    @Test
+    void testSimplify_compactInput() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(3);
+        final CompactTriangleMesh compact = CompactTriangleMesh.from(mesh, TEST_PRECISION);
+
+        // act
+        final CompactTriangleMesh expected = QuadricMeshSimplifier.simplify(mesh, 0.05, TEST_PRECISION);
+        final CompactTriangleMesh actual = QuadricMeshSimplifier.simplify(compact, 0.05, TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(expected.getVertices(), actual.getVertices());
+        Assertions.assertEquals(expected.getFaceCount(), actual.getFaceCount());
+    }
+
+    @Test
+    void testSimplify_invalidArgs() {
+        // arrange
+        final TriangleMesh mesh = SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION),
+                TEST_PRECISION);
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            QuadricMeshSimplifier.simplify(mesh, -1, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Maximum error must be finite and greater than or equal to zero; was -1");
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            QuadricMeshSimplifier.simplify(mesh, Double.NaN, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Maximum error must be finite and greater than or equal to zero; was NaN");
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            QuadricMeshSimplifier.simplify(mesh, 1, -1, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Target face count must be greater than or equal to zero; was -1");
+    }
+
+    /** Create a mesh of the unit square in the xy plane, divided into {@code n * n} squares with 2
+     * triangles each.
+     * @param n number of squares along each axis
+     * @return grid mesh
+     */
+    private static SimpleTriangleMesh createGrid(final int n) {
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(TEST_PRECISION);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final Vector3D p0 = Vector3D.of((double) i / n, (double) j / n, 0);
+                final Vector3D p1 = Vector3D.of((double) (i + 1) / n, (double) j / n, 0);
+                final Vector3D p2 = Vector3D.of((double) (i + 1) / n, (double) (j + 1) / n, 0);
+                final Vector3D p3 = Vector3D.of((double) i / n, (double) (j + 1) / n, 0);
+
+                builder.addFaceUsingVertices(p0, p1, p2);
+                builder.addFaceUsingVertices(p0, p2, p3);
+            }
+        }
+        return builder.build();
+    }
+
+    /** Compute the signed area of the given mesh lying in the xy plane.
+     * @param mesh mesh
+     * @return the signed area of the mesh
+     */
+    private static double computeArea(final TriangleMesh mesh) {
+        double area = 0;
+        for (final TriangleMesh.Face face : mesh.faces()) {
+            final Vector3D p1 = face.getPoint1();
+            final Vector3D p2 = face.getPoint2();
+            final Vector3D p3 = face.getPoint3();
+
+            area += 0.5 * p2.subtract(p1).cross(p3.subtract(p1)).getZ();
+        }
+        return area;
+    }
+
+    /** Compute the volume enclosed by the given closed mesh.
+     * @param mesh mesh
+     * @return the volume enclosed by the mesh
+     */
+    private static double computeVolume(final TriangleMesh mesh) {
+        double volume = 0;
+        for (final TriangleMesh.Face face : mesh.faces()) {
+            volume += face.getPoint1().dot(face.getPoint2().cross(face.getPoint3())) / 6;
+        }
+        return volume;
+    }
+}
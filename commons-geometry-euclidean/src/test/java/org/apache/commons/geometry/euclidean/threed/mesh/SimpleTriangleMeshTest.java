@@ -36,6 +36,8 @@ import org.apache.commons.geometry.euclidean.threed.Triangle3D;
 import org.apache.commons.geometry.euclidean.threed.Vector3D;
 import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 import org.apache.commons.numbers.core.Precision;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -638,6 +640,10 @@ class SimpleTriangleMeshTest {
         GeometryTestUtils.assertThrowsWithMessage(() -> {
             builder.addFaces(new int[][] {{0, 1, 2}});
         }, IllegalStateException.class, msg);
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            builder.merge(SimpleTriangleMesh.builder(TEST_PRECISION));
+        }, IllegalStateException.class, msg);
     }
 
     @Test
@@ -673,4 +679,165 @@ class SimpleTriangleMeshTest {
         final TriangleMesh.Face f3 = mesh.getFace(2);
         Assertions.assertArrayEquals(new int[] {0, 1, 2}, f3.getVertexIndices());
     }
+
+    @Test
+    void testBuilder_useVertex_equivalentVerticesAcrossCells() {
+        // arrange
+        final double eps = 1e-3;
+        final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(eps);
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision);
+
+        final double[] offsets = {-0.9 * eps, -0.5 * eps, -0.1 * eps, 0, 0.1 * eps, 0.5 * eps, 0.9 * eps};
+
+        // act/assert
+        for (int i = -5; i <= 5; ++i) {
+            final Vector3D base = Vector3D.of(i * 0.0625, -i * 0.25, i);
+            final int idx = builder.useVertex(base);
+
+            for (final double dx : offsets) {
+                for (final double dy : offsets) {
+                    for (final double dz : offsets) {
+                        Assertions.assertEquals(idx, builder.useVertex(base.add(Vector3D.of(dx, dy, dz))));
+                    }
+                }
+            }
+
+            Assertions.assertNotEquals(idx, builder.useVertex(base.add(Vector3D.of(1.1 * eps, 0, 0))));
+        }
+
+        Assertions.assertEquals(22, builder.getVertexCount());
+    }
+
+    @Test
+    void testBuilder_useVertex_largeMagnitudes() {
+        // arrange
+        // precision context considering adjacent floating point values to be equivalent
+        final Precision.DoubleEquivalence precision = (x, y) -> {
+            final double diff = Math.abs(x - y);
+            return diff <= TEST_EPS || diff <= Math.ulp(Math.max(Math.abs(x), Math.abs(y)));
+        };
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision);
+
+        final double small = 1e-3;
+        final double large = 1e12;
+
+        // act
+        final int smallIdx = builder.useVertex(Vector3D.of(small, small, small));
+        final int largeIdx = builder.useVertex(Vector3D.of(large, 0, -large));
+
+        // assert
+        // adjacent floating point values are considered equivalent, even though they are further apart
+        // than the precision epsilon at this magnitude
+        Assertions.assertEquals(largeIdx,
+                builder.useVertex(Vector3D.of(Math.nextUp(large), 0, Math.nextDown(-large))));
+        Assertions.assertEquals(largeIdx,
+                builder.useVertex(Vector3D.of(Math.nextDown(large), 0, Math.nextUp(-large))));
+        Assertions.assertNotEquals(largeIdx, builder.useVertex(Vector3D.of(large + 1, 0, -large)));
+
+        Assertions.assertEquals(smallIdx, builder.useVertex(Vector3D.of(small, small + (0.5 * TEST_EPS), small)));
+        Assertions.assertNotEquals(smallIdx, builder.useVertex(Vector3D.of(small, small + (2 * TEST_EPS), small)));
+
+        Assertions.assertEquals(4, builder.getVertexCount());
+    }
+
+    @Test
+    void testBuilder_useVertex_matchesLinearSearch() {
+        // arrange
+        final double eps = 1e-2;
+        final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(eps);
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision);
+
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 2L);
+        final List<Vector3D> expectedVertices = new ArrayList<>();
+
+        // act/assert
+        for (int i = 0; i < 5000; ++i) {
+            final Vector3D vertex = Vector3D.of(
+                    Math.round(rand.nextDouble() * 10) * 0.1 + ((rand.nextDouble() - 0.5) * 3 * eps),
+                    Math.round(rand.nextDouble() * 10) * 0.1 + ((rand.nextDouble() - 0.5) * 3 * eps),
+                    (rand.nextDouble() - 0.5) * 3 * eps);
+
+            int expectedIdx = -1;
+            for (int j = 0; j < expectedVertices.size() && expectedIdx < 0; ++j) {
+                if (vertex.eq(expectedVertices.get(j), precision)) {
+                    expectedIdx = j;
+                }
+            }
+            if (expectedIdx < 0) {
+                expectedIdx = expectedVertices.size();
+                expectedVertices.add(vertex);
+            }
+
+            Assertions.assertEquals(expectedIdx, builder.useVertex(vertex));
+        }
+
+        Assertions.assertEquals(expectedVertices.size(), builder.getVertexCount());
+    }
+
+    @Test
+    void testBuilder_useVertex_afterAddVertex() {
+        // arrange
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(TEST_PRECISION);
+        builder.addVertex(Vector3D.ZERO);
+        builder.addVertex(Vector3D.ZERO);
+        builder.addVertex(Vector3D.of(1, 0, 0));
+
+        // act/assert
+        Assertions.assertEquals(0, builder.useVertex(Vector3D.of(0, 0, 1e-11)));
+        Assertions.assertEquals(2, builder.useVertex(Vector3D.of(1, 0, 0)));
+
+        Assertions.assertEquals(3, builder.addVertex(Vector3D.of(0, 1, 0)));
+        Assertions.assertEquals(3, builder.useVertex(Vector3D.of(0, 1, 0)));
+        Assertions.assertEquals(4, builder.getVertexCount());
+    }
+
+    @Test
+    void testBuilder_merge() {
+        // arrange
+        final Vector3D p1 = Vector3D.ZERO;
+        final Vector3D p2 = Vector3D.of(1, 0, 0);
+        final Vector3D p3 = Vector3D.of(0, 1, 0);
+        final Vector3D p4 = Vector3D.of(0, 0, 1);
+
+        final SimpleTriangleMesh.Builder a = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addFaceUsingVertices(p1, p3, p2)
+                .addFaceUsingVertices(p1, p2, p4);
+
+        final SimpleTriangleMesh.Builder b = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addFaceUsingVertices(p2, p3, p4)
+                .addFaceUsingVertices(Vector3D.of(1e-11, 0, 0), p4, p3);
+        b.addVertex(Vector3D.of(2, 2, 2));
+
+        // act
+        final SimpleTriangleMesh.Builder result = a.merge(b);
+
+        // assert
+        Assertions.assertSame(a, result);
+        Assertions.assertEquals(2, b.getFaceCount());
+        Assertions.assertEquals(5, b.getVertexCount());
+
+        final SimpleTriangleMesh mesh = a.build();
+
+        Assertions.assertEquals(5, mesh.getVertexCount());
+        Assertions.assertEquals(4, mesh.getFaceCount());
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(2, 2, 2), mesh.getVertices().get(4), TEST_EPS);
+
+        Assertions.assertArrayEquals(new int[] {0, 1, 2}, mesh.getFace(0).getVertexIndices());
+        Assertions.assertArrayEquals(new int[] {0, 2, 3}, mesh.getFace(1).getVertexIndices());
+        Assertions.assertArrayEquals(new int[] {2, 1, 3}, mesh.getFace(2).getVertexIndices());
+        Assertions.assertArrayEquals(new int[] {0, 3, 1}, mesh.getFace(3).getVertexIndices());
+
+        Assertions.assertEquals(1.0 / 6.0, mesh.toTree().getSize(), TEST_EPS);
+    }
+
+    @Test
+    void testBuilder_merge_self() {
+        // arrange
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(TEST_PRECISION);
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            builder.merge(builder);
+        }, IllegalArgumentException.class, "Cannot merge builder with itself");
+    }
 }
@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TriangleMeshTopologyTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testFrom_empty() {
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(
+                SimpleTriangleMesh.builder(TEST_PRECISION).build());
+
+        // assert
+        Assertions.assertEquals(0, topo.getVertexCount());
+        Assertions.assertEquals(0, topo.getFaceCount());
+        Assertions.assertEquals(0, topo.getHalfEdgeCount());
+        Assertions.assertEquals(0, topo.getComponentCount());
+        Assertions.assertEquals(0, topo.getBoundaryLoopCount());
+
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+    }
+
+    @Test
+    void testFrom_closedMesh() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION),
+                TEST_PRECISION);
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertEquals(8, topo.getVertexCount());
+        Assertions.assertEquals(12, topo.getFaceCount());
+        Assertions.assertEquals(36, topo.getHalfEdgeCount());
+
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+        Assertions.assertEquals(0, topo.getBoundaryHalfEdgeCount());
+        Assertions.assertEquals(0, topo.getNonManifoldHalfEdgeCount());
+        Assertions.assertEquals(0, topo.getNonManifoldVertexCount());
+        Assertions.assertEquals(0, topo.getBoundaryLoopCount());
+        Assertions.assertEquals(1, topo.getComponentCount());
+
+        checkHalfEdges(topo);
+
+        for (int v = 0; v < topo.getVertexCount(); ++v) {
+            Assertions.assertTrue(topo.isManifoldVertex(v));
+            Assertions.assertFalse(topo.isBoundaryVertex(v));
+
+            // each cube vertex is connected to its 3 cube edge neighbors and to 1 to 3 vertices
+            // through face diagonals
+            final int neighborCount = topo.getVertexNeighbors(v).length;
+            Assertions.assertTrue(neighborCount >= 4 && neighborCount <= 6);
+            Assertions.assertEquals(neighborCount, topo.getVertexDegree(v));
+        }
+    }
+
+    @Test
+    void testFrom_openMesh() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addVertices(new Vector3D[] {
+                    Vector3D.ZERO,
+                    Vector3D.of(1, 0, 0),
+                    Vector3D.of(1, 1, 0),
+                    Vector3D.of(0, 1, 0)
+                })
+                .addFaces(new int[][] {
+                    {0, 1, 2},
+                    {0, 2, 3}
+                })
+                .build();
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertFalse(topo.isClosed());
+        Assertions.assertEquals(4, topo.getBoundaryHalfEdgeCount());
+        Assertions.assertEquals(1, topo.getComponentCount());
+
+        checkHalfEdges(topo);
+
+        Assertions.assertEquals(TriangleMeshTopology.BOUNDARY, topo.getTwin(0));
+        Assertions.assertEquals(TriangleMeshTopology.BOUNDARY, topo.getTwin(1));
+        Assertions.assertEquals(3, topo.getTwin(2));
+        Assertions.assertEquals(2, topo.getTwin(3));
+
+        Assertions.assertEquals(-1, topo.getAdjacentFace(0, 0));
+        Assertions.assertEquals(1, topo.getAdjacentFace(0, 2));
+        Assertions.assertEquals(0, topo.getAdjacentFace(1, 0));
+
+        Assertions.assertArrayEquals(new int[] {1, 2, 3}, topo.getVertexNeighbors(0));
+        Assertions.assertArrayEquals(new int[] {0, 2}, topo.getVertexNeighbors(1));
+        Assertions.assertArrayEquals(new int[] {0, 1}, topo.getVertexFaces(0));
+        Assertions.assertArrayEquals(new int[] {0, 3}, topo.getVertexHalfEdges(0));
+        Assertions.assertArrayEquals(new int[] {1}, topo.getVertexFaces(3));
+
+        Assertions.assertTrue(topo.isBoundaryVertex(0));
+        Assertions.assertTrue(topo.isManifoldVertex(0));
+
+        Assertions.assertEquals(1, topo.getBoundaryLoopCount());
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 3}, topo.getBoundaryLoop(0));
+    }
+
+    @Test
+    void testFrom_multipleComponents() {
+        // arrange
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(TEST_PRECISION);
+        builder.addFaceUsingVertices(Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0));
+        builder.addFaceUsingVertices(Vector3D.of(0, 0, 5), Vector3D.of(1, 0, 5), Vector3D.of(0, 1, 5));
+        builder.addFaceUsingVertices(Vector3D.of(1, 0, 0), Vector3D.of(1, 1, 0), Vector3D.of(0, 1, 0));
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(builder.build());
+
+        // assert
+        Assertions.assertEquals(2, topo.getComponentCount());
+        Assertions.assertEquals(0, topo.getFaceComponent(0));
+        Assertions.assertEquals(1, topo.getFaceComponent(1));
+        Assertions.assertEquals(0, topo.getFaceComponent(2));
+
+        Assertions.assertEquals(2, topo.getBoundaryLoopCount());
+        Assertions.assertArrayEquals(new int[] {0, 1, 6, 2}, topo.getBoundaryLoop(0));
+        Assertions.assertArrayEquals(new int[] {3, 4, 5}, topo.getBoundaryLoop(1));
+    }
+
+    @Test
+    void testFrom_nonManifoldVertex() {
+        // arrange
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(TEST_PRECISION);
+        builder.addFaceUsingVertices(Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0));
+        builder.addFaceUsingVertices(Vector3D.ZERO, Vector3D.of(-1, 0, 0), Vector3D.of(0, -1, 0));
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(builder.build());
+
+        // assert
+        Assertions.assertFalse(topo.isManifold());
+        Assertions.assertEquals(0, topo.getNonManifoldHalfEdgeCount());
+        Assertions.assertEquals(1, topo.getNonManifoldVertexCount());
+        Assertions.assertFalse(topo.isManifoldVertex(0));
+        Assertions.assertTrue(topo.isManifoldVertex(1));
+
+        Assertions.assertEquals(2, topo.getComponentCount());
+        Assertions.assertEquals(2, topo.getBoundaryLoopCount());
+        Assertions.assertArrayEquals(new int[] {0, 1, 2}, topo.getBoundaryLoop(0));
+        Assertions.assertArrayEquals(new int[] {0, 3, 4}, topo.getBoundaryLoop(1));
+    }
+
+    @Test
+    void testFrom_nonManifoldEdge() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addVertices(new Vector3D[] {
+                    Vector3D.ZERO,
+                    Vector3D.of(1, 0, 0),
+                    Vector3D.of(0, 1, 0),
+                    Vector3D.of(0, -1, 0),
+                    Vector3D.of(0, 0, 1)
+                })
+                .addFaces(new int[][] {
+                    {0, 1, 2},
+                    {1, 0, 3},
+                    {0, 1, 4}
+                })
+                .build();
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertFalse(topo.isManifold());
+        Assertions.assertFalse(topo.isClosed());
+        Assertions.assertEquals(3, topo.getNonManifoldHalfEdgeCount());
+        Assertions.assertEquals(2, topo.getNonManifoldVertexCount());
+        Assertions.assertEquals(6, topo.getBoundaryHalfEdgeCount());
+        Assertions.assertEquals(1, topo.getComponentCount());
+
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(0));
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(3));
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(6));
+        Assertions.assertEquals(-1, topo.getAdjacentFace(0, 0));
+
+        Assertions.assertFalse(topo.isManifoldVertex(0));
+        Assertions.assertFalse(topo.isManifoldVertex(1));
+        Assertions.assertTrue(topo.isManifoldVertex(2));
+    }
+
+    @Test
+    void testFrom_inconsistentOrientation() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addVertices(new Vector3D[] {
+                    Vector3D.ZERO,
+                    Vector3D.of(1, 0, 0),
+                    Vector3D.of(0, 1, 0),
+                    Vector3D.of(0, -1, 0)
+                })
+                .addFaces(new int[][] {
+                    {0, 1, 2},
+                    {0, 1, 3}
+                })
+                .build();
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertFalse(topo.isManifold());
+        Assertions.assertEquals(2, topo.getNonManifoldHalfEdgeCount());
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(0));
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(3));
+        Assertions.assertEquals(1, topo.getComponentCount());
+    }
+
+    @Test
+    void testFrom_degenerateFace() {
+        // arrange
+        final SimpleTriangleMesh mesh = SimpleTriangleMesh.builder(TEST_PRECISION)
+                .addVertices(new Vector3D[] {
+                    Vector3D.ZERO,
+                    Vector3D.of(1, 0, 0)
+                })
+                .addFace(0, 0, 1)
+                .build();
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertFalse(topo.isManifold());
+        Assertions.assertFalse(topo.isClosed());
+        Assertions.assertEquals(TriangleMeshTopology.NON_MANIFOLD, topo.getTwin(0));
+        Assertions.assertFalse(topo.isManifoldVertex(0));
+        Assertions.assertArrayEquals(new int[] {1}, topo.getVertexNeighbors(0));
+    }
+
+    @Test
+    void testFrom_sphere() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(4);
+
+        // act
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(mesh);
+
+        // assert
+        Assertions.assertTrue(topo.isManifold());
+        Assertions.assertTrue(topo.isClosed());
+        Assertions.assertEquals(1, topo.getComponentCount());
+
+        // Euler characteristic of a sphere
+        final int edgeCount = topo.getHalfEdgeCount() / 2;
+        Assertions.assertEquals(2, topo.getVertexCount() - edgeCount + topo.getFaceCount());
+
+        checkHalfEdges(topo);
+    }
+
+    @Test
+    void testFrom_compactMesh() {
+        // arrange
+        final TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(2);
+        final CompactTriangleMesh compact = CompactTriangleMesh.from(mesh, TEST_PRECISION);
+
+        // act
+        final TriangleMeshTopology expected = TriangleMeshTopology.from(mesh);
+        final TriangleMeshTopology actual = TriangleMeshTopology.from(compact);
+
+        // assert
+        Assertions.assertEquals(expected.getHalfEdgeCount(), actual.getHalfEdgeCount());
+        for (int h = 0; h < expected.getHalfEdgeCount(); ++h) {
+            Assertions.assertEquals(expected.getStartVertex(h), actual.getStartVertex(h));
+            Assertions.assertEquals(expected.getTwin(h), actual.getTwin(h));
+        }
+    }
+
+    @Test
+    void testInvalidIndices() {
+        // arrange
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(SimpleTriangleMesh.from(
+                Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION));
+
+        // act/assert
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getHalfEdge(-1, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getHalfEdge(12, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getHalfEdge(0, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getTwin(36));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getNext(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getVertexNeighbors(8));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getFaceComponent(12));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> topo.getBoundaryLoop(0));
+    }
+
+    @Test
+    void testToString() {
+        // arrange
+        final TriangleMeshTopology topo = TriangleMeshTopology.from(SimpleTriangleMesh.from(
+                Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION));
+
+        // act
+        final String str = topo.toString();
+
+        // assert
+        GeometryTestUtils.assertContains("TriangleMeshTopology[vertexCount= 8, faceCount= 12, " +
+                "boundaryHalfEdgeCount= 0, nonManifoldHalfEdgeCount= 0, componentCount= 1]", str);
+    }
+
+    /** Check the consistency of the half-edge relationships of the given topology.
+     * @param topo topology to check
+     */
+    private static void checkHalfEdges(final TriangleMeshTopology topo) {
+        for (int h = 0; h < topo.getHalfEdgeCount(); ++h) {
+            final int face = topo.getFace(h);
+            final int next = topo.getNext(h);
+
+            Assertions.assertEquals(face, topo.getFace(next));
+            Assertions.assertEquals(h, topo.getPrevious(next));
+            Assertions.assertEquals(h, topo.getNext(topo.getNext(next)));
+            Assertions.assertEquals(topo.getEndVertex(h), topo.getStartVertex(next));
+
+            final int twin = topo.getTwin(h);
+            if (twin > -1) {
+                Assertions.assertEquals(h, topo.getTwin(twin));
+                Assertions.assertEquals(topo.getStartVertex(h), topo.getEndVertex(twin));
+                Assertions.assertEquals(topo.getEndVertex(h), topo.getStartVertex(twin));
+                Assertions.assertEquals(topo.getFace(twin), topo.getAdjacentFace(face, h % 3));
+            }
+        }
+    }
+}
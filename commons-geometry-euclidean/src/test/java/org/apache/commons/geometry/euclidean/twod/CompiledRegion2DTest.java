@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompiledRegion2DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testCompile_emptyAndFull() {
+        // act
+        final CompiledRegion2D empty = RegionBSPTree2D.empty().compile();
+        final CompiledRegion2D full = RegionBSPTree2D.full().compile();
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertEquals(0, empty.getSize());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, empty.classify(Vector2D.ZERO));
+        Assertions.assertNull(empty.project(Vector2D.ZERO));
+
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertTrue(full.isInfinite());
+        Assertions.assertEquals(RegionLocation.INSIDE, full.classify(Vector2D.ZERO));
+        Assertions.assertNull(full.linecastFirst(Lines.fromPoints(Vector2D.ZERO, Vector2D.Unit.PLUS_X,
+                TEST_PRECISION)));
+    }
+
+    @Test
+    void testCompile_properties() {
+        // arrange
+        final RegionBSPTree2D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion2D compiled = tree.compile();
+
+        // assert
+        Assertions.assertEquals(tree.getSize(), compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(tree.getBoundarySize(), compiled.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(tree.getCentroid(), compiled.getCentroid(), TEST_EPS);
+
+        Assertions.assertEquals(tree.count(), compiled.getNodeStore().getNodeCount());
+    }
+
+    @Test
+    void testClassify_matchesTree() {
+        // arrange
+        final RegionBSPTree2D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion2D compiled = tree.compile();
+
+        // assert
+        for (final Vector2D pt : createGrid()) {
+            Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+        }
+
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(Vector2D.NaN));
+        Assertions.assertEquals(RegionLocation.BOUNDARY, compiled.classify(Vector2D.of(0, 0.25)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, compiled.classify(Vector2D.of(-0.5, 0)));
+    }
+
+    @Test
+    void testClassify_batch() {
+        // arrange
+        final RegionBSPTree2D tree = createNonConvexRegion();
+        final CompiledRegion2D compiled = tree.compile();
+
+        final List<Vector2D> pts = createGrid();
+        pts.add(Vector2D.NaN);
+
+        final double[] xy = new double[1 + (2 * pts.size())];
+        int idx = 1;
+        for (final Vector2D pt : pts) {
+            xy[idx++] = pt.getX();
+            xy[idx++] = pt.getY();
+        }
+
+        final RegionLocation[] out = new RegionLocation[pts.size()];
+
+        // act
+        compiled.classify(xy, 1, pts.size(), out);
+
+        // assert
+        for (int i = 0; i < pts.size(); ++i) {
+            final Vector2D pt = pts.get(i);
+            Assertions.assertEquals(tree.classify(pt), out[i], () -> "Point " + pt);
+        }
+    }
+
+    @Test
+    void testClassify_batch_empty() {
+        // arrange
+        final CompiledRegion2D compiled = createNonConvexRegion().compile();
+        final RegionLocation[] out = new RegionLocation[0];
+
+        // act
+        compiled.classify(new double[0], 0, 0, out);
+
+        // assert
+        Assertions.assertEquals(0, out.length);
+    }
+
+    @Test
+    void testProject_matchesTree() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.from(
+                Circle.from(Vector2D.ZERO, 1, TEST_PRECISION).toTree(16).getBoundaries());
+
+        // act
+        final CompiledRegion2D compiled = tree.compile();
+
+        // assert
+        for (final Vector2D pt : createGrid()) {
+            EuclideanTestUtils.assertCoordinatesEqual(tree.project(pt), compiled.project(pt), TEST_EPS);
+        }
+    }
+
+    @Test
+    void testProject_nonConvex() {
+        // arrange
+        final CompiledRegion2D compiled = createNonConvexRegion().compile();
+
+        // act/assert
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.ZERO, compiled.project(Vector2D.of(-0.25, 0)),
+                TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(-0.5, 0.5), compiled.project(Vector2D.of(-0.5, 0.25)),
+                TEST_EPS);
+    }
+
+    @Test
+    void testLinecast() {
+        // arrange
+        final CompiledRegion2D compiled = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1),
+                TEST_PRECISION).toTree().compile();
+
+        // act/assert
+        LinecastChecker2D.with(compiled)
+            .expectNothing()
+            .whenGiven(Lines.fromPoints(Vector2D.of(0, 5), Vector2D.of(1, 6), TEST_PRECISION));
+
+        LinecastChecker2D.with(compiled)
+            .expect(Vector2D.ZERO, Vector2D.Unit.MINUS_X)
+            .and(Vector2D.ZERO, Vector2D.Unit.MINUS_Y)
+            .and(Vector2D.of(1, 1), Vector2D.Unit.PLUS_Y)
+            .and(Vector2D.of(1, 1), Vector2D.Unit.PLUS_X)
+            .whenGiven(Lines.fromPoints(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION));
+
+        LinecastChecker2D.with(compiled)
+            .expect(Vector2D.of(1, 1), Vector2D.Unit.PLUS_Y)
+            .and(Vector2D.of(1, 1), Vector2D.Unit.PLUS_X)
+            .whenGiven(Lines.segmentFromPoints(Vector2D.of(0.5, 0.5), Vector2D.of(1, 1), TEST_PRECISION));
+    }
+
+    @Test
+    void testLinecast_matchesTree() {
+        // arrange
+        final RegionBSPTree2D tree = createNonConvexRegion();
+
+        // act
+        final CompiledRegion2D compiled = tree.compile();
+
+        // assert
+        for (final Vector2D pt : createGrid()) {
+            final Line line = Lines.fromPointAndDirection(pt, Vector2D.of(1, 0.3), TEST_PRECISION);
+
+            Assertions.assertEquals(tree.linecast(line), compiled.linecast(line), () -> "Line " + line);
+            Assertions.assertEquals(tree.linecastFirst(line), compiled.linecastFirst(line), () -> "Line " + line);
+        }
+    }
+
+    @Test
+    void testSharedSubtrees_matchesTree() {
+        // arrange
+        final int columns = 5;
+        final Line lower = Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, TEST_PRECISION);
+        final Line upper = Lines.fromPointAndDirection(Vector2D.of(0, 1), Vector2D.Unit.MINUS_X, TEST_PRECISION);
+
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        RegionBSPTree2D.RegionNode2D node = tree.getRoot();
+        node.insertCut(Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.MINUS_Y, TEST_PRECISION));
+        node = node.getMinus();
+
+        for (int i = 1; i <= columns; ++i) {
+            node.insertCut(Lines.fromPointAndDirection(Vector2D.of(i, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION));
+            node.getMinus().insertCut(lower);
+            node.getMinus().getMinus().insertCut(upper);
+            node = node.getPlus();
+        }
+
+        // act
+        final CompiledRegion2D compiled = tree.compile(true);
+
+        // assert
+        Assertions.assertEquals((6 * columns) + 3, tree.count());
+        Assertions.assertEquals(columns + 5, compiled.getNodeStore().getNodeCount());
+
+        for (double x = -0.5; x <= columns + 0.5; x += 0.25) {
+            for (double y = -0.5; y <= 1.5; y += 0.25) {
+                final Vector2D pt = Vector2D.of(x, y);
+                Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+                EuclideanTestUtils.assertCoordinatesEqual(tree.project(pt), compiled.project(pt), TEST_EPS);
+
+                final Line line = Lines.fromPointAndDirection(pt, Vector2D.of(1, 0.3), TEST_PRECISION);
+                Assertions.assertEquals(tree.linecast(line), compiled.linecast(line), () -> "Line " + line);
+                Assertions.assertEquals(tree.linecastFirst(line), compiled.linecastFirst(line),
+                        () -> "Line " + line);
+            }
+        }
+    }
+
+    @Test
+    void testCompile_unaffectedByTreeModification() {
+        // arrange
+        final RegionBSPTree2D tree = createNonConvexRegion();
+        final double size = tree.getSize();
+
+        final CompiledRegion2D compiled = tree.compile();
+
+        // act
+        tree.complement();
+
+        // assert
+        Assertions.assertEquals(size, compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(RegionLocation.INSIDE, compiled.classify(Vector2D.of(0.5, 0)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, tree.classify(Vector2D.of(0.5, 0)));
+    }
+
+    /** Create a non-convex test region consisting of a circle with a square removed from it.
+     * @return non-convex test region
+     */
+    private static RegionBSPTree2D createNonConvexRegion() {
+        final RegionBSPTree2D tree = Circle.from(Vector2D.ZERO, 1, TEST_PRECISION).toTree(16);
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(-1, -0.5), Vector2D.of(0, 0.5), TEST_PRECISION)
+                .toTree());
+
+        return tree;
+    }
+
+    /** Create a grid of test points, some of which lie directly on the boundaries of the
+     * test region.
+     * @return list of test points
+     */
+    private static List<Vector2D> createGrid() {
+        final List<Vector2D> pts = new ArrayList<>();
+        for (double x = -1.5; x <= 1.5; x += 0.125) {
+            for (double y = -1.5; y <= 1.5; y += 0.125) {
+                pts.add(Vector2D.of(x, y));
+            }
+        }
+        return pts;
+    }
+}
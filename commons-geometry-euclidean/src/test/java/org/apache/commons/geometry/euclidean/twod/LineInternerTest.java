@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LineInternerTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testIntern_line() {
+        // arrange
+        final LineInterner interner = new LineInterner(TEST_PRECISION);
+
+        final Line a = Lines.fromPoints(Vector2D.of(0, 1), Vector2D.of(1, 1), TEST_PRECISION);
+        final Line b = Lines.fromPoints(Vector2D.of(5, 1 + 1e-12), Vector2D.of(7, 1), TEST_PRECISION);
+        final Line reversed = a.reverse();
+        final Line other = Lines.fromPoints(Vector2D.of(0, 1.1), Vector2D.of(1, 1.1), TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertSame(a, interner.intern(a));
+        Assertions.assertSame(a, interner.intern(b));
+        Assertions.assertSame(reversed, interner.intern(reversed));
+        Assertions.assertSame(other, interner.intern(other));
+
+        Assertions.assertEquals(3, interner.size());
+    }
+
+    @Test
+    void testIntern_subsets() {
+        // arrange
+        final LineInterner interner = new LineInterner(TEST_PRECISION);
+
+        final Line line = Lines.fromPoints(Vector2D.of(0, 1), Vector2D.of(1, 1), TEST_PRECISION);
+        final Line equivalent = Lines.fromPoints(Vector2D.of(-3, 1 + 1e-12), Vector2D.of(2, 1), TEST_PRECISION);
+        interner.intern(line);
+
+        final Segment segment = Lines.segmentFromPoints(equivalent, Vector2D.of(1, 1), Vector2D.of(3, 1));
+        final Ray ray = Lines.rayFromPoint(equivalent, Vector2D.of(1, 1));
+        final ReverseRay reverseRay = Lines.reverseRayFromPoint(equivalent, Vector2D.of(1, 1));
+        final LineConvexSubset span = Lines.span(equivalent);
+
+        // act
+        final LineConvexSubset segmentResult = interner.intern(segment);
+        final LineConvexSubset rayResult = interner.intern(ray);
+        final LineConvexSubset reverseRayResult = interner.intern(reverseRay);
+        final LineConvexSubset spanResult = interner.intern(span);
+
+        // assert
+        Assertions.assertSame(line, segmentResult.getLine());
+        Assertions.assertTrue(segmentResult instanceof Segment);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1, 1), segmentResult.getStartPoint(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(3, 1), segmentResult.getEndPoint(), TEST_EPS);
+
+        Assertions.assertSame(line, rayResult.getLine());
+        Assertions.assertTrue(rayResult instanceof Ray);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1, 1), rayResult.getStartPoint(), TEST_EPS);
+
+        Assertions.assertSame(line, reverseRayResult.getLine());
+        Assertions.assertTrue(reverseRayResult instanceof ReverseRay);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1, 1), reverseRayResult.getEndPoint(), TEST_EPS);
+
+        Assertions.assertSame(line, spanResult.getLine());
+        Assertions.assertTrue(spanResult.isInfinite());
+
+        Assertions.assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testIntern_canonicalSubset() {
+        // arrange
+        final LineInterner interner = new LineInterner(TEST_PRECISION);
+        final Segment segment = Lines.segmentFromPoints(Vector2D.ZERO, Vector2D.of(1, 0), TEST_PRECISION);
+
+        // act/assert
+        Assertions.assertSame(segment, interner.intern(segment));
+        Assertions.assertSame(segment, interner.intern(segment));
+    }
+}
@@ -85,6 +85,32 @@ class LineTest {
                 IllegalArgumentException.class, "Line direction cannot be zero");
     }
 
+    @Test
+    void testFromDirectionAndOriginOffset() {
+        // arrange
+        final Line line = Lines.fromPointAndDirection(Vector2D.of(-2, 0), Vector2D.of(1, 1), TEST_PRECISION);
+
+        // act
+        final Line result = Lines.fromDirectionAndOriginOffset(line.getDirection(), line.getOriginOffset(),
+                TEST_PRECISION);
+
+        // assert
+        Assertions.assertEquals(line, result);
+        checkLine(Lines.fromDirectionAndOriginOffset(Vector2D.of(2, 0), -1, TEST_PRECISION),
+                Vector2D.of(0, -1), Vector2D.Unit.PLUS_X);
+    }
+
+    @Test
+    void testFromDirectionAndOriginOffset_illegalArguments() {
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(
+                () -> Lines.fromDirectionAndOriginOffset(Vector2D.ZERO, 1, TEST_PRECISION),
+                IllegalArgumentException.class, "Line direction cannot be zero");
+        GeometryTestUtils.assertThrowsWithMessage(
+                () -> Lines.fromDirectionAndOriginOffset(Vector2D.Unit.PLUS_X, Double.NaN, TEST_PRECISION),
+                IllegalArgumentException.class, "Invalid line origin offset: NaN");
+    }
+
     @Test
     void testFromPointAndAngle() {
         // act/assert
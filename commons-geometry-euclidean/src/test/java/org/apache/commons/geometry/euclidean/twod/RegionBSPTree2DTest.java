@@ -20,7 +20,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
@@ -28,11 +31,17 @@ import org.apache.commons.geometry.core.Region;
 import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.SplitLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionLocator;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
+import org.apache.commons.geometry.core.partitioning.bsp.RegionOptimizationResult;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
 import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.PartitionedRegionBuilder2D;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionLocator2D;
 import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.TransformedRegion2D;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
 import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
 import org.apache.commons.numbers.angle.Angle;
 import org.apache.commons.numbers.core.Precision;
@@ -175,6 +184,39 @@ class RegionBSPTree2DTest {
         }
     }
 
+    @Test
+    void testPartitionedRegionBuilder_parallel() {
+        // arrange
+        final RegionBSPTree2D src = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        src.union(Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree());
+        src.difference(Circle.from(Vector2D.of(-0.5, -0.5), 0.3, TEST_PRECISION).toTree(10));
+
+        final List<LineConvexSubset> boundaries = src.getBoundaries();
+        final Bounds2D bounds = Bounds2D.from(Vector2D.of(-2, -2), Vector2D.of(2, 2));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int level = 0; level <= 4; ++level) {
+                // act
+                final RegionBSPTree2D sequential = RegionBSPTree2D.partitionedRegionBuilder()
+                        .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                        .insertBoundaries(boundaries)
+                        .build();
+
+                final RegionBSPTree2D parallel = RegionBSPTree2D.partitionedRegionBuilder()
+                        .setParallelism(pool)
+                        .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                        .insertBoundaries(boundaries)
+                        .build();
+
+                // assert
+                checkBalancedRegion(sequential, parallel);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
      * constructed with the given boundary source.
      * @param bounds
@@ -260,6 +302,323 @@ class RegionBSPTree2DTest {
         }, IllegalStateException.class, msg);
     }
 
+    @Test
+    void testBalancedRegionBuilder_empty() {
+        // act
+        final RegionBSPTree2D tree = RegionBSPTree2D.balancedRegionBuilder().build();
+
+        // assert
+        Assertions.assertTrue(tree.isEmpty());
+        Assertions.assertEquals(1, tree.count());
+    }
+
+    @Test
+    void testBalancedRegionBuilder_regularPolygon() {
+        // arrange
+        final int count = 256;
+        final List<LineConvexSubset> boundaries = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            boundaries.add(Lines.segmentFromPoints(
+                    PolarCoordinates.toCartesian(2, (i * Angle.TWO_PI) / count),
+                    PolarCoordinates.toCartesian(2, ((i + 1) * Angle.TWO_PI) / count),
+                    TEST_PRECISION));
+        }
+
+        final RegionBSPTree2D standard = RegionBSPTree2D.from(boundaries);
+
+        // act
+        final RegionBSPTree2D balanced = RegionBSPTree2D.balancedRegionBuilder()
+                .insertBoundaries(boundaries)
+                .build();
+
+        // assert
+        Assertions.assertEquals(count, standard.height());
+        Assertions.assertTrue(balanced.height() < 32, () -> "Unexpected tree height: " + balanced.height());
+
+        checkBalancedRegion(standard, balanced);
+    }
+
+    @Test
+    void testBalancedRegionBuilder_nonConvex() {
+        // arrange
+        final RegionBSPTree2D src = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        src.union(Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree());
+
+        final RegionBSPTree2D standard = RegionBSPTree2D.from(src.getBoundaries());
+
+        // act/assert
+        for (int max = 1; max <= 4; ++max) {
+            checkBalancedRegion(standard, RegionBSPTree2D.balancedRegionBuilder()
+                    .setMaxCellBoundaries(max)
+                    .setSplitterSampleSize(max)
+                    .setSplitWeight(max - 1)
+                    .insertBoundaries(src)
+                    .build());
+        }
+    }
+
+    @Test
+    void testOptimize() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 10; ++i) {
+            final Vector2D min = Vector2D.of(0.25 * i, 0.1 * i);
+            tree.union(Parallelogram.axisAligned(min, min.add(Vector2D.of(1, 1)), TEST_PRECISION).toTree());
+            tree.difference(Circle.from(min, 0.2, TEST_PRECISION).toTree(6));
+        }
+
+        final RegionBSPTree2D original = tree.copy();
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertTrue(result.isApplied());
+        Assertions.assertEquals(original.count(), result.getNodeCountBefore());
+        Assertions.assertEquals(original.height(), result.getHeightBefore());
+        Assertions.assertEquals(tree.count(), result.getNodeCountAfter());
+        Assertions.assertEquals(tree.height(), result.getHeightAfter());
+        Assertions.assertTrue(result.getNodeCountAfter() < result.getNodeCountBefore() ||
+                result.getHeightAfter() < result.getHeightBefore());
+
+        checkBalancedRegion(original, tree);
+    }
+
+    @Test
+    void testOptimize_noImprovement() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        final String str = tree.treeString(Integer.MAX_VALUE);
+
+        // act
+        final RegionOptimizationResult result = tree.optimize();
+
+        // assert
+        Assertions.assertFalse(result.isApplied());
+        Assertions.assertEquals(result.getNodeCountBefore(), result.getNodeCountAfter());
+        Assertions.assertEquals(result.getHeightBefore(), result.getHeightAfter());
+        Assertions.assertEquals(str, tree.treeString(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testUnionAll() {
+        // arrange
+        final List<RegionBSPTree2D> trees = createSquareGrid(7, 0.8);
+
+        final RegionBSPTree2D expected = RegionBSPTree2D.empty();
+        trees.forEach(expected::union);
+
+        final List<String> treeStrings = trees.stream()
+                .map(t -> t.treeString(Integer.MAX_VALUE))
+                .collect(Collectors.toList());
+
+        // act
+        final RegionBSPTree2D result = RegionBSPTree2D.unionAll(trees);
+
+        // assert
+        checkBalancedRegion(expected, result);
+        Assertions.assertTrue(result.height() < expected.height());
+
+        for (int i = 0; i < trees.size(); ++i) {
+            Assertions.assertEquals(treeStrings.get(i), trees.get(i).treeString(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void testUnionAll_parallel() {
+        // arrange
+        final List<RegionBSPTree2D> trees = createSquareGrid(6, 1.2);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // act
+            final RegionBSPTree2D sequential = RegionBSPTree2D.unionAll(trees);
+            final RegionBSPTree2D parallel = RegionBSPTree2D.unionAll(trees, pool);
+
+            // assert
+            Assertions.assertEquals(sequential.treeString(Integer.MAX_VALUE), parallel.treeString(Integer.MAX_VALUE));
+            Assertions.assertEquals(6.2 * 6.2, parallel.getSize(), TEST_EPS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testUnionAll_specialCases() {
+        // arrange
+        final RegionBSPTree2D square = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+
+        // act/assert
+        Assertions.assertTrue(RegionBSPTree2D.unionAll(Collections.emptyList()).isEmpty());
+        Assertions.assertTrue(RegionBSPTree2D.unionAll(Arrays.asList(
+                RegionBSPTree2D.empty(), RegionBSPTree2D.empty())).isEmpty());
+        Assertions.assertTrue(RegionBSPTree2D.unionAll(Arrays.asList(square, RegionBSPTree2D.full())).isFull());
+
+        final RegionBSPTree2D single = RegionBSPTree2D.unionAll(Arrays.asList(RegionBSPTree2D.empty(), square));
+        Assertions.assertNotSame(square, single);
+        checkBalancedRegion(square, single);
+    }
+
+    @Test
+    void testUnionAll_unboundedRegions() {
+        // arrange
+        final RegionBSPTree2D halfSpace = RegionBSPTree2D.full();
+        halfSpace.getRoot().cut(X_AXIS);
+
+        final RegionBSPTree2D complement = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        complement.complement();
+
+        final List<RegionBSPTree2D> trees = new ArrayList<>(createSquareGrid(3, 1));
+        trees.add(halfSpace);
+        trees.add(complement);
+
+        final RegionBSPTree2D expected = RegionBSPTree2D.empty();
+        trees.forEach(expected::union);
+
+        // act
+        final RegionBSPTree2D result = RegionBSPTree2D.unionAll(trees);
+
+        // assert
+        final RegionBSPTree2D diff = RegionBSPTree2D.empty();
+        diff.xor(expected, result);
+        Assertions.assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    void testIntersectionAll() {
+        // arrange
+        final List<RegionBSPTree2D> trees = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            trees.add(Circle.from(Vector2D.of(0.1 * i, -0.05 * i), 1, TEST_PRECISION).toTree(10 + i));
+        }
+
+        final RegionBSPTree2D expected = RegionBSPTree2D.full();
+        trees.forEach(expected::intersection);
+
+        // act
+        final RegionBSPTree2D result = RegionBSPTree2D.intersectionAll(trees);
+
+        // assert
+        Assertions.assertFalse(result.isEmpty());
+        checkBalancedRegion(expected, result);
+    }
+
+    @Test
+    void testIntersectionAll_parallel() {
+        // arrange
+        final List<RegionBSPTree2D> trees = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            trees.add(Circle.from(Vector2D.of(0.1 * i, -0.05 * i), 1, TEST_PRECISION).toTree(10 + i));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // act
+            final RegionBSPTree2D sequential = RegionBSPTree2D.intersectionAll(trees);
+            final RegionBSPTree2D parallel = RegionBSPTree2D.intersectionAll(trees, pool);
+
+            // assert
+            Assertions.assertEquals(sequential.treeString(Integer.MAX_VALUE), parallel.treeString(Integer.MAX_VALUE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testIntersectionAll_disjointBounds() {
+        // arrange
+        final RegionBSPTree2D a = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(2, 2), TEST_PRECISION).toTree();
+        final RegionBSPTree2D b = Parallelogram.axisAligned(Vector2D.of(1, 1), Vector2D.of(3, 3), TEST_PRECISION)
+                .toTree();
+        final RegionBSPTree2D c = Parallelogram.axisAligned(Vector2D.of(2.5, 0), Vector2D.of(4, 1), TEST_PRECISION)
+                .toTree();
+
+        // act
+        final RegionBSPTree2D result = RegionBSPTree2D.intersectionAll(Arrays.asList(a, b, c));
+
+        // assert
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(1, result.count());
+    }
+
+    @Test
+    void testIntersectionAll_specialCases() {
+        // arrange
+        final RegionBSPTree2D square = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+
+        final RegionBSPTree2D complement = square.copy();
+        complement.complement();
+
+        // act/assert
+        Assertions.assertTrue(RegionBSPTree2D.intersectionAll(Collections.emptyList()).isFull());
+        Assertions.assertTrue(RegionBSPTree2D.intersectionAll(Arrays.asList(square, RegionBSPTree2D.empty()))
+                .isEmpty());
+
+        final RegionBSPTree2D single = RegionBSPTree2D.intersectionAll(Arrays.asList(RegionBSPTree2D.full(), square));
+        Assertions.assertNotSame(square, single);
+        checkBalancedRegion(square, single);
+
+        Assertions.assertTrue(RegionBSPTree2D.intersectionAll(Arrays.asList(square, complement)).isEmpty());
+    }
+
+    /** Create a grid of axis-aligned squares with the given side length and one unit between the
+     * minimum corners of adjacent squares. The squares are returned in row order.
+     * @param n number of squares along each axis
+     * @param size side length of each square
+     * @return list of square regions
+     */
+    /** Create a tree with a height greater than the given value representing the unit square with its
+     * minimum corner at {@code (height, 0)}. The tree is created by repeatedly cutting the leaf node on the
+     * positive x side of the previous cut with a vertical line and then cutting the final leaf node with
+     * the remaining sides of the square.
+     * @param height number of vertical cuts preceding the square
+     * @return a new deep tree
+     */
+    private static RegionBSPTree2D createDeepTree(final int height) {
+        final RegionBSPTree2D tree = RegionBSPTree2D.full();
+
+        RegionNode2D node = tree.getRoot();
+        for (int i = 1; i <= height; ++i) {
+            node = node.cut(Lines.fromPointAndDirection(Vector2D.of(i, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION),
+                    RegionCutRule.PLUS_INSIDE).getPlus();
+        }
+
+        node = node.cut(Lines.fromPointAndDirection(Vector2D.of(height + 1, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION))
+                .getMinus();
+        node = node.cut(Lines.fromPointAndDirection(Vector2D.of(0, 1), Vector2D.Unit.MINUS_X, TEST_PRECISION))
+                .getMinus();
+        node.cut(Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, TEST_PRECISION));
+
+        return tree;
+    }
+
+    private static List<RegionBSPTree2D> createSquareGrid(final int n, final double size) {
+        final List<RegionBSPTree2D> trees = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final Vector2D min = Vector2D.of(i, j);
+                trees.add(Parallelogram.axisAligned(min, min.add(Vector2D.of(size, size)), TEST_PRECISION).toTree());
+            }
+        }
+        return trees;
+    }
+
+    /** Check that a balanced BSP tree represents the same region as a tree constructed
+     * with the standard insertion algorithm.
+     * @param standard tree constructed with the standard algorithm
+     * @param balanced balanced tree
+     */
+    private static void checkBalancedRegion(final RegionBSPTree2D standard, final RegionBSPTree2D balanced) {
+        Assertions.assertEquals(standard.getSize(), balanced.getSize(), TEST_EPS);
+        Assertions.assertEquals(standard.getBoundarySize(), balanced.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), balanced.getCentroid(), TEST_EPS);
+
+        final RegionBSPTree2D diff = RegionBSPTree2D.empty();
+        diff.xor(balanced, standard);
+        Assertions.assertTrue(diff.isEmpty());
+    }
+
     @Test
     void testCopy() {
         // arrange
@@ -1079,6 +1438,49 @@ class RegionBSPTree2DTest {
         Assertions.assertTrue(RegionBSPTree2D.from(Collections.emptyList(), false).isEmpty());
     }
 
+    @Test
+    void testFrom_boundaries_interner() {
+        // arrange
+        final List<LineConvexSubset> boundaries = createSubdividedSquareBoundaries(20);
+        final LineInterner interner = new LineInterner(TEST_PRECISION);
+
+        // act
+        final RegionBSPTree2D standard = RegionBSPTree2D.from(boundaries);
+        final RegionBSPTree2D interned = RegionBSPTree2D.from(boundaries, false, interner);
+
+        // assert
+        Assertions.assertEquals(4, interner.size());
+        Assertions.assertEquals(4, countDistinctCutLines(interned));
+        Assertions.assertTrue(interned.count() <= standard.count());
+
+        Assertions.assertEquals(1, interned.getSize(), TEST_EPS);
+        Assertions.assertEquals(4, interned.getBoundarySize(), TEST_EPS);
+        Assertions.assertEquals(standard.getSize(), interned.getSize(), TEST_EPS);
+
+        final RegionBSPTree2D xor = standard.copy();
+        xor.xor(interned);
+        Assertions.assertTrue(xor.isEmpty());
+    }
+
+    @Test
+    void testInsert_boundarySource_interner() {
+        // arrange
+        final BoundarySource2D src = BoundarySource2D.of(createSubdividedSquareBoundaries(10));
+        final LineInterner interner = new LineInterner(TEST_PRECISION);
+
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+
+        // act
+        tree.insert(src, interner);
+
+        // assert
+        Assertions.assertEquals(4, interner.size());
+        Assertions.assertEquals(4, countDistinctCutLines(tree));
+        Assertions.assertEquals(1, tree.getSize(), TEST_EPS);
+        checkClassify(tree, RegionLocation.INSIDE, Vector2D.of(0.5, 0.5));
+        checkClassify(tree, RegionLocation.OUTSIDE, Vector2D.of(1.5, 0.5));
+    }
+
     @Test
     void testToList() {
         // arrange
@@ -1108,6 +1510,57 @@ class RegionBSPTree2DTest {
         Assertions.assertSame(tree, tree.toTree());
     }
 
+    @Test
+    void testLocator_matchesClassify() {
+        // arrange
+        final RegionBSPTree2D tree = Circle.from(Vector2D.of(1, 2), 1, TEST_PRECISION).toTree(20);
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(1, 2), Vector2D.of(3, 4), TEST_PRECISION).toTree());
+
+        final RegionLocator2D locator = tree.locator();
+
+        // act/assert
+        final double step = 0.02;
+        for (double y = 0.5; y <= 3.5; y += step) {
+            for (double x = -0.5; x <= 2.5; x += step) {
+                final Vector2D pt = Vector2D.of(x, y);
+                Assertions.assertEquals(tree.classify(pt), locator.classify(pt), "Unexpected location for " + pt);
+            }
+        }
+
+        Assertions.assertEquals(RegionLocation.BOUNDARY, locator.classify(Vector2D.of(1.5, 2)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector2D.NaN));
+    }
+
+    @Test
+    void testLocator_reducesCell() {
+        // arrange
+        // the cuts of the far square are above the circle in the tree but do not bound the circle cells
+        final RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.of(5, 5), Vector2D.of(6, 6), TEST_PRECISION)
+                .toTree();
+        tree.union(Circle.from(Vector2D.of(1, 2), 1, TEST_PRECISION).toTree(20));
+
+        final RegionLocator2D locator = tree.locator();
+
+        final Vector2D pt = Vector2D.of(1.05, 2.1);
+        locator.classify(pt);
+
+        final RegionNode2D leaf = locator.getLeaf();
+
+        // act
+        for (int i = 0; i < AbstractRegionLocator.CELL_REDUCTION_HIT_COUNT; ++i) {
+            Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(pt));
+        }
+
+        // assert
+        Assertions.assertSame(leaf, locator.getLeaf());
+        Assertions.assertTrue(locator.getCellHyperplaneCount() < leaf.depth());
+        Assertions.assertTrue(locator.getCellHyperplaneCount() >= leaf.getNodeRegion().getVertices().size());
+
+        Assertions.assertEquals(RegionLocation.INSIDE, locator.classify(Vector2D.of(1.1, 2.1)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector2D.of(3, 2)));
+        Assertions.assertEquals(RegionLocation.OUTSIDE, locator.classify(Vector2D.of(-3, 2)));
+    }
+
     @Test
     void testProject_fullAndEmpty() {
         // act/assert
@@ -1154,6 +1607,142 @@ class RegionBSPTree2DTest {
         EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(2, 1.5), tree.project(Vector2D.of(3, 1.5)), TEST_EPS);
     }
 
+    @Test
+    void testGetSubtreeBoundaryBounds() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.axisAligned(
+                Vector2D.of(1, 1), Vector2D.of(2, 3), TEST_PRECISION).toTree();
+
+        // act/assert
+        Assertions.assertNull(RegionBSPTree2D.empty().getRoot().getSubtreeBoundaryBounds());
+        Assertions.assertNull(tree.getRoot().getPlus().getSubtreeBoundaryBounds());
+
+        final Bounds2D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1, 1), bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(2, 3), bounds.getMax(), TEST_EPS);
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_updatedAfterModification() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        tree.getRoot().getSubtreeBoundaryBounds();
+
+        // act
+        tree.union(Parallelogram.axisAligned(Vector2D.of(2, 2), Vector2D.of(3, 4), TEST_PRECISION).toTree());
+
+        // assert
+        final Bounds2D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(-0.5, -0.5), bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(3, 4), bounds.getMax(), TEST_EPS);
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_infiniteBoundaries() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.full();
+        tree.getRoot().cut(X_AXIS);
+
+        // act/assert
+        Assertions.assertNull(tree.getRoot().getSubtreeBoundaryBounds());
+    }
+
+    @Test
+    void testGetSubtreeBoundaryBounds_deepTree() {
+        PartitionTestUtils.runWithSmallStack(() -> {
+            // arrange
+            final int height = 10_000;
+            final RegionBSPTree2D tree = createDeepTree(height);
+
+            // act
+            final Bounds2D bounds = tree.getRoot().getSubtreeBoundaryBounds();
+
+            // assert
+            EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(height, 0), bounds.getMin(), TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(height + 1, 1), bounds.getMax(), TEST_EPS);
+
+            Assertions.assertEquals(bounds, tree.getBounds());
+        });
+    }
+
+    @Test
+    void testUseSubtreeBounds() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+
+        // act/assert
+        Assertions.assertFalse(tree.isUseSubtreeBounds());
+
+        tree.setUseSubtreeBounds(true);
+        Assertions.assertTrue(tree.isUseSubtreeBounds());
+
+        tree.setUseSubtreeBounds(false);
+        Assertions.assertFalse(tree.isUseSubtreeBounds());
+    }
+
+    @Test
+    void testUseSubtreeBounds_queryResultsUnchanged() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 6; ++i) {
+            final Vector2D min = Vector2D.of(1.5 * i, 0.5 * i);
+            tree.union(Parallelogram.axisAligned(min, min.add(Vector2D.of(1, 1)), TEST_PRECISION).toTree());
+            tree.difference(Circle.from(min, 0.4, TEST_PRECISION).toTree(8));
+        }
+
+        final RegionBSPTree2D bounded = tree.copy();
+        bounded.setUseSubtreeBounds(true);
+
+        // act/assert
+        for (double x = -1; x <= 9; x += 0.35) {
+            for (double y = -1; y <= 4; y += 0.45) {
+                final Vector2D pt = Vector2D.of(x, y);
+                Assertions.assertEquals(tree.project(pt), bounded.project(pt));
+
+                final Line line = Lines.fromPointAndDirection(pt, Vector2D.of(1, 0.2 * y), TEST_PRECISION);
+                Assertions.assertEquals(tree.linecast(line), bounded.linecast(line));
+                Assertions.assertEquals(tree.linecastFirst(line), bounded.linecastFirst(line));
+
+                final LineConvexSubset ray = line.rayFrom(pt);
+                Assertions.assertEquals(tree.linecast(ray), bounded.linecast(ray));
+                Assertions.assertEquals(tree.linecastFirst(ray), bounded.linecastFirst(ray));
+
+                final LineConvexSubset segment = line.segment(0, 1);
+                Assertions.assertEquals(tree.linecast(segment), bounded.linecast(segment));
+            }
+        }
+    }
+
+    @Test
+    void testUseSubtreeBounds_linesNearBoundaryVertices() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        tree.union(Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree());
+        tree.union(Parallelogram.axisAligned(Vector2D.of(2, 0), Vector2D.of(3, 1), TEST_PRECISION).toTree());
+
+        final RegionBSPTree2D bounded = tree.copy();
+        bounded.setUseSubtreeBounds(true);
+
+        final double delta = 0.1 * TEST_EPS;
+
+        // act/assert
+        for (final Vector2D pt : Arrays.asList(Vector2D.of(1 + delta, 1 + delta), Vector2D.of(3 + delta, -delta))) {
+            for (final Vector2D dir : Arrays.asList(Vector2D.Unit.PLUS_X, Vector2D.Unit.MINUS_Y, Vector2D.of(1, 1))) {
+                final Line line = Lines.fromPointAndDirection(pt, dir, TEST_PRECISION);
+
+                final List<LinecastPoint2D> expected = tree.linecast(line);
+                Assertions.assertFalse(expected.isEmpty());
+                Assertions.assertEquals(expected, bounded.linecast(line));
+
+                final LineConvexSubset ray = line.rayFrom(pt);
+                Assertions.assertEquals(tree.linecast(ray), bounded.linecast(ray));
+                Assertions.assertEquals(tree.linecastFirst(ray), bounded.linecastFirst(ray));
+            }
+        }
+
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(3, 1), bounded.project(Vector2D.of(4, 2)), TEST_EPS);
+    }
+
     @Test
     void testLinecast_empty() {
         // arrange
@@ -1396,6 +1985,83 @@ class RegionBSPTree2DTest {
         checkFiniteSegment(path.getElements().get(3), Vector2D.of(-2, -1), Vector2D.of(-2, -2));
     }
 
+    @Test
+    void testTransformedView_similarity() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(2, 1), TEST_PRECISION).toTree();
+        tree.union(Parallelogram.axisAligned(Vector2D.of(0, 1), Vector2D.of(1, 3), TEST_PRECISION).toTree());
+
+        final AffineTransformMatrix2D transform = AffineTransformMatrix2D.createRotation(0.3)
+                .scale(2)
+                .translate(Vector2D.of(1, -2));
+
+        // act
+        final TransformedRegion2D view = tree.transformedView(transform);
+
+        // assert
+        Assertions.assertSame(tree, view.getTree());
+        Assertions.assertSame(transform, view.getTransform());
+
+        final RegionBSPTree2D expected = tree.copy();
+        expected.transform(transform);
+
+        checkTransformedView(view, expected);
+        Assertions.assertEquals(16, view.getSize(), TEST_EPS);
+    }
+
+    @Test
+    void testTransformedView_nonUniformScaleAndReflection() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(2, 1), TEST_PRECISION).toTree();
+
+        final AffineTransformMatrix2D first = AffineTransformMatrix2D.createScale(-1, 3);
+        final AffineTransformMatrix2D second = AffineTransformMatrix2D.createShear(0.5, 0);
+
+        // act
+        final TransformedRegion2D view = tree.transformedView(first).transform(second);
+
+        // assert
+        final RegionBSPTree2D expected = tree.copy();
+        expected.transform(first);
+        expected.transform(second);
+
+        checkTransformedView(view, expected);
+        Assertions.assertEquals(6, view.getSize(), TEST_EPS);
+
+        final RegionBSPTree2D materialized = view.toTree();
+        Assertions.assertNotSame(tree, materialized);
+        Assertions.assertEquals(6, materialized.getSize(), TEST_EPS);
+        Assertions.assertEquals(2, tree.getSize(), TEST_EPS);
+    }
+
+    @Test
+    void testTransformedView_treeModified() {
+        // arrange
+        final RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree();
+        final TransformedRegion2D view = tree.transformedView(AffineTransformMatrix2D.createScale(1, 2));
+
+        Assertions.assertEquals(6, view.getBoundarySize(), TEST_EPS);
+
+        // act
+        tree.union(Parallelogram.axisAligned(Vector2D.of(1, 0), Vector2D.of(2, 1), TEST_PRECISION).toTree());
+
+        // assert
+        Assertions.assertEquals(4, view.getSize(), TEST_EPS);
+        Assertions.assertEquals(8, view.getBoundarySize(), TEST_EPS);
+        checkClassify(view, RegionLocation.INSIDE, Vector2D.of(1.5, 1));
+        checkClassify(view, RegionLocation.OUTSIDE, Vector2D.of(1.5, 2.5));
+    }
+
+    @Test
+    void testTransformedView_notInvertible() {
+        // arrange
+        final RegionBSPTree2D tree = RegionBSPTree2D.full();
+        final AffineTransformMatrix2D transform = AffineTransformMatrix2D.createScale(1, 0);
+
+        // act/assert
+        Assertions.assertThrows(IllegalStateException.class, () -> tree.transformedView(transform));
+    }
+
     @Test
     void testBooleanOperations() {
         // arrange
@@ -1427,6 +2093,51 @@ class RegionBSPTree2DTest {
                 Vector2D.of(1, 2), Vector2D.of(1, 1));
     }
 
+    /** Check that a transformed view answers queries in the same way as the given materialized tree.
+     * @param view view to check
+     * @param expected tree containing the expected region
+     */
+    private static void checkTransformedView(final TransformedRegion2D view, final RegionBSPTree2D expected) {
+        Assertions.assertEquals(expected.getSize(), view.getSize(), TEST_EPS);
+        Assertions.assertEquals(expected.getBoundarySize(), view.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), view.getCentroid(), TEST_EPS);
+
+        final Bounds2D bounds = expected.getBounds();
+        final Vector2D min = bounds.getMin().subtract(Vector2D.of(1, 1));
+        final Vector2D diag = bounds.getDiagonal().add(Vector2D.of(2, 2));
+
+        final int steps = 9;
+        for (int i = 0; i <= steps; ++i) {
+            for (int j = 0; j <= steps; ++j) {
+                final Vector2D pt = min.add(Vector2D.of(diag.getX() * i / steps, diag.getY() * j / steps));
+
+                Assertions.assertEquals(expected.classify(pt), view.classify(pt), () -> "Point " + pt);
+
+                final Vector2D projected = view.project(pt);
+                Assertions.assertEquals(expected.project(pt).distance(pt), projected.distance(pt), TEST_EPS);
+                Assertions.assertEquals(RegionLocation.BOUNDARY, expected.classify(projected));
+            }
+
+            final Vector2D start = min.add(Vector2D.of(diag.getX() * i / steps, 0));
+            final Line line = Lines.fromPoints(start, start.add(Vector2D.of(0.3, 0.8)), TEST_PRECISION);
+
+            final List<LinecastPoint2D> expectedPts = expected.linecast(line.span());
+            final List<LinecastPoint2D> actualPts = view.linecast(line.span());
+            Assertions.assertEquals(expectedPts.size(), actualPts.size());
+            for (int p = 0; p < expectedPts.size(); ++p) {
+                Assertions.assertTrue(expectedPts.get(p).eq(actualPts.get(p), TEST_PRECISION));
+            }
+
+            final LinecastPoint2D expectedFirst = expected.linecastFirst(line.span());
+            final LinecastPoint2D actualFirst = view.linecastFirst(line.span());
+            if (expectedFirst == null) {
+                Assertions.assertNull(actualFirst);
+            } else {
+                Assertions.assertTrue(expectedFirst.eq(actualFirst, TEST_PRECISION));
+            }
+        }
+    }
+
     private static void assertSegmentsEqual(final LineConvexSubset expected, final LineConvexSubset actual) {
         Assertions.assertEquals(expected.getLine(), actual.getLine());
 
@@ -1451,6 +2162,45 @@ class RegionBSPTree2DTest {
         EuclideanTestUtils.assertCoordinatesEqual(end, segment.getEndPoint(), TEST_EPS);
     }
 
+    /** Create the boundaries of the unit square with each edge divided into segments. The segment endpoints
+     * are displaced from the edges by amounts well below the test tolerance so that the segments of each edge
+     * lie on distinct but equivalent lines.
+     * @param n number of segments per edge
+     * @return the boundaries of the subdivided square
+     */
+    private static List<LineConvexSubset> createSubdividedSquareBoundaries(final int n) {
+        final Vector2D[] corners = {Vector2D.ZERO, Vector2D.of(1, 0), Vector2D.of(1, 1), Vector2D.of(0, 1)};
+        final List<LineConvexSubset> boundaries = new ArrayList<>();
+
+        int noiseIdx = 0;
+        for (int c = 0; c < corners.length; ++c) {
+            final Vector2D start = corners[c];
+            final Vector2D end = corners[(c + 1) % corners.length];
+            final Vector2D normal = end.subtract(start).orthogonal();
+
+            Vector2D prev = start;
+            for (int i = 1; i <= n; ++i) {
+                final Vector2D pt = i == n ?
+                        end :
+                        start.lerp(end, (double) i / n).add(normal.multiply(((noiseIdx++ % 3) - 1) * 1e-13));
+                boundaries.add(Lines.segmentFromPoints(prev, pt, TEST_PRECISION));
+                prev = pt;
+            }
+        }
+
+        return boundaries;
+    }
+
+    private static int countDistinctCutLines(final RegionBSPTree2D tree) {
+        final Set<Object> lines = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final RegionNode2D node : tree.nodes()) {
+            if (node.isInternal()) {
+                lines.add(node.getCutHyperplane());
+            }
+        }
+        return lines.size();
+    }
+
     private static void checkClassify(final Region<Vector2D> region, final RegionLocation loc, final Vector2D... points) {
         for (final Vector2D point : points) {
             final String msg = "Unexpected location for point " + point;
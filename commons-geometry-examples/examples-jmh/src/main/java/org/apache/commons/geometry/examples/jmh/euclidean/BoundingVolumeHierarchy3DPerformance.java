@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.examples.jmh.euclidean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.geometry.euclidean.threed.BoundingVolumeHierarchy3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the {@link BoundingVolumeHierarchy3D} class, comparing linecasts against the hierarchy
+ * with the linear scan performed by the default linecast methods of boundary sources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class BoundingVolumeHierarchy3DPerformance {
+
+    /** Number of lines in each linecast benchmark invocation. */
+    private static final int LINE_COUNT = 100;
+
+    /** Base class for inputs containing a triangle mesh approximating a sphere.
+     */
+    @State(Scope.Thread)
+    public static class SphereMeshInputBase {
+
+        /** The number of sphere mesh subdivisions. The mesh contains {@code 8 * 4^subdivisions} triangles.
+         */
+        @Param({"3", "5", "7"})
+        private int subdivisions;
+
+        /** Triangle mesh approximating a sphere. */
+        private TriangleMesh mesh;
+
+        /** Create the sphere mesh for the instance.
+         */
+        protected void createMesh() {
+            final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(1e-10);
+            mesh = Sphere.from(Vector3D.ZERO, 1, precision).toTriangleMesh(subdivisions);
+        }
+
+        /** Get the sphere mesh.
+         * @return the sphere mesh
+         */
+        public TriangleMesh getMesh() {
+            return mesh;
+        }
+    }
+
+    /** Class providing a sphere mesh.
+     */
+    @State(Scope.Thread)
+    public static class SphereMeshInput extends SphereMeshInputBase {
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            createMesh();
+        }
+    }
+
+    /** Class providing a sphere mesh, a bounding volume hierarchy constructed from the mesh, and lines
+     * passing through the sphere interior.
+     */
+    @State(Scope.Thread)
+    public static class LinecastInput extends SphereMeshInputBase {
+
+        /** Bounding volume hierarchy constructed from the mesh. */
+        private BoundingVolumeHierarchy3D bvh;
+
+        /** Lines to linecast. */
+        private List<Line3D> lines;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            createMesh();
+
+            bvh = BoundingVolumeHierarchy3D.from(getMesh());
+
+            final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(1e-10);
+            final UniformRandomProvider rand = RandomSource.XO_RO_SHI_RO_128_PP.create(1L);
+
+            lines = new ArrayList<>(LINE_COUNT);
+            for (int i = 0; i < LINE_COUNT; ++i) {
+                final Vector3D pt = Vector3D.of(
+                        rand.nextDouble() - 0.5, rand.nextDouble() - 0.5, rand.nextDouble() - 0.5);
+                final Vector3D dir = Vector3D.of(
+                        rand.nextDouble() - 0.5, rand.nextDouble() - 0.5, rand.nextDouble() - 0.5);
+
+                lines.add(Lines3D.fromPointAndDirection(pt, dir, precision));
+            }
+        }
+
+        /** Get the bounding volume hierarchy.
+         * @return the bounding volume hierarchy
+         */
+        public BoundingVolumeHierarchy3D getBvh() {
+            return bvh;
+        }
+
+        /** Get the lines to linecast.
+         * @return the lines to linecast
+         */
+        public List<Line3D> getLines() {
+            return lines;
+        }
+    }
+
+    /** Class providing a sphere mesh and a pool for parallel construction of bounding volume hierarchies.
+     */
+    @State(Scope.Thread)
+    public static class ParallelBuildInput extends SphereMeshInputBase {
+
+        /** Pool used to construct hierarchies in parallel. */
+        private ForkJoinPool pool;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            createMesh();
+
+            pool = new ForkJoinPool();
+        }
+
+        /** Shut down the pool. */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+
+        /** Get the pool used to construct hierarchies in parallel.
+         * @return the pool used to construct hierarchies in parallel
+         */
+        public ForkJoinPool getPool() {
+            return pool;
+        }
+    }
+
+    /** Benchmark testing the performance of linecasting against a bounding volume hierarchy.
+     * @param input benchmark input
+     * @return list of linecast results
+     */
+    @Benchmark
+    public List<List<LinecastPoint3D>> linecastBvh(final LinecastInput input) {
+        final BoundingVolumeHierarchy3D bvh = input.getBvh();
+
+        final List<List<LinecastPoint3D>> results = new ArrayList<>(LINE_COUNT);
+        for (final Line3D line : input.getLines()) {
+            results.add(bvh.linecast(line));
+        }
+        return results;
+    }
+
+    /** Benchmark testing the performance of finding the first linecast point using a bounding volume
+     * hierarchy.
+     * @param input benchmark input
+     * @return list of linecast results
+     */
+    @Benchmark
+    public List<LinecastPoint3D> linecastFirstBvh(final LinecastInput input) {
+        final BoundingVolumeHierarchy3D bvh = input.getBvh();
+
+        final List<LinecastPoint3D> results = new ArrayList<>(LINE_COUNT);
+        for (final Line3D line : input.getLines()) {
+            results.add(bvh.linecastFirst(line));
+        }
+        return results;
+    }
+
+    /** Benchmark testing the performance of linecasting against the mesh using a linear scan of
+     * all boundaries.
+     * @param input benchmark input
+     * @return list of linecast results
+     */
+    @Benchmark
+    public List<List<LinecastPoint3D>> linecastLinearScan(final LinecastInput input) {
+        final TriangleMesh mesh = input.getMesh();
+
+        final List<List<LinecastPoint3D>> results = new ArrayList<>(LINE_COUNT);
+        for (final Line3D line : input.getLines()) {
+            results.add(mesh.linecast(line));
+        }
+        return results;
+    }
+
+    /** Benchmark testing the performance of finding the first linecast point using a linear scan of
+     * all boundaries.
+     * @param input benchmark input
+     * @return list of linecast results
+     */
+    @Benchmark
+    public List<LinecastPoint3D> linecastFirstLinearScan(final LinecastInput input) {
+        final TriangleMesh mesh = input.getMesh();
+
+        final List<LinecastPoint3D> results = new ArrayList<>(LINE_COUNT);
+        for (final Line3D line : input.getLines()) {
+            results.add(mesh.linecastFirst(line));
+        }
+        return results;
+    }
+
+    /** Benchmark testing the performance of constructing a bounding volume hierarchy sequentially.
+     * @param input benchmark input
+     * @return the constructed hierarchy
+     */
+    @Benchmark
+    public BoundingVolumeHierarchy3D build(final SphereMeshInput input) {
+        return BoundingVolumeHierarchy3D.from(input.getMesh());
+    }
+
+    /** Benchmark testing the performance of constructing a bounding volume hierarchy in parallel.
+     * @param input benchmark input
+     * @return the constructed hierarchy
+     */
+    @Benchmark
+    public BoundingVolumeHierarchy3D buildParallel(final ParallelBuildInput input) {
+        return BoundingVolumeHierarchy3D.from(input.getMesh(), input.getPool());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.examples.jmh.euclidean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.CompactTriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.mesh.QuadricMeshSimplifier;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the {@link QuadricMeshSimplifier} class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class QuadricMeshSimplifierPerformance {
+
+    /** Precision context used for the meshes. */
+    private static final Precision.DoubleEquivalence PRECISION = Precision.doubleEquivalenceOfEpsilon(1e-10);
+
+    /** Class providing a triangle mesh approximating a sphere.
+     */
+    @State(Scope.Thread)
+    public static class SphereMeshInput {
+
+        /** The number of sphere mesh subdivisions. The mesh contains {@code 8 * 4^subdivisions} triangles.
+         */
+        @Param({"5", "7", "8"})
+        private int subdivisions;
+
+        /** The maximum collapse error. */
+        @Param({"0.001", "0.01"})
+        private double maxError;
+
+        /** Triangle mesh approximating a sphere. */
+        private TriangleMesh mesh;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            mesh = CompactTriangleMesh.from(
+                    Sphere.from(Vector3D.ZERO, 1, PRECISION).toTriangleMesh(subdivisions), PRECISION);
+        }
+
+        /** Get the sphere mesh.
+         * @return the sphere mesh
+         */
+        public TriangleMesh getMesh() {
+            return mesh;
+        }
+
+        /** Get the maximum collapse error.
+         * @return the maximum collapse error
+         */
+        public double getMaxError() {
+            return maxError;
+        }
+    }
+
+    /** Benchmark testing the performance of simplifying a mesh.
+     * @param input benchmark input
+     * @return the simplified mesh
+     */
+    @Benchmark
+    public CompactTriangleMesh simplify(final SphereMeshInput input) {
+        return QuadricMeshSimplifier.simplify(input.getMesh(), input.getMaxError(), PRECISION);
+    }
+}
@@ -19,7 +19,13 @@ package org.apache.commons.geometry.examples.jmh.euclidean;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor;
+import org.apache.commons.geometry.euclidean.twod.AffineTransformMatrix2D;
+import org.apache.commons.geometry.euclidean.twod.Line;
 import org.apache.commons.geometry.euclidean.twod.LineConvexSubset;
+import org.apache.commons.geometry.euclidean.twod.Lines;
 import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D;
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
 import org.apache.commons.geometry.euclidean.twod.shape.Circle;
@@ -110,6 +116,59 @@ public class RegionBSPTree2DPerformance {
         }
     }
 
+    /** Class providing a degenerate tree with a large height, created by repeatedly cutting the
+     * leaf node on the positive x side of the previous cut with a vertical line. Operations on trees
+     * of this shape are dominated by traversal overhead.
+     */
+    @State(Scope.Thread)
+    public static class DeepTreeInput {
+
+        /** The height of the tree. */
+        @Param({"1000", "5000", "20000"})
+        private int height;
+
+        /** Tree with the configured height. */
+        private RegionBSPTree2D tree;
+
+        /** Point lying on the cut of the root node. */
+        private Vector2D rootCutPoint;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(1e-10);
+
+            tree = RegionBSPTree2D.empty();
+
+            RegionBSPTree2D.RegionNode2D node = tree.getRoot();
+            for (int i = 0; i < height; ++i) {
+                final Line line = Lines.fromPointAndDirection(Vector2D.of(i, 0), Vector2D.Unit.PLUS_Y, precision);
+                node.cut(line);
+
+                node = line.classify(Vector2D.of(i + 1, 0)) == HyperplaneLocation.PLUS ?
+                        node.getPlus() :
+                        node.getMinus();
+            }
+
+            rootCutPoint = Vector2D.of(0, 1);
+        }
+
+        /** Get the deep tree.
+         * @return the deep tree
+         */
+        public RegionBSPTree2D getTree() {
+            return tree;
+        }
+
+        /** Get a point lying on the cut of the root node. Classifying this point requires
+         * the classification of both child subtrees of each node along the path.
+         * @return a point lying on the cut of the root node
+         */
+        public Vector2D getRootCutPoint() {
+            return rootCutPoint;
+        }
+    }
+
     /** Benchmark testing the performance of tree creation for a convex region. The insertion
      * behavior is worst-case, meaning that the tree is unbalanced and degenerates into a simple
      * list of nodes.
@@ -136,4 +195,62 @@ public class RegionBSPTree2DPerformance {
     public List<LineConvexSubset> boundaryConvexWorstCase(final WorstCaseCircularRegionInput input) {
         return input.getTree().getBoundaries();
     }
+
+    /** Benchmark testing the performance of copying a deep tree.
+     * @param input input tree
+     * @return copied tree
+     */
+    @Benchmark
+    public RegionBSPTree2D copyDeepTree(final DeepTreeInput input) {
+        return input.getTree().copy();
+    }
+
+    /** Benchmark testing the performance of transforming a deep tree.
+     * @param input input tree
+     * @return transformed tree
+     */
+    @Benchmark
+    public RegionBSPTree2D transformDeepTree(final DeepTreeInput input) {
+        final RegionBSPTree2D tree = input.getTree();
+        tree.transform(AffineTransformMatrix2D.createTranslation(1, 0));
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of complementing a deep tree.
+     * @param input input tree
+     * @return complemented tree
+     */
+    @Benchmark
+    public RegionBSPTree2D complementDeepTree(final DeepTreeInput input) {
+        final RegionBSPTree2D tree = input.getTree();
+        tree.complement();
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of counting the nodes in a deep tree with a visitor.
+     * @param input input tree
+     * @return the number of nodes in the tree
+     */
+    @Benchmark
+    public int visitDeepTree(final DeepTreeInput input) {
+        final int[] count = {0};
+        input.getTree().accept(node -> {
+            ++count[0];
+            return BSPTreeVisitor.Result.CONTINUE;
+        });
+
+        return count[0];
+    }
+
+    /** Benchmark testing the performance of classifying a point lying on the cut of the root node
+     * of a deep tree.
+     * @param input input tree
+     * @return point classification
+     */
+    @Benchmark
+    public RegionLocation classifyDeepTree(final DeepTreeInput input) {
+        return input.getTree().classify(input.getRootCutPoint());
+    }
 }
@@ -0,0 +1,481 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.core.bsp;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+import org.apache.commons.geometry.core.partitioning.bsp.CompactRegionNodeStore;
+import org.apache.commons.numbers.core.Precision;
+
+/** Abstract base class for compact binary formats storing the exact internal structure of region
+ * BSP trees. Unlike boundary representation formats, which require the tree to be rebuilt by inserting
+ * boundaries when read, this format stores the cut hyperplane and location of every node so that the tree
+ * can be restored directly, with the same structure as the tree that was written.
+ *
+ * <p>The binary layout, using big-endian byte order, is as follows:</p>
+ * <ol>
+ *      <li>a 4-byte magic number ({@value #MAGIC_NUMBER}),</li>
+ *      <li>a 1-byte format version number ({@value #VERSION}),</li>
+ *      <li>a 1-byte tree type id identifying the space of the tree, as returned by {@link #getTreeTypeId()},</li>
+ *      <li>an 8-byte double containing the epsilon value of the precision context used by the tree,</li>
+ *      <li>a 4-byte int containing the number of distinct cut hyperplanes,</li>
+ *      <li>a 4-byte int containing the number of nodes,</li>
+ *      <li>the cut hyperplanes, each occupying the number of bytes returned by {@link #getHyperplaneByteCount()},
+ *          and</li>
+ *      <li>the nodes in depth-first, pre-order ({@code node, minus, plus}) order. Leaf nodes are stored as
+ *          a single byte containing the leaf location. Internal nodes are stored as a single byte marker
+ *          followed by the 4-byte index of the node cut hyperplane.</li>
+ * </ol>
+ *
+ * <p>Cut hyperplanes shared by multiple nodes are stored only once. When a tree is read, cut hyperplane
+ * subsets are recomputed by inserting each hyperplane into its node in the order that the nodes were
+ * written. Since this is the same sequence of operations that produced the original cuts, the restored
+ * tree has the same structure as the original, with no boundary splitting or merging required.</p>
+ *
+ * <p>Trees may be read from and written to NIO channels, byte buffers, and files. Files are read using
+ * memory-mapped buffers.</p>
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @param <P> Point implementation type
+ * @param <N> Node implementation type
+ * @param <T> Tree implementation type
+ */
+public abstract class AbstractRegionBSPTreeBinaryFormat<
+    P extends Point<P>,
+    N extends AbstractRegionNode<P, N>,
+    T extends AbstractRegionBSPTree<P, N>> {
+
+    /** Magic number identifying the start of the binary format ("CGBT" in ASCII). */
+    public static final int MAGIC_NUMBER = 0x43474254;
+
+    /** Current version of the binary format. */
+    public static final int VERSION = 1;
+
+    /** Number of bytes in the format header. */
+    private static final int HEADER_BYTES = Integer.BYTES + 2 + Double.BYTES + (2 * Integer.BYTES);
+
+    /** Initial size of the buffer used to read trees from channels. */
+    private static final int INITIAL_READ_BYTES = 64 * 1024;
+
+    /** Node marker for leaf nodes with a location of {@link RegionLocation#OUTSIDE OUTSIDE}. */
+    private static final byte OUTSIDE_LEAF = 0;
+
+    /** Node marker for leaf nodes with a location of {@link RegionLocation#INSIDE INSIDE}. */
+    private static final byte INSIDE_LEAF = 1;
+
+    /** Node marker for internal nodes. */
+    private static final byte INTERNAL = 2;
+
+    /** Get the id identifying the type of tree supported by this instance. The id is written
+     * to the header of the binary format and checked when reading. The following ids are used by
+     * the formats in the geometry IO modules:
+     * <ul>
+     *      <li>{@code 1} - Euclidean 1D,</li>
+     *      <li>{@code 2} - Euclidean 2D,</li>
+     *      <li>{@code 3} - Euclidean 3D,</li>
+     *      <li>{@code 11} - spherical 1D, and</li>
+     *      <li>{@code 12} - spherical 2D.</li>
+     * </ul>
+     * @return the tree type id, in the range {@code [0, 255]}
+     */
+    public abstract int getTreeTypeId();
+
+    /** Write the structure of the given tree to the given channel. The channel is not closed.
+     * @param tree tree to write
+     * @param epsilon epsilon value of the precision context used by the tree; this value is stored
+     *      in the output and used to create a precision context when the tree is read
+     * @param out output channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(final T tree, final double epsilon, final WritableByteChannel out) throws IOException {
+        final ByteBuffer buf = toByteBuffer(tree, epsilon);
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+    }
+
+    /** Write the structure of the given tree to the file at the given path, replacing any existing
+     * content.
+     * @param tree tree to write
+     * @param epsilon epsilon value of the precision context used by the tree
+     * @param path output file path
+     * @throws IOException if an I/O error occurs
+     * @see #write(AbstractRegionBSPTree, double, WritableByteChannel)
+     */
+    public void write(final T tree, final double epsilon, final Path path) throws IOException {
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(tree, epsilon, out);
+        }
+    }
+
+    /** Return a new buffer containing the structure of the given tree in the binary format. The
+     * returned buffer is positioned at zero and its limit is set to the number of bytes written.
+     * @param tree tree to write
+     * @param epsilon epsilon value of the precision context used by the tree
+     * @return a buffer containing the binary form of the tree
+     */
+    public ByteBuffer toByteBuffer(final T tree, final double epsilon) {
+        final CompactRegionNodeStore<P> store = CompactRegionNodeStore.from(tree);
+
+        final List<Hyperplane<P>> hyperplanes = store.getHyperplanes();
+        final int hyperplaneCount = hyperplanes.size();
+        final int nodeCount = store.getNodeCount();
+        final int internalCount = nodeCount / 2;
+
+        final ByteBuffer buf = ByteBuffer.allocate(
+                HEADER_BYTES +
+                (hyperplaneCount * getHyperplaneByteCount()) +
+                nodeCount +
+                (internalCount * Integer.BYTES))
+            .order(ByteOrder.BIG_ENDIAN);
+
+        buf.putInt(MAGIC_NUMBER)
+            .put((byte) VERSION)
+            .put((byte) getTreeTypeId())
+            .putDouble(epsilon)
+            .putInt(hyperplaneCount)
+            .putInt(nodeCount);
+
+        for (final Hyperplane<P> hyperplane : hyperplanes) {
+            writeHyperplane(hyperplane, buf);
+        }
+
+        for (int i = 0; i < nodeCount; ++i) {
+            if (store.isLeaf(i)) {
+                buf.put(store.getLocation(i) == RegionLocation.INSIDE ?
+                        INSIDE_LEAF :
+                        OUTSIDE_LEAF);
+            } else {
+                buf.put(INTERNAL)
+                    .putInt(store.getCutHyperplaneIndex(i));
+            }
+        }
+
+        buf.flip();
+        return buf;
+    }
+
+    /** Read a tree from the given channel, using a precision context created from the epsilon value
+     * stored in the input. Exactly the number of bytes in the binary form of the tree are read from the
+     * channel. The channel is not closed.
+     * @param in input channel
+     * @return the tree read from the input
+     * @throws IOException if an I/O error occurs or the input is not in a valid format
+     */
+    public T read(final ReadableByteChannel in) throws IOException {
+        return read(in, null);
+    }
+
+    /** Read a tree from the given channel, using the given precision context for the cut hyperplanes.
+     * Exactly the number of bytes in the binary form of the tree are read from the channel. The channel
+     * is not closed.
+     * @param in input channel
+     * @param precision precision context to use for the cut hyperplanes; if null, a precision context is
+     *      created from the epsilon value stored in the input
+     * @return the tree read from the input
+     * @throws IOException if an I/O error occurs or the input is not in a valid format
+     */
+    public T read(final ReadableByteChannel in, final Precision.DoubleEquivalence precision) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        fill(in, header, "header");
+
+        final int hyperplaneCount = header.getInt(HEADER_BYTES - (2 * Integer.BYTES));
+        final int nodeCount = header.getInt(HEADER_BYTES - Integer.BYTES);
+        final long bodyBytes = getBodyByteCount(hyperplaneCount, nodeCount);
+        if (bodyBytes > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw invalidData("tree too large for input buffer: " + nodeCount + " nodes");
+        }
+
+        // grow the buffer as data is read so that a corrupt header cannot cause a large allocation
+        // for input that is not available
+        final int totalBytes = HEADER_BYTES + (int) bodyBytes;
+        ByteBuffer buf = ByteBuffer.allocate(Math.min(totalBytes, INITIAL_READ_BYTES));
+        buf.put(header.array());
+        while (buf.position() < totalBytes) {
+            if (!buf.hasRemaining()) {
+                final ByteBuffer larger = ByteBuffer.allocate((int) Math.min(totalBytes, 2L * buf.capacity()));
+                buf.flip();
+                larger.put(buf);
+                buf = larger;
+            }
+            if (in.read(buf) < 0) {
+                throw invalidData("failed to read tree structure: data not available");
+            }
+        }
+        buf.flip();
+
+        return read(buf, precision);
+    }
+
+    /** Read a tree from the given buffer, using a precision context created from the epsilon value
+     * stored in the input. The tree is read starting at the buffer's current position, which is
+     * advanced past the end of the tree data.
+     * @param buf buffer to read from
+     * @return the tree read from the buffer
+     * @throws IOException if the buffer content is not in a valid format
+     */
+    public T read(final ByteBuffer buf) throws IOException {
+        return read(buf, null);
+    }
+
+    /** Read a tree from the given buffer, using the given precision context for the cut hyperplanes.
+     * The tree is read starting at the buffer's current position, which is advanced past the end of the
+     * tree data.
+     * @param buf buffer to read from
+     * @param precision precision context to use for the cut hyperplanes; if null, a precision context is
+     *      created from the epsilon value stored in the input
+     * @return the tree read from the buffer
+     * @throws IOException if the buffer content is not in a valid format
+     */
+    public T read(final ByteBuffer buf, final Precision.DoubleEquivalence precision) throws IOException {
+        final ByteOrder order = buf.order();
+        buf.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return readInternal(buf, precision);
+        } catch (BufferUnderflowException exc) {
+            throw invalidData("unexpected end of input");
+        } finally {
+            buf.order(order);
+        }
+    }
+
+    /** Read a tree from the file at the given path, using a precision context created from the epsilon
+     * value stored in the file. The file is accessed through a read-only memory-mapped buffer.
+     * @param path file path
+     * @return the tree read from the file
+     * @throws IOException if an I/O error occurs or the file is not in a valid format
+     */
+    public T read(final Path path) throws IOException {
+        return read(path, null);
+    }
+
+    /** Read a tree from the file at the given path, using the given precision context for the cut
+     * hyperplanes. The file is accessed through a read-only memory-mapped buffer.
+     * @param path file path
+     * @param precision precision context to use for the cut hyperplanes; if null, a precision context is
+     *      created from the epsilon value stored in the file
+     * @return the tree read from the file
+     * @throws IOException if an I/O error occurs or the file is not in a valid format
+     */
+    public T read(final Path path, final Precision.DoubleEquivalence precision) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            return read(buf, precision);
+        }
+    }
+
+    /** Get the number of bytes used to store each cut hyperplane.
+     * @return the number of bytes used to store each cut hyperplane
+     */
+    protected abstract int getHyperplaneByteCount();
+
+    /** Write the given hyperplane to the buffer. Exactly {@link #getHyperplaneByteCount()} bytes
+     * must be written.
+     * @param hyperplane hyperplane to write
+     * @param buf output buffer
+     */
+    protected abstract void writeHyperplane(Hyperplane<P> hyperplane, ByteBuffer buf);
+
+    /** Read a hyperplane from the buffer. Exactly {@link #getHyperplaneByteCount()} bytes
+     * must be read.
+     * @param buf input buffer
+     * @param precision precision context for the hyperplane
+     * @return the hyperplane read from the buffer
+     * @throws IllegalArgumentException if the data read does not define a valid hyperplane; this
+     *      is reported to callers of the {@code read} methods as an {@link IOException}
+     */
+    protected abstract Hyperplane<P> readHyperplane(ByteBuffer buf, Precision.DoubleEquivalence precision);
+
+    /** Create a new, empty tree.
+     * @return a new, empty tree
+     */
+    protected abstract T createEmptyTree();
+
+    /** Read a tree from the given big-endian buffer.
+     * @param buf buffer to read from
+     * @param precision precision context to use for the cut hyperplanes; may be null
+     * @return the tree read from the buffer
+     * @throws IOException if the buffer content is not in a valid format
+     */
+    private T readInternal(final ByteBuffer buf, final Precision.DoubleEquivalence precision) throws IOException {
+        final int magic = buf.getInt();
+        if (magic != MAGIC_NUMBER) {
+            throw invalidData("unexpected magic number " + Integer.toHexString(magic));
+        }
+
+        final int version = Byte.toUnsignedInt(buf.get());
+        if (version != VERSION) {
+            throw invalidData("unsupported format version " + version);
+        }
+
+        final int treeTypeId = Byte.toUnsignedInt(buf.get());
+        if (treeTypeId != getTreeTypeId()) {
+            throw invalidData("expected tree type id " + getTreeTypeId() + " but was " + treeTypeId);
+        }
+
+        final double epsilon = buf.getDouble();
+        final int hyperplaneCount = buf.getInt();
+        final int nodeCount = buf.getInt();
+
+        // check the counts against the available input before allocating anything based on them
+        final long bodyBytes = getBodyByteCount(hyperplaneCount, nodeCount);
+        if (bodyBytes > buf.remaining()) {
+            throw invalidData("expected " + bodyBytes + " bytes of tree structure but only " +
+                    buf.remaining() + " are available");
+        }
+
+        final Precision.DoubleEquivalence hyperplanePrecision = precision != null ?
+                precision :
+                createPrecision(epsilon);
+
+        final Object[] hyperplanes = new Object[hyperplaneCount];
+        for (int i = 0; i < hyperplaneCount; ++i) {
+            try {
+                hyperplanes[i] = readHyperplane(buf, hyperplanePrecision);
+            } catch (IllegalArgumentException exc) {
+                throw invalidData("invalid hyperplane " + i + ": " + exc.getMessage(), exc);
+            }
+        }
+
+        final T tree = createEmptyTree();
+
+        final Deque<N> stack = new ArrayDeque<>();
+        stack.push(tree.getRoot());
+
+        for (int i = 0; i < nodeCount; ++i) {
+            final N node = stack.poll();
+            if (node == null) {
+                throw invalidData("node " + i + " has no parent");
+            }
+
+            final byte marker = buf.get();
+            if (marker == INTERNAL) {
+                final int hyperplaneIdx = buf.getInt();
+                if (hyperplaneIdx < 0 || hyperplaneIdx >= hyperplaneCount) {
+                    throw invalidData("invalid hyperplane index " + hyperplaneIdx + " for node " + i);
+                }
+
+                @SuppressWarnings("unchecked")
+                final Hyperplane<P> cutter = (Hyperplane<P>) hyperplanes[hyperplaneIdx];
+                if (!node.insertCut(cutter)) {
+                    throw invalidData("cut for node " + i + " does not intersect the node region");
+                }
+
+                stack.push(node.getPlus());
+                stack.push(node.getMinus());
+            } else if (marker == INSIDE_LEAF) {
+                node.setLocation(RegionLocation.INSIDE);
+            } else if (marker == OUTSIDE_LEAF) {
+                node.setLocation(RegionLocation.OUTSIDE);
+            } else {
+                throw invalidData("invalid marker " + marker + " for node " + i);
+            }
+        }
+
+        if (!stack.isEmpty()) {
+            throw invalidData("expected more than " + nodeCount + " nodes");
+        }
+
+        return tree;
+    }
+
+    /** Get the number of bytes following the header in the binary form of a tree with the given
+     * number of hyperplanes and nodes.
+     * @param hyperplaneCount number of hyperplanes
+     * @param nodeCount number of nodes
+     * @return the number of bytes following the header
+     * @throws IOException if the counts are not valid
+     */
+    private long getBodyByteCount(final int hyperplaneCount, final int nodeCount) throws IOException {
+        if (hyperplaneCount < 0 || nodeCount < 1 || nodeCount % 2 == 0) {
+            throw invalidData("invalid hyperplane count " + hyperplaneCount + " or node count " + nodeCount);
+        }
+
+        return ((long) hyperplaneCount * getHyperplaneByteCount()) +
+                nodeCount +
+                ((long) (nodeCount / 2) * Integer.BYTES);
+    }
+
+    /** Create a precision context from an epsilon value read from the input.
+     * @param epsilon epsilon value
+     * @return precision context using the given epsilon value
+     * @throws IOException if the epsilon value is negative, NaN, or infinite
+     */
+    private static Precision.DoubleEquivalence createPrecision(final double epsilon) throws IOException {
+        if (!Double.isFinite(epsilon) || epsilon < 0) {
+            throw invalidData("invalid epsilon " + epsilon);
+        }
+
+        try {
+            return Precision.doubleEquivalenceOfEpsilon(epsilon);
+        } catch (IllegalArgumentException exc) {
+            throw invalidData("invalid epsilon " + epsilon, exc);
+        }
+    }
+
+    /** Fill the given buffer with bytes from the channel. The buffer is flipped and made ready
+     * for reading.
+     * @param in input channel
+     * @param buf buffer to fill
+     * @param name name of the data being read, used in error messages
+     * @throws IOException if an I/O error occurs or the channel does not contain enough data
+     */
+    private static void fill(final ReadableByteChannel in, final ByteBuffer buf, final String name)
+            throws IOException {
+        while (buf.hasRemaining()) {
+            if (in.read(buf) < 0) {
+                throw invalidData("failed to read " + name + ": data not available");
+            }
+        }
+        buf.flip();
+    }
+
+    /** Return an exception indicating that the input data is not valid.
+     * @param msg error message
+     * @return exception instance
+     */
+    private static IOException invalidData(final String msg) {
+        return new IOException("Invalid region BSP tree data: " + msg);
+    }
+
+    /** Return an exception indicating that the input data is not valid.
+     * @param msg error message
+     * @param cause the cause of the exception
+     * @return exception instance
+     */
+    private static IOException invalidData(final String msg, final Throwable cause) {
+        return new IOException("Invalid region BSP tree data: " + msg, cause);
+    }
+}
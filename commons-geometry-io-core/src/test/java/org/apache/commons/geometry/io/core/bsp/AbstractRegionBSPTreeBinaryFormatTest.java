@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.core.bsp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AbstractRegionBSPTreeBinaryFormatTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final double EPS = 1e-15;
+
+    private static final int HEADER_BYTES = 22;
+
+    private final TestFormat format = new TestFormat();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testToByteBuffer_singleNode() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree(true);
+
+        // act
+        final ByteBuffer buf = format.toByteBuffer(tree, TEST_EPS);
+
+        // assert
+        Assertions.assertEquals(0, buf.position());
+        Assertions.assertEquals(HEADER_BYTES + 1, buf.limit());
+
+        Assertions.assertEquals(AbstractRegionBSPTreeBinaryFormat.MAGIC_NUMBER, buf.getInt());
+        Assertions.assertEquals(AbstractRegionBSPTreeBinaryFormat.VERSION, buf.get());
+        Assertions.assertEquals(TestFormat.TREE_TYPE_ID, buf.get());
+        Assertions.assertEquals(TEST_EPS, buf.getDouble());
+        Assertions.assertEquals(0, buf.getInt());
+        Assertions.assertEquals(1, buf.getInt());
+        Assertions.assertEquals(1, buf.get());
+    }
+
+    @Test
+    void testToByteBuffer_sharedHyperplanesWrittenOnce() {
+        // arrange
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        final TestRegionNode root = tree.getRoot();
+        root.cut(TestLine.X_AXIS);
+        root.getMinus().cut(TestLine.Y_AXIS);
+        root.getPlus().cut(TestLine.Y_AXIS);
+
+        // act
+        final ByteBuffer buf = format.toByteBuffer(tree, TEST_EPS);
+
+        // assert
+        Assertions.assertEquals(2, buf.getInt(HEADER_BYTES - 8));
+        Assertions.assertEquals(7, buf.getInt(HEADER_BYTES - 4));
+        Assertions.assertEquals(HEADER_BYTES + (2 * TestFormat.HYPERPLANE_BYTES) + 7 + (3 * Integer.BYTES),
+                buf.limit());
+    }
+
+    @Test
+    void testReadWrite_byteBuffer() throws IOException {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+
+        // act
+        final TestRegionBSPTree result = format.read(format.toByteBuffer(tree, TEST_EPS));
+
+        // assert
+        assertSameStructure(tree, result);
+    }
+
+    @Test
+    void testReadWrite_singleNodes() throws IOException {
+        // act
+        final TestRegionBSPTree full = format.read(format.toByteBuffer(new TestRegionBSPTree(true), TEST_EPS));
+        final TestRegionBSPTree empty = format.read(format.toByteBuffer(new TestRegionBSPTree(false), TEST_EPS));
+
+        // assert
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    void testRead_byteBuffer_positionAndOrder() throws IOException {
+        // arrange
+        final ByteBuffer src = format.toByteBuffer(createTree(), TEST_EPS);
+
+        final ByteBuffer buf = ByteBuffer.allocate(src.limit() + 3)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.put((byte) 1);
+        buf.put(src);
+        buf.position(1);
+
+        // act
+        final TestRegionBSPTree result = format.read(buf);
+
+        // assert
+        assertSameStructure(createTree(), result);
+        Assertions.assertEquals(buf.capacity() - 2, buf.position());
+        Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, buf.order());
+    }
+
+    @Test
+    void testReadWrite_channel() throws IOException {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // act
+        try (WritableByteChannel out = Channels.newChannel(bytes)) {
+            format.write(tree, TEST_EPS, out);
+            format.write(new TestRegionBSPTree(true), TEST_EPS, out);
+        }
+
+        final TestRegionBSPTree first;
+        final TestRegionBSPTree second;
+        try (ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+            first = format.read(in);
+            second = format.read(in);
+        }
+
+        // assert
+        assertSameStructure(tree, first);
+        Assertions.assertTrue(second.isFull());
+    }
+
+    @Test
+    void testReadWrite_file() throws IOException {
+        // arrange
+        final TestRegionBSPTree tree = createTree();
+        final Path file = tempDir.resolve("tree.bin");
+
+        Files.write(file, new byte[100]);
+
+        // act
+        format.write(tree, TEST_EPS, file);
+        final TestRegionBSPTree result = format.read(file);
+
+        // assert
+        Assertions.assertEquals(format.toByteBuffer(tree, TEST_EPS).limit(), Files.size(file));
+        assertSameStructure(tree, result);
+    }
+
+    @Test
+    void testRead_precision() throws IOException {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), 1e-3);
+        final Precision.DoubleEquivalence precision = Precision.doubleEquivalenceOfEpsilon(1e-2);
+
+        // act
+        format.read(buf.duplicate());
+        final Precision.DoubleEquivalence stored = format.lastPrecision;
+
+        format.read(buf.duplicate(), precision);
+        final Precision.DoubleEquivalence given = format.lastPrecision;
+
+        // assert
+        Assertions.assertTrue(stored.eq(1, 1 + 1e-4));
+        Assertions.assertFalse(stored.eq(1, 1 + 1e-2));
+
+        Assertions.assertSame(precision, given);
+    }
+
+    @Test
+    void testRead_invalidHeader() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+
+        // act/assert
+        assertInvalid(modify(buf, 0, 1), "unexpected magic number");
+        assertInvalid(modify(buf, 4, 2), "unsupported format version 2");
+        assertInvalid(modify(buf, 5, 7), "expected tree type id " + TestFormat.TREE_TYPE_ID + " but was 7");
+        assertInvalid(modifyInt(buf, HEADER_BYTES - 4, 2), "invalid hyperplane count 3 or node count 2");
+        assertInvalid(modifyInt(buf, HEADER_BYTES - 8, -1), "invalid hyperplane count -1 or node count 7");
+    }
+
+    @Test
+    void testRead_invalidNodes() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+        final int nodeStart = HEADER_BYTES + (3 * TestFormat.HYPERPLANE_BYTES);
+
+        // act/assert
+        assertInvalid(modify(buf, nodeStart, 5), "invalid marker 5 for node 0");
+        assertInvalid(modifyInt(buf, nodeStart + 1, 3), "invalid hyperplane index 3 for node 0");
+        assertInvalid(modifyInt(buf, HEADER_BYTES - 4, 5), "expected more than 5 nodes");
+
+        // pad the input so that it contains enough bytes for the extra nodes
+        assertInvalid(pad(modifyInt(buf, HEADER_BYTES - 4, 9), 6), "node 7 has no parent");
+
+        // reuse the root cut for its minus child
+        assertInvalid(modifyInt(buf, nodeStart + 6, 0), "cut for node 1 does not intersect the node region");
+    }
+
+    @Test
+    void testRead_truncated() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+        buf.limit(buf.limit() - 1);
+
+        final byte[] bytes = new byte[buf.limit()];
+        buf.get(bytes);
+        buf.rewind();
+
+        // act/assert
+        assertInvalid(buf, "expected " + (bytes.length - HEADER_BYTES + 1) + " bytes of tree structure but only " +
+                (bytes.length - HEADER_BYTES) + " are available");
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            try (ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes))) {
+                format.read(in);
+            }
+        }, IOException.class, "Invalid region BSP tree data: failed to read tree structure: data not available");
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            try (ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(new byte[3]))) {
+                format.read(in);
+            }
+        }, IOException.class, "Invalid region BSP tree data: failed to read header: data not available");
+    }
+
+    @Test
+    void testRead_countsExceedInput() throws IOException {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+        final int available = buf.limit() - HEADER_BYTES;
+        final int nodeBytes = 7 + (3 * Integer.BYTES);
+        final long claimedBytes = ((long) Integer.MAX_VALUE * TestFormat.HYPERPLANE_BYTES) + nodeBytes;
+
+        // header only, claiming a number of hyperplanes that would fit in a single buffer
+        final int largeCount = (Integer.MAX_VALUE - HEADER_BYTES - nodeBytes) / TestFormat.HYPERPLANE_BYTES;
+        final long largeBytes = ((long) largeCount * TestFormat.HYPERPLANE_BYTES) + nodeBytes;
+
+        final byte[] header = new byte[HEADER_BYTES];
+        buf.duplicate().get(header);
+        ByteBuffer.wrap(header).putInt(HEADER_BYTES - 8, largeCount);
+
+        final Path file = tempDir.resolve("header.bin");
+        Files.write(file, header);
+
+        final String largeMsg = "expected " + largeBytes + " bytes of tree structure but only 0 are available";
+
+        // act/assert
+        assertInvalid(modifyInt(buf, HEADER_BYTES - 8, Integer.MAX_VALUE),
+                "expected " + claimedBytes + " bytes of tree structure but only " + available + " are available");
+        assertInvalid(ByteBuffer.wrap(header), largeMsg);
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> format.read(file),
+                IOException.class, "Invalid region BSP tree data: " + largeMsg);
+
+        GeometryTestUtils.assertThrowsWithMessage(() -> {
+            try (ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(header))) {
+                format.read(in);
+            }
+        }, IOException.class, "Invalid region BSP tree data: failed to read tree structure: data not available");
+    }
+
+    @Test
+    void testRead_invalidEpsilon() throws IOException {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+        final int epsilonIdx = 6;
+
+        // act/assert
+        assertInvalid(modifyDouble(buf, epsilonIdx, Double.NaN), "invalid epsilon NaN");
+        assertInvalid(modifyDouble(buf, epsilonIdx, -1), "invalid epsilon -1.0");
+        assertInvalid(modifyDouble(buf, epsilonIdx, Double.POSITIVE_INFINITY), "invalid epsilon Infinity");
+
+        // the stored epsilon is not used when a precision context is given
+        final TestRegionBSPTree result = format.read(modifyDouble(buf, epsilonIdx, Double.NaN),
+                Precision.doubleEquivalenceOfEpsilon(TEST_EPS));
+        assertSameStructure(createTree(), result);
+    }
+
+    @Test
+    void testRead_invalidHyperplane() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+
+        // act
+        final IOException exc = Assertions.assertThrows(IOException.class,
+            () -> format.read(modifyDouble(buf, HEADER_BYTES + TestFormat.HYPERPLANE_BYTES, Double.NaN)));
+
+        // assert
+        Assertions.assertEquals("Invalid region BSP tree data: invalid hyperplane 1: Invalid line origin: NaN",
+                exc.getMessage());
+        Assertions.assertTrue(exc.getCause() instanceof IllegalArgumentException);
+    }
+
+    private void assertInvalid(final ByteBuffer buf, final String msg) {
+        final IOException exc = Assertions.assertThrows(IOException.class, () -> format.read(buf));
+        final String prefix = "Invalid region BSP tree data: " + msg;
+        Assertions.assertTrue(exc.getMessage().startsWith(prefix),
+                () -> "Expected message to start with \"" + prefix + "\" but was \"" + exc.getMessage() + "\"");
+    }
+
+    private static ByteBuffer modify(final ByteBuffer buf, final int idx, final int value) {
+        final ByteBuffer copy = copy(buf);
+        copy.put(idx, (byte) value);
+        return copy;
+    }
+
+    private static ByteBuffer modifyInt(final ByteBuffer buf, final int idx, final int value) {
+        final ByteBuffer copy = copy(buf);
+        copy.putInt(idx, value);
+        return copy;
+    }
+
+    private static ByteBuffer modifyDouble(final ByteBuffer buf, final int idx, final double value) {
+        final ByteBuffer copy = copy(buf);
+        copy.putDouble(idx, value);
+        return copy;
+    }
+
+    private static ByteBuffer pad(final ByteBuffer buf, final int count) {
+        final ByteBuffer copy = ByteBuffer.allocate(buf.limit() + count);
+        copy.put(buf.duplicate());
+        copy.position(0);
+        return copy;
+    }
+
+    private static ByteBuffer copy(final ByteBuffer buf) {
+        final ByteBuffer copy = ByteBuffer.allocate(buf.limit());
+        copy.put(buf.duplicate());
+        copy.flip();
+        return copy;
+    }
+
+    private static TestRegionBSPTree createTree() {
+        final TestRegionBSPTree tree = new TestRegionBSPTree();
+        final TestRegionNode root = tree.getRoot();
+
+        root.cut(TestLine.X_AXIS);
+        root.getMinus().cut(TestLine.Y_AXIS);
+        root.getMinus().getPlus().setLocation(RegionLocation.INSIDE);
+        root.getPlus().cut(new TestLine(0, 1, 1, 2));
+
+        return tree;
+    }
+
+    // the test line encoding is not exact so hyperplane values are compared with a tolerance
+    private static void assertSameStructure(final TestRegionBSPTree expected, final TestRegionBSPTree actual) {
+        Assertions.assertEquals(expected.count(), actual.count());
+
+        final Iterator<TestRegionNode> expectedIt = expected.nodes().iterator();
+        final Iterator<TestRegionNode> actualIt = actual.nodes().iterator();
+        while (expectedIt.hasNext()) {
+            final TestRegionNode expectedNode = expectedIt.next();
+            final TestRegionNode actualNode = actualIt.next();
+
+            Assertions.assertEquals(expectedNode.isLeaf(), actualNode.isLeaf());
+            if (expectedNode.isLeaf()) {
+                Assertions.assertEquals(expectedNode.getLocation(), actualNode.getLocation());
+            } else {
+                final TestLine expectedLine = (TestLine) expectedNode.getCutHyperplane();
+                final TestLine actualLine = (TestLine) actualNode.getCutHyperplane();
+
+                Assertions.assertEquals(expectedLine.getOrigin().getX(), actualLine.getOrigin().getX(), EPS);
+                Assertions.assertEquals(expectedLine.getOrigin().getY(), actualLine.getOrigin().getY(), EPS);
+                Assertions.assertEquals(expectedLine.getDirectionX(), actualLine.getDirectionX(), EPS);
+                Assertions.assertEquals(expectedLine.getDirectionY(), actualLine.getDirectionY(), EPS);
+
+                Assertions.assertEquals(expectedNode.getCut().getSize(), actualNode.getCut().getSize(), EPS);
+            }
+        }
+    }
+
+    private static final class TestFormat
+        extends AbstractRegionBSPTreeBinaryFormat<TestPoint2D, TestRegionNode, TestRegionBSPTree> {
+
+        static final int TREE_TYPE_ID = 100;
+
+        static final int HYPERPLANE_BYTES = 4 * Double.BYTES;
+
+        private Precision.DoubleEquivalence lastPrecision;
+
+        @Override
+        public int getTreeTypeId() {
+            return TREE_TYPE_ID;
+        }
+
+        @Override
+        protected int getHyperplaneByteCount() {
+            return HYPERPLANE_BYTES;
+        }
+
+        @Override
+        protected void writeHyperplane(final Hyperplane<TestPoint2D> hyperplane, final ByteBuffer buf) {
+            final TestLine line = (TestLine) hyperplane;
+            final TestPoint2D origin = line.getOrigin();
+
+            buf.putDouble(origin.getX())
+                .putDouble(origin.getY())
+                .putDouble(line.getDirectionX())
+                .putDouble(line.getDirectionY());
+        }
+
+        @Override
+        protected TestLine readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+            lastPrecision = precision;
+
+            final double x = buf.getDouble();
+            final double y = buf.getDouble();
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                throw new IllegalArgumentException("Invalid line origin: " + (Double.isFinite(x) ? y : x));
+            }
+            return new TestLine(x, y, x + buf.getDouble(), y + buf.getDouble());
+        }
+
+        @Override
+        protected TestRegionBSPTree createEmptyTree() {
+            return new TestRegionBSPTree(false);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.euclidean.oned;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.euclidean.oned.OrientedPoint;
+import org.apache.commons.geometry.euclidean.oned.OrientedPoints;
+import org.apache.commons.geometry.euclidean.oned.RegionBSPTree1D;
+import org.apache.commons.geometry.euclidean.oned.RegionBSPTree1D.RegionNode1D;
+import org.apache.commons.geometry.euclidean.oned.Vector1D;
+import org.apache.commons.geometry.io.core.bsp.AbstractRegionBSPTreeBinaryFormat;
+import org.apache.commons.numbers.core.Precision;
+
+/** Compact binary format storing the exact internal structure of {@link RegionBSPTree1D} instances.
+ * Each cut hyperplane is stored as the point location, stored as a double, followed by a single byte set to
+ * {@code 1} if the point is positive-facing and {@code 0} otherwise.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @see AbstractRegionBSPTreeBinaryFormat
+ */
+public final class RegionBSPTree1DBinaryFormat
+    extends AbstractRegionBSPTreeBinaryFormat<Vector1D, RegionNode1D, RegionBSPTree1D> {
+
+    /** Tree type id for Euclidean 1D trees. */
+    public static final int TREE_TYPE_ID = 1;
+
+    /** Number of bytes used to store each cut hyperplane. */
+    private static final int HYPERPLANE_BYTES = Double.BYTES + 1;
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTreeTypeId() {
+        return TREE_TYPE_ID;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getHyperplaneByteCount() {
+        return HYPERPLANE_BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHyperplane(final Hyperplane<Vector1D> hyperplane, final ByteBuffer buf) {
+        final OrientedPoint pt = (OrientedPoint) hyperplane;
+        buf.putDouble(pt.getLocation())
+            .put(pt.isPositiveFacing() ? (byte) 1 : (byte) 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected OrientedPoint readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+        final double location = buf.getDouble();
+        final boolean positiveFacing = buf.get() != 0;
+
+        if (!Double.isFinite(location)) {
+            throw new IllegalArgumentException("Invalid oriented point location: " + location);
+        }
+
+        return OrientedPoints.fromLocationAndDirection(location, positiveFacing, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RegionBSPTree1D createEmptyTree() {
+        return RegionBSPTree1D.empty();
+    }
+}
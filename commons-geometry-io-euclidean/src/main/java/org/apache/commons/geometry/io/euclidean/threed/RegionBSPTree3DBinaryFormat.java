@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.euclidean.threed;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.euclidean.threed.Plane;
+import org.apache.commons.geometry.euclidean.threed.Planes;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.io.core.bsp.AbstractRegionBSPTreeBinaryFormat;
+import org.apache.commons.numbers.core.Precision;
+
+/** Compact binary format storing the exact internal structure of {@link RegionBSPTree3D} instances.
+ * Each cut hyperplane is stored as the x, y, and z components of the plane normal followed by the plane
+ * origin offset, all stored as doubles.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @see AbstractRegionBSPTreeBinaryFormat
+ */
+public final class RegionBSPTree3DBinaryFormat
+    extends AbstractRegionBSPTreeBinaryFormat<Vector3D, RegionNode3D, RegionBSPTree3D> {
+
+    /** Tree type id for Euclidean 3D trees. */
+    public static final int TREE_TYPE_ID = 3;
+
+    /** Number of bytes used to store each cut hyperplane. */
+    private static final int HYPERPLANE_BYTES = 4 * Double.BYTES;
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTreeTypeId() {
+        return TREE_TYPE_ID;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getHyperplaneByteCount() {
+        return HYPERPLANE_BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHyperplane(final Hyperplane<Vector3D> hyperplane, final ByteBuffer buf) {
+        final Plane plane = (Plane) hyperplane;
+        final Vector3D normal = plane.getNormal();
+
+        buf.putDouble(normal.getX())
+            .putDouble(normal.getY())
+            .putDouble(normal.getZ())
+            .putDouble(plane.getOriginOffset());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Plane readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+        final Vector3D normal = Vector3D.of(buf.getDouble(), buf.getDouble(), buf.getDouble());
+        final double originOffset = buf.getDouble();
+
+        return Planes.fromNormalAndOriginOffset(normal, originOffset, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RegionBSPTree3D createEmptyTree() {
+        return RegionBSPTree3D.empty();
+    }
+}
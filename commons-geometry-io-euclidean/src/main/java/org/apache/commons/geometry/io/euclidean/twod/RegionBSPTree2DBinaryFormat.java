@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.euclidean.twod;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.euclidean.twod.Line;
+import org.apache.commons.geometry.euclidean.twod.Lines;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
+import org.apache.commons.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.geometry.io.core.bsp.AbstractRegionBSPTreeBinaryFormat;
+import org.apache.commons.numbers.core.Precision;
+
+/** Compact binary format storing the exact internal structure of {@link RegionBSPTree2D} instances.
+ * Each cut hyperplane is stored as the x and y components of the line direction followed by the line origin
+ * offset, all stored as doubles.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @see AbstractRegionBSPTreeBinaryFormat
+ */
+public final class RegionBSPTree2DBinaryFormat
+    extends AbstractRegionBSPTreeBinaryFormat<Vector2D, RegionNode2D, RegionBSPTree2D> {
+
+    /** Tree type id for Euclidean 2D trees. */
+    public static final int TREE_TYPE_ID = 2;
+
+    /** Number of bytes used to store each cut hyperplane. */
+    private static final int HYPERPLANE_BYTES = 3 * Double.BYTES;
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTreeTypeId() {
+        return TREE_TYPE_ID;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getHyperplaneByteCount() {
+        return HYPERPLANE_BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHyperplane(final Hyperplane<Vector2D> hyperplane, final ByteBuffer buf) {
+        final Line line = (Line) hyperplane;
+        final Vector2D dir = line.getDirection();
+
+        buf.putDouble(dir.getX())
+            .putDouble(dir.getY())
+            .putDouble(line.getOriginOffset());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Line readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+        final Vector2D dir = Vector2D.of(buf.getDouble(), buf.getDouble());
+        final double originOffset = buf.getDouble();
+
+        return Lines.fromDirectionAndOriginOffset(dir, originOffset, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RegionBSPTree2D createEmptyTree() {
+        return RegionBSPTree2D.empty();
+    }
+}
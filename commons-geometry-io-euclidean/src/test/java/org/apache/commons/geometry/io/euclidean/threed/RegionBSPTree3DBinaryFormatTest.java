@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.euclidean.threed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import org.apache.commons.geometry.euclidean.threed.Plane;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RegionBSPTree3DBinaryFormatTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final int EPSILON_INDEX = 6;
+
+    private static final int HEADER_BYTES = 22;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    private final RegionBSPTree3DBinaryFormat format = new RegionBSPTree3DBinaryFormat();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGetTreeTypeId() {
+        // act/assert
+        Assertions.assertEquals(RegionBSPTree3DBinaryFormat.TREE_TYPE_ID, format.getTreeTypeId());
+    }
+
+    @Test
+    void testReadWrite_emptyAndFull() throws IOException {
+        // act
+        final RegionBSPTree3D empty = format.read(format.toByteBuffer(RegionBSPTree3D.empty(), TEST_EPS));
+        final RegionBSPTree3D full = format.read(format.toByteBuffer(RegionBSPTree3D.full(), TEST_EPS));
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertTrue(full.isFull());
+    }
+
+    @Test
+    void testReadWrite_byteBuffer() throws IOException {
+        // arrange
+        final RegionBSPTree3D tree = createTree();
+
+        // act
+        final ByteBuffer buf = format.toByteBuffer(tree, TEST_EPS);
+        final RegionBSPTree3D result = format.read(buf);
+
+        // assert
+        Assertions.assertFalse(buf.hasRemaining());
+        assertSameStructure(tree, result);
+    }
+
+    @Test
+    void testReadWrite_file() throws IOException {
+        // arrange
+        final RegionBSPTree3D tree = createTree();
+        final Path file = tempDir.resolve("tree.bin");
+
+        // act
+        format.write(tree, TEST_EPS, file);
+        final RegionBSPTree3D result = format.read(file, TEST_PRECISION);
+
+        // assert
+        assertSameStructure(tree, result);
+    }
+
+    @Test
+    void testToByteBuffer_compact() {
+        // arrange
+        final RegionBSPTree3D tree = createTree();
+        final int count = tree.count();
+
+        // act
+        final ByteBuffer buf = format.toByteBuffer(tree, TEST_EPS);
+
+        // assert
+        // each internal node uses 5 bytes and each leaf uses 1, plus at most 32 bytes per hyperplane
+        final int maxSize = 22 + (count / 2) * (5 + 32) + ((count / 2) + 1);
+        Assertions.assertTrue(buf.limit() <= maxSize);
+    }
+
+    @Test
+    void testRead_invalidEpsilon() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+
+        // act/assert
+        assertInvalid(modify(buf, EPSILON_INDEX, Double.NaN), "invalid epsilon NaN");
+        assertInvalid(modify(buf, EPSILON_INDEX, -1), "invalid epsilon -1.0");
+        assertInvalid(modify(buf, EPSILON_INDEX, Double.POSITIVE_INFINITY), "invalid epsilon Infinity");
+    }
+
+    @Test
+    void testRead_invalidHyperplane() {
+        // arrange
+        final ByteBuffer buf = format.toByteBuffer(createTree(), TEST_EPS);
+
+        // act/assert
+        // zero normal
+        assertInvalidHyperplane(modify(buf, HEADER_BYTES, 0, 0, 0));
+
+        // NaN normal
+        assertInvalidHyperplane(modify(buf, HEADER_BYTES, Double.NaN));
+
+        // infinite origin offset
+        assertInvalidHyperplane(modify(buf, HEADER_BYTES + 24, Double.POSITIVE_INFINITY));
+    }
+
+    private static RegionBSPTree3D createTree() {
+        final RegionBSPTree3D tree = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        tree.difference(Sphere.from(Vector3D.ZERO, 0.65, TEST_PRECISION).toTree(2));
+
+        return tree;
+    }
+
+    private static void assertSameStructure(final RegionBSPTree3D expected, final RegionBSPTree3D actual) {
+        Assertions.assertEquals(expected.count(), actual.count());
+
+        final Iterator<RegionNode3D> expectedIt = expected.nodes().iterator();
+        final Iterator<RegionNode3D> actualIt = actual.nodes().iterator();
+        while (expectedIt.hasNext()) {
+            final RegionNode3D expectedNode = expectedIt.next();
+            final RegionNode3D actualNode = actualIt.next();
+
+            Assertions.assertEquals(expectedNode.isLeaf(), actualNode.isLeaf());
+            if (expectedNode.isLeaf()) {
+                Assertions.assertEquals(expectedNode.getLocation(), actualNode.getLocation());
+            } else {
+                final Plane expectedPlane = (Plane) expectedNode.getCutHyperplane();
+                final Plane actualPlane = (Plane) actualNode.getCutHyperplane();
+
+                Assertions.assertEquals(expectedPlane.getOriginOffset(), actualPlane.getOriginOffset());
+                Assertions.assertTrue(expectedPlane.eq(actualPlane, TEST_PRECISION));
+            }
+        }
+
+        Assertions.assertEquals(expected.getSize(), actual.getSize(), TEST_EPS);
+        Assertions.assertEquals(expected.getBoundarySize(), actual.getBoundarySize(), TEST_EPS);
+    }
+
+    private void assertInvalid(final ByteBuffer buf, final String msg) {
+        final IOException exc = Assertions.assertThrows(IOException.class, () -> format.read(buf));
+        Assertions.assertEquals("Invalid region BSP tree data: " + msg, exc.getMessage());
+    }
+
+    private void assertInvalidHyperplane(final ByteBuffer buf) {
+        final IOException exc = Assertions.assertThrows(IOException.class, () -> format.read(buf));
+        Assertions.assertTrue(exc.getMessage().startsWith("Invalid region BSP tree data: invalid hyperplane 0: "),
+                () -> "Unexpected message: " + exc.getMessage());
+        Assertions.assertTrue(exc.getCause() instanceof IllegalArgumentException);
+    }
+
+    private static ByteBuffer modify(final ByteBuffer buf, final int idx, final double... values) {
+        final ByteBuffer copy = ByteBuffer.allocate(buf.limit());
+        copy.put(buf.duplicate());
+        copy.flip();
+        for (int i = 0; i < values.length; ++i) {
+            copy.putDouble(idx + (i * Double.BYTES), values[i]);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.spherical.oned;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.spherical.oned.CutAngle;
+import org.apache.commons.geometry.spherical.oned.CutAngles;
+import org.apache.commons.geometry.spherical.oned.Point1S;
+import org.apache.commons.geometry.spherical.oned.RegionBSPTree1S;
+import org.apache.commons.geometry.spherical.oned.RegionBSPTree1S.RegionNode1S;
+import org.apache.commons.geometry.io.core.bsp.AbstractRegionBSPTreeBinaryFormat;
+import org.apache.commons.numbers.core.Precision;
+
+/** Compact binary format storing the exact internal structure of {@link RegionBSPTree1S} instances.
+ * Each cut hyperplane is stored as the azimuth of the cut point, stored as a double, followed by a single
+ * byte set to {@code 1} if the cut is positive-facing and {@code 0} otherwise.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @see AbstractRegionBSPTreeBinaryFormat
+ */
+public final class RegionBSPTree1SBinaryFormat
+    extends AbstractRegionBSPTreeBinaryFormat<Point1S, RegionNode1S, RegionBSPTree1S> {
+
+    /** Tree type id for spherical 1D trees. */
+    public static final int TREE_TYPE_ID = 11;
+
+    /** Number of bytes used to store each cut hyperplane. */
+    private static final int HYPERPLANE_BYTES = Double.BYTES + 1;
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTreeTypeId() {
+        return TREE_TYPE_ID;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getHyperplaneByteCount() {
+        return HYPERPLANE_BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHyperplane(final Hyperplane<Point1S> hyperplane, final ByteBuffer buf) {
+        final CutAngle cut = (CutAngle) hyperplane;
+        buf.putDouble(cut.getAzimuth())
+            .put(cut.isPositiveFacing() ? (byte) 1 : (byte) 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected CutAngle readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+        final double azimuth = buf.getDouble();
+        final boolean positiveFacing = buf.get() != 0;
+
+        if (!Double.isFinite(azimuth)) {
+            throw new IllegalArgumentException("Invalid cut angle azimuth: " + azimuth);
+        }
+
+        return CutAngles.fromAzimuthAndDirection(azimuth, positiveFacing, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RegionBSPTree1S createEmptyTree() {
+        return RegionBSPTree1S.empty();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.io.spherical.twod;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.spherical.twod.GreatCircle;
+import org.apache.commons.geometry.spherical.twod.GreatCircles;
+import org.apache.commons.geometry.spherical.twod.Point2S;
+import org.apache.commons.geometry.spherical.twod.RegionBSPTree2S;
+import org.apache.commons.geometry.spherical.twod.RegionBSPTree2S.RegionNode2S;
+import org.apache.commons.geometry.io.core.bsp.AbstractRegionBSPTreeBinaryFormat;
+import org.apache.commons.numbers.core.Precision;
+
+/** Compact binary format storing the exact internal structure of {@link RegionBSPTree2S} instances.
+ * Each cut hyperplane is stored as the x, y, and z components of the great circle pole followed by the x, y,
+ * and z components of the great circle u-axis, all stored as doubles. The v-axis is not stored since it is
+ * determined by the other two.
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ * @see AbstractRegionBSPTreeBinaryFormat
+ */
+public final class RegionBSPTree2SBinaryFormat
+    extends AbstractRegionBSPTreeBinaryFormat<Point2S, RegionNode2S, RegionBSPTree2S> {
+
+    /** Tree type id for spherical 2D trees. */
+    public static final int TREE_TYPE_ID = 12;
+
+    /** Number of bytes used to store each cut hyperplane. */
+    private static final int HYPERPLANE_BYTES = 6 * Double.BYTES;
+
+    /** {@inheritDoc} */
+    @Override
+    public int getTreeTypeId() {
+        return TREE_TYPE_ID;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getHyperplaneByteCount() {
+        return HYPERPLANE_BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHyperplane(final Hyperplane<Point2S> hyperplane, final ByteBuffer buf) {
+        final GreatCircle circle = (GreatCircle) hyperplane;
+
+        putVector(circle.getPole(), buf);
+        putVector(circle.getU(), buf);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected GreatCircle readHyperplane(final ByteBuffer buf, final Precision.DoubleEquivalence precision) {
+        final Vector3D pole = getVector(buf);
+        final Vector3D u = getVector(buf);
+
+        return GreatCircles.fromPoleAndU(pole, u, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RegionBSPTree2S createEmptyTree() {
+        return RegionBSPTree2S.empty();
+    }
+
+    /** Put the components of the given vector into the buffer.
+     * @param vec vector to write
+     * @param buf output buffer
+     */
+    private static void putVector(final Vector3D vec, final ByteBuffer buf) {
+        buf.putDouble(vec.getX())
+            .putDouble(vec.getY())
+            .putDouble(vec.getZ());
+    }
+
+    /** Read a vector from the buffer.
+     * @param buf input buffer
+     * @return vector containing the next three double values from the buffer
+     */
+    private static Vector3D getVector(final ByteBuffer buf) {
+        return Vector3D.of(buf.getDouble(), buf.getDouble(), buf.getDouble());
+    }
+}
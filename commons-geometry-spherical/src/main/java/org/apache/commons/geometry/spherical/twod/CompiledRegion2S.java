@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.spherical.twod;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractCompiledRegion;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.numbers.angle.Angle;
+import org.apache.commons.numbers.arrays.LinearCombination;
+import org.apache.commons.numbers.core.Precision;
+
+/** Immutable, compiled snapshot of a {@link RegionBSPTree2S}. The tree structure is stored as arrays of
+ * child node indices and node locations as an array of location codes. Cut great circles are referenced
+ * through a table of distinct, immutable {@link GreatCircle} instances, with the pole of each circle also
+ * stored in a flat array of coordinates for batch classification. All values that are lazily computed
+ * by {@link RegionBSPTree2S} are computed when the instance is created, meaning that instances can be
+ * queried concurrently by any number of threads without synchronization.
+ *
+ * <p>Instances are created with {@link RegionBSPTree2S#compile()} or {@link RegionBSPTree2S#compile(boolean)}
+ * and represent the region as it existed at that time.</p>
+ */
+public final class CompiledRegion2S extends AbstractCompiledRegion<Point2S> {
+
+    /** Number of coordinates stored for each vector. */
+    private static final int VECTOR_DIMENSION = 3;
+
+    /** Absolute value of the cosine of the angle between two unit vectors above which the angle is computed
+     * from its sine, as in {@link Vector3D#angle(Vector3D)}.
+     */
+    private static final double ALIGNMENT_THRESHOLD = 0.99;
+
+    /** Pole coordinates of the cut great circles, stored as consecutive {@code (x, y, z)} groups in hyperplane
+     * table order.
+     */
+    private final double[] poleCoordinates;
+
+    /** Precision contexts for each great circle in hyperplane table order. */
+    private final Precision.DoubleEquivalence[] circlePrecisions;
+
+    /** Construct a new instance from the current state of the given tree.
+     * @param tree tree to compile
+     * @param shareSubtrees if true, structurally identical subtrees of the tree are stored only once
+     */
+    CompiledRegion2S(final RegionBSPTree2S tree, final boolean shareSubtrees) {
+        super(tree, shareSubtrees);
+
+        final List<Hyperplane<Point2S>> hyperplanes = getNodeStore().getHyperplanes();
+        final int count = hyperplanes.size();
+
+        this.poleCoordinates = new double[count * VECTOR_DIMENSION];
+        this.circlePrecisions = new Precision.DoubleEquivalence[count];
+
+        for (int i = 0; i < count; ++i) {
+            final GreatCircle circle = (GreatCircle) hyperplanes.get(i);
+            final Vector3D.Unit pole = circle.getPole();
+
+            final int offset = i * VECTOR_DIMENSION;
+            poleCoordinates[offset] = pole.getX();
+            poleCoordinates[offset + 1] = pole.getY();
+            poleCoordinates[offset + 2] = pole.getZ();
+
+            circlePrecisions[i] = circle.getPrecision();
+        }
+    }
+
+    /** Classify a batch of points given as consecutive {@code (azimuth, polar)} coordinate pairs in
+     * {@code azimuthPolar}, starting at index {@code offset}, storing the location of the {@code i}th point in
+     * {@code out[i]}. The points are converted to unit vectors in a single scratch array and no objects are
+     * allocated per point. The result for each point is the same as that returned by
+     * {@link #classify(org.apache.commons.geometry.core.Point) classify(Point2S.of(azimuth, polar))}.
+     * @param azimuthPolar array containing point coordinates
+     * @param offset index of the azimuth of the first point in {@code azimuthPolar}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code azimuthPolar} does not contain {@code count} points starting
+     *      at {@code offset} or {@code out} contains fewer than {@code count} elements
+     */
+    public void classify(final double[] azimuthPolar, final int offset, final int count,
+            final RegionLocation[] out) {
+        classify(azimuthPolar, offset, count, out, null);
+    }
+
+    /** Classify a batch of points given as consecutive {@code (azimuth, polar)} coordinate pairs in
+     * {@code azimuthPolar}, starting at index {@code offset}, storing the location of the {@code i}th point in
+     * {@code out[i]}. Large batches are split into ranges that are classified in parallel using the given pool.
+     * @param azimuthPolar array containing point coordinates
+     * @param offset index of the azimuth of the first point in {@code azimuthPolar}
+     * @param count number of points to classify
+     * @param out array receiving the locations of the points
+     * @param pool pool used to classify the points in parallel; if null, the points are classified
+     *      sequentially in the calling thread
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IndexOutOfBoundsException if {@code azimuthPolar} does not contain {@code count} points starting
+     *      at {@code offset} or {@code out} contains fewer than {@code count} elements
+     * @see #classify(double[], int, int, RegionLocation[])
+     */
+    public void classify(final double[] azimuthPolar, final int offset, final int count,
+            final RegionLocation[] out, final ForkJoinPool pool) {
+        checkCoordinateRange(azimuthPolar, offset, count, 2, out);
+
+        // compute the unit vectors in the same manner as Point2S so that the results are identical
+        final double[] vectors = new double[count * VECTOR_DIMENSION];
+        for (int i = 0; i < count; ++i) {
+            final double azimuth = azimuthPolar[offset + (2 * i)];
+            final double polar = azimuthPolar[offset + (2 * i) + 1];
+
+            final double xyLength = Math.sin(polar);
+            final double x = xyLength * Math.cos(azimuth);
+            final double y = xyLength * Math.sin(azimuth);
+            final double z = Math.cos(polar);
+
+            final double normInv = 1.0 / Math.sqrt((x * x) + (y * y) + (z * z));
+
+            final int vectorOffset = i * VECTOR_DIMENSION;
+            vectors[vectorOffset] = x * normInv;
+            vectors[vectorOffset + 1] = y * normInv;
+            vectors[vectorOffset + 2] = z * normInv;
+        }
+
+        classifyCoordinates(vectors, 0, count, VECTOR_DIMENSION, out, pool);
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The coordinates of each point are the coordinates of its unit vector in 3D Euclidean space.</p>
+     */
+    @Override
+    protected HyperplaneLocation classifyCut(final int hyperplaneIndex, final double[] coords, final int offset) {
+        final double cutOffset = offset(hyperplaneIndex, coords[offset], coords[offset + 1], coords[offset + 2]);
+
+        final double cmp = circlePrecisions[hyperplaneIndex].signum(cutOffset);
+        if (cmp > 0) {
+            return HyperplaneLocation.PLUS;
+        } else if (cmp < 0) {
+            return HyperplaneLocation.MINUS;
+        }
+        return HyperplaneLocation.ON;
+    }
+
+    /** Compute the offset of the unit vector with the given coordinates from the cut great circle with the
+     * given index. The computation is the same as that of {@link GreatCircle#offset(Vector3D)}, which subtracts
+     * {@code pi/2} from the angle between the pole and the vector, using the sine of the angle for nearly aligned
+     * vectors and the cosine otherwise.
+     * @param hyperplaneIndex index of the great circle in the hyperplane table
+     * @param x unit vector x coordinate
+     * @param y unit vector y coordinate
+     * @param z unit vector z coordinate
+     * @return the offset of the point from the great circle
+     */
+    private double offset(final int hyperplaneIndex, final double x, final double y, final double z) {
+        final int offset = hyperplaneIndex * VECTOR_DIMENSION;
+        final double px = poleCoordinates[offset];
+        final double py = poleCoordinates[offset + 1];
+        final double pz = poleCoordinates[offset + 2];
+
+        final double dot = LinearCombination.value(px, x, py, y, pz, z);
+
+        final double angle;
+        if (dot < -ALIGNMENT_THRESHOLD || dot > ALIGNMENT_THRESHOLD) {
+            final double crossNorm = Vectors.norm(
+                    LinearCombination.value(py, z, -pz, y),
+                    LinearCombination.value(pz, x, -px, z),
+                    LinearCombination.value(px, y, -py, x));
+
+            angle = dot >= 0 ?
+                    Math.asin(crossNorm) :
+                    Math.PI - Math.asin(crossNorm);
+        } else {
+            angle = Math.acos(dot);
+        }
+
+        return angle - Angle.PI_OVER_TWO;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Point2S disambiguateClosestPoint(final Point2S target, final Point2S a, final Point2S b) {
+        // return the point with the smallest coordinate values
+        final int cmp = Point2S.POLAR_AZIMUTH_ASCENDING_ORDER.compare(a, b);
+        return cmp < 0 ? a : b;
+    }
+}
@@ -20,7 +20,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
 import org.apache.commons.geometry.core.partitioning.Split;
@@ -39,6 +38,9 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
     /** List of great arc path comprising the region boundary. */
     private List<GreatArcPath> boundaryPaths;
 
+    /** Compiled snapshot of the region; this is computed when requested and then cached. */
+    private CompiledRegion2S compiledRegion;
+
     /** Create a new, empty instance.
      */
     public RegionBSPTree2S() {
@@ -74,7 +76,7 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
     /** {@inheritDoc} */
     @Override
     public Stream<GreatArc> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (GreatArc) b);
     }
 
     /** {@inheritDoc} */
@@ -156,6 +158,35 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
         return this;
     }
 
+    /** Create an immutable, compiled snapshot of the current region. The returned instance supports
+     * the query operations of this class (such as point classification and projection) and, unlike
+     * this class, may be safely shared between threads without synchronization. Subsequent
+     * modifications of this tree are not reflected in the returned instance. The snapshot is cached and
+     * returned by subsequent calls until this tree is next modified.
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion2S compile() {
+        if (compiledRegion == null) {
+            compiledRegion = new CompiledRegion2S(this, false);
+        }
+        return compiledRegion;
+    }
+
+    /** Create an immutable, compiled snapshot of the current region, optionally storing structurally
+     * identical subtrees of this tree only once. Sharing subtrees reduces the size of the snapshot for
+     * trees that repeat the same sequence of cuts in different regions, such as those produced by boolean
+     * operations on partitioned regions, and allows the snapshot to replace this tree for classification
+     * and projection at a lower memory cost. If {@code shareSubtrees} is false, the result is
+     * the same as that of {@link #compile()}. Otherwise, a new instance is created on each call.
+     * @param shareSubtrees if true, structurally identical subtrees are stored only once in the snapshot
+     * @return an immutable, compiled snapshot of the current region
+     */
+    public CompiledRegion2S compile(final boolean shareSubtrees) {
+        return shareSubtrees ?
+                new CompiledRegion2S(this, true) :
+                compile();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Point2S> computeRegionSizeProperties() {
@@ -212,6 +243,7 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
         super.invalidate();
 
         boundaryPaths = null;
+        compiledRegion = null;
     }
 
     /** Compute the great arc paths comprising the region boundary.
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.spherical.twod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.spherical.SphericalTestUtils;
+import org.apache.commons.numbers.angle.Angle;
+import org.apache.commons.numbers.core.Precision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompiledRegion2STest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final Precision.DoubleEquivalence TEST_PRECISION =
+            Precision.doubleEquivalenceOfEpsilon(TEST_EPS);
+
+    @Test
+    void testCompile_emptyAndFull() {
+        // act
+        final CompiledRegion2S empty = RegionBSPTree2S.empty().compile();
+        final CompiledRegion2S full = RegionBSPTree2S.full().compile();
+
+        // assert
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertEquals(RegionLocation.OUTSIDE, empty.classify(Point2S.PLUS_I));
+
+        Assertions.assertTrue(full.isFull());
+        Assertions.assertEquals(4 * Math.PI, full.getSize(), TEST_EPS);
+        Assertions.assertEquals(RegionLocation.INSIDE, full.classify(Point2S.PLUS_I));
+    }
+
+    @Test
+    void testCompile_matchesTree() {
+        // arrange
+        final RegionBSPTree2S tree = GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree();
+        tree.union(GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.MINUS_I, Point2S.MINUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree());
+
+        // act
+        final CompiledRegion2S compiled = tree.compile();
+
+        // assert
+        Assertions.assertEquals(tree.getSize(), compiled.getSize(), TEST_EPS);
+        Assertions.assertEquals(tree.getBoundarySize(), compiled.getBoundarySize(), TEST_EPS);
+        SphericalTestUtils.assertPointsEq(tree.getCentroid(), compiled.getCentroid(), TEST_EPS);
+
+        for (double az = 0; az < Angle.TWO_PI; az += 0.25) {
+            for (double polar = 0.1; polar < Math.PI; polar += 0.25) {
+                final Point2S pt = Point2S.of(az, polar);
+
+                Assertions.assertEquals(tree.classify(pt), compiled.classify(pt), () -> "Point " + pt);
+                SphericalTestUtils.assertPointsEq(tree.project(pt), compiled.project(pt), TEST_EPS);
+            }
+        }
+
+        SphericalTestUtils.checkClassify(compiled, RegionLocation.BOUNDARY,
+                Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K, Point2S.MINUS_I);
+    }
+
+    @Test
+    void testClassifyCoordinates_matchesPointClassification() {
+        // arrange
+        final RegionBSPTree2S tree = GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree();
+        tree.union(GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.MINUS_I, Point2S.MINUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree());
+
+        final CompiledRegion2S compiled = tree.compile();
+
+        final List<Point2S> pts = new ArrayList<>();
+        for (double az = 0; az < Angle.TWO_PI; az += 0.1) {
+            for (double polar = 0; polar <= Math.PI; polar += 0.1) {
+                pts.add(Point2S.of(az, polar));
+            }
+        }
+        pts.addAll(Arrays.asList(Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K,
+                Point2S.MINUS_I, Point2S.MINUS_J, Point2S.MINUS_K, Point2S.of(0.25 * Math.PI, 0.5 * Math.PI)));
+
+        final int offset = 3;
+        final double[] azimuthPolar = new double[offset + (2 * (pts.size() + 1))];
+        for (int i = 0; i < pts.size(); ++i) {
+            azimuthPolar[offset + (2 * i)] = pts.get(i).getAzimuth();
+            azimuthPolar[offset + (2 * i) + 1] = pts.get(i).getPolar();
+        }
+        azimuthPolar[azimuthPolar.length - 2] = Double.NaN;
+
+        final RegionLocation[] out = new RegionLocation[pts.size() + 1];
+
+        // act
+        compiled.classify(azimuthPolar, offset, out.length, out);
+
+        // assert
+        for (int i = 0; i < pts.size(); ++i) {
+            final Point2S pt = pts.get(i);
+            Assertions.assertEquals(compiled.classify(pt), out[i], () -> "Point " + pt);
+        }
+        Assertions.assertEquals(RegionLocation.OUTSIDE, out[pts.size()]);
+
+        Assertions.assertEquals(RegionLocation.BOUNDARY, out[pts.size() - 1]);
+        Assertions.assertEquals(RegionLocation.INSIDE, compiled.classify(Point2S.of(0.25 * Math.PI, 0.25 * Math.PI)));
+    }
+
+    @Test
+    void testClassifyCoordinates_parallel() {
+        // arrange
+        final CompiledRegion2S compiled = GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree()
+                .compile();
+
+        final int count = 20_000;
+        final double[] azimuthPolar = new double[2 * count];
+        for (int i = 0; i < count; ++i) {
+            azimuthPolar[2 * i] = i * 0.001;
+            azimuthPolar[(2 * i) + 1] = i * 0.0005;
+        }
+
+        final RegionLocation[] expected = new RegionLocation[count];
+        final RegionLocation[] actual = new RegionLocation[count];
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // act
+            compiled.classify(azimuthPolar, 0, count, expected);
+            compiled.classify(azimuthPolar, 0, count, actual, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // assert
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testClassifyCoordinates_invalidArgs() {
+        // arrange
+        final CompiledRegion2S compiled = RegionBSPTree2S.full().compile();
+        final RegionLocation[] out = new RegionLocation[2];
+
+        // act/assert
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> compiled.classify(new double[4], 0, -1, out),
+            IllegalArgumentException.class, "Point count must not be negative; was -1");
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> compiled.classify(new double[4], 1, 2, out),
+            IndexOutOfBoundsException.class, "Coordinate range [1, 1 + 2 * 2) is out of bounds for array length 4");
+        GeometryTestUtils.assertThrowsWithMessage(
+            () -> compiled.classify(new double[6], 0, 3, out),
+            IndexOutOfBoundsException.class, "Output array length 2 is less than point count 3");
+    }
+
+    @Test
+    void testCompile_cachedUntilModified() {
+        // arrange
+        final RegionBSPTree2S tree = GreatArcPath.fromVertexLoop(Arrays.asList(
+                    Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K), TEST_PRECISION)
+                .toTree();
+
+        // act
+        final CompiledRegion2S compiled = tree.compile();
+
+        // assert
+        Assertions.assertSame(compiled, tree.compile());
+
+        tree.complement();
+        final CompiledRegion2S complement = tree.compile();
+        Assertions.assertNotSame(compiled, complement);
+        Assertions.assertEquals(4 * Math.PI - compiled.getSize(), complement.getSize(), TEST_EPS);
+    }
+}